@@ -0,0 +1,272 @@
+package com.paiad.mcp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.util.HttpFixtureStore;
+import okhttp3.HttpUrl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 基准测试用的合成数据
+ *
+ * 固定随机种子保证多次运行数据一致；标题由同一组事件在不同平台上的改写构成，
+ * 使搜索命中率与聚类结果接近真实热榜。需要真实数据时可用 CRAWLER_HTTP_MODE=record 录制 fixtures。
+ *
+ * @author Paiad
+ */
+public final class BenchmarkData {
+
+    private static final String[] PLATFORMS = {"zhihu", "weibo", "baidu", "bilibili", "douyin", "toutiao",
+            "hacker_news", "bbc", "reuters", "guardian"};
+    private static final String[] PLATFORM_NAMES = {"知乎", "微博", "百度", "B站", "抖音", "今日头条",
+            "Hacker News", "BBC News", "Reuters", "The Guardian"};
+    private static final String[] SUBJECTS = {"人工智能", "新能源汽车", "国足", "央行", "芯片", "高考", "台风", "房价",
+            "OpenAI", "SpaceX", "Apple", "NASA", "Federal Reserve", "World Cup", "Climate summit"};
+    private static final String[] EVENTS = {"发布最新进展", "引发热议", "官方回应", "数据公布", "最新消息", "迎来重大突破",
+            "announces new model", "launch delayed", "reports record quarter", "faces new inquiry"};
+    private static final String[] SUFFIXES = {"", "！", "，网友：太意外了", " 现场视频", "（附全文）", " - live updates"};
+
+    /**
+     * 拥有合成 fixtures 的平台
+     */
+    public static final List<String> FIXTURE_PLATFORMS = List.of("zhihu", "weibo", "hacker_news", "bbc");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成跨平台热榜数据
+     */
+    public static List<NewsItem> newsItems(int count) {
+        Random random = new Random(42);
+        List<NewsItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int platform = i % PLATFORMS.length;
+            boolean international = platform >= 6;
+            long hotScore = international ? 0L : 10_000L + random.nextInt(50_000_000);
+            items.add(NewsItem.builder()
+                    .id(PLATFORMS[platform] + "_" + i)
+                    .title(title(random))
+                    .url("https://example.com/" + PLATFORMS[platform] + "/" + i)
+                    .platform(PLATFORMS[platform])
+                    .platformName(PLATFORM_NAMES[platform])
+                    .rank(i / PLATFORMS.length + 1)
+                    .hotScore(hotScore)
+                    .hotDesc(international ? "Mon, 06 Jan 2025 08:" + String.format("%02d", i % 60) + ":00 GMT" : null)
+                    .timestamp(1_736_150_400_000L + i)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * 切换到回放模式，必须在首次创建爬虫（HttpClientFactory 初始化）之前调用
+     * 未通过 -DCRAWLER_FIXTURES_DIR 指定录制目录时，生成合成 fixtures 到临时目录
+     */
+    public static void enableReplay(long latencyMs, double errorRate) throws IOException {
+        if (System.getProperty("CRAWLER_FIXTURES_DIR") == null) {
+            Path dir = Files.createTempDirectory("mcp-fixtures");
+            writeFixtures(dir, 50);
+            System.setProperty("CRAWLER_FIXTURES_DIR", dir.toString());
+        }
+        System.setProperty("CRAWLER_HTTP_MODE", "replay");
+        System.setProperty("CRAWLER_REPLAY_LATENCY_MS", String.valueOf(latencyMs));
+        System.setProperty("CRAWLER_REPLAY_ERROR_RATE", String.valueOf(errorRate));
+    }
+
+    /**
+     * 为 zhihu / weibo / hacker_news / bbc 写入与真实接口结构一致的合成 fixtures
+     */
+    public static void writeFixtures(Path directory, int itemsPerPlatform) throws IOException {
+        HttpFixtureStore store = new HttpFixtureStore(directory);
+        save(store, "zhihu", "https://api.zhihu.com/topstory/hot-lists/total?limit=50",
+                "application/json; charset=utf-8", fixtureBody("zhihu", itemsPerPlatform));
+        save(store, "weibo", "https://weibo.com/ajax/side/hotSearch", "application/json;charset=utf-8",
+                fixtureBody("weibo", itemsPerPlatform));
+        save(store, "hacker_news", "https://hnrss.org/frontpage", "application/rss+xml; charset=utf-8",
+                fixtureBody("hacker_news", itemsPerPlatform));
+        save(store, "bbc", "https://feeds.bbci.co.uk/news/rss.xml", "application/xml",
+                fixtureBody("bbc", itemsPerPlatform));
+    }
+
+    /**
+     * 生成与平台真实接口结构一致的合成响应体，覆盖所有爬虫
+     */
+    public static String fixtureBody(String platformId, int itemsPerPlatform) throws IOException {
+        Random random = new Random(7);
+        return switch (platformId) {
+            case "zhihu" -> {
+                ObjectNode zhihu = MAPPER.createObjectNode();
+                ArrayNode data = zhihu.putArray("data");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    ObjectNode item = data.addObject();
+                    ObjectNode target = item.putObject("target");
+                    target.put("id", 600_000_000L + i);
+                    target.put("title", title(random) + "？");
+                    target.put("url", "https://api.zhihu.com/questions/" + (600_000_000L + i));
+                    item.put("detail_text", (100 + random.nextInt(9_000)) + " 万热度");
+                }
+                yield MAPPER.writeValueAsString(zhihu);
+            }
+            case "weibo" -> {
+                ObjectNode weibo = MAPPER.createObjectNode();
+                ArrayNode realtime = weibo.putObject("data").putArray("realtime");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    ObjectNode item = realtime.addObject();
+                    String word = title(random);
+                    item.put("word", word);
+                    item.put("note", word);
+                    item.put("num", 100_000 + random.nextInt(5_000_000));
+                    item.put("label_name", i % 5 == 0 ? "热" : "");
+                }
+                yield MAPPER.writeValueAsString(weibo);
+            }
+            case "baidu" -> {
+                ObjectNode baidu = MAPPER.createObjectNode();
+                ArrayNode content = baidu.putObject("data").putArray("cards").addObject().putArray("content");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    ObjectNode item = content.addObject();
+                    String word = title(random);
+                    item.put("word", word);
+                    item.put("rawUrl", "https://www.baidu.com/s?wd=" + i);
+                    item.put("desc", title(random));
+                    item.put("hotScore", 1_000_000 + random.nextInt(5_000_000));
+                    item.put("isTop", i == 0);
+                }
+                yield "<!DOCTYPE html><html><head><title>百度热搜</title></head><body><div id=\"sanRoot\"></div>"
+                        + "<!--s-data:"
+                        + MAPPER.writeValueAsString(baidu) + "--></body></html>";
+            }
+            case "bilibili" -> {
+                ObjectNode bilibili = MAPPER.createObjectNode();
+                bilibili.put("code", 0);
+                ArrayNode list = bilibili.putObject("data").putArray("list");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    ObjectNode item = list.addObject();
+                    item.put("bvid", "BV1" + Integer.toString(1_000_000 + i, 36));
+                    item.put("title", title(random));
+                    item.putObject("stat").put("view", 10_000 + random.nextInt(9_000_000));
+                }
+                yield MAPPER.writeValueAsString(bilibili);
+            }
+            case "douyin" -> {
+                ObjectNode douyin = MAPPER.createObjectNode();
+                douyin.put("status_code", 0);
+                ArrayNode wordList = douyin.putObject("data").putArray("word_list");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    ObjectNode item = wordList.addObject();
+                    item.put("word", title(random));
+                    item.put("hot_value", 1_000_000 + random.nextInt(10_000_000));
+                    item.put("sentence_id", String.valueOf(2_000_000 + i));
+                    item.put("label", i % 4);
+                }
+                yield MAPPER.writeValueAsString(douyin);
+            }
+            case "toutiao" -> {
+                ObjectNode toutiao = MAPPER.createObjectNode();
+                toutiao.put("status", "success");
+                ArrayNode data = toutiao.putArray("data");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    ObjectNode item = data.addObject();
+                    item.put("Title", title(random));
+                    item.put("ClusterIdStr", String.valueOf(7_300_000_000_000_000_000L + i));
+                    item.put("HotValue", 1_000_000 + random.nextInt(10_000_000));
+                    item.put("LabelUri", i % 3 == 0 ? "https://p3.toutiaoimg.com/hot.png" : "");
+                    item.put("Url", "https://www.toutiao.com/trending/" + (7_300_000_000_000_000_000L + i) + "/");
+                }
+                yield MAPPER.writeValueAsString(toutiao);
+            }
+            case "wallstreetcn" -> {
+                ObjectNode wallstreetcn = MAPPER.createObjectNode();
+                wallstreetcn.put("code", 20000);
+                ArrayNode dayItems = wallstreetcn.putObject("data").putArray("day_items");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    ObjectNode item = dayItems.addObject();
+                    item.put("id", 3_700_000 + i);
+                    item.put("title", title(random));
+                    item.put("uri", "https://wallstreetcn.com/articles/" + (3_700_000 + i));
+                    item.put("pageviews", 1_000 + random.nextInt(500_000));
+                }
+                yield MAPPER.writeValueAsString(wallstreetcn);
+            }
+            case "hacker_news" -> {
+                StringBuilder hn = new StringBuilder(rssHeader("Hacker News: Front Page"));
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    int id = 42_000_000 + i;
+                    hn.append("<item><title><![CDATA[").append(title(random)).append("]]></title>")
+                            .append("<link>https://example.com/story/").append(id).append("</link>")
+                            .append("<guid isPermaLink=\"false\">https://news.ycombinator.com/item?id=").append(id)
+                            .append("</guid><description><![CDATA[<p>Points: ").append(random.nextInt(800))
+                            .append("</p><p># Comments: ").append(random.nextInt(400))
+                            .append("</p>]]></description></item>");
+                }
+                yield hn.append("</channel></rss>").toString();
+            }
+            case "bbc", "google_news", "reuters", "guardian", "techcrunch" -> {
+                StringBuilder rss = new StringBuilder(rssHeader(platformId));
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    rss.append("<item><title><![CDATA[").append(title(random)).append("]]></title>")
+                            .append("<description><![CDATA[").append(title(random)).append("]]></description>")
+                            .append("<link>https://example.com/").append(platformId).append("/").append(1000 + i)
+                            .append("</link><guid>https://example.com/").append(platformId).append("/")
+                            .append(1000 + i).append("</guid>")
+                            .append("<pubDate>Mon, 06 Jan 2025 0").append(i % 10)
+                            .append(":00:00 +0000</pubDate></item>");
+                }
+                yield rss.append("</channel></rss>").toString();
+            }
+            case "reddit" -> {
+                StringBuilder atom = new StringBuilder(
+                        "<?xml version=\"1.0\" encoding=\"UTF-8\"?><feed xmlns=\"http://www.w3.org/2005/Atom\">"
+                                + "<title>top scoring links : all</title>");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    atom.append("<entry><category term=\"worldnews\" label=\"r/worldnews\"/><id>t3_")
+                            .append(Integer.toString(1_000_000 + i, 36)).append("</id>")
+                            .append("<link href=\"https://www.reddit.com/r/worldnews/comments/").append(i)
+                            .append("/\"/><updated>2025-01-06T0").append(i % 10).append(":00:00+00:00</updated>")
+                            .append("<title>").append(title(random)).append("</title></entry>");
+                }
+                yield atom.append("</feed>").toString();
+            }
+            case "apnews" -> {
+                StringBuilder html = new StringBuilder(
+                        "<!DOCTYPE html><html><head><title>AP News</title></head><body>");
+                for (int i = 0; i < itemsPerPlatform; i++) {
+                    html.append("<div class=\"PagePromo\"><div class=\"PagePromo-media\"><img src=\"/i/")
+                            .append(i).append(".jpg\"></div><a class=\"Link\" href=\"/article/story-")
+                            .append(Integer.toHexString(0x10000 + i))
+                            .append("\"><span class=\"PagePromoContentIcons-text\">")
+                            .append(title(random)).append("</span></a></div>");
+                }
+                yield html.append("</body></html>").toString();
+            }
+            default -> throw new IllegalArgumentException("No synthetic fixture for platform: " + platformId);
+        };
+    }
+
+    private static String title(Random random) {
+        return SUBJECTS[random.nextInt(SUBJECTS.length)] + EVENTS[random.nextInt(EVENTS.length)]
+                + SUFFIXES[random.nextInt(SUFFIXES.length)];
+    }
+
+    private static String rssHeader(String title) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><rss version=\"2.0\"><channel><title>" + title + "</title>";
+    }
+
+    private static void save(HttpFixtureStore store, String platformId, String url, String contentType, String body)
+            throws IOException {
+        store.save(new HttpFixtureStore.Fixture(HttpFixtureStore.keyOf("GET", HttpUrl.get(url)), platformId, "GET",
+                url, 200, Map.of("Content-Type", List.of(contentType)), body, null, 0, System.currentTimeMillis()));
+    }
+}
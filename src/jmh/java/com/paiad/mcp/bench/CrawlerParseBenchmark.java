@@ -0,0 +1,82 @@
+package com.paiad.mcp.bench;
+
+import com.paiad.mcp.crawler.AbstractCrawler;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.registry.CrawlerRegistry;
+import com.paiad.mcp.util.HttpClientFactory;
+import com.paiad.mcp.util.HttpFixtureStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 爬虫解析基准：直接对 fixtures 响应体调用 {@link AbstractCrawler#parse(String)}，不经过 HTTP，覆盖全部爬虫
+ *
+ * 默认使用合成 fixtures；传入 -DCRAWLER_FIXTURES_DIR=<录制目录> 时改用该平台录制的第一条成功响应。
+ * 含本地回环 HTTP 的端到端开销由 LoadGenerator 测量。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class CrawlerParseBenchmark {
+
+    @Param({"zhihu", "weibo", "baidu", "bilibili", "douyin", "toutiao", "wallstreetcn", "hacker_news", "bbc",
+            "google_news", "reuters", "guardian", "techcrunch", "reddit", "apnews"})
+    public String platform;
+
+    private AbstractCrawler crawler;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        crawler = CrawlerRegistry.getInstance().getCrawler(platform);
+        if (crawler == null) {
+            throw new IllegalStateException("No crawler for platform: " + platform);
+        }
+        body = loadBody();
+        if (crawler.parse(body).isEmpty()) {
+            throw new IllegalStateException("Fixture parses to no items for platform: " + platform);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        HttpClientFactory.shutdown();
+    }
+
+    @Benchmark
+    public List<NewsItem> parse() throws Exception {
+        return crawler.parse(body);
+    }
+
+    private String loadBody() throws Exception {
+        String fixturesDir = System.getProperty("CRAWLER_FIXTURES_DIR");
+        if (fixturesDir == null) {
+            return BenchmarkData.fixtureBody(platform, 50);
+        }
+        for (HttpFixtureStore.Fixture fixture : new HttpFixtureStore(Path.of(fixturesDir)).loadAll()) {
+            if (platform.equals(fixture.platformId()) && fixture.status() == 200) {
+                return new String(fixture.bodyBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        throw new IllegalStateException("No recorded fixture for platform: " + platform);
+    }
+}
@@ -0,0 +1,81 @@
+package com.paiad.mcp.bench;
+
+import com.paiad.mcp.model.pojo.CompactNewsItem;
+import com.paiad.mcp.model.pojo.NewsItem;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 快照保留的堆占用测量（JOL）
+ *
+ * 用法：
+ * <pre>
+ * mvn -Pbench compile exec:java@footprint -Dexec.args="items=500 snapshots=20"
+ * </pre>
+ * 模拟同一批新闻被连续爬取 snapshots 次：每次爬取重新构造标题、链接等字符串（与真实爬虫解析 JSON/HTML 一致），
+ * 分别以 NewsItem 与 CompactNewsItem 保留全部快照，输出单个对象布局与每条保留新闻的平均堆占用（含引用的字符串与包装对象）。
+ *
+ * @author Paiad
+ */
+public final class ItemFootprint {
+
+    private ItemFootprint() {
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        int itemCount = Integer.parseInt(options.getOrDefault("items", "500"));
+        int snapshots = Integer.parseInt(options.getOrDefault("snapshots", "20"));
+
+        System.out.println(ClassLayout.parseClass(NewsItem.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(CompactNewsItem.class).toPrintable());
+
+        List<NewsItem> template = BenchmarkData.newsItems(itemCount);
+        List<NewsItem> retained = new ArrayList<>(itemCount * snapshots);
+        List<CompactNewsItem> compact = new ArrayList<>(itemCount * snapshots);
+        for (int snapshot = 0; snapshot < snapshots; snapshot++) {
+            for (NewsItem item : template) {
+                NewsItem crawled = reparse(item, snapshot);
+                retained.add(crawled);
+                compact.add(CompactNewsItem.of(reparse(item, snapshot)));
+            }
+        }
+
+        int total = itemCount * snapshots;
+        long newsItemBytes = GraphLayout.parseInstance(retained).totalSize();
+        long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+        System.out.printf("retained items: %d (%d stories x %d snapshots)%n", total, itemCount, snapshots);
+        System.out.printf("NewsItem:        %,d bytes, %.1f bytes/item%n", newsItemBytes, (double) newsItemBytes / total);
+        System.out.printf("CompactNewsItem: %,d bytes, %.1f bytes/item%n", compactBytes, (double) compactBytes / total);
+        System.out.printf("reduction:       %.1f%%%n", 100.0 * (newsItemBytes - compactBytes) / newsItemBytes);
+    }
+
+    /**
+     * 模拟一次重新爬取：字符串为新实例，排名与热度随快照变化
+     */
+    private static NewsItem reparse(NewsItem item, int snapshot) {
+        int rank = item.getRank() + snapshot % 3;
+        return NewsItem.builder()
+                .id(item.getPlatform() + "_" + rank)
+                .title(new String(item.getTitle()))
+                .url(new String(item.getUrl()))
+                .platform(item.getPlatform())
+                .platformName(item.getPlatformName())
+                .rank(rank)
+                .hotScore(item.getHotScore() + snapshot * 1000L)
+                .hotDesc(item.getHotDesc() != null ? new String(item.getHotDesc()) : null)
+                .timestamp(item.getTimestamp() + snapshot * 60_000L)
+                .build();
+    }
+}
@@ -0,0 +1,497 @@
+package com.paiad.mcp.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.server.AdmissionController;
+import com.paiad.mcp.server.McpRequestHandler;
+import com.paiad.mcp.server.StdioMcpServer;
+import com.paiad.mcp.server.StreamableHttpMcpServer;
+import com.paiad.mcp.service.NewsService;
+import com.paiad.mcp.tool.GetHotNewsTool;
+import com.paiad.mcp.tool.McpTool;
+import com.paiad.mcp.tool.SearchNewsTool;
+import com.paiad.mcp.util.HttpClientFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * MCP 传输层端到端压测工具
+ *
+ * 用法：
+ * <pre>
+ * mvn -Pbench compile exec:java@load -Dexec.args="transport=http rps=200 duration=30"
+ * </pre>
+ * 参数（key=value）：
+ * - transport: http | stdio，默认 http
+ * - rps: 目标请求速率，默认 100
+ * - duration: 统计时长（秒），默认 30
+ * - warmup: 预热时长（秒），不计入统计，默认 5
+ * - mix: 请求配比，默认 tools_list=40,hot_news=30,hot_news_dedupe=10,search_news=20
+ * - platforms: 工具调用使用的平台，默认为合成 fixtures 覆盖的平台
+ * - replay_latency_ms / replay_error_rate: 回放 fixtures 的注入延迟与错误率，默认 20 / 0
+ * - drain: 发送结束后等待在途响应的秒数，默认 30
+ * - admission: HTTP 准入控制，off（默认，不限并发，测量服务端本身的延迟）| default（服务默认的 AdmissionController）
+ *
+ * 开环发送：请求按固定间隔的计划时间发出，不等待前一个响应。延迟从计划发送时间开始计算（coordinated omission 修正），
+ * 服务端或发送端积压造成的排队时间会计入延迟；同时给出从实际发送开始计算的服务时间用于对比。
+ * drain 结束仍未完成的请求计为错误（incomplete 列单独列出），延迟按统计结束时刻计算（删失样本，真实延迟只会更长），
+ * 不从分位数中剔除，否则越慢的请求越不会出现在尾延迟里。
+ * 被准入控制拒绝（429）的请求单独计入 rejected 列，不计入 errors，也不计入延迟分位数：拒绝是立即返回的，混入后会拉低延迟。
+ *
+ * @author Paiad
+ */
+public final class LoadGenerator {
+
+    private static final String PROTOCOL_VERSION = "2024-11-05";
+    private static final String DEFAULT_MIX = "tools_list=40,hot_news=30,hot_news_dedupe=10,search_news=20";
+    private static final String[] QUERIES = {"人工智能", "新能源汽车", "OpenAI", "芯片", "World Cup"};
+
+    enum Operation {
+        TOOLS_LIST("tools_list"),
+        HOT_NEWS("hot_news"),
+        HOT_NEWS_DEDUPE("hot_news_dedupe"),
+        SEARCH_NEWS("search_news");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + key);
+        }
+    }
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        // 必须在首个 Logger 创建前设置，避免爬取日志淹没报告
+        if (System.getProperty("org.slf4j.simpleLogger.defaultLogLevel") == null) {
+            System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", "warn");
+        }
+        String transportName = options.getOrDefault("transport", "http").toLowerCase(Locale.ROOT);
+        int rps = Integer.parseInt(options.getOrDefault("rps", "100"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int drainSeconds = Integer.parseInt(options.getOrDefault("drain", "30"));
+        String admissionName = options.getOrDefault("admission", "off").toLowerCase(Locale.ROOT);
+        AdmissionController admission = switch (admissionName) {
+            case "off" -> AdmissionController.unlimited();
+            case "default" -> new AdmissionController();
+            default -> throw new IllegalArgumentException("Unsupported admission: " + admissionName);
+        };
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        List<String> platforms = options.containsKey("platforms")
+                ? List.of(options.get("platforms").split(","))
+                : BenchmarkData.FIXTURE_PLATFORMS;
+
+        BenchmarkData.enableReplay(Long.parseLong(options.getOrDefault("replay_latency_ms", "20")),
+                Double.parseDouble(options.getOrDefault("replay_error_rate", "0")));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        NewsService newsService = new NewsService();
+        Map<String, McpTool> tools = new LinkedHashMap<>();
+        for (McpTool tool : List.of(new GetHotNewsTool(newsService), new SearchNewsTool(newsService))) {
+            tools.put(tool.getName(), tool);
+        }
+        McpRequestHandler handler = new McpRequestHandler(objectMapper, tools, "mcp-load-generator", "0",
+                PROTOCOL_VERSION);
+
+        int measuredCount = rps * durationSeconds;
+        int warmupCount = rps * warmupSeconds;
+        Results results = new Results(warmupCount + measuredCount, warmupCount);
+        Operation[] schedule = buildSchedule(mix, warmupCount + measuredCount, new Random(42));
+
+        Transport transport = switch (transportName) {
+            case "http" -> new HttpTransport(handler, admission, objectMapper, results);
+            case "stdio" -> new StdioTransport(handler, objectMapper, results);
+            default -> throw new IllegalArgumentException("Unsupported transport: " + transportName);
+        };
+        try {
+            System.out.printf("transport=%s target_rps=%d duration=%ds warmup=%ds admission=%s mix=%s platforms=%s%n",
+                    transportName, rps, durationSeconds, warmupSeconds, admissionName, mix, platforms);
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+            long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+            for (int i = 0; i < schedule.length; i++) {
+                long intended = start + i * intervalNanos;
+                long waitNanos;
+                while ((waitNanos = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                results.scheduled(i, schedule[i], intended);
+                transport.send(i, requestJson(objectMapper, i, schedule[i], platforms));
+            }
+            if (!results.await(drainSeconds)) {
+                System.out.printf("%d requests still in flight after %ds drain%n", results.pending(), drainSeconds);
+            }
+            results.print(System.out);
+        } finally {
+            transport.close();
+            newsService.shutdown();
+            HttpClientFactory.shutdown();
+        }
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value argument: " + arg);
+            }
+            options.put(arg.substring(0, eq).replaceFirst("^--", ""), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split("=");
+            mix.put(Operation.fromKey(kv[0].trim()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * 按权重预先生成请求序列，固定种子保证不同传输之间可比
+     */
+    private static Operation[] buildSchedule(Map<Operation, Integer> mix, int count, Random random) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] schedule = new Operation[count];
+        for (int i = 0; i < count; i++) {
+            int pick = random.nextInt(totalWeight);
+            for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+                pick -= entry.getValue();
+                if (pick < 0) {
+                    schedule[i] = entry.getKey();
+                    break;
+                }
+            }
+        }
+        return schedule;
+    }
+
+    private static String requestJson(ObjectMapper objectMapper, int id, Operation operation, List<String> platforms)
+            throws IOException {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("jsonrpc", "2.0");
+        request.put("id", id);
+        if (operation == Operation.TOOLS_LIST) {
+            request.put("method", "tools/list");
+            return objectMapper.writeValueAsString(request);
+        }
+        request.put("method", "tools/call");
+        ObjectNode params = request.putObject("params");
+        ObjectNode arguments = params.putObject("arguments");
+        platforms.forEach(arguments.putArray("platforms")::add);
+        if (operation == Operation.SEARCH_NEWS) {
+            params.put("name", "search_news");
+            arguments.put("query", QUERIES[id % QUERIES.length]);
+            arguments.put("limit", 20);
+        } else {
+            params.put("name", "get_hot_news");
+            arguments.put("limit", 50);
+            arguments.put("dedupe", operation == Operation.HOT_NEWS_DEDUPE);
+        }
+        return objectMapper.writeValueAsString(request);
+    }
+
+    /**
+     * JSON-RPC 错误或工具返回 isError 均计为失败
+     */
+    private static boolean isSuccess(ObjectMapper objectMapper, String body) {
+        try {
+            JsonNode response = objectMapper.readTree(body);
+            return !response.has("error") && !response.path("result").path("isError").asBoolean(false);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private interface Transport extends AutoCloseable {
+        void send(int id, String json) throws IOException;
+
+        @Override
+        void close() throws Exception;
+    }
+
+    /**
+     * Streamable HTTP：每个请求一个异步 POST，连接由 HttpClient 复用
+     */
+    private static final class HttpTransport implements Transport {
+        private final StreamableHttpMcpServer server;
+        private final HttpClient client;
+        private final ObjectMapper objectMapper;
+        private final Results results;
+
+        HttpTransport(McpRequestHandler handler, AdmissionController admission, ObjectMapper objectMapper,
+                Results results) throws IOException {
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            this.server = new StreamableHttpMcpServer(handler, admission, "127.0.0.1", port);
+            this.server.start();
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            this.objectMapper = objectMapper;
+            this.results = results;
+        }
+
+        @Override
+        public void send(int id, String json) {
+            URI endpoint = server.endpoint();
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json, text/event-stream")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+            results.sent(id);
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        if (error == null && response.statusCode() == 429) {
+                            results.rejected(id);
+                        } else {
+                            results.completed(id, error == null && response.statusCode() == 200
+                                    && isSuccess(objectMapper, response.body()));
+                        }
+                    });
+        }
+
+        @Override
+        public void close() {
+            server.stop();
+            client.shutdownNow();
+        }
+    }
+
+    /**
+     * STDIO：通过管道连接 StdioMcpServer，请求按行写入，响应按 id 匹配
+     * 服务端串行处理，积压会阻塞写入，这部分等待由 coordinated omission 修正计入延迟
+     */
+    private static final class StdioTransport implements Transport {
+        private final PrintWriter requestWriter;
+        private final Results results;
+        private final Thread serverThread;
+        private final Thread readerThread;
+
+        StdioTransport(McpRequestHandler handler, ObjectMapper objectMapper, Results results) throws IOException {
+            this.results = results;
+            Pipe requests = Pipe.open();
+            Pipe responses = Pipe.open();
+            this.requestWriter = new PrintWriter(new OutputStreamWriter(
+                    Channels.newOutputStream(requests.sink()), StandardCharsets.UTF_8), false);
+            StdioMcpServer server = new StdioMcpServer(objectMapper, handler,
+                    new BufferedReader(new InputStreamReader(Channels.newInputStream(requests.source()),
+                            StandardCharsets.UTF_8)),
+                    new PrintWriter(new OutputStreamWriter(Channels.newOutputStream(responses.sink()),
+                            StandardCharsets.UTF_8), true));
+            this.serverThread = Thread.ofPlatform().name("stdio-server").daemon().start(server::start);
+
+            BufferedReader responseReader = new BufferedReader(new InputStreamReader(
+                    Channels.newInputStream(responses.source()), StandardCharsets.UTF_8));
+            this.readerThread = Thread.ofPlatform().name("stdio-reader").daemon().start(() -> {
+                try {
+                    String line;
+                    while ((line = responseReader.readLine()) != null) {
+                        JsonNode response = objectMapper.readTree(line);
+                        if (response.has("id")) {
+                            results.completed(response.get("id").asInt(), isSuccess(objectMapper, line));
+                        }
+                    }
+                } catch (IOException e) {
+                    // 管道关闭
+                }
+            });
+        }
+
+        @Override
+        public synchronized void send(int id, String json) {
+            results.sent(id);
+            requestWriter.println(json);
+            requestWriter.flush();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            requestWriter.close();
+            serverThread.join(TimeUnit.SECONDS.toMillis(5));
+            readerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * 按请求下标记录计划发送时间、实际发送时间与完成时间
+     */
+    private static final class Results {
+        private final Operation[] operations;
+        private final long[] intendedNanos;
+        private final long[] sentNanos;
+        private final long[] completedNanos;
+        private final boolean[] success;
+        private final boolean[] rejected;
+        private final int warmupCount;
+        private final CountDownLatch remaining;
+
+        Results(int count, int warmupCount) {
+            this.operations = new Operation[count];
+            this.intendedNanos = new long[count];
+            this.sentNanos = new long[count];
+            this.completedNanos = new long[count];
+            this.success = new boolean[count];
+            this.rejected = new boolean[count];
+            this.warmupCount = warmupCount;
+            this.remaining = new CountDownLatch(count);
+        }
+
+        void scheduled(int id, Operation operation, long intended) {
+            operations[id] = operation;
+            intendedNanos[id] = intended;
+        }
+
+        void sent(int id) {
+            sentNanos[id] = System.nanoTime();
+        }
+
+        synchronized void completed(int id, boolean ok) {
+            if (id < 0 || id >= completedNanos.length || completedNanos[id] != 0) {
+                return;
+            }
+            completedNanos[id] = System.nanoTime();
+            success[id] = ok;
+            remaining.countDown();
+        }
+
+        /**
+         * 被准入控制拒绝：请求已结束，但不是一次服务端处理
+         */
+        synchronized void rejected(int id) {
+            if (id < 0 || id >= completedNanos.length || completedNanos[id] != 0) {
+                return;
+            }
+            rejected[id] = true;
+            completed(id, false);
+        }
+
+        boolean await(int seconds) throws InterruptedException {
+            return remaining.await(seconds, TimeUnit.SECONDS);
+        }
+
+        long pending() {
+            return remaining.getCount();
+        }
+
+        synchronized void print(PrintStream out) {
+            long endNanos = System.nanoTime();
+            out.printf("%-16s %8s %8s %7s %11s %9s %9s %9s %9s %13s%n", "operation", "count", "rejected", "errors",
+                    "incomplete", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "svc_p99(ms)");
+            long firstIntended = Long.MAX_VALUE;
+            long lastCompleted = Long.MIN_VALUE;
+            int completedCount = 0;
+            Map<Operation, List<Integer>> byOperation = new EnumMap<>(Operation.class);
+            List<Integer> all = new ArrayList<>();
+            for (int i = warmupCount; i < operations.length; i++) {
+                if (operations[i] == null) {
+                    continue;
+                }
+                firstIntended = Math.min(firstIntended, intendedNanos[i]);
+                if (completedNanos[i] != 0 && !rejected[i]) {
+                    lastCompleted = Math.max(lastCompleted, completedNanos[i]);
+                    completedCount++;
+                }
+                byOperation.computeIfAbsent(operations[i], k -> new ArrayList<>()).add(i);
+                all.add(i);
+            }
+            byOperation.forEach((operation, ids) -> printRow(out, operation.key, ids, endNanos));
+            printRow(out, "total", all, endNanos);
+            if (completedCount > 0) {
+                double seconds = (lastCompleted - firstIntended) / 1e9;
+                out.printf("throughput: %.1f req/s (%d completed in %.1fs)%n", completedCount / seconds,
+                        completedCount, seconds);
+            }
+        }
+
+        /**
+         * 未完成的请求以统计结束时刻作为完成时间计入分位数；被拒绝的请求只计数
+         */
+        private void printRow(PrintStream out, String name, List<Integer> ids, long endNanos) {
+            long[] corrected = new long[ids.size()];
+            long[] service = new long[ids.size()];
+            int n = 0;
+            int rejectedCount = 0;
+            int errors = 0;
+            int incomplete = 0;
+            for (int id : ids) {
+                if (rejected[id]) {
+                    rejectedCount++;
+                    continue;
+                }
+                long completed = completedNanos[id];
+                if (completed == 0) {
+                    incomplete++;
+                    completed = endNanos;
+                }
+                if (!success[id]) {
+                    errors++;
+                }
+                corrected[n] = completed - intendedNanos[id];
+                service[n] = sentNanos[id] != 0 ? completed - sentNanos[id] : corrected[n];
+                n++;
+            }
+            corrected = Arrays.copyOf(corrected, n);
+            service = Arrays.copyOf(service, n);
+            Arrays.sort(corrected);
+            Arrays.sort(service);
+            out.printf("%-16s %8d %8d %7d %11d %9.2f %9.2f %9.2f %9.2f %13.2f%n", name, ids.size(), rejectedCount,
+                    errors, incomplete,
+                    percentileMillis(corrected, 0.50), percentileMillis(corrected, 0.99),
+                    percentileMillis(corrected, 0.999), percentileMillis(corrected, 1.0),
+                    percentileMillis(service, 0.99));
+        }
+
+        private static double percentileMillis(long[] sortedNanos, double q) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(q * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1e6;
+        }
+    }
+}
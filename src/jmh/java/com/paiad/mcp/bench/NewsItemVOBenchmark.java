@@ -0,0 +1,44 @@
+package com.paiad.mcp.bench;
+
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.vo.NewsItemVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NewsItem -> NewsItemVO 转换基准（热度格式化与发布时间提取）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class NewsItemVOBenchmark {
+
+    private List<NewsItem> items;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.newsItems(200);
+    }
+
+    @Benchmark
+    public void fromNewsItem(Blackhole blackhole) {
+        for (NewsItem item : items) {
+            blackhole.consume(NewsItemVO.fromNewsItem(item));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.paiad.mcp.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiad.mcp.bench.BenchmarkData;
+import com.paiad.mcp.model.pojo.CrawlResult;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.service.NewsService;
+import com.paiad.mcp.tool.GetHotNewsTool;
+import com.paiad.mcp.tool.McpTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * McpRequestHandler 请求处理与响应序列化基准
+ * get_hot_news 使用返回固定数据的 NewsService，只测量工具结果构建与两层 JSON 序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class McpSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private McpRequestHandler handler;
+    private JsonNode toolsList;
+    private JsonNode hotNews;
+    private JsonNode hotNewsDedupe;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<NewsItem> news = BenchmarkData.newsItems(200);
+        NewsService newsService = new NewsService() {
+            @Override
+            public CrawlResult getHotNews(List<String> platforms, int limit) {
+                return new CrawlResult(news.subList(0, Math.min(limit, news.size())), Map.of(), List.of());
+            }
+        };
+        Map<String, McpTool> tools = new LinkedHashMap<>();
+        McpTool hotNewsTool = new GetHotNewsTool(newsService);
+        tools.put(hotNewsTool.getName(), hotNewsTool);
+        handler = new McpRequestHandler(objectMapper, tools, "bench", "0", "2025-03-26");
+
+        toolsList = objectMapper.readTree("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/list\"}");
+        hotNews = objectMapper.readTree("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/call\","
+                + "\"params\":{\"name\":\"get_hot_news\",\"arguments\":{\"limit\":50}}}");
+        hotNewsDedupe = objectMapper.readTree("{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/call\","
+                + "\"params\":{\"name\":\"get_hot_news\",\"arguments\":{\"limit\":50,\"dedupe\":true}}}");
+    }
+
+    @Benchmark
+    public String toolsList() throws Exception {
+        return objectMapper.writeValueAsString(handler.handleRequest(toolsList));
+    }
+
+    @Benchmark
+    public String getHotNews() throws Exception {
+        return objectMapper.writeValueAsString(handler.handleRequest(hotNews));
+    }
+
+    @Benchmark
+    public String getHotNewsDedupe() throws Exception {
+        return objectMapper.writeValueAsString(handler.handleRequest(hotNewsDedupe));
+    }
+}
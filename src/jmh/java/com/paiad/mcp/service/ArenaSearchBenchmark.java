@@ -0,0 +1,77 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.bench.BenchmarkData;
+import com.paiad.mcp.config.PlatformPriorityConfig.ArchiveInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 历史快照检索基准：堆外列式归档扫描 vs. 在保留的 List&lt;NewsItem&gt; 上打分
+ *
+ * 两者都检索 snapshots 次爬取 × 200 条的历史，不含分词（分词结果在 setUp 中预先计算）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ArenaSearchBenchmark {
+
+    private static final long T0 = 1_736_150_400_000L;
+
+    @Param({"50", "500"})
+    public int snapshots;
+
+    @Param({"人工智能", "openai"})
+    public String keyword;
+
+    private SnapshotArena arena;
+    private List<NewsItem> retained;
+    private List<String> terms;
+
+    @Setup
+    public void setUp() {
+        List<NewsItem> items = BenchmarkData.newsItems(200);
+        arena = new SnapshotArena(new ArchiveInfo(true, null, 24 * 365, 16_384, 2_048, 4_096, 24 * 60, 4));
+        Map<String, List<NewsItem>> byPlatform = items.stream()
+                .collect(Collectors.groupingBy(NewsItem::getPlatform, LinkedHashMap::new, Collectors.toList()));
+        retained = new ArrayList<>(items.size() * snapshots);
+        for (int snapshot = 0; snapshot < snapshots; snapshot++) {
+            long crawledAt = T0 + snapshot * 60_000L;
+            retained.addAll(items);
+            for (Map.Entry<String, List<NewsItem>> platform : byPlatform.entrySet()) {
+                arena.append(platform.getKey(), platform.getValue(), crawledAt);
+            }
+        }
+        terms = NewsService.queryTerms(keyword);
+    }
+
+    @Benchmark
+    public List<NewsItem> arenaSearch() {
+        return arena.search(keyword, terms, Set.of(), T0, Long.MAX_VALUE, 20);
+    }
+
+    @Benchmark
+    public List<NewsItem> heapSearch() {
+        return NewsService.rankByRelevance(QueryMatcher.compile(keyword), retained, 20);
+    }
+}
@@ -0,0 +1,48 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.bench.BenchmarkData;
+import com.paiad.mcp.model.pojo.NewsItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * searchNews 打分排序基准（HanLP 分词 + 标题匹配），不含爬取
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class SearchScoringBenchmark {
+
+    @Param({"200", "2000"})
+    public int newsCount;
+
+    @Param({"人工智能", "新能源汽车最新消息", "openai"})
+    public String keyword;
+
+    private List<NewsItem> news;
+
+    @Setup
+    public void setUp() {
+        news = BenchmarkData.newsItems(newsCount);
+    }
+
+    @Benchmark
+    public List<NewsItem> rankByRelevance() {
+        return NewsService.rankByRelevance(QueryMatcher.compile(keyword), news, 20);
+    }
+}
@@ -0,0 +1,54 @@
+package com.paiad.mcp.tool;
+
+import com.paiad.mcp.bench.BenchmarkData;
+import com.paiad.mcp.model.pojo.NewsItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get_hot_news 去重聚类基准（标题 Jaccard 相似度）与聚类 Top-N 选择
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class ClusterNewsBenchmark {
+
+    @Param({"200", "1000"})
+    public int newsCount;
+
+    private GetHotNewsTool tool;
+    private List<NewsItem> news;
+    private List<GetHotNewsTool.NewsCluster> clusters;
+
+    @Setup
+    public void setUp() {
+        tool = new GetHotNewsTool(null);
+        news = BenchmarkData.newsItems(newsCount);
+        clusters = tool.clusterNews(news);
+    }
+
+    @Benchmark
+    public List<GetHotNewsTool.NewsCluster> clusterNews() {
+        return tool.clusterNews(news);
+    }
+
+    @Benchmark
+    public List<GetHotNewsTool.NewsCluster> topClusters() {
+        return GetHotNewsTool.topClusters(clusters, 50);
+    }
+}
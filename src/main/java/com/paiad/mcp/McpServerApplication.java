@@ -1,12 +1,25 @@
 package com.paiad.mcp;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiad.mcp.config.PlatformPriorityConfig;
+import com.paiad.mcp.config.PlatformPriorityConfig.AdmissionInfo;
+import com.paiad.mcp.config.PlatformPriorityConfig.CompressionInfo;
+import com.paiad.mcp.config.PlatformPriorityConfig.ResourceRefreshInfo;
+import com.paiad.mcp.config.PlatformPriorityConfig.SessionInfo;
+import com.paiad.mcp.resource.NewsResourceProvider;
+import com.paiad.mcp.resource.ResourceRefresher;
+import com.paiad.mcp.server.AdmissionController;
 import com.paiad.mcp.server.McpRequestHandler;
+import com.paiad.mcp.server.McpSessionStore;
+import com.paiad.mcp.server.ResponseCompression;
+import com.paiad.mcp.server.ResourceSubscriptions;
 import com.paiad.mcp.server.StdioMcpServer;
 import com.paiad.mcp.server.StreamableHttpMcpServer;
 import com.paiad.mcp.server.TransportMode;
 import com.paiad.mcp.service.NewsService;
 import com.paiad.mcp.tool.GetHotNewsTool;
+import com.paiad.mcp.tool.GetRisingNewsTool;
+import com.paiad.mcp.tool.GetTrendingKeywordsTool;
 import com.paiad.mcp.tool.McpTool;
 import com.paiad.mcp.tool.SearchNewsTool;
 import org.slf4j.Logger;
@@ -39,6 +52,7 @@ public class McpServerApplication {
     private final NewsService newsService;
     private final Map<String, McpTool> tools;
     private final McpRequestHandler requestHandler;
+    private final ResourceRefresher resourceRefresher;
 
     public McpServerApplication() {
         this.objectMapper = new ObjectMapper();
@@ -47,9 +61,23 @@ public class McpServerApplication {
 
         registerTool(new GetHotNewsTool(newsService));
         registerTool(new SearchNewsTool(newsService));
+        registerTool(new GetRisingNewsTool(newsService));
+        registerTool(new GetTrendingKeywordsTool(newsService));
+
+        // 资源：榜单变化时向订阅方推送更新，有订阅时后台定期刷新
+        ResourceRefreshInfo refreshInfo = PlatformPriorityConfig.getInstance().getResourceRefreshInfo();
+        NewsResourceProvider resources = new NewsResourceProvider(newsService, refreshInfo.getFrontPageLimit());
+        ResourceSubscriptions subscriptions = new ResourceSubscriptions(objectMapper);
+        resources.onUpdated(subscriptions::publish);
+        this.resourceRefresher = new ResourceRefresher(newsService, resources, subscriptions::subscribedUris,
+                refreshInfo.getRefreshIntervalSeconds());
+
         this.requestHandler = new McpRequestHandler(
                 objectMapper,
                 tools,
+                resources,
+                subscriptions,
+                sessionStore(),
                 SERVER_NAME,
                 SERVER_VERSION,
                 PROTOCOL_VERSION
@@ -58,6 +86,28 @@ public class McpServerApplication {
         logger.info("MCP Server 初始化完成: {}", SERVER_NAME);
     }
 
+    private static McpSessionStore sessionStore() {
+        SessionInfo sessionInfo = PlatformPriorityConfig.getInstance().getSessionInfo();
+        return new McpSessionStore(sessionInfo.getIdleTimeoutMinutes() * 60_000L, sessionInfo.getMaxSessions(),
+                sessionInfo.getMaxSnapshotsPerSession());
+    }
+
+    private static AdmissionController admissionController() {
+        AdmissionInfo admissionInfo = PlatformPriorityConfig.getInstance().getAdmissionInfo();
+        if (!admissionInfo.isEnabled()) {
+            return AdmissionController.unlimited();
+        }
+        return new AdmissionController(admissionInfo.getCheapLimit(), admissionInfo.getInitialLimit(),
+                admissionInfo.getMinLimit(), admissionInfo.getMaxLimit(), admissionInfo.getLatencyThresholdMs(),
+                admissionInfo.getBackoffRatio());
+    }
+
+    private static ResponseCompression responseCompression() {
+        CompressionInfo compressionInfo = PlatformPriorityConfig.getInstance().getCompressionInfo();
+        return new ResponseCompression(compressionInfo.isEnabled(), compressionInfo.getMinSizeBytes(),
+                compressionInfo.getLevel());
+    }
+
     private void registerTool(McpTool tool) {
         tools.put(tool.getName(), tool);
     }
@@ -68,9 +118,11 @@ public class McpServerApplication {
         int httpPort = readHttpPort();
 
         StreamableHttpMcpServer httpServer = null;
+        resourceRefresher.start();
         try {
             if (mode == TransportMode.HTTP || mode == TransportMode.BOTH) {
-                httpServer = new StreamableHttpMcpServer(requestHandler, httpHost, httpPort);
+                httpServer = new StreamableHttpMcpServer(
+                        requestHandler, admissionController(), responseCompression(), httpHost, httpPort);
                 httpServer.start();
             }
 
@@ -94,6 +146,7 @@ public class McpServerApplication {
 
     private void shutdown() {
         logger.info("MCP Server 关闭");
+        resourceRefresher.stop();
         newsService.shutdown();
     }
 
@@ -29,11 +29,76 @@ public class PlatformPriorityConfig {
      */
     private final Map<String, PriorityInfo> priorityInfoMap = new HashMap<>();
 
+    /**
+     * 平台限流配置（未配置的平台不限流）
+     */
+    private final Map<String, RateLimitInfo> rateLimitMap = new HashMap<>();
+
     /**
      * 默认调用的平台数量（0 表示使用所有启用的平台）
      */
     private int defaultPlatformCount = 0;
 
+    /**
+     * 平台熔断配置（所有平台共用）
+     */
+    private CircuitBreakerInfo circuitBreakerInfo = CircuitBreakerInfo.DEFAULT;
+
+    /**
+     * 自适应超时配置（所有平台共用）
+     */
+    private AdaptiveTimeoutInfo adaptiveTimeoutInfo = AdaptiveTimeoutInfo.DEFAULT;
+
+    /**
+     * 排名历史配置（所有平台共用）
+     */
+    private RankHistoryInfo rankHistoryInfo = RankHistoryInfo.DEFAULT;
+
+    /**
+     * 快照变更日志配置（所有平台共用）
+     */
+    private SnapshotLogInfo snapshotLogInfo = SnapshotLogInfo.DEFAULT;
+
+    /**
+     * MCP 资源后台刷新配置
+     */
+    private ResourceRefreshInfo resourceRefreshInfo = ResourceRefreshInfo.DEFAULT;
+
+    /**
+     * 新颖度检测配置（所有平台共用）
+     */
+    private NoveltyInfo noveltyInfo = NoveltyInfo.DEFAULT;
+
+    /**
+     * 热门关键词配置（所有平台共用）
+     */
+    private TrendingKeywordsInfo trendingKeywordsInfo = TrendingKeywordsInfo.DEFAULT;
+
+    /**
+     * 历史快照归档配置
+     */
+    private ArchiveInfo archiveInfo = ArchiveInfo.DEFAULT;
+
+    /**
+     * 模糊检索配置
+     */
+    private FuzzySearchInfo fuzzySearchInfo = FuzzySearchInfo.DEFAULT;
+
+    /**
+     * HTTP 会话配置
+     */
+    private SessionInfo sessionInfo = SessionInfo.DEFAULT;
+
+    /**
+     * HTTP 准入控制配置
+     */
+    private AdmissionInfo admissionInfo = AdmissionInfo.DEFAULT;
+
+    /**
+     * HTTP 响应压缩配置
+     */
+    private CompressionInfo compressionInfo = CompressionInfo.DEFAULT;
+
     private PlatformPriorityConfig() {
         loadConfig();
     }
@@ -50,6 +115,7 @@ public class PlatformPriorityConfig {
      */
     public void reload() {
         priorityInfoMap.clear();
+        rateLimitMap.clear();
         loadConfig();
     }
 
@@ -99,6 +165,162 @@ public class PlatformPriorityConfig {
         }
         logger.info("默认平台数量配置: {}", defaultPlatformCount > 0 ? defaultPlatformCount : "全部");
 
+        // 读取熔断配置
+        Object breakerObj = config.get("circuit_breaker");
+        if (breakerObj instanceof Map) {
+            Map<String, Object> breakerData = (Map<String, Object>) breakerObj;
+            this.circuitBreakerInfo = new CircuitBreakerInfo(
+                    getInt(breakerData, "failure_threshold", CircuitBreakerInfo.DEFAULT.getFailureThreshold()),
+                    getInt(breakerData, "base_backoff_seconds", CircuitBreakerInfo.DEFAULT.getBaseBackoffSeconds()),
+                    getInt(breakerData, "max_backoff_seconds", CircuitBreakerInfo.DEFAULT.getMaxBackoffSeconds()));
+        }
+        logger.info("平台熔断配置: {}", circuitBreakerInfo);
+
+        // 读取自适应超时配置
+        Object timeoutObj = config.get("adaptive_timeout");
+        if (timeoutObj instanceof Map) {
+            Map<String, Object> timeoutData = (Map<String, Object>) timeoutObj;
+            AdaptiveTimeoutInfo defaults = AdaptiveTimeoutInfo.DEFAULT;
+            this.adaptiveTimeoutInfo = new AdaptiveTimeoutInfo(
+                    getBoolean(timeoutData, "enabled", defaults.isEnabled()),
+                    getDouble(timeoutData, "p99_multiplier", defaults.getP99Multiplier()),
+                    getInt(timeoutData, "floor_ms", (int) defaults.getFloorMs()),
+                    getInt(timeoutData, "ceiling_ms", (int) defaults.getCeilingMs()),
+                    getInt(timeoutData, "min_samples", defaults.getMinSamples()),
+                    getInt(timeoutData, "window_size", defaults.getWindowSize()));
+        }
+        logger.info("自适应超时配置: {}", adaptiveTimeoutInfo);
+
+        // 读取排名历史配置
+        Object historyObj = config.get("rank_history");
+        if (historyObj instanceof Map) {
+            Map<String, Object> historyData = (Map<String, Object>) historyObj;
+            RankHistoryInfo defaults = RankHistoryInfo.DEFAULT;
+            this.rankHistoryInfo = new RankHistoryInfo(
+                    getInt(historyData, "max_series", defaults.getMaxSeries()),
+                    getInt(historyData, "points_per_series", defaults.getPointsPerSeries()),
+                    getInt(historyData, "retention_minutes", defaults.getRetentionMinutes()),
+                    getIntList(historyData, "trend_windows_minutes", defaults.getTrendWindowsMinutes()));
+        }
+        logger.info("排名历史配置: {}", rankHistoryInfo);
+
+        // 读取快照变更日志配置
+        Object snapshotLogObj = config.get("snapshot_log");
+        if (snapshotLogObj instanceof Map) {
+            Map<String, Object> snapshotLogData = (Map<String, Object>) snapshotLogObj;
+            this.snapshotLogInfo = new SnapshotLogInfo(
+                    getInt(snapshotLogData, "max_entries", SnapshotLogInfo.DEFAULT.getMaxEntries()));
+        }
+        logger.info("快照变更日志配置: {}", snapshotLogInfo);
+
+        // 读取 MCP 资源刷新配置
+        Object resourcesObj = config.get("resources");
+        if (resourcesObj instanceof Map) {
+            Map<String, Object> resourcesData = (Map<String, Object>) resourcesObj;
+            ResourceRefreshInfo defaults = ResourceRefreshInfo.DEFAULT;
+            this.resourceRefreshInfo = new ResourceRefreshInfo(
+                    getInt(resourcesData, "refresh_interval_seconds", defaults.getRefreshIntervalSeconds()),
+                    getInt(resourcesData, "front_page_limit", defaults.getFrontPageLimit()));
+        }
+        logger.info("MCP 资源刷新配置: {}", resourceRefreshInfo);
+
+        // 读取新颖度检测配置
+        Object noveltyObj = config.get("novelty");
+        if (noveltyObj instanceof Map) {
+            Map<String, Object> noveltyData = (Map<String, Object>) noveltyObj;
+            NoveltyInfo defaults = NoveltyInfo.DEFAULT;
+            this.noveltyInfo = new NoveltyInfo(
+                    getBoolean(noveltyData, "enabled", defaults.isEnabled()),
+                    getString(noveltyData, "file", defaults.getFile()),
+                    getInt(noveltyData, "window_days", defaults.getWindowDays()),
+                    getInt(noveltyData, "partitions", defaults.getPartitions()),
+                    getInt(noveltyData, "expected_items_per_partition", defaults.getExpectedItemsPerPartition()),
+                    getDouble(noveltyData, "false_positive_rate", defaults.getFalsePositiveRate()));
+        }
+        logger.info("新颖度检测配置: {}", noveltyInfo);
+
+        // 读取热门关键词配置
+        Object keywordsObj = config.get("trending_keywords");
+        if (keywordsObj instanceof Map) {
+            Map<String, Object> keywordsData = (Map<String, Object>) keywordsObj;
+            TrendingKeywordsInfo defaults = TrendingKeywordsInfo.DEFAULT;
+            this.trendingKeywordsInfo = new TrendingKeywordsInfo(
+                    getInt(keywordsData, "half_life_minutes", defaults.getHalfLifeMinutes()),
+                    getInt(keywordsData, "sketch_width", defaults.getSketchWidth()),
+                    getInt(keywordsData, "sketch_depth", defaults.getSketchDepth()),
+                    getInt(keywordsData, "top_k_capacity", defaults.getTopKCapacity()));
+        }
+        logger.info("热门关键词配置: {}", trendingKeywordsInfo);
+
+        // 读取历史快照归档配置
+        Object archiveObj = config.get("archive");
+        if (archiveObj instanceof Map) {
+            Map<String, Object> archiveData = (Map<String, Object>) archiveObj;
+            ArchiveInfo defaults = ArchiveInfo.DEFAULT;
+            this.archiveInfo = new ArchiveInfo(
+                    getBoolean(archiveData, "enabled", defaults.isEnabled()),
+                    getString(archiveData, "directory", defaults.getDirectory()),
+                    getInt(archiveData, "retention_hours", defaults.getRetentionHours()),
+                    getInt(archiveData, "chunk_rows", defaults.getChunkRows()),
+                    getInt(archiveData, "chunk_text_kb", defaults.getChunkTextKb()),
+                    getInt(archiveData, "max_memory_mb", defaults.getMaxMemoryMb()),
+                    getInt(archiveData, "segment_minutes", defaults.getSegmentMinutes()),
+                    getInt(archiveData, "merge_factor", defaults.getMergeFactor()));
+        }
+        logger.info("历史快照归档配置: {}", archiveInfo);
+
+        // 读取模糊检索配置
+        Object fuzzyObj = config.get("fuzzy_search");
+        if (fuzzyObj instanceof Map) {
+            Map<String, Object> fuzzyData = (Map<String, Object>) fuzzyObj;
+            FuzzySearchInfo defaults = FuzzySearchInfo.DEFAULT;
+            this.fuzzySearchInfo = new FuzzySearchInfo(
+                    getBoolean(fuzzyData, "enabled", defaults.isEnabled()),
+                    getInt(fuzzyData, "min_query_length", defaults.getMinQueryLength()),
+                    getInt(fuzzyData, "max_edits", defaults.getMaxEdits()));
+        }
+        logger.info("模糊检索配置: {}", fuzzySearchInfo);
+
+        // 读取 HTTP 会话配置
+        Object sessionsObj = config.get("sessions");
+        if (sessionsObj instanceof Map) {
+            Map<String, Object> sessionsData = (Map<String, Object>) sessionsObj;
+            SessionInfo defaults = SessionInfo.DEFAULT;
+            this.sessionInfo = new SessionInfo(
+                    getInt(sessionsData, "idle_timeout_minutes", defaults.getIdleTimeoutMinutes()),
+                    getInt(sessionsData, "max_sessions", defaults.getMaxSessions()),
+                    getInt(sessionsData, "max_snapshots_per_session", defaults.getMaxSnapshotsPerSession()));
+        }
+        logger.info("HTTP 会话配置: {}", sessionInfo);
+
+        // 读取 HTTP 准入控制配置
+        Object admissionObj = config.get("admission");
+        if (admissionObj instanceof Map) {
+            Map<String, Object> admissionData = (Map<String, Object>) admissionObj;
+            AdmissionInfo defaults = AdmissionInfo.DEFAULT;
+            this.admissionInfo = new AdmissionInfo(
+                    getBoolean(admissionData, "enabled", defaults.isEnabled()),
+                    getInt(admissionData, "cheap_limit", defaults.getCheapLimit()),
+                    getInt(admissionData, "initial_limit", defaults.getInitialLimit()),
+                    getInt(admissionData, "min_limit", defaults.getMinLimit()),
+                    getInt(admissionData, "max_limit", defaults.getMaxLimit()),
+                    getInt(admissionData, "latency_threshold_ms", (int) defaults.getLatencyThresholdMs()),
+                    getDouble(admissionData, "backoff_ratio", defaults.getBackoffRatio()));
+        }
+        logger.info("HTTP 准入控制配置: {}", admissionInfo);
+
+        // 读取 HTTP 响应压缩配置
+        Object compressionObj = config.get("compression");
+        if (compressionObj instanceof Map) {
+            Map<String, Object> compressionData = (Map<String, Object>) compressionObj;
+            CompressionInfo defaults = CompressionInfo.DEFAULT;
+            this.compressionInfo = new CompressionInfo(
+                    getBoolean(compressionData, "enabled", defaults.isEnabled()),
+                    getInt(compressionData, "min_size_bytes", defaults.getMinSizeBytes()),
+                    getInt(compressionData, "level", defaults.getLevel()));
+        }
+        logger.info("HTTP 响应压缩配置: {}", compressionInfo);
+
         // 解析平台配置
         Map<String, Object> platforms = (Map<String, Object>) config.get("platforms");
         if (platforms != null) {
@@ -111,10 +333,23 @@ public class PlatformPriorityConfig {
                 String description = getString(platformData, "description", platformId);
 
                 priorityInfoMap.put(platformId, new PriorityInfo(platformId, enabled, priority, description));
+
+                Object rateLimitObj = platformData.get("rate_limit");
+                if (rateLimitObj instanceof Map) {
+                    Map<String, Object> rateLimitData = (Map<String, Object>) rateLimitObj;
+                    int permitsPerMinute = getInt(rateLimitData, "permits_per_minute", 0);
+                    int burst = getInt(rateLimitData, "burst", Math.max(1, permitsPerMinute));
+                    if (permitsPerMinute > 0) {
+                        rateLimitMap.put(platformId, new RateLimitInfo(permitsPerMinute, Math.max(1, burst)));
+                    }
+                }
             }
         }
 
         logger.info("加载 {} 个平台优先级配置", priorityInfoMap.size());
+        if (!rateLimitMap.isEmpty()) {
+            logger.info("平台限流配置: {}", rateLimitMap);
+        }
     }
 
     private void initDefaultConfig() {
@@ -141,6 +376,28 @@ public class PlatformPriorityConfig {
         return defaultValue;
     }
 
+    private List<Integer> getIntList(Map<String, Object> map, String key, List<Integer> defaultValue) {
+        Object value = map.get(key);
+        if (!(value instanceof List<?> list)) {
+            return defaultValue;
+        }
+        List<Integer> result = new ArrayList<>();
+        for (Object element : list) {
+            if (element instanceof Number number) {
+                result.add(number.intValue());
+            }
+        }
+        return result.isEmpty() ? defaultValue : result;
+    }
+
+    private double getDouble(Map<String, Object> map, String key, double defaultValue) {
+        Object val = map.get(key);
+        if (val instanceof Number) {
+            return ((Number) val).doubleValue();
+        }
+        return defaultValue;
+    }
+
     private String getString(Map<String, Object> map, String key, String defaultValue) {
         Object val = map.get(key);
         if (val instanceof String) {
@@ -158,6 +415,99 @@ public class PlatformPriorityConfig {
         return priorityInfoMap.get(platformId);
     }
 
+    /**
+     * 获取平台限流配置
+     *
+     * @return 限流配置，未配置时返回 null（不限流）
+     */
+    public RateLimitInfo getRateLimit(String platformId) {
+        return platformId != null ? rateLimitMap.get(platformId) : null;
+    }
+
+    /**
+     * 获取平台熔断配置
+     */
+    public CircuitBreakerInfo getCircuitBreakerInfo() {
+        return circuitBreakerInfo;
+    }
+
+    /**
+     * 获取自适应超时配置
+     */
+    public AdaptiveTimeoutInfo getAdaptiveTimeoutInfo() {
+        return adaptiveTimeoutInfo;
+    }
+
+    /**
+     * 获取排名历史配置
+     */
+    public RankHistoryInfo getRankHistoryInfo() {
+        return rankHistoryInfo;
+    }
+
+    /**
+     * 获取快照变更日志配置
+     */
+    public SnapshotLogInfo getSnapshotLogInfo() {
+        return snapshotLogInfo;
+    }
+
+    /**
+     * 获取 MCP 资源刷新配置
+     */
+    public ResourceRefreshInfo getResourceRefreshInfo() {
+        return resourceRefreshInfo;
+    }
+
+    /**
+     * 获取新颖度检测配置
+     */
+    public NoveltyInfo getNoveltyInfo() {
+        return noveltyInfo;
+    }
+
+    /**
+     * 获取热门关键词配置
+     */
+    public TrendingKeywordsInfo getTrendingKeywordsInfo() {
+        return trendingKeywordsInfo;
+    }
+
+    /**
+     * 获取历史快照归档配置
+     */
+    public ArchiveInfo getArchiveInfo() {
+        return archiveInfo;
+    }
+
+    /**
+     * 获取模糊检索配置
+     */
+    public FuzzySearchInfo getFuzzySearchInfo() {
+        return fuzzySearchInfo;
+    }
+
+    /**
+     * 获取 HTTP 会话配置
+     */
+    public SessionInfo getSessionInfo() {
+        return sessionInfo;
+    }
+
+    /**
+     * 获取 HTTP 准入控制配置
+     */
+    public AdmissionInfo getAdmissionInfo() {
+        return admissionInfo;
+    }
+
+    /**
+     * 获取 HTTP 响应压缩配置
+     */
+    public CompressionInfo getCompressionInfo() {
+        return compressionInfo;
+    }
+
     /**
      * 获取平台优先级
      */
@@ -254,4 +604,554 @@ public class PlatformPriorityConfig {
             return String.format("PriorityInfo{id='%s', enabled=%s, priority=%d}", id, enabled, priority);
         }
     }
+
+    /**
+     * 平台限流信息（令牌桶参数）
+     */
+    public static class RateLimitInfo {
+        private final int permitsPerMinute;
+        private final int burst;
+
+        public RateLimitInfo(int permitsPerMinute, int burst) {
+            this.permitsPerMinute = permitsPerMinute;
+            this.burst = burst;
+        }
+
+        public int getPermitsPerMinute() {
+            return permitsPerMinute;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("RateLimitInfo{permitsPerMinute=%d, burst=%d}", permitsPerMinute, burst);
+        }
+    }
+
+    /**
+     * 熔断器参数
+     */
+    public static class CircuitBreakerInfo {
+        public static final CircuitBreakerInfo DEFAULT = new CircuitBreakerInfo(3, 30, 600);
+
+        private final int failureThreshold;
+        private final int baseBackoffSeconds;
+        private final int maxBackoffSeconds;
+
+        public CircuitBreakerInfo(int failureThreshold, int baseBackoffSeconds, int maxBackoffSeconds) {
+            this.failureThreshold = failureThreshold;
+            this.baseBackoffSeconds = baseBackoffSeconds;
+            this.maxBackoffSeconds = maxBackoffSeconds;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public int getBaseBackoffSeconds() {
+            return baseBackoffSeconds;
+        }
+
+        public int getMaxBackoffSeconds() {
+            return maxBackoffSeconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CircuitBreakerInfo{failureThreshold=%d, baseBackoff=%ds, maxBackoff=%ds}",
+                    failureThreshold, baseBackoffSeconds, maxBackoffSeconds);
+        }
+    }
+
+    /**
+     * 自适应超时参数：超时 = clamp(p99 * p99Multiplier, floorMs, ceilingMs)
+     */
+    public static class AdaptiveTimeoutInfo {
+        public static final AdaptiveTimeoutInfo DEFAULT = new AdaptiveTimeoutInfo(true, 3.0, 5_000, 45_000, 10, 100);
+
+        private final boolean enabled;
+        private final double p99Multiplier;
+        private final long floorMs;
+        private final long ceilingMs;
+        private final int minSamples;
+        private final int windowSize;
+
+        public AdaptiveTimeoutInfo(boolean enabled, double p99Multiplier, long floorMs, long ceilingMs, int minSamples,
+                int windowSize) {
+            this.enabled = enabled;
+            this.p99Multiplier = p99Multiplier;
+            this.floorMs = floorMs;
+            this.ceilingMs = Math.max(floorMs, ceilingMs);
+            this.minSamples = Math.max(1, minSamples);
+            this.windowSize = Math.max(this.minSamples, windowSize);
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public double getP99Multiplier() {
+            return p99Multiplier;
+        }
+
+        public long getFloorMs() {
+            return floorMs;
+        }
+
+        public long getCeilingMs() {
+            return ceilingMs;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AdaptiveTimeoutInfo{enabled=%s, p99x%.1f, floor=%dms, ceiling=%dms, minSamples=%d}",
+                    enabled, p99Multiplier, floorMs, ceilingMs, minSamples);
+        }
+    }
+
+    /**
+     * 排名历史参数：最多保留 maxSeries 条新闻，每条最多 pointsPerSeries 个观测点，超过 retentionMinutes 的观测点丢弃；
+     * trendWindowsMinutes 为入库时预计算上升趋势的时间窗口
+     */
+    public static class RankHistoryInfo {
+        public static final RankHistoryInfo DEFAULT = new RankHistoryInfo(10_000, 48, 24 * 60, List.of(15, 60, 240));
+
+        private final int maxSeries;
+        private final int pointsPerSeries;
+        private final int retentionMinutes;
+        private final List<Integer> trendWindowsMinutes;
+
+        public RankHistoryInfo(int maxSeries, int pointsPerSeries, int retentionMinutes) {
+            this(maxSeries, pointsPerSeries, retentionMinutes, DEFAULT.trendWindowsMinutes);
+        }
+
+        public RankHistoryInfo(int maxSeries, int pointsPerSeries, int retentionMinutes,
+                List<Integer> trendWindowsMinutes) {
+            this.maxSeries = Math.max(1, maxSeries);
+            this.pointsPerSeries = Math.max(2, pointsPerSeries);
+            this.retentionMinutes = Math.max(1, retentionMinutes);
+            this.trendWindowsMinutes = trendWindowsMinutes.stream()
+                    .filter(minutes -> minutes > 0 && minutes <= this.retentionMinutes)
+                    .distinct()
+                    .sorted()
+                    .toList();
+        }
+
+        public List<Integer> getTrendWindowsMinutes() {
+            return trendWindowsMinutes;
+        }
+
+        public int getMaxSeries() {
+            return maxSeries;
+        }
+
+        public int getPointsPerSeries() {
+            return pointsPerSeries;
+        }
+
+        public int getRetentionMinutes() {
+            return retentionMinutes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("RankHistoryInfo{maxSeries=%d, pointsPerSeries=%d, retention=%dmin, windows=%s}",
+                    maxSeries, pointsPerSeries, retentionMinutes, trendWindowsMinutes);
+        }
+    }
+
+    /**
+     * 快照变更日志参数：最多保留 maxEntries 条变更，更早的游标需要重新获取全量快照
+     */
+    public static class SnapshotLogInfo {
+        public static final SnapshotLogInfo DEFAULT = new SnapshotLogInfo(5_000);
+
+        private final int maxEntries;
+
+        public SnapshotLogInfo(int maxEntries) {
+            this.maxEntries = Math.max(1, maxEntries);
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SnapshotLogInfo{maxEntries=%d}", maxEntries);
+        }
+    }
+
+    /**
+     * MCP 资源参数：有订阅时每 refreshIntervalSeconds 秒后台爬取被订阅的平台，首页资源最多 frontPageLimit 条
+     */
+    public static class ResourceRefreshInfo {
+        public static final ResourceRefreshInfo DEFAULT = new ResourceRefreshInfo(120, 50);
+
+        private final int refreshIntervalSeconds;
+        private final int frontPageLimit;
+
+        public ResourceRefreshInfo(int refreshIntervalSeconds, int frontPageLimit) {
+            this.refreshIntervalSeconds = Math.max(10, refreshIntervalSeconds);
+            this.frontPageLimit = Math.max(1, frontPageLimit);
+        }
+
+        public int getRefreshIntervalSeconds() {
+            return refreshIntervalSeconds;
+        }
+
+        public int getFrontPageLimit() {
+            return frontPageLimit;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ResourceRefreshInfo{interval=%ds, frontPageLimit=%d}",
+                    refreshIntervalSeconds, frontPageLimit);
+        }
+    }
+
+    /**
+     * 新颖度检测参数：最近 windowDays 天内见过的 URL 与标题记录在分区 Bloom 过滤器中，
+     * 窗口切分为 partitions 个分区轮转，每个分区按 expectedItemsPerPartition 与 falsePositiveRate 确定大小。
+     * 配置了 file 时过滤器映射到该文件并在重启后保留，默认只在内存中（不向启动目录写文件）
+     */
+    public static class NoveltyInfo {
+        public static final NoveltyInfo DEFAULT = new NoveltyInfo(true, null, 7, 7, 50_000, 0.01);
+
+        private final boolean enabled;
+        private final String file;
+        private final int windowDays;
+        private final int partitions;
+        private final int expectedItemsPerPartition;
+        private final double falsePositiveRate;
+
+        public NoveltyInfo(boolean enabled, String file, int windowDays, int partitions,
+                int expectedItemsPerPartition, double falsePositiveRate) {
+            this.enabled = enabled;
+            this.file = file == null || file.isBlank() ? null : file;
+            this.windowDays = Math.max(1, windowDays);
+            this.partitions = Math.max(1, partitions);
+            this.expectedItemsPerPartition = Math.max(1, expectedItemsPerPartition);
+            this.falsePositiveRate = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public int getWindowDays() {
+            return windowDays;
+        }
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        public int getExpectedItemsPerPartition() {
+            return expectedItemsPerPartition;
+        }
+
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("NoveltyInfo{enabled=%s, file=%s, window=%dd, partitions=%d, n=%d, fpp=%.4f}",
+                    enabled, file, windowDays, partitions, expectedItemsPerPartition, falsePositiveRate);
+        }
+    }
+
+    /**
+     * 热门关键词参数：词频按 halfLifeMinutes 半衰期指数衰减；Count-Min Sketch 为 sketchDepth 行 × sketchWidth 列
+     * （列数取不小于配置值的 2 的幂），Space-Saving 最多跟踪 topKCapacity 个候选词
+     */
+    public static class TrendingKeywordsInfo {
+        public static final TrendingKeywordsInfo DEFAULT = new TrendingKeywordsInfo(30, 4096, 4, 500);
+
+        private final int halfLifeMinutes;
+        private final int sketchWidth;
+        private final int sketchDepth;
+        private final int topKCapacity;
+
+        public TrendingKeywordsInfo(int halfLifeMinutes, int sketchWidth, int sketchDepth, int topKCapacity) {
+            this.halfLifeMinutes = Math.max(1, halfLifeMinutes);
+            this.sketchWidth = Integer.highestOneBit(Math.max(16, sketchWidth - 1)) << 1;
+            this.sketchDepth = Math.max(1, sketchDepth);
+            this.topKCapacity = Math.max(1, topKCapacity);
+        }
+
+        public int getHalfLifeMinutes() {
+            return halfLifeMinutes;
+        }
+
+        public int getSketchWidth() {
+            return sketchWidth;
+        }
+
+        public int getSketchDepth() {
+            return sketchDepth;
+        }
+
+        public int getTopKCapacity() {
+            return topKCapacity;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("TrendingKeywordsInfo{halfLife=%dmin, sketch=%dx%d, topK=%d}",
+                    halfLifeMinutes, sketchDepth, sketchWidth, topKCapacity);
+        }
+    }
+
+    /**
+     * 历史快照归档参数：成功爬取的榜单按列写入堆外内存块，每块最多 chunkRows 行、chunkTextKb KB 的标题与链接文本，
+     * 内存块写满或跨越 segmentMinutes 分钟（以及跨天）后封块并写入 directory 下的不可变段文件（directory 为空时只保留在内存），
+     * 同一天内行数同一量级的段数达到 mergeFactor 时在后台合并；保留最近 retentionHours 小时，内存块总占用超过 maxMemoryMb MB 时从最旧的块开始淘汰
+     */
+    public static class ArchiveInfo {
+        public static final ArchiveInfo DEFAULT = new ArchiveInfo(true, null, 7 * 24, 16_384, 2_048, 256, 60, 4);
+
+        private final boolean enabled;
+        private final String directory;
+        private final int retentionHours;
+        private final int chunkRows;
+        private final int chunkTextKb;
+        private final int maxMemoryMb;
+        private final int segmentMinutes;
+        private final int mergeFactor;
+
+        public ArchiveInfo(boolean enabled, String directory, int retentionHours, int chunkRows, int chunkTextKb,
+                int maxMemoryMb, int segmentMinutes, int mergeFactor) {
+            this.enabled = enabled;
+            this.directory = directory == null || directory.isBlank() ? null : directory;
+            this.retentionHours = Math.max(1, retentionHours);
+            this.chunkRows = Math.max(64, chunkRows);
+            this.chunkTextKb = Math.max(64, chunkTextKb);
+            this.maxMemoryMb = Math.max(1, maxMemoryMb);
+            this.segmentMinutes = Math.max(1, segmentMinutes);
+            this.mergeFactor = Math.max(2, mergeFactor);
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public int getRetentionHours() {
+            return retentionHours;
+        }
+
+        public int getChunkRows() {
+            return chunkRows;
+        }
+
+        public int getChunkTextKb() {
+            return chunkTextKb;
+        }
+
+        public int getMaxMemoryMb() {
+            return maxMemoryMb;
+        }
+
+        public int getSegmentMinutes() {
+            return segmentMinutes;
+        }
+
+        public int getMergeFactor() {
+            return mergeFactor;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ArchiveInfo{enabled=%s, directory=%s, retention=%dh, chunk=%d rows/%dKB, "
+                    + "maxMemory=%dMB, segment=%dmin, mergeFactor=%d}",
+                    enabled, directory, retentionHours, chunkRows, chunkTextKb, maxMemoryMb, segmentMinutes, mergeFactor);
+        }
+    }
+
+    /**
+     * 模糊检索配置：精确匹配不足 limit 条时，按字符二元组与拼音索引补充编辑距离内的结果
+     */
+    public static class FuzzySearchInfo {
+        public static final FuzzySearchInfo DEFAULT = new FuzzySearchInfo(true, 4, 2);
+
+        private final boolean enabled;
+        private final int minQueryLength;
+        private final int maxEdits;
+
+        public FuzzySearchInfo(boolean enabled, int minQueryLength, int maxEdits) {
+            this.enabled = enabled;
+            this.minQueryLength = Math.max(2, minQueryLength);
+            this.maxEdits = Math.max(0, Math.min(2, maxEdits));
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getMinQueryLength() {
+            return minQueryLength;
+        }
+
+        public int getMaxEdits() {
+            return maxEdits;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("FuzzySearchInfo{enabled=%s, minQueryLength=%d, maxEdits=%d}",
+                    enabled, minQueryLength, maxEdits);
+        }
+    }
+
+    /**
+     * HTTP 会话配置：initialize 时分配 Mcp-Session-Id，会话内保存分页快照
+     */
+    public static class SessionInfo {
+        public static final SessionInfo DEFAULT = new SessionInfo(30, 1000, 8);
+
+        private final int idleTimeoutMinutes;
+        private final int maxSessions;
+        private final int maxSnapshotsPerSession;
+
+        public SessionInfo(int idleTimeoutMinutes, int maxSessions, int maxSnapshotsPerSession) {
+            this.idleTimeoutMinutes = Math.max(1, idleTimeoutMinutes);
+            this.maxSessions = Math.max(1, maxSessions);
+            this.maxSnapshotsPerSession = Math.max(1, maxSnapshotsPerSession);
+        }
+
+        public int getIdleTimeoutMinutes() {
+            return idleTimeoutMinutes;
+        }
+
+        public int getMaxSessions() {
+            return maxSessions;
+        }
+
+        public int getMaxSnapshotsPerSession() {
+            return maxSnapshotsPerSession;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SessionInfo{idleTimeoutMinutes=%d, maxSessions=%d, maxSnapshotsPerSession=%d}",
+                    idleTimeoutMinutes, maxSessions, maxSnapshotsPerSession);
+        }
+    }
+
+    /**
+     * HTTP 准入控制配置：轻量方法固定并发上限，tools/call 的并发上限按延迟 AIMD 自适应
+     */
+    public static class AdmissionInfo {
+        public static final AdmissionInfo DEFAULT = new AdmissionInfo(true, 64, 8, 2, 32, 10_000, 0.9);
+
+        private final boolean enabled;
+        private final int cheapLimit;
+        private final int initialLimit;
+        private final int minLimit;
+        private final int maxLimit;
+        private final long latencyThresholdMs;
+        private final double backoffRatio;
+
+        public AdmissionInfo(boolean enabled, int cheapLimit, int initialLimit, int minLimit, int maxLimit,
+                long latencyThresholdMs, double backoffRatio) {
+            this.enabled = enabled;
+            this.cheapLimit = Math.max(1, cheapLimit);
+            this.minLimit = Math.max(1, minLimit);
+            this.maxLimit = Math.max(this.minLimit, maxLimit);
+            this.initialLimit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+            this.latencyThresholdMs = Math.max(1, latencyThresholdMs);
+            this.backoffRatio = backoffRatio > 0 && backoffRatio < 1 ? backoffRatio : 0.9;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getCheapLimit() {
+            return cheapLimit;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public long getLatencyThresholdMs() {
+            return latencyThresholdMs;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AdmissionInfo{enabled=%s, cheapLimit=%d, initialLimit=%d, minLimit=%d, maxLimit=%d, "
+                            + "latencyThresholdMs=%d, backoffRatio=%.2f}",
+                    enabled, cheapLimit, initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio);
+        }
+    }
+
+    /**
+     * HTTP 响应压缩配置：按 Accept-Encoding 协商 gzip/deflate，超过 minSizeBytes 的响应以分块传输流式压缩
+     */
+    public static class CompressionInfo {
+        public static final CompressionInfo DEFAULT = new CompressionInfo(true, 1024, 6);
+
+        private final boolean enabled;
+        private final int minSizeBytes;
+        private final int level;
+
+        public CompressionInfo(boolean enabled, int minSizeBytes, int level) {
+            this.enabled = enabled;
+            this.minSizeBytes = Math.max(1, minSizeBytes);
+            this.level = Math.max(1, Math.min(9, level));
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getMinSizeBytes() {
+            return minSizeBytes;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CompressionInfo{enabled=%s, minSizeBytes=%d, level=%d}",
+                    enabled, minSizeBytes, level);
+        }
+    }
 }
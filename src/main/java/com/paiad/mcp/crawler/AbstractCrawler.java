@@ -1,9 +1,13 @@
 package com.paiad.mcp.crawler;
 
+import com.paiad.mcp.config.PlatformPriorityConfig;
+import com.paiad.mcp.metrics.McpMetrics;
 import com.paiad.mcp.model.pojo.NewsItem;
 import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
 import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
 import com.paiad.mcp.util.HttpClientFactory;
+import com.paiad.mcp.util.RollingLatencyWindow;
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -11,8 +15,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 抽象爬虫基类
@@ -39,6 +49,34 @@ public abstract class AbstractCrawler {
      */
     protected final String platformName;
 
+    /**
+     * 当前线程正在执行的爬取上下文（由 crawlWithOutcome 设置，doGet 读取并挂到请求 tag 上）
+     */
+    private static final ThreadLocal<CrawlContext> CURRENT_CONTEXT = new ThreadLocal<>();
+
+    /**
+     * 上次成功爬取的快照，限流时直接返回
+     */
+    private volatile List<NewsItem> lastSnapshot = List.of();
+    private volatile long lastSnapshotAt;
+
+    /**
+     * 平台熔断器 - 平台持续不可用时短路请求，避免每次都等待超时与重试
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * 对冲请求参数：主源样本不足时使用默认对冲延迟
+     */
+    private static final long DEFAULT_HEDGE_DELAY_MS = 3_000;
+    private static final long MIN_HEDGE_DELAY_MS = 200;
+    private static final int MIN_HEDGE_SAMPLES = 5;
+
+    /**
+     * 主源成功响应的延迟样本，用于计算对冲触发阈值（p95）
+     */
+    private final RollingLatencyWindow primarySourceLatency = new RollingLatencyWindow(64);
+
     public AbstractCrawler(String platformId, String platformName) {
         this.platformId = platformId;
         this.platformName = platformName;
@@ -46,6 +84,10 @@ public abstract class AbstractCrawler {
         this.httpClient = isInternational()
                 ? HttpClientFactory.getProxyInstance()
                 : HttpClientFactory.getInstance();
+        PlatformPriorityConfig.CircuitBreakerInfo breakerInfo = PlatformPriorityConfig.getInstance()
+                .getCircuitBreakerInfo();
+        this.circuitBreaker = new CircuitBreaker(breakerInfo.getFailureThreshold(),
+                breakerInfo.getBaseBackoffSeconds() * 1000L, breakerInfo.getMaxBackoffSeconds() * 1000L);
     }
 
     /**
@@ -63,10 +105,21 @@ public abstract class AbstractCrawler {
      */
     public abstract List<NewsItem> crawl();
 
+    /**
+     * 将接口响应解析为热榜数据，不发起请求
+     *
+     * crawl() 取得响应后调用；单独暴露便于在不经过 HTTP 的情况下对解析做基准测试
+     *
+     * @param body 响应体
+     * @throws Exception 响应无法解析
+     */
+    public abstract List<NewsItem> parse(String body) throws Exception;
+
     /**
      * 发送 GET 请求
      */
     protected String doGet(String url) throws IOException {
+        CrawlContext context = CURRENT_CONTEXT.get();
         Request request = new Request.Builder()
                 .url(url)
                 .header("User-Agent",
@@ -74,67 +127,320 @@ public abstract class AbstractCrawler {
                 .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
                 .header("Accept-Language", "zh-CN,zh;q=0.9,en;q=0.8")
                 .header("Accept-Encoding", "gzip, deflate, br")
+                .tag(CrawlContext.class, context)
                 .build();
+        return execute(request, context);
+    }
+
+    /**
+     * 发送带自定义 Headers 的 GET 请求
+     */
+    protected String doGet(String url, Map<String, String> headers) throws IOException {
+        CrawlContext context = CURRENT_CONTEXT.get();
+        return execute(buildRequest(url, headers, context), context);
+    }
 
-        try (Response response = httpClient.newCall(request).execute()) {
+    /**
+     * 执行请求并在爬取上下文中登记 Call，使超时/取消能真正中断底层连接
+     */
+    private String execute(Request request, CrawlContext context) throws IOException {
+        Call call = httpClient.newCall(request);
+        if (context != null) {
+            context.register(call);
+        }
+        try (Response response = call.execute()) {
             if (!response.isSuccessful()) {
                 throw new IOException("请求失败: " + response.code());
             }
             return response.body() != null ? response.body().string() : "";
+        } finally {
+            if (context != null) {
+                context.unregister(call);
+            }
         }
     }
 
     /**
-     * 发送带自定义 Headers 的 GET 请求
+     * 多源对冲 GET
+     *
+     * 先请求主源；主源在其近期 p95 延迟内未响应时启动下一个备用源，任一源失败也会立即启动下一个源。
+     * 首个解析成功（非 null 且非空集合）的结果胜出，其余在途请求通过 {@link Call#cancel()} 取消。
+     *
+     * @param urls    源地址，按优先级排列，第一个为主源
+     * @param headers 自定义请求头
+     * @param parser  响应解析器，抛出异常或返回空结果视为该源失败
+     * @return 胜出源的解析结果
+     * @throws IOException 所有源均失败时抛出最后一个错误
      */
-    protected String doGet(String url, Map<String, String> headers) throws IOException {
+    protected <T> T hedgedGet(List<String> urls, Map<String, String> headers, SourceParser<T> parser)
+            throws IOException {
+        if (urls == null || urls.isEmpty()) {
+            throw new IllegalArgumentException("urls must not be empty");
+        }
+        CrawlContext context = CURRENT_CONTEXT.get();
+        BlockingQueue<HedgeAttempt<T>> completions = new LinkedBlockingQueue<>();
+        HedgeCalls calls = new HedgeCalls();
+        long hedgeDelayMs = hedgeDelayMs();
+        Exception lastError = null;
+        int started = 0;
+        int finished = 0;
+        boolean primaryFinished = false;
+        long primaryStart = System.currentTimeMillis();
+
+        try {
+            startHedgeAttempt(urls.get(started), started++, headers, context, parser, calls, completions);
+            long nextHedgeAt = System.currentTimeMillis() + hedgeDelayMs;
+
+            while (finished < started) {
+                HedgeAttempt<T> attempt;
+                if (started < urls.size()) {
+                    long waitMs = nextHedgeAt - System.currentTimeMillis();
+                    attempt = waitMs > 0 ? completions.poll(waitMs, TimeUnit.MILLISECONDS) : null;
+                    if (attempt == null) {
+                        logger.info("[{}] 源在 {}ms 内未响应，启动对冲请求: {}", platformName, hedgeDelayMs,
+                                urls.get(started));
+                        startHedgeAttempt(urls.get(started), started++, headers, context, parser, calls, completions);
+                        nextHedgeAt = System.currentTimeMillis() + hedgeDelayMs;
+                        continue;
+                    }
+                } else {
+                    attempt = completions.take();
+                }
+                finished++;
+                if (attempt.index() == 0) {
+                    primaryFinished = true;
+                }
+
+                if (attempt.error() == null) {
+                    if (attempt.index() == 0) {
+                        primarySourceLatency.record(attempt.latencyMs());
+                    } else {
+                        logger.info("[{}] 备用源 #{} 胜出 ({}ms)", platformName, attempt.index(), attempt.latencyMs());
+                        if (!primaryFinished) {
+                            // 主源仍未响应即被取消：记录已等待的时长作为其延迟下界（删失样本），
+                            // 否则慢响应永远进不了样本，p95 会越来越低，对冲越来越频繁
+                            primarySourceLatency.record(System.currentTimeMillis() - primaryStart);
+                        }
+                    }
+                    return attempt.result();
+                }
+
+                lastError = attempt.error();
+                logger.warn("[{}] 源 #{} 失败: {}", platformName, attempt.index(), lastError.getMessage());
+                if (started < urls.size()) {
+                    startHedgeAttempt(urls.get(started), started++, headers, context, parser, calls, completions);
+                    nextHedgeAt = System.currentTimeMillis() + hedgeDelayMs;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("对冲请求被中断");
+        } finally {
+            calls.cancelAll();
+        }
+
+        if (lastError instanceof IOException ioException) {
+            throw ioException;
+        }
+        throw new IOException("所有源均失败: " + (lastError != null ? lastError.getMessage() : "unknown"), lastError);
+    }
+
+    private <T> void startHedgeAttempt(String url, int index, Map<String, String> headers, CrawlContext context,
+            SourceParser<T> parser, HedgeCalls calls, BlockingQueue<HedgeAttempt<T>> completions) {
+        Thread.ofVirtual().name("hedge-" + platformId + "-" + index).start(() -> {
+            long start = System.currentTimeMillis();
+            Call call = httpClient.newCall(buildRequest(url, headers, context));
+            calls.add(call);
+            if (context != null) {
+                context.register(call);
+            }
+            try (Response response = call.execute()) {
+                if (!response.isSuccessful()) {
+                    throw new IOException("请求失败: " + response.code());
+                }
+                String body = response.body() != null ? response.body().string() : "";
+                T result = parser.parse(body);
+                if (result == null || (result instanceof Collection<?> collection && collection.isEmpty())) {
+                    throw new IOException("源返回空结果: " + url);
+                }
+                completions.add(new HedgeAttempt<>(index, result, null, System.currentTimeMillis() - start));
+            } catch (Exception e) {
+                completions.add(new HedgeAttempt<>(index, null, e, System.currentTimeMillis() - start));
+            } finally {
+                if (context != null) {
+                    context.unregister(call);
+                }
+            }
+        });
+    }
+
+    /**
+     * 主源近期延迟样本，含被对冲取消时记录的删失样本
+     */
+    RollingLatencyWindow primarySourceLatency() {
+        return primarySourceLatency;
+    }
+
+    private long hedgeDelayMs() {
+        if (primarySourceLatency.size() < MIN_HEDGE_SAMPLES) {
+            return DEFAULT_HEDGE_DELAY_MS;
+        }
+        return Math.max(MIN_HEDGE_DELAY_MS, primarySourceLatency.percentile(0.95));
+    }
+
+    private Request buildRequest(String url, Map<String, String> headers, CrawlContext context) {
         Request.Builder builder = new Request.Builder()
                 .url(url)
                 .header("User-Agent",
-                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+                .tag(CrawlContext.class, context);
 
         if (headers != null) {
             for (Map.Entry<String, String> entry : headers.entrySet()) {
                 builder.header(entry.getKey(), entry.getValue());
             }
         }
+        return builder.build();
+    }
 
-        Request request = builder.build();
+    /**
+     * 对冲请求的响应解析器
+     */
+    @FunctionalInterface
+    protected interface SourceParser<T> {
+        T parse(String body) throws Exception;
+    }
 
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
-                throw new IOException("请求失败: " + response.code());
+    private record HedgeAttempt<T>(int index, T result, Exception error, long latencyMs) {
+    }
+
+    /**
+     * 对冲请求中已发出的 Call 集合；取消后新登记的 Call 会被立即取消
+     */
+    private static final class HedgeCalls {
+        private final List<Call> calls = new ArrayList<>();
+        private boolean cancelled;
+
+        synchronized void add(Call call) {
+            if (cancelled) {
+                call.cancel();
+            }
+            calls.add(call);
+        }
+
+        synchronized void cancelAll() {
+            cancelled = true;
+            for (Call call : calls) {
+                call.cancel();
             }
-            return response.body() != null ? response.body().string() : "";
         }
     }
 
     /**
-     * 安全执行爬取，捕获异常
+     * 安全执行爬取，捕获异常；熔断打开时直接短路
      */
     public PlatformCrawlOutcome crawlWithOutcome() {
+        return crawlWithOutcome(new CrawlContext(platformId));
+    }
+
+    /**
+     * 使用调用方提供的上下文执行爬取，调用方可通过 {@link CrawlContext#cancel()} 取消在途请求
+     */
+    public PlatformCrawlOutcome crawlWithOutcome(CrawlContext context) {
+        if (!circuitBreaker.tryAcquire()) {
+            long remainingMs = circuitBreaker.getRemainingOpenMillis();
+            logger.warn("[{}] 熔断中，跳过爬取（{}ms 后允许探测）", platformName, remainingMs);
+            return new PlatformCrawlOutcome(platformId, platformName, PlatformCrawlStatus.CIRCUIT_OPEN, List.of(),
+                    "CIRCUIT_OPEN", "Circuit open, next probe in " + remainingMs + "ms", 0)
+                    .withCircuitState(circuitBreaker.getState().name());
+        }
+        PlatformCrawlOutcome outcome;
+        McpMetrics.CRAWLS_IN_FLIGHT.labels().inc();
+        try {
+            outcome = doCrawlWithOutcome(context);
+        } finally {
+            McpMetrics.CRAWLS_IN_FLIGHT.labels().dec();
+        }
+        switch (outcome.status()) {
+            case SUCCESS -> circuitBreaker.onSuccess();
+            // 多数爬虫内部吞掉异常返回空列表，空数据同样视为平台不可用
+            case FAILED, EMPTY, TIMEOUT -> circuitBreaker.onFailure();
+            default -> circuitBreaker.onIgnored();
+        }
+        CircuitBreaker.State state = circuitBreaker.getState();
+        if (state != CircuitBreaker.State.CLOSED) {
+            logger.warn("[{}] 熔断器状态: {}", platformName, state);
+        }
+        Map<String, Long> phaseTimings = context.getPhaseTimingsMs();
+        if (!phaseTimings.isEmpty()) {
+            logger.debug("[{}] HTTP 阶段耗时(ms): {}", platformName, phaseTimings);
+        }
+        return outcome.withCircuitState(state.name()).withPhaseTimings(phaseTimings);
+    }
+
+    private PlatformCrawlOutcome doCrawlWithOutcome(CrawlContext context) {
+        CURRENT_CONTEXT.set(context);
         long startTime = System.currentTimeMillis();
         try {
             List<NewsItem> items = crawl();
             long latencyMs = System.currentTimeMillis() - startTime;
+            if (context.isThrottled()) {
+                return throttledOutcome(latencyMs);
+            }
+            if (items.isEmpty() && context.isExpired()) {
+                return timeoutOutcome(latencyMs);
+            }
             if (items.isEmpty()) {
                 logger.warn("[{}] 爬取完成但返回空数据", platformName);
                 return new PlatformCrawlOutcome(platformId, platformName, PlatformCrawlStatus.EMPTY, items, null, null,
                         latencyMs);
             } else {
                 logger.info("[{}] 成功爬取 {} 条热榜数据", platformName, items.size());
+                lastSnapshot = List.copyOf(items);
+                lastSnapshotAt = System.currentTimeMillis();
                 return new PlatformCrawlOutcome(platformId, platformName, PlatformCrawlStatus.SUCCESS, items, null, null,
                         latencyMs);
             }
         } catch (Exception e) {
             long latencyMs = System.currentTimeMillis() - startTime;
+            if (context.isThrottled()) {
+                return throttledOutcome(latencyMs);
+            }
+            if (context.isExpired()) {
+                return timeoutOutcome(latencyMs);
+            }
             // 记录详细的错误信息
             logger.error("[{}] 爬取失败: {} ({})", platformName, e.getMessage(), e.getClass().getSimpleName());
             return new PlatformCrawlOutcome(platformId, platformName, PlatformCrawlStatus.FAILED, List.of(),
                     e.getClass().getSimpleName(), e.getMessage(), latencyMs);
+        } finally {
+            CURRENT_CONTEXT.remove();
         }
     }
 
+    /**
+     * 截止时间到期导致请求被取消（爬虫内部可能吞掉异常返回空列表），统一映射为超时
+     */
+    private PlatformCrawlOutcome timeoutOutcome(long latencyMs) {
+        logger.error("[{}] 爬取超时 ({}ms)", platformName, latencyMs);
+        return new PlatformCrawlOutcome(platformId, platformName, PlatformCrawlStatus.TIMEOUT, List.of(),
+                "TIMEOUT", "Platform crawl timed out", latencyMs);
+    }
+
+    /**
+     * 限流时返回上次快照，不等待令牌
+     */
+    private PlatformCrawlOutcome throttledOutcome(long latencyMs) {
+        List<NewsItem> snapshot = lastSnapshot;
+        String message = snapshot.isEmpty()
+                ? "Rate limited and no snapshot available"
+                : "Rate limited, serving snapshot from "
+                        + (System.currentTimeMillis() - lastSnapshotAt) / 1000 + "s ago";
+        logger.warn("[{}] {}", platformName, message);
+        return new PlatformCrawlOutcome(platformId, platformName, PlatformCrawlStatus.THROTTLED, snapshot,
+                "RATE_LIMITED", message, latencyMs);
+    }
+
     /**
      * 兼容旧调用：返回爬取数据列表。
      */
@@ -142,6 +448,10 @@ public abstract class AbstractCrawler {
         return crawlWithOutcome().items();
     }
 
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
     public String getPlatformId() {
         return platformId;
     }
@@ -0,0 +1,104 @@
+package com.paiad.mcp.crawler;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 平台熔断器
+ *
+ * 连续失败达到阈值后进入 OPEN 状态，期间请求直接短路；
+ * 熔断窗口到期后进入 HALF_OPEN，仅放行一个探测请求：
+ * 探测成功则恢复 CLOSED，失败则以指数退避（上限 maxOpenMillis）重新打开。
+ *
+ * @author Paiad
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long baseOpenMillis;
+    private final long maxOpenMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int consecutiveOpens;
+    private long openUntilMillis;
+
+    public CircuitBreaker(int failureThreshold, long baseOpenMillis, long maxOpenMillis) {
+        this(failureThreshold, baseOpenMillis, maxOpenMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long baseOpenMillis, long maxOpenMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseOpenMillis = Math.max(1, baseOpenMillis);
+        this.maxOpenMillis = Math.max(this.baseOpenMillis, maxOpenMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * 申请执行许可
+     *
+     * @return true 表示允许执行（CLOSED 或获得探测资格），false 表示应短路返回
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && clock.getAsLong() >= openUntilMillis) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        // OPEN 未到期，或 HALF_OPEN 已有探测请求在途
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        consecutiveOpens = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 结果不反映平台健康度（如本地限流）时调用：释放探测资格，下一次请求可立即重新探测
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openUntilMillis = clock.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 距离下一次允许探测的剩余毫秒数（非 OPEN 状态返回 0）
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openUntilMillis - clock.getAsLong());
+    }
+
+    private void open() {
+        consecutiveOpens++;
+        int exponent = Math.min(consecutiveOpens - 1, 30);
+        long openMillis = Math.min(maxOpenMillis, baseOpenMillis << exponent);
+        state = State.OPEN;
+        openUntilMillis = clock.getAsLong() + openMillis;
+    }
+}
@@ -0,0 +1,202 @@
+package com.paiad.mcp.crawler;
+
+import com.paiad.mcp.metrics.MetricsRegistry;
+import com.paiad.mcp.util.PhaseTimingEventListener;
+import okhttp3.Call;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单次平台爬取的上下文
+ * 通过 OkHttp Request tag 随请求传递，供拦截器回传限流等事件；
+ * 同时作为取消句柄，持有在途的 {@link Call}，取消爬取或截止时间到期时主动释放连接。
+ *
+ * @author Paiad
+ */
+public final class CrawlContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlContext.class);
+
+    /**
+     * 因取消爬取或截止时间到期而被提前释放的在途请求总数（进程级指标）
+     */
+    private static final LongAdder RELEASED_CALLS = new LongAdder();
+
+    static {
+        MetricsRegistry.getInstance().counterFunction("mcp_crawl_calls_released_total",
+                "In-flight upstream HTTP calls released early because the crawl was cancelled or ran past its deadline",
+                RELEASED_CALLS::sum);
+    }
+
+    private final String platformId;
+
+    /**
+     * 截止时间（System.nanoTime 基准），0 表示不设截止时间
+     */
+    private final long deadlineNanos;
+    private final long timeoutMillis;
+
+    private final Set<Call> activeCalls = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 本次爬取所有 HTTP 调用的阶段耗时累计（毫秒），下标对应 {@link PhaseTimingEventListener#PHASES}
+     */
+    private final long[] phaseTimingsMs = new long[PhaseTimingEventListener.PHASES.size()];
+    private boolean hasPhaseTimings;
+
+    private volatile boolean throttled;
+    private volatile boolean cancelled;
+
+    public CrawlContext(String platformId) {
+        this(platformId, 0);
+    }
+
+    /**
+     * @param timeoutMillis 爬取总时长上限，&lt;= 0 表示不限制
+     */
+    public CrawlContext(String platformId, long timeoutMillis) {
+        this.platformId = platformId;
+        this.timeoutMillis = Math.max(0, timeoutMillis);
+        this.deadlineNanos = timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+    }
+
+    public String getPlatformId() {
+        return platformId;
+    }
+
+    /**
+     * 爬取总时长上限，0 表示不限制
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 距截止时间的剩余毫秒数；未设置截止时间时返回 Long.MAX_VALUE
+     */
+    public long getRemainingMillis() {
+        if (deadlineNanos == 0) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * 是否已超过截止时间
+     */
+    public boolean isExpired() {
+        return deadlineNanos != 0 && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /**
+     * 标记本次爬取被本地限流
+     */
+    public void markThrottled() {
+        this.throttled = true;
+    }
+
+    public boolean isThrottled() {
+        return throttled;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 登记在途请求；按剩余截止时间设置 OkHttp call timeout，到期由 OkHttp 自动取消
+     * 若上下文已被取消，请求会被立即取消
+     */
+    public void register(Call call) {
+        if (deadlineNanos > 0) {
+            long remainingNanos = Math.max(1, deadlineNanos - System.nanoTime());
+            call.timeout().timeout(remainingNanos, TimeUnit.NANOSECONDS);
+        }
+        activeCalls.add(call);
+        if (cancelled && activeCalls.remove(call)) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * 调用失败时由 {@link PhaseTimingEventListener} 回调
+     * 截止时间到期时 OkHttp 的 call timeout 通常先于 {@link #cancel()} 取消调用，这类释放在此计数；
+     * 两条路径都以从在途集合中移除成功为准，同一调用只计一次
+     */
+    public void onCallFailed(Call call) {
+        if (call.isCanceled() && activeCalls.remove(call)) {
+            RELEASED_CALLS.increment();
+            logger.info("[{}] 截止时间到期，提前释放在途请求", platformId);
+        }
+    }
+
+    /**
+     * 请求结束（成功或失败）后注销
+     */
+    public void unregister(Call call) {
+        activeCalls.remove(call);
+    }
+
+    /**
+     * 取消本次爬取的全部在途请求
+     *
+     * @return 被提前释放的请求数
+     */
+    public int cancel() {
+        cancelled = true;
+        int released = 0;
+        for (Call call : activeCalls) {
+            if (activeCalls.remove(call)) {
+                // 先计数再取消：取消会立即唤醒阻塞在 execute 上的线程
+                RELEASED_CALLS.increment();
+                released++;
+                call.cancel();
+            }
+        }
+        if (released > 0) {
+            logger.info("[{}] 取消爬取，提前释放 {} 个在途请求", platformId, released);
+        }
+        return released;
+    }
+
+    /**
+     * 累加一次 HTTP 调用的阶段耗时
+     */
+    public synchronized void addPhaseTimings(long[] millis) {
+        for (int i = 0; i < phaseTimingsMs.length && i < millis.length; i++) {
+            phaseTimingsMs[i] += millis[i];
+        }
+        hasPhaseTimings = true;
+    }
+
+    /**
+     * 本次爬取的阶段耗时（毫秒），无 HTTP 调用完成时返回空 Map
+     */
+    public synchronized Map<String, Long> getPhaseTimingsMs() {
+        if (!hasPhaseTimings) {
+            return Collections.emptyMap();
+        }
+        List<String> phases = PhaseTimingEventListener.PHASES;
+        Map<String, Long> timings = new LinkedHashMap<>();
+        for (int i = 0; i < phases.size(); i++) {
+            timings.put(phases.get(i), phaseTimingsMs[i]);
+        }
+        return timings;
+    }
+
+    /**
+     * 因取消爬取或截止时间到期而被提前释放的在途请求累计数
+     */
+    public static long getReleasedCallCount() {
+        return RELEASED_CALLS.sum();
+    }
+}
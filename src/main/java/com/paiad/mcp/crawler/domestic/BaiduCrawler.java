@@ -29,24 +29,27 @@ public class BaiduCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             // 添加请求头
             Map<String, String> headers = new HashMap<>();
             headers.put("User-Agent",
                     "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
 
-            String html = doGet(API_URL, headers);
-
-            // 方法1: 从 <!--s-data:...--> 注释中提取 (newsnow 方式)
-            if (!parseFromSData(html, items)) {
-                // 方法2: 尝试从正则匹配
-                parseFromRegex(html, items);
-            }
-
+            return parse(doGet(API_URL, headers));
         } catch (Exception e) {
             logger.error("百度热搜爬取失败: {}", e.getMessage(), e);
         }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<NewsItem> parse(String html) {
+        List<NewsItem> items = new ArrayList<>();
+        // 方法1: 从 <!--s-data:...--> 注释中提取 (newsnow 方式)
+        if (!parseFromSData(html, items)) {
+            // 方法2: 尝试从正则匹配
+            parseFromRegex(html, items);
+        }
         return items;
     }
 
@@ -25,47 +25,52 @@ public class BilibiliCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             Map<String, String> headers = new HashMap<>();
             headers.put("Referer", "https://www.bilibili.com/");
 
-            String response = doGet(HOT_ALL_URL, headers);
-            JsonNode json = JsonUtils.getMapper().readTree(response);
+            return parse(doGet(HOT_ALL_URL, headers));
+        } catch (Exception e) {
+            logger.error("B站热榜爬取失败: {}", e.getMessage(), e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<NewsItem> parse(String response) throws Exception {
+        List<NewsItem> items = new ArrayList<>();
+        JsonNode json = JsonUtils.getMapper().readTree(response);
 
-            if (json.has("code") && json.get("code").asInt() == 0) {
-                JsonNode data = json.get("data");
-                JsonNode list = data != null ? data.get("list") : null;
+        if (json.has("code") && json.get("code").asInt() == 0) {
+            JsonNode data = json.get("data");
+            JsonNode list = data != null ? data.get("list") : null;
 
-                if (list != null && list.isArray()) {
-                    for (int i = 0; i < list.size(); i++) {
-                        JsonNode item = list.get(i);
+            if (list != null && list.isArray()) {
+                for (int i = 0; i < list.size(); i++) {
+                    JsonNode item = list.get(i);
 
-                        String bvid = item.has("bvid") ? item.get("bvid").asText() : "";
-                        String title = item.has("title") ? item.get("title").asText() : "";
-                        String url = "https://www.bilibili.com/video/" + bvid;
+                    String bvid = item.has("bvid") ? item.get("bvid").asText() : "";
+                    String title = item.has("title") ? item.get("title").asText() : "";
+                    String url = "https://www.bilibili.com/video/" + bvid;
 
-                        JsonNode stat = item.get("stat");
-                        Long view = (stat != null && stat.has("view")) ? stat.get("view").asLong() : 0L;
+                    JsonNode stat = item.get("stat");
+                    Long view = (stat != null && stat.has("view")) ? stat.get("view").asLong() : 0L;
 
-                        NewsItem newsItem = NewsItem.builder()
-                                .id("bilibili_" + bvid)
-                                .title(title)
-                                .url(url)
-                                .platform(platformId)
-                                .platformName(platformName)
-                                .rank(i + 1)
-                                .hotScore(view)
-                                .hotDesc(formatViewCount(view) + "播放")
-                                .timestamp(System.currentTimeMillis())
-                                .build();
+                    NewsItem newsItem = NewsItem.builder()
+                            .id("bilibili_" + bvid)
+                            .title(title)
+                            .url(url)
+                            .platform(platformId)
+                            .platformName(platformName)
+                            .rank(i + 1)
+                            .hotScore(view)
+                            .hotDesc(formatViewCount(view) + "播放")
+                            .timestamp(System.currentTimeMillis())
+                            .build();
 
-                        items.add(newsItem);
-                    }
+                    items.add(newsItem);
                 }
             }
-        } catch (Exception e) {
-            logger.error("B站热榜爬取失败: {}", e.getMessage(), e);
         }
         return items;
     }
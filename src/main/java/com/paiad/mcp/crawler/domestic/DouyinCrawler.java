@@ -27,55 +27,60 @@ public class DouyinCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             Map<String, String> headers = new HashMap<>();
             headers.put("Referer", "https://www.douyin.com/");
             headers.put("Accept", "application/json, text/plain, */*");
 
-            String response = doGet(API_URL, headers);
-            JsonNode json = JsonUtils.getMapper().readTree(response);
-
-            Integer statusCode = json.has("status_code") ? json.get("status_code").asInt() : null;
-            if (statusCode != null && statusCode == 0) {
-                JsonNode data = json.get("data");
-                if (data != null) {
-                    JsonNode wordList = data.get("word_list");
-                    if (wordList != null && wordList.isArray()) {
-                        for (int i = 0; i < wordList.size(); i++) {
-                            JsonNode item = wordList.get(i);
-
-                            String word = item.has("word") ? item.get("word").asText() : "";
-                            Long hotValue = item.has("hot_value") ? item.get("hot_value").asLong() : 0L;
-                            String sentence = item.has("sentence_id") ? item.get("sentence_id").asText() : null;
-                            Integer label = item.has("label") ? item.get("label").asInt() : null;
-
-                            String url = "https://www.douyin.com/search/" + encodeUrl(word);
-                            String tag = getTagFromLabel(label);
-
-                            NewsItem newsItem = NewsItem.builder()
-                                    .id("douyin_" + (sentence != null ? sentence : String.valueOf(i)))
-                                    .title(word)
-                                    .url(url)
-                                    .platform(platformId)
-                                    .platformName(platformName)
-                                    .rank(i + 1)
-                                    .hotScore(hotValue)
-                                    .hotDesc(formatHotScore(hotValue))
-                                    .tag(tag)
-                                    .timestamp(System.currentTimeMillis())
-                                    .build();
-
-                            items.add(newsItem);
-                        }
+            return parse(doGet(API_URL, headers));
+        } catch (Exception e) {
+            logger.error("抖音热榜爬取失败: {}", e.getMessage(), e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<NewsItem> parse(String response) throws Exception {
+        List<NewsItem> items = new ArrayList<>();
+        JsonNode json = JsonUtils.getMapper().readTree(response);
+
+        Integer statusCode = json.has("status_code") ? json.get("status_code").asInt() : null;
+        if (statusCode != null && statusCode == 0) {
+            JsonNode data = json.get("data");
+            if (data != null) {
+                JsonNode wordList = data.get("word_list");
+                if (wordList != null && wordList.isArray()) {
+                    for (int i = 0; i < wordList.size(); i++) {
+                        JsonNode item = wordList.get(i);
+
+                        String word = item.has("word") ? item.get("word").asText() : "";
+                        Long hotValue = item.has("hot_value") ? item.get("hot_value").asLong() : 0L;
+                        String sentence = item.has("sentence_id") ? item.get("sentence_id").asText() : null;
+                        Integer label = item.has("label") ? item.get("label").asInt() : null;
+
+                        String url = "https://www.douyin.com/search/" + encodeUrl(word);
+                        String tag = getTagFromLabel(label);
+
+                        NewsItem newsItem = NewsItem.builder()
+                                .id("douyin_" + (sentence != null ? sentence : String.valueOf(i)))
+                                .title(word)
+                                .url(url)
+                                .platform(platformId)
+                                .platformName(platformName)
+                                .rank(i + 1)
+                                .hotScore(hotValue)
+                                .hotDesc(formatHotScore(hotValue))
+                                .tag(tag)
+                                .timestamp(System.currentTimeMillis())
+                                .build();
+
+                        items.add(newsItem);
                     }
                 }
-            } else {
-                // 如果 API 失败，记录日志
-                logger.warn("抖音热榜 API 返回非成功状态: {}", response);
             }
-        } catch (Exception e) {
-            logger.error("抖音热榜爬取失败: {}", e.getMessage(), e);
+        } else {
+            // 如果 API 失败，记录日志
+            logger.warn("抖音热榜 API 返回非成功状态: {}", response);
         }
         return items;
     }
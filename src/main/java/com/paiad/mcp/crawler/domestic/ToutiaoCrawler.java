@@ -25,50 +25,55 @@ public class ToutiaoCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             Map<String, String> headers = new HashMap<>();
             headers.put("Referer", "https://www.toutiao.com/");
 
-            String response = doGet(API_URL, headers);
-            JsonNode json = JsonUtils.getMapper().readTree(response);
-
-            String status = json.has("status") ? json.get("status").asText() : "";
-            if ("success".equals(status)) {
-                JsonNode data = json.get("data");
-                if (data != null && data.isArray()) {
-                    for (int i = 0; i < data.size(); i++) {
-                        JsonNode item = data.get(i);
+            return parse(doGet(API_URL, headers));
+        } catch (Exception e) {
+            logger.error("今日头条热榜爬取失败: {}", e.getMessage(), e);
+        }
+        return new ArrayList<>();
+    }
 
-                        String title = item.has("Title") ? item.get("Title").asText() : "";
-                        String clusterIdStr = item.has("ClusterIdStr") ? item.get("ClusterIdStr").asText() : "";
-                        Long hotValue = item.has("HotValue") ? item.get("HotValue").asLong() : 0L;
-                        String label = item.has("LabelUri") ? item.get("LabelUri").asText() : null;
-                        String url = item.has("Url") ? item.get("Url").asText() : null;
+    @Override
+    public List<NewsItem> parse(String response) throws Exception {
+        List<NewsItem> items = new ArrayList<>();
+        JsonNode json = JsonUtils.getMapper().readTree(response);
 
-                        if (url == null || url.isEmpty()) {
-                            url = "https://www.toutiao.com/trending/" + clusterIdStr + "/";
-                        }
+        String status = json.has("status") ? json.get("status").asText() : "";
+        if ("success".equals(status)) {
+            JsonNode data = json.get("data");
+            if (data != null && data.isArray()) {
+                for (int i = 0; i < data.size(); i++) {
+                    JsonNode item = data.get(i);
 
-                        NewsItem newsItem = NewsItem.builder()
-                                .id("toutiao_" + clusterIdStr)
-                                .title(title)
-                                .url(url)
-                                .platform(platformId)
-                                .platformName(platformName)
-                                .rank(i + 1)
-                                .hotScore(hotValue)
-                                .hotDesc(formatHotScore(hotValue))
-                                .tag(parseLabel(label))
-                                .timestamp(System.currentTimeMillis())
-                                .build();
+                    String title = item.has("Title") ? item.get("Title").asText() : "";
+                    String clusterIdStr = item.has("ClusterIdStr") ? item.get("ClusterIdStr").asText() : "";
+                    Long hotValue = item.has("HotValue") ? item.get("HotValue").asLong() : 0L;
+                    String label = item.has("LabelUri") ? item.get("LabelUri").asText() : null;
+                    String url = item.has("Url") ? item.get("Url").asText() : null;
 
-                        items.add(newsItem);
+                    if (url == null || url.isEmpty()) {
+                        url = "https://www.toutiao.com/trending/" + clusterIdStr + "/";
                     }
+
+                    NewsItem newsItem = NewsItem.builder()
+                            .id("toutiao_" + clusterIdStr)
+                            .title(title)
+                            .url(url)
+                            .platform(platformId)
+                            .platformName(platformName)
+                            .rank(i + 1)
+                            .hotScore(hotValue)
+                            .hotDesc(formatHotScore(hotValue))
+                            .tag(parseLabel(label))
+                            .timestamp(System.currentTimeMillis())
+                            .build();
+
+                    items.add(newsItem);
                 }
             }
-        } catch (Exception e) {
-            logger.error("今日头条热榜爬取失败: {}", e.getMessage(), e);
         }
         return items;
     }
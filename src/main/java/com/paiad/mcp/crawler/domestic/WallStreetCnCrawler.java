@@ -25,33 +25,38 @@ public class WallStreetCnCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             Map<String, String> headers = new HashMap<>();
             headers.put("User-Agent",
                     "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
             headers.put("Referer", "https://wallstreetcn.com/");
 
-            String response = doGet(API_URL, headers);
-            JsonNode json = JsonUtils.getMapper().readTree(response);
+            return parse(doGet(API_URL, headers));
+        } catch (Exception e) {
+            logger.error("华尔街见闻热榜爬取失败: {}", e.getMessage(), e);
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<NewsItem> parse(String response) throws Exception {
+        List<NewsItem> items = new ArrayList<>();
+        JsonNode json = JsonUtils.getMapper().readTree(response);
 
-            if (json.has("code") && json.get("code").asInt() == 20000) {
-                JsonNode data = json.get("data");
-                // 优先使用 day_items（今日热榜）
-                JsonNode dayItems = data.get("day_items");
+        if (json.has("code") && json.get("code").asInt() == 20000) {
+            JsonNode data = json.get("data");
+            // 优先使用 day_items（今日热榜）
+            JsonNode dayItems = data.get("day_items");
 
-                if (dayItems != null && dayItems.isArray()) {
-                    for (int i = 0; i < dayItems.size(); i++) {
-                        JsonNode item = dayItems.get(i);
-                        NewsItem newsItem = parseItem(item, i + 1);
-                        if (newsItem != null) {
-                            items.add(newsItem);
-                        }
+            if (dayItems != null && dayItems.isArray()) {
+                for (int i = 0; i < dayItems.size(); i++) {
+                    JsonNode item = dayItems.get(i);
+                    NewsItem newsItem = parseItem(item, i + 1);
+                    if (newsItem != null) {
+                        items.add(newsItem);
                     }
                 }
             }
-        } catch (Exception e) {
-            logger.error("华尔街见闻热榜爬取失败: {}", e.getMessage(), e);
         }
         return items;
     }
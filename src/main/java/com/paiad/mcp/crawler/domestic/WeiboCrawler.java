@@ -27,52 +27,57 @@ public class WeiboCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             Map<String, String> headers = new HashMap<>();
             headers.put("Referer", "https://weibo.com/");
             headers.put("Cookie",
                     "SUB=_2AkMTqH_Sf8NxqwFRmP8TzmLkb4tyywzEieKnRqMJJRMxHRl-yT9jqhALtRB6PaaYU2R-f_xhJaXxVQaZ_nLlGcZf-jXD");
 
-            String response = doGet(API_URL, headers);
-            JsonNode json = JsonUtils.getMapper().readTree(response);
-            JsonNode data = json.get("data");
-
-            if (data != null) {
-                JsonNode realtime = data.get("realtime");
-                if (realtime != null && realtime.isArray()) {
-                    for (int i = 0; i < realtime.size(); i++) {
-                        JsonNode item = realtime.get(i);
-
-                        String word = item.has("word") ? item.get("word").asText() : "";
-                        String note = item.has("note") ? item.get("note").asText() : null;
-                        // 使用 num 字段获取热度值（接口返回的热度数值）
-                        Long hotNum = item.has("num") ? item.get("num").asLong() : 0L;
-                        String labelName = item.has("label_name") ? item.get("label_name").asText() : null;
-
-                        String title = note != null ? note : word;
-                        String url = "https://s.weibo.com/weibo?q=" + encodeUrl(word);
-
-                        NewsItem newsItem = NewsItem.builder()
-                                .id("weibo_" + i)
-                                .title(title)
-                                .url(url)
-                                .platform(platformId)
-                                .platformName(platformName)
-                                .rank(i + 1)
-                                .hotScore(hotNum)
-                                .hotDesc(formatHotScore(hotNum))
-                                .tag(labelName)
-                                .timestamp(System.currentTimeMillis())
-                                .build();
-
-                        items.add(newsItem);
-                    }
-                }
-            }
+            return parse(doGet(API_URL, headers));
         } catch (Exception e) {
             logger.error("微博热搜爬取失败: {}", e.getMessage(), e);
         }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<NewsItem> parse(String response) throws Exception {
+        List<NewsItem> items = new ArrayList<>();
+        JsonNode json = JsonUtils.getMapper().readTree(response);
+        JsonNode data = json.get("data");
+
+        if (data != null) {
+            JsonNode realtime = data.get("realtime");
+            if (realtime != null && realtime.isArray()) {
+                for (int i = 0; i < realtime.size(); i++) {
+                    JsonNode item = realtime.get(i);
+
+                    String word = item.has("word") ? item.get("word").asText() : "";
+                    String note = item.has("note") ? item.get("note").asText() : null;
+                    // 使用 num 字段获取热度值（接口返回的热度数值）
+                    Long hotNum = item.has("num") ? item.get("num").asLong() : 0L;
+                    String labelName = item.has("label_name") ? item.get("label_name").asText() : null;
+
+                    String title = note != null ? note : word;
+                    String url = "https://s.weibo.com/weibo?q=" + encodeUrl(word);
+
+                    NewsItem newsItem = NewsItem.builder()
+                            .id("weibo_" + i)
+                            .title(title)
+                            .url(url)
+                            .platform(platformId)
+                            .platformName(platformName)
+                            .rank(i + 1)
+                            .hotScore(hotNum)
+                            .hotDesc(formatHotScore(hotNum))
+                            .tag(labelName)
+                            .timestamp(System.currentTimeMillis())
+                            .build();
+
+                    items.add(newsItem);
+                }
+            }
+        }
         return items;
     }
 
@@ -26,54 +26,59 @@ public class ZhihuCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             // 使用移动端 User-Agent
             Map<String, String> headers = new HashMap<>();
             headers.put("User-Agent",
                     "Mozilla/5.0 (iPhone; CPU iPhone OS 14_2_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/14.0.1 Mobile/15E148 Safari/604.1");
 
-            String response = doGet(API_URL, headers);
-            JsonNode json = JsonUtils.getMapper().readTree(response);
-            JsonNode data = json.get("data");
-
-            if (data != null && data.isArray()) {
-                for (int i = 0; i < data.size(); i++) {
-                    JsonNode item = data.get(i);
-                    JsonNode target = item.get("target");
-
-                    if (target != null) {
-                        String id = target.has("id") ? target.get("id").asText() : "";
-                        String title = target.has("title") ? target.get("title").asText() : "";
-
-                        // 从 url 字段提取问题 ID
-                        String targetUrl = target.has("url") ? target.get("url").asText() : "";
-                        String questionId = extractQuestionId(targetUrl, id);
-                        String url = "https://www.zhihu.com/question/" + questionId;
-
-                        // 获取热度
-                        String detailText = item.has("detail_text") ? item.get("detail_text").asText() : "";
-                        Long hotScore = parseHotScore(detailText);
-
-                        NewsItem newsItem = NewsItem.builder()
-                                .id("zhihu_" + id)
-                                .title(title)
-                                .url(url)
-                                .platform(platformId)
-                                .platformName(platformName)
-                                .rank(i + 1)
-                                .hotScore(hotScore)
-                                .hotDesc(detailText)
-                                .timestamp(System.currentTimeMillis())
-                                .build();
-
-                        items.add(newsItem);
-                    }
-                }
-            }
+            return parse(doGet(API_URL, headers));
         } catch (Exception e) {
             logger.error("知乎热榜爬取失败: {}", e.getMessage(), e);
         }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<NewsItem> parse(String response) throws Exception {
+        List<NewsItem> items = new ArrayList<>();
+        JsonNode json = JsonUtils.getMapper().readTree(response);
+        JsonNode data = json.get("data");
+
+        if (data != null && data.isArray()) {
+            for (int i = 0; i < data.size(); i++) {
+                JsonNode item = data.get(i);
+                JsonNode target = item.get("target");
+
+                if (target != null) {
+                    String id = target.has("id") ? target.get("id").asText() : "";
+                    String title = target.has("title") ? target.get("title").asText() : "";
+
+                    // 从 url 字段提取问题 ID
+                    String targetUrl = target.has("url") ? target.get("url").asText() : "";
+                    String questionId = extractQuestionId(targetUrl, id);
+                    String url = "https://www.zhihu.com/question/" + questionId;
+
+                    // 获取热度
+                    String detailText = item.has("detail_text") ? item.get("detail_text").asText() : "";
+                    Long hotScore = parseHotScore(detailText);
+
+                    NewsItem newsItem = NewsItem.builder()
+                            .id("zhihu_" + id)
+                            .title(title)
+                            .url(url)
+                            .platform(platformId)
+                            .platformName(platformName)
+                            .rank(i + 1)
+                            .hotScore(hotScore)
+                            .hotDesc(detailText)
+                            .timestamp(System.currentTimeMillis())
+                            .build();
+
+                    items.add(newsItem);
+                }
+            }
+        }
         return items;
     }
 
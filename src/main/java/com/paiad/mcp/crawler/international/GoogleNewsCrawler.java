@@ -22,6 +22,7 @@ import java.util.Map;
 public class GoogleNewsCrawler extends AbstractCrawler {
 
     // Google News RSS Feed (US Edition by default, can be localized)
+    // 不做对冲请求：Google News 没有独立的备用源，同一 URL 会复用同一条 HTTP/2 连接到同一边缘节点，只会加倍负载
     private static final String API_URL = "https://news.google.com/rss?hl=en-US&gl=US&ceid=US:en";
 
     public GoogleNewsCrawler() {
@@ -43,62 +44,66 @@ public class GoogleNewsCrawler extends AbstractCrawler {
             headers.put("Accept-Language", "en-US,en;q=0.9");
             // 不设置 Accept-Encoding，让 OkHttp 自动处理
 
-            String xml = doGet(API_URL, headers);
+            return parse(doGet(API_URL, headers));
+        } catch (Exception e) {
+            logger.error("Google News 爬取失败: {}", e.getMessage());
+        }
+        return items;
+    }
 
-            // 调试：检查响应内容
-            if (xml == null || xml.isEmpty()) {
-                logger.warn("Google News: 响应内容为空");
-                return items;
-            }
+    @Override
+    public List<NewsItem> parse(String xml) {
+        List<NewsItem> items = new ArrayList<>();
+        // 调试：检查响应内容
+        if (xml == null || xml.isEmpty()) {
+            logger.warn("Google News: 响应内容为空");
+            return items;
+        }
 
-            // 使用 Jsoup 解析 XML
-            Document doc = Jsoup.parse(xml, "", Parser.xmlParser());
-            Elements itemsList = doc.select("item");
-
-            logger.debug("Google News: 解析到 {} 条 RSS 项目", itemsList.size());
-
-            int rank = 1;
-            for (Element element : itemsList) {
-                String title = element.select("title").text();
-
-                // RSS 中的 link 元素可能是自闭合标签，需要获取其后的文本节点
-                // 也可以尝试从 guid 或其他元素获取链接
-                String link = element.select("link").text();
-                if (link.isEmpty()) {
-                    // 尝试从 link 元素后面的文本节点获取
-                    Element linkElement = element.selectFirst("link");
-                    if (linkElement != null && linkElement.nextSibling() != null) {
-                        link = linkElement.nextSibling().toString().trim();
-                    }
-                }
-                if (link.isEmpty()) {
-                    // 尝试从 guid 获取
-                    link = element.select("guid").text();
-                }
+        // 使用 Jsoup 解析 XML
+        Document doc = Jsoup.parse(xml, "", Parser.xmlParser());
+        Elements itemsList = doc.select("item");
+
+        logger.debug("Google News: 解析到 {} 条 RSS 项目", itemsList.size());
+
+        int rank = 1;
+        for (Element element : itemsList) {
+            String title = element.select("title").text();
 
-                String pubDate = element.select("pubDate").text();
-
-                if (title != null && !title.isEmpty()) {
-                    NewsItem newsItem = NewsItem.builder()
-                            .id("google_news_" + rank)
-                            .title(title)
-                            .url(link)
-                            .platform(platformId)
-                            .platformName(platformName)
-                            .rank(rank++)
-                            .hotScore(0L) // RSS 不提供热度数值
-                            .hotDesc(pubDate)
-                            .timestamp(System.currentTimeMillis())
-                            .build();
-                    items.add(newsItem);
-
-                    if (rank > 30)
-                        break; // 限制数量
+            // RSS 中的 link 元素可能是自闭合标签，需要获取其后的文本节点
+            // 也可以尝试从 guid 或其他元素获取链接
+            String link = element.select("link").text();
+            if (link.isEmpty()) {
+                // 尝试从 link 元素后面的文本节点获取
+                Element linkElement = element.selectFirst("link");
+                if (linkElement != null && linkElement.nextSibling() != null) {
+                    link = linkElement.nextSibling().toString().trim();
                 }
             }
+            if (link.isEmpty()) {
+                // 尝试从 guid 获取
+                link = element.select("guid").text();
+            }
 
-        } catch (Exception e) {
-            logger.error("Google News 爬取失败: {}", e.getMessage());
+            String pubDate = element.select("pubDate").text();
+
+            if (title != null && !title.isEmpty()) {
+                NewsItem newsItem = NewsItem.builder()
+                        .id("google_news_" + rank)
+                        .title(title)
+                        .url(link)
+                        .platform(platformId)
+                        .platformName(platformName)
+                        .rank(rank++)
+                        .hotScore(0L) // RSS 不提供热度数值
+                        .hotDesc(pubDate)
+                        .timestamp(System.currentTimeMillis())
+                        .build();
+                items.add(newsItem);
+
+                if (rank > 30)
+                    break; // 限制数量
+            }
         }
         return items;
     }
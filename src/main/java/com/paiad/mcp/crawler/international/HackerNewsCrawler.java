@@ -46,68 +46,72 @@ public class HackerNewsCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
-            String rss = doGet(RSS_URL);
-            if (rss == null || rss.isEmpty()) {
-                throw new RuntimeException("Empty response from HN RSS");
-            }
+            return parse(doGet(RSS_URL));
+        } catch (Exception e) {
+            throw new RuntimeException("Hacker News RSS crawl failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<NewsItem> parse(String rss) {
+        List<NewsItem> items = new ArrayList<>();
+        if (rss == null || rss.isEmpty()) {
+            throw new RuntimeException("Empty response from HN RSS");
+        }
 
-            // 使用 Jsoup 的 XML 解析器解析 RSS
-            Document doc = Jsoup.parse(rss, "", Parser.xmlParser());
-            Elements rssItems = doc.select("item");
+        // 使用 Jsoup 的 XML 解析器解析 RSS
+        Document doc = Jsoup.parse(rss, "", Parser.xmlParser());
+        Elements rssItems = doc.select("item");
 
-            if (rssItems.isEmpty()) {
-                logger.warn("No 'item' elements found in RSS. Response length: {}", rss.length());
-                throw new RuntimeException("Parse failed: No items found in RSS feed");
-            }
+        if (rssItems.isEmpty()) {
+            logger.warn("No 'item' elements found in RSS. Response length: {}", rss.length());
+            throw new RuntimeException("Parse failed: No items found in RSS feed");
+        }
 
-            logger.info("HN RSS: Found {} items", rssItems.size());
-
-            int rank = 1;
-            for (Element item : rssItems) {
-                try {
-                    String title = item.selectFirst("title").text();
-                    String link = item.selectFirst("link").text();
-                    String guid = item.selectFirst("guid") != null
-                            ? item.selectFirst("guid").text()
-                            : "";
-                    String description = item.selectFirst("description") != null
-                            ? item.selectFirst("description").text()
-                            : "";
-
-                    // 提取 HN item id
-                    String hnId = extractId(guid);
-
-                    // 提取分数和评论数
-                    long points = extractPoints(description);
-                    long comments = extractComments(description);
-
-                    // 热度描述
-                    String hotDesc = points > 0
-                            ? points + " points, " + comments + " comments"
-                            : "N/A";
-
-                    NewsItem newsItem = NewsItem.builder()
-                            .id("hn_" + (hnId.isEmpty() ? rank : hnId))
-                            .title(title)
-                            .url(link)
-                            .platform(platformId)
-                            .platformName(platformName)
-                            .rank(rank++)
-                            .hotScore(points)
-                            .hotDesc(hotDesc)
-                            .tag(points > 100 ? "hot" : "new")
-                            .timestamp(System.currentTimeMillis())
-                            .build();
-
-                    items.add(newsItem);
-                } catch (Exception e) {
-                    logger.warn("Parsing individual HN RSS item failed", e);
-                }
+        logger.info("HN RSS: Found {} items", rssItems.size());
+
+        int rank = 1;
+        for (Element item : rssItems) {
+            try {
+                String title = item.selectFirst("title").text();
+                String link = item.selectFirst("link").text();
+                String guid = item.selectFirst("guid") != null
+                        ? item.selectFirst("guid").text()
+                        : "";
+                String description = item.selectFirst("description") != null
+                        ? item.selectFirst("description").text()
+                        : "";
+
+                // 提取 HN item id
+                String hnId = extractId(guid);
+
+                // 提取分数和评论数
+                long points = extractPoints(description);
+                long comments = extractComments(description);
+
+                // 热度描述
+                String hotDesc = points > 0
+                        ? points + " points, " + comments + " comments"
+                        : "N/A";
+
+                NewsItem newsItem = NewsItem.builder()
+                        .id("hn_" + (hnId.isEmpty() ? rank : hnId))
+                        .title(title)
+                        .url(link)
+                        .platform(platformId)
+                        .platformName(platformName)
+                        .rank(rank++)
+                        .hotScore(points)
+                        .hotDesc(hotDesc)
+                        .tag(points > 100 ? "hot" : "new")
+                        .timestamp(System.currentTimeMillis())
+                        .build();
+
+                items.add(newsItem);
+            } catch (Exception e) {
+                logger.warn("Parsing individual HN RSS item failed", e);
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Hacker News RSS crawl failed: " + e.getMessage(), e);
         }
         return items;
     }
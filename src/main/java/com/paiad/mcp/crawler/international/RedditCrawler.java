@@ -52,7 +52,7 @@ public class RedditCrawler extends AbstractCrawler {
             String response = doGet(RSS_URL, headers);
 
             if (response != null && !response.isEmpty()) {
-                items = parseRss(response);
+                items = parse(response);
             }
 
         } catch (Exception e) {
@@ -61,7 +61,8 @@ public class RedditCrawler extends AbstractCrawler {
         return items;
     }
 
-    private List<NewsItem> parseRss(String xml) {
+    @Override
+    public List<NewsItem> parse(String xml) {
         List<NewsItem> items = new ArrayList<>();
         try {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -39,7 +39,6 @@ public class ReutersCrawler extends AbstractCrawler {
 
     @Override
     public List<NewsItem> crawl() {
-        List<NewsItem> items = new ArrayList<>();
         try {
             Map<String, String> headers = new HashMap<>();
             headers.put("User-Agent",
@@ -47,72 +46,65 @@ public class ReutersCrawler extends AbstractCrawler {
             headers.put("Accept", "application/rss+xml, application/xml, text/xml, */*");
             headers.put("Accept-Language", "en-US,en;q=0.9");
 
-            String xml = null;
-
-            // 尝试主 Feed
-            try {
-                xml = doGet(RSS_URL, headers);
-            } catch (Exception e) {
-                logger.warn("Reuters 主 Feed 请求失败，尝试备用 Feed: {}", e.getMessage());
-            }
+            // 主 Feed 超过其 p95 延迟未响应或失败时启动备用 Feed，先解析成功者胜出
+            return hedgedGet(List.of(RSS_URL, RSS_URL_BACKUP), headers, this::parse);
+        } catch (Exception e) {
+            logger.error("Reuters 爬取失败: {}", e.getMessage());
+        }
+        return new ArrayList<>();
+    }
 
-            // 如果主 Feed 失败，尝试备用
-            if (xml == null || xml.isEmpty()) {
-                xml = doGet(RSS_URL_BACKUP, headers);
-            }
+    @Override
+    public List<NewsItem> parse(String xml) {
+        List<NewsItem> items = new ArrayList<>();
+        if (xml == null || xml.isEmpty()) {
+            logger.warn("Reuters: RSS Feed 响应为空");
+            return items;
+        }
 
-            if (xml == null || xml.isEmpty()) {
-                logger.warn("Reuters: RSS Feed 响应为空");
-                return items;
+        // 使用 XML 解析器解析 RSS
+        Document doc = Jsoup.parse(xml, "", Parser.xmlParser());
+        Elements itemElements = doc.select("item");
+
+        int rank = 1;
+        for (Element item : itemElements) {
+            String title = item.selectFirst("title") != null
+                    ? item.selectFirst("title").text()
+                    : "";
+            String link = item.selectFirst("link") != null
+                    ? item.selectFirst("link").text()
+                    : "";
+            String description = item.selectFirst("description") != null
+                    ? item.selectFirst("description").text()
+                    : "";
+            String pubDate = item.selectFirst("pubDate") != null
+                    ? item.selectFirst("pubDate").text()
+                    : "";
+
+            if (title.isEmpty() || link.isEmpty()) {
+                continue;
             }
 
-            // 使用 XML 解析器解析 RSS
-            Document doc = Jsoup.parse(xml, "", Parser.xmlParser());
-            Elements itemElements = doc.select("item");
-
-            int rank = 1;
-            for (Element item : itemElements) {
-                String title = item.selectFirst("title") != null
-                        ? item.selectFirst("title").text()
-                        : "";
-                String link = item.selectFirst("link") != null
-                        ? item.selectFirst("link").text()
-                        : "";
-                String description = item.selectFirst("description") != null
-                        ? item.selectFirst("description").text()
-                        : "";
-                String pubDate = item.selectFirst("pubDate") != null
-                        ? item.selectFirst("pubDate").text()
-                        : "";
-
-                if (title.isEmpty() || link.isEmpty()) {
-                    continue;
-                }
-
-                // 清理 HTML 标签
-                title = Jsoup.parse(title).text();
-                description = Jsoup.parse(description).text();
-
-                NewsItem newsItem = NewsItem.builder()
-                        .id("reuters_" + rank)
-                        .title(title)
-                        .url(link)
-                        .platform(platformId)
-                        .platformName(platformName)
-                        .rank(rank++)
-                        .hotScore(0L)
-                        .hotDesc(pubDate.isEmpty() ? "Latest" : pubDate)
-                        .timestamp(System.currentTimeMillis())
-                        .build();
-                items.add(newsItem);
-
-                if (rank > 20) {
-                    break;
-                }
+            // 清理 HTML 标签
+            title = Jsoup.parse(title).text();
+            description = Jsoup.parse(description).text();
+
+            NewsItem newsItem = NewsItem.builder()
+                    .id("reuters_" + rank)
+                    .title(title)
+                    .url(link)
+                    .platform(platformId)
+                    .platformName(platformName)
+                    .rank(rank++)
+                    .hotScore(0L)
+                    .hotDesc(pubDate.isEmpty() ? "Latest" : pubDate)
+                    .timestamp(System.currentTimeMillis())
+                    .build();
+            items.add(newsItem);
+
+            if (rank > 20) {
+                break;
             }
-
-        } catch (Exception e) {
-            logger.error("Reuters 爬取失败: {}", e.getMessage());
         }
         return items;
     }
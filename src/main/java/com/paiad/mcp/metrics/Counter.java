@@ -0,0 +1,34 @@
+package com.paiad.mcp.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单调递增计数器
+ *
+ * @author Paiad
+ */
+public class Counter implements Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void inc(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public void writeSamples(StringBuilder sb, String name, String labels) {
+        sb.append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(value.sum()).append('\n');
+    }
+}
@@ -0,0 +1,26 @@
+package com.paiad.mcp.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 采集时从外部取值的指标
+ *
+ * @author Paiad
+ */
+class FunctionValue implements Metric {
+
+    private final LongSupplier supplier;
+
+    FunctionValue(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void writeSamples(StringBuilder sb, String name, String labels) {
+        sb.append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(supplier.getAsLong()).append('\n');
+    }
+}
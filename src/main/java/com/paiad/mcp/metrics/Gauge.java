@@ -0,0 +1,43 @@
+package com.paiad.mcp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 可增可减的仪表（如在途请求数）
+ *
+ * 与计数器不同，仪表还需要直接设置取值，LongAdder 的 reset + add 不是原子操作，因此使用 AtomicLong。
+ *
+ * @author Paiad
+ */
+public class Gauge implements Metric {
+
+    private final AtomicLong value = new AtomicLong();
+
+    public void inc() {
+        value.incrementAndGet();
+    }
+
+    public void dec() {
+        value.decrementAndGet();
+    }
+
+    /**
+     * 直接设置取值（如限流器当前上限），多个写入方并发设置时保留其中一次的完整取值
+     */
+    public void set(long newValue) {
+        value.set(newValue);
+    }
+
+    public long get() {
+        return value.get();
+    }
+
+    @Override
+    public void writeSamples(StringBuilder sb, String name, String labels) {
+        sb.append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(value.get()).append('\n');
+    }
+}
@@ -0,0 +1,66 @@
+package com.paiad.mcp.metrics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定分桶的延迟直方图
+ *
+ * 以毫秒记录，每个桶一个 LongAdder（非累积计数），导出时累加为 Prometheus 的累积桶并换算为秒。
+ *
+ * @author Paiad
+ */
+public class Histogram implements Metric {
+
+    private final long[] upperBoundsMs;
+    private final LongAdder[] buckets;
+    private final LongAdder sumMs = new LongAdder();
+
+    Histogram(long[] upperBoundsMs) {
+        this.upperBoundsMs = upperBoundsMs.clone();
+        // 最后一个桶为 +Inf
+        this.buckets = new LongAdder[upperBoundsMs.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void observeMillis(long valueMs) {
+        int index = upperBoundsMs.length;
+        for (int i = 0; i < upperBoundsMs.length; i++) {
+            if (valueMs <= upperBoundsMs[i]) {
+                index = i;
+                break;
+            }
+        }
+        buckets[index].increment();
+        sumMs.add(valueMs);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    @Override
+    public void writeSamples(StringBuilder sb, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i].sum();
+            String le = i < upperBoundsMs.length ? formatSeconds(upperBoundsMs[i]) : "+Inf";
+            sb.append(name).append("_bucket{").append(prefix).append("le=\"").append(le).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        sb.append(name).append("_sum").append(suffix).append(' ').append(formatSeconds(sumMs.sum())).append('\n');
+        sb.append(name).append("_count").append(suffix).append(' ').append(cumulative).append('\n');
+    }
+
+    private static String formatSeconds(long millis) {
+        return BigDecimal.valueOf(millis, 3).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.paiad.mcp.metrics;
+
+/**
+ * 服务内置指标定义
+ *
+ * 统一在此声明指标名称与标签维度，各组件直接引用静态字段记录。
+ * 取值由组件内部计数源提供的函数型指标由组件自行注册（见 CrawlContext、ResponseCompression），
+ * 指标包不依赖业务包。
+ *
+ * @author Paiad
+ */
+public final class McpMetrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+
+    // ========== 爬取 ==========
+
+    public static final MetricFamily<Histogram> CRAWL_DURATION = REGISTRY.histogram(
+            "mcp_crawl_duration_seconds", "Per-platform crawl latency",
+            MetricsRegistry.DEFAULT_LATENCY_BUCKETS_MS, "platform");
+
+    public static final MetricFamily<Counter> CRAWL_OUTCOMES = REGISTRY.counter(
+            "mcp_crawl_outcomes_total", "Per-platform crawl outcomes by PlatformCrawlStatus", "platform", "status");
+
+    public static final MetricFamily<Gauge> CRAWLS_IN_FLIGHT = REGISTRY.gauge(
+            "mcp_crawls_in_flight", "Platform crawls currently executing");
+
+    public static final MetricFamily<Histogram> HTTP_PHASE_DURATION = REGISTRY.histogram(
+            "mcp_http_phase_duration_seconds", "Upstream HTTP call phase latency (dns/connect/tls/ttfb/body)",
+            MetricsRegistry.DEFAULT_LATENCY_BUCKETS_MS, "platform", "phase");
+
+    public static final MetricFamily<Counter> HTTP_CONNECTIONS = REGISTRY.counter(
+            "mcp_http_connections_acquired_total", "Upstream connections acquired by whether they were reused",
+            "platform", "reused");
+
+    // ========== 缓存 ==========
+
+    public static final MetricFamily<Counter> CACHE_REQUESTS = REGISTRY.counter(
+            "mcp_cache_requests_total", "Cache lookups by cache and result (hit/miss)", "cache", "result");
+
+    // ========== 工具调用 ==========
+
+    public static final MetricFamily<Histogram> TOOL_CALL_DURATION = REGISTRY.histogram(
+            "mcp_tool_call_duration_seconds", "MCP tool call latency",
+            MetricsRegistry.DEFAULT_LATENCY_BUCKETS_MS, "tool", "result");
+
+    public static final MetricFamily<Gauge> TOOL_CALLS_IN_FLIGHT = REGISTRY.gauge(
+            "mcp_tool_calls_in_flight", "MCP tool calls currently executing");
+
+    // ========== HTTP 传输 ==========
+
+    public static final MetricFamily<Gauge> HTTP_REQUESTS_IN_FLIGHT = REGISTRY.gauge(
+            "mcp_http_requests_in_flight", "Streamable HTTP requests currently being handled");
+
+    public static final MetricFamily<Counter> HTTP_REQUESTS = REGISTRY.counter(
+            "mcp_http_requests_total", "Streamable HTTP requests by response status", "status");
+
+    public static final MetricFamily<Counter> HTTP_RESPONSES_COMPRESSED = REGISTRY.counter(
+            "mcp_http_responses_compressed_total", "Streamable HTTP responses sent compressed by content coding",
+            "encoding");
+
+    public static final MetricFamily<Gauge> ADMISSION_LIMIT = REGISTRY.gauge(
+            "mcp_admission_limit", "Current concurrency limit of the HTTP admission controller by lane", "lane");
+
+    public static final MetricFamily<Counter> ADMISSION_REJECTED = REGISTRY.counter(
+            "mcp_admission_rejected_total", "Streamable HTTP requests rejected by admission control by lane", "lane");
+
+    public static final MetricFamily<Gauge> SESSIONS_ACTIVE = REGISTRY.gauge(
+            "mcp_sessions_active", "Streamable HTTP sessions currently held by the session store");
+
+    private McpMetrics() {
+    }
+}
@@ -0,0 +1,17 @@
+package com.paiad.mcp.metrics;
+
+/**
+ * 单个带标签的指标实例
+ *
+ * @author Paiad
+ */
+public interface Metric {
+
+    /**
+     * 输出该实例的 Prometheus 样本行
+     *
+     * @param name   指标名
+     * @param labels 已格式化的标签串（不含花括号），无标签时为空串
+     */
+    void writeSamples(StringBuilder sb, String name, String labels);
+}
@@ -0,0 +1,97 @@
+package com.paiad.mcp.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 指标族：同名、同类型、同标签维度的一组指标实例
+ *
+ * @author Paiad
+ */
+public class MetricFamily<T extends Metric> {
+
+    private final String name;
+    private final String help;
+    private final String type;
+    private final String[] labelNames;
+    private final Function<List<String>, T> factory;
+    private final Map<List<String>, T> children = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, String type, String[] labelNames, Function<List<String>, T> factory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames.clone();
+        this.factory = factory;
+    }
+
+    /**
+     * 获取（必要时创建）指定标签值的指标实例，标签值顺序与注册时的标签名一致
+     */
+    public T labels(String... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException("Metric " + name + " expects labels " + Arrays.toString(labelNames));
+        }
+        List<String> key = Arrays.asList(labelValues);
+        T child = children.get(key);
+        if (child != null) {
+            return child;
+        }
+        return children.computeIfAbsent(List.copyOf(Arrays.asList(normalize(labelValues))), factory);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    void writeTo(StringBuilder sb) {
+        if (children.isEmpty()) {
+            return;
+        }
+        sb.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        List<Map.Entry<List<String>, T>> entries = new ArrayList<>(children.entrySet());
+        entries.sort((a, b) -> String.join("\u0000", a.getKey()).compareTo(String.join("\u0000", b.getKey())));
+        for (Map.Entry<List<String>, T> entry : entries) {
+            entry.getValue().writeSamples(sb, name, formatLabels(entry.getKey()));
+        }
+    }
+
+    private String formatLabels(List<String> values) {
+        if (labelNames.length == 0) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labelNames.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(labelNames[i]).append("=\"").append(escapeLabel(values.get(i))).append('"');
+        }
+        return sb.toString();
+    }
+
+    private static String[] normalize(String[] values) {
+        String[] normalized = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = values[i] != null ? values[i] : "";
+        }
+        return normalized;
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,91 @@
+package com.paiad.mcp.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 进程内指标注册中心
+ *
+ * 指标按名称注册为指标族（{@link MetricFamily}），同一名称重复注册返回同一实例。
+ * 记录路径只涉及 ConcurrentHashMap 读取与 LongAdder（仪表为 AtomicLong）更新，不加锁。
+ * 输出为 Prometheus 文本格式（见 {@link #scrape()}）。
+ *
+ * @author Paiad
+ */
+public class MetricsRegistry {
+
+    /**
+     * 默认延迟直方图桶（毫秒），覆盖从本地调用到国际平台超时的范围
+     */
+    public static final long[] DEFAULT_LATENCY_BUCKETS_MS = {
+            5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 20_000, 45_000
+    };
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, MetricFamily<?>> families = new ConcurrentHashMap<>();
+
+    MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public MetricFamily<Counter> counter(String name, String help, String... labelNames) {
+        return register(name, help, "counter", labelNames, labels -> new Counter());
+    }
+
+    public MetricFamily<Gauge> gauge(String name, String help, String... labelNames) {
+        return register(name, help, "gauge", labelNames, labels -> new Gauge());
+    }
+
+    /**
+     * 注册毫秒延迟直方图，输出时按 Prometheus 约定换算为秒
+     */
+    public MetricFamily<Histogram> histogram(String name, String help, long[] bucketsMs, String... labelNames) {
+        return register(name, help, "histogram", labelNames, labels -> new Histogram(bucketsMs));
+    }
+
+    /**
+     * 注册由外部计数源提供取值的计数器（如其他组件内部维护的 LongAdder）
+     */
+    public void counterFunction(String name, String help, LongSupplier supplier) {
+        register(name, help, "counter", new String[0], labels -> new FunctionValue(supplier)).labels();
+    }
+
+    /**
+     * 注册由外部提供取值的仪表
+     */
+    public void gaugeFunction(String name, String help, LongSupplier supplier) {
+        register(name, help, "gauge", new String[0], labels -> new FunctionValue(supplier)).labels();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Metric> MetricFamily<T> register(String name, String help, String type, String[] labelNames,
+            Function<List<String>, T> factory) {
+        MetricFamily<?> family = families.computeIfAbsent(name,
+                n -> new MetricFamily<>(n, help, type, labelNames, factory));
+        if (!family.getType().equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " already registered as " + family.getType());
+        }
+        return (MetricFamily<T>) family;
+    }
+
+    /**
+     * 以 Prometheus 文本格式（0.0.4）导出全部指标
+     */
+    public String scrape() {
+        List<MetricFamily<?>> sorted = new ArrayList<>(families.values());
+        sorted.sort((a, b) -> a.getName().compareTo(b.getName()));
+        StringBuilder sb = new StringBuilder(4096);
+        for (MetricFamily<?> family : sorted) {
+            family.writeTo(sb);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package com.paiad.mcp.model.pojo;
+
+import com.paiad.mcp.model.vo.NewsItemVO;
+import com.paiad.mcp.registry.PlatformRegistry;
+import com.paiad.mcp.util.WeakInterner;
+
+/**
+ * 紧凑不可变新闻实体，用于长期保留的快照与变更日志
+ *
+ * 与 NewsItem 相比：排名、热度、时间戳以基本类型保存（缺失值用哨兵表示），平台以 PlatformRegistry
+ * 分配的短整型索引引用，字符串经弱引用池去重后多份快照共享同一实例；链接存在时不保留按排名拼出的 id。
+ * NewsItem 与 VO 视图只在读取时按需构建。
+ *
+ * @author Paiad
+ */
+public final class CompactNewsItem {
+
+    private static final WeakInterner STRINGS = new WeakInterner();
+
+    private static final int NO_RANK = Integer.MIN_VALUE;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+    private static final Novelty[] NOVELTIES = Novelty.values();
+
+    private final String title;
+    private final String url;
+
+    /**
+     * 仅在没有链接时保留，用于生成去重 key
+     */
+    private final String id;
+
+    private final String platformName;
+    private final String hotDesc;
+    private final String tag;
+    private final long hotScore;
+    private final long timestamp;
+    private final int rank;
+
+    /**
+     * PlatformRegistry 平台索引，-1 表示没有平台
+     */
+    private final short platform;
+
+    /**
+     * Novelty 序号，-1 表示未判定
+     */
+    private final byte novelty;
+
+    private CompactNewsItem(NewsItem item) {
+        String itemUrl = item.getUrl();
+        boolean hasUrl = itemUrl != null && !itemUrl.isEmpty();
+        this.title = STRINGS.intern(item.getTitle());
+        this.url = STRINGS.intern(itemUrl);
+        this.id = hasUrl ? null : STRINGS.intern(item.getId());
+        this.platformName = STRINGS.intern(item.getPlatformName());
+        this.hotDesc = STRINGS.intern(item.getHotDesc());
+        this.tag = STRINGS.intern(item.getTag());
+        this.hotScore = item.getHotScore() != null ? item.getHotScore() : NO_VALUE;
+        this.timestamp = item.getTimestamp() != null ? item.getTimestamp() : NO_VALUE;
+        this.rank = item.getRank() != null ? item.getRank() : NO_RANK;
+        this.platform = platformIndex(item.getPlatform());
+        this.novelty = item.getNovelty() != null ? (byte) item.getNovelty().ordinal() : -1;
+    }
+
+    /**
+     * 由爬取结果构建紧凑实体
+     */
+    public static CompactNewsItem of(NewsItem item) {
+        return new CompactNewsItem(item);
+    }
+
+    private static short platformIndex(String platformId) {
+        if (platformId == null) {
+            return -1;
+        }
+        int index = PlatformRegistry.getInstance().indexOf(platformId);
+        if (index > Short.MAX_VALUE) {
+            throw new IllegalStateException("平台数量超出紧凑索引范围: " + platformId);
+        }
+        return (short) index;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getPlatform() {
+        return platform >= 0 ? PlatformRegistry.getInstance().idAt(platform) : null;
+    }
+
+    public String getPlatformName() {
+        return platformName;
+    }
+
+    public Integer getRank() {
+        return rank != NO_RANK ? rank : null;
+    }
+
+    public Long getHotScore() {
+        return hotScore != NO_VALUE ? hotScore : null;
+    }
+
+    public String getHotDesc() {
+        return hotDesc;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public Long getTimestamp() {
+        return timestamp != NO_VALUE ? timestamp : null;
+    }
+
+    public Novelty getNovelty() {
+        return novelty >= 0 ? NOVELTIES[novelty] : null;
+    }
+
+    /**
+     * 平台内去重 key：链接，没有链接时为 id
+     */
+    public String localKey() {
+        return url != null && !url.isEmpty() ? url : id;
+    }
+
+    /**
+     * 跨平台去重 key，与 RankHistoryStore.keyOf 一致
+     */
+    public String key() {
+        return getPlatform() + "|" + localKey();
+    }
+
+    /**
+     * 排名与热度是否与另一快照中的同一新闻相同
+     */
+    public boolean sameRanking(CompactNewsItem other) {
+        return rank == other.rank && hotScore == other.hotScore;
+    }
+
+    /**
+     * 展开为可变的 NewsItem；有链接时不保留 id，展开后 id 为 null
+     */
+    public NewsItem toNewsItem() {
+        return NewsItem.builder()
+                .id(id)
+                .title(title)
+                .url(url)
+                .platform(getPlatform())
+                .platformName(platformName)
+                .rank(getRank())
+                .hotScore(getHotScore())
+                .hotDesc(hotDesc)
+                .tag(tag)
+                .timestamp(getTimestamp())
+                .novelty(getNovelty())
+                .build();
+    }
+
+    /**
+     * 按需构建 VO 视图
+     */
+    public NewsItemVO toVO() {
+        return NewsItemVO.fromNewsItem(toNewsItem());
+    }
+
+    @Override
+    public String toString() {
+        return "CompactNewsItem(platform=" + getPlatform() + ", rank=" + getRank() + ", title=" + title + ")";
+    }
+}
@@ -12,14 +12,25 @@ public class CrawlResult {
     private final Map<String, String> failures;
     private final List<PlatformCrawlOutcome> outcomes;
 
+    /**
+     * 爬取开始前的快照日志游标，本次爬取产生的变更都在它之后；未记录时为 -1
+     */
+    private final long cursor;
+
     public CrawlResult(List<NewsItem> data, Map<String, String> failures) {
         this(data, failures, Collections.emptyList());
     }
 
     public CrawlResult(List<NewsItem> data, Map<String, String> failures, List<PlatformCrawlOutcome> outcomes) {
+        this(data, failures, outcomes, -1);
+    }
+
+    public CrawlResult(List<NewsItem> data, Map<String, String> failures, List<PlatformCrawlOutcome> outcomes,
+            long cursor) {
         this.data = data != null ? data : Collections.emptyList();
         this.failures = failures != null ? failures : Collections.emptyMap();
         this.outcomes = outcomes != null ? outcomes : Collections.emptyList();
+        this.cursor = cursor;
     }
 
     public boolean hasFailures() {
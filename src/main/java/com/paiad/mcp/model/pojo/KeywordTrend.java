@@ -0,0 +1,13 @@
+package com.paiad.mcp.model.pojo;
+
+import java.util.List;
+
+/**
+ * A trending keyword with its time-decayed mention count.
+ *
+ * @param score      decayed mention count (overestimate by at most {@code errorBound})
+ * @param errorBound Space-Saving overestimation bound; {@code score - errorBound} is a guaranteed lower bound
+ * @param platforms  platforms the keyword was seen on since it started being tracked
+ */
+public record KeywordTrend(String keyword, double score, double errorBound, List<String> platforms) {
+}
@@ -70,6 +70,11 @@ public class NewsItem implements Serializable {
      */
     private Long timestamp;
 
+    /**
+     * 新颖度（首次爬取时判定），未启用新颖度检测时为 null
+     */
+    private Novelty novelty;
+
     /**
      * 获取格式化的热度描述
      */
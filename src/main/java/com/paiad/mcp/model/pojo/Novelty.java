@@ -0,0 +1,19 @@
+package com.paiad.mcp.model.pojo;
+
+/**
+ * Whether a story had been seen before the crawl that produced it.
+ */
+public enum Novelty {
+    /**
+     * Neither the URL nor the title was seen within the novelty window.
+     */
+    NEW,
+    /**
+     * The URL is new but the same title was already seen, e.g. a re-post or the same story on another platform.
+     */
+    REPOST,
+    /**
+     * The URL was already seen within the novelty window.
+     */
+    SEEN
+}
@@ -2,9 +2,13 @@ package com.paiad.mcp.model.pojo;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Structured crawl outcome for a single platform.
+ *
+ * @param circuitState   circuit breaker state after this crawl (CLOSED/OPEN/HALF_OPEN), null when unknown
+ * @param phaseTimingsMs summed HTTP phase latency (dns/connect/tls/ttfb/body) across the crawl's calls
  */
 public record PlatformCrawlOutcome(
         String platformId,
@@ -13,13 +17,33 @@ public record PlatformCrawlOutcome(
         List<NewsItem> items,
         String errorCode,
         String errorMessage,
-        long latencyMs) {
+        long latencyMs,
+        String circuitState,
+        Map<String, Long> phaseTimingsMs) {
 
     public PlatformCrawlOutcome {
         items = items == null ? Collections.emptyList() : List.copyOf(items);
+        phaseTimingsMs = phaseTimingsMs == null ? Collections.emptyMap() : Collections.unmodifiableMap(phaseTimingsMs);
+    }
+
+    public PlatformCrawlOutcome(String platformId, String platformName, PlatformCrawlStatus status,
+            List<NewsItem> items, String errorCode, String errorMessage, long latencyMs) {
+        this(platformId, platformName, status, items, errorCode, errorMessage, latencyMs, null, null);
+    }
+
+    public PlatformCrawlOutcome withCircuitState(String circuitState) {
+        return new PlatformCrawlOutcome(platformId, platformName, status, items, errorCode, errorMessage, latencyMs,
+                circuitState, phaseTimingsMs);
+    }
+
+    public PlatformCrawlOutcome withPhaseTimings(Map<String, Long> phaseTimingsMs) {
+        return new PlatformCrawlOutcome(platformId, platformName, status, items, errorCode, errorMessage, latencyMs,
+                circuitState, phaseTimingsMs);
     }
 
     public boolean isFailure() {
-        return status == PlatformCrawlStatus.FAILED || status == PlatformCrawlStatus.TIMEOUT;
+        return status == PlatformCrawlStatus.FAILED || status == PlatformCrawlStatus.TIMEOUT
+                || status == PlatformCrawlStatus.CIRCUIT_OPEN
+                || (status == PlatformCrawlStatus.THROTTLED && items.isEmpty());
     }
 }
@@ -7,5 +7,13 @@ public enum PlatformCrawlStatus {
     SUCCESS,
     EMPTY,
     FAILED,
-    TIMEOUT
+    TIMEOUT,
+    /**
+     * 触发本地限流，返回上次成功快照（可能为空）
+     */
+    THROTTLED,
+    /**
+     * 平台熔断中，未发起请求直接短路返回
+     */
+    CIRCUIT_OPEN
 }
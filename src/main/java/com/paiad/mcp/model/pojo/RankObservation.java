@@ -0,0 +1,11 @@
+package com.paiad.mcp.model.pojo;
+
+/**
+ * One observation of a story in a platform ranking snapshot.
+ *
+ * @param timestamp observation time (epoch millis)
+ * @param rank      1-based rank in the snapshot, 0 when the crawler did not provide one
+ * @param hotScore  platform hot score, 0 when unknown
+ */
+public record RankObservation(long timestamp, int rank, long hotScore) {
+}
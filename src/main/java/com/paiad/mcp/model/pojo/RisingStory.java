@@ -0,0 +1,26 @@
+package com.paiad.mcp.model.pojo;
+
+/**
+ * Trend derivatives of one story over a fixed window, computed when a snapshot is ingested.
+ *
+ * @param key                     rank history key (platform + URL)
+ * @param rankChange              positions gained since the window baseline (positive = rising)
+ * @param rankVelocityPerHour     rank positions gained per hour, NaN when rank is unknown
+ * @param scoreAccelerationPerHour2 change of hot-score velocity per hour, relative to the current score;
+ *                                NaN when fewer than three observations or no hot score
+ * @param observedMinutes         time covered between the baseline observation and the latest one
+ * @param lastSeen                timestamp of the latest observation (epoch millis)
+ */
+public record RisingStory(
+        String key,
+        String platform,
+        String title,
+        String url,
+        int rank,
+        long hotScore,
+        int rankChange,
+        double rankVelocityPerHour,
+        double scoreAccelerationPerHour2,
+        long observedMinutes,
+        long lastSeen) {
+}
@@ -0,0 +1,23 @@
+package com.paiad.mcp.model.pojo;
+
+/**
+ * One entry of the snapshot change log: a story that appeared or whose rank or hot score changed.
+ *
+ * @param version          monotonic log version assigned when the change was recorded
+ * @param type             NEW when the story was not in the platform's previous snapshot, otherwise UPDATED
+ * @param item             the story as seen in the snapshot that produced this change, in compact form
+ * @param previousRank     rank in the previous snapshot, null for NEW
+ * @param previousHotScore hot score in the previous snapshot, null for NEW or when unknown
+ */
+public record SnapshotChange(
+        long version,
+        Type type,
+        CompactNewsItem item,
+        Integer previousRank,
+        Long previousHotScore) {
+
+    public enum Type {
+        NEW,
+        UPDATED
+    }
+}
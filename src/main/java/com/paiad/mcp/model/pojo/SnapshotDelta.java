@@ -0,0 +1,18 @@
+package com.paiad.mcp.model.pojo;
+
+import java.util.List;
+
+/**
+ * Result of a "changes since cursor" query.
+ *
+ * @param cursor  cursor to pass as {@code since} on the next call
+ * @param reset   true when the requested cursor is no longer covered by the log (too old or from a previous
+ *                process); {@code changes} then holds the full current snapshot as NEW entries
+ * @param hasMore true when more changes exist after {@code cursor}
+ */
+public record SnapshotDelta(long cursor, boolean reset, boolean hasMore, List<SnapshotChange> changes) {
+
+    public SnapshotDelta {
+        changes = List.copyOf(changes);
+    }
+}
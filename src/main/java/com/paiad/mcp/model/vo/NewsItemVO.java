@@ -1,5 +1,6 @@
 package com.paiad.mcp.model.vo;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.paiad.mcp.model.pojo.NewsItem;
 
 import lombok.AllArgsConstructor;
@@ -44,6 +45,17 @@ public class NewsItemVO {
      */
     private String publishedAt;
 
+    /**
+     * 新颖度（new/repost/seen），未启用时为 null
+     */
+    private String novelty;
+
+    /**
+     * 以 ** 标记搜索命中片段的标题，仅 search_news 返回
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String highlight;
+
     /**
      * 从 NewsItem 转换为 VO
      */
@@ -65,6 +77,7 @@ public class NewsItemVO {
                 .hot(hot)
                 .url(item.getUrl())
                 .publishedAt(extractPublishedAt(item))
+                .novelty(item.getNovelty() != null ? item.getNovelty().name().toLowerCase() : null)
                 .build();
     }
 
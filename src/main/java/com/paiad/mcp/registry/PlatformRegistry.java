@@ -3,6 +3,8 @@ package com.paiad.mcp.registry;
 import com.paiad.mcp.config.PlatformPriorityConfig;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -16,6 +18,12 @@ public class PlatformRegistry {
     private final Map<String, String> aliasToId;
     private final int defaultPlatformCount;
 
+    /**
+     * Small, stable per-process indexes for platform ids, used by compact item representations.
+     */
+    private final List<String> idsByIndex = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> indexById = new ConcurrentHashMap<>();
+
     private PlatformRegistry() {
         PlatformPriorityConfig priorityConfig = PlatformPriorityConfig.getInstance();
         this.defaultPlatformCount = priorityConfig.getDefaultPlatformCount();
@@ -66,6 +74,7 @@ public class PlatformRegistry {
         allAliases.add(id);
         PlatformDescriptor descriptor = new PlatformDescriptor(id, name, url, allAliases, enabled, priority, description);
         descriptorsById.put(id, descriptor);
+        indexOf(id);
 
         for (String alias : descriptor.aliases()) {
             aliasToId.put(alias, id);
@@ -107,6 +116,38 @@ public class PlatformRegistry {
         return getById(id).map(PlatformDescriptor::priority).orElse(0);
     }
 
+    /**
+     * Returns the small integer index of a platform id. Registered platforms are indexed in registration
+     * order; ids outside the registry are appended on first use so items from them can still be compacted.
+     */
+    public int indexOf(String id) {
+        Integer index = indexById.get(id);
+        if (index != null) {
+            return index;
+        }
+        synchronized (idsByIndex) {
+            return indexById.computeIfAbsent(id, key -> {
+                idsByIndex.add(key);
+                return idsByIndex.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Returns the index of a platform id without assigning one, or -1 if the id has never been indexed.
+     */
+    public int findIndex(String id) {
+        Integer index = id != null ? indexById.get(id) : null;
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the platform id for an index previously handed out by {@link #indexOf(String)}.
+     */
+    public String idAt(int index) {
+        return idsByIndex.get(index);
+    }
+
     public Set<String> getAllPlatformIds() {
         return Collections.unmodifiableSet(descriptorsById.keySet());
     }
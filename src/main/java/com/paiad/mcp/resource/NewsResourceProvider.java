@@ -0,0 +1,114 @@
+package com.paiad.mcp.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiad.mcp.model.pojo.CrawlResult;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.vo.NewsItemVO;
+import com.paiad.mcp.service.NewsService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 新闻 MCP 资源
+ *
+ * news://platform/&lt;id&gt; 为单个平台的当前热榜，news://front-page 为默认平台合并后的首页。
+ * 读取直接使用最近一次成功爬取的快照，不会每次读取都触发爬取；榜单变化由 {@link com.paiad.mcp.service.SnapshotLog}
+ * 回调，转换为资源 URI 后交给订阅通知。
+ *
+ * @author Paiad
+ */
+public class NewsResourceProvider {
+
+    public static final String FRONT_PAGE_URI = "news://front-page";
+    public static final String PLATFORM_URI_PREFIX = "news://platform/";
+    public static final String PLATFORM_URI_TEMPLATE = PLATFORM_URI_PREFIX + "{platform_id}";
+    public static final String MIME_TYPE = "application/json";
+
+    private final NewsService newsService;
+    private final int frontPageLimit;
+
+    public NewsResourceProvider(NewsService newsService, int frontPageLimit) {
+        this.newsService = newsService;
+        this.frontPageLimit = frontPageLimit;
+    }
+
+    public static String platformUri(String platformId) {
+        return PLATFORM_URI_PREFIX + platformId;
+    }
+
+    public List<ResourceDescriptor> listResources() {
+        List<ResourceDescriptor> resources = new ArrayList<>();
+        resources.add(new ResourceDescriptor(FRONT_PAGE_URI, "Front page",
+                "Merged hot list of the default platforms: " + String.join(", ", newsService.getDefaultPlatformIds()),
+                MIME_TYPE));
+        for (String platformId : newsService.getEnabledPlatformIds()) {
+            resources.add(new ResourceDescriptor(platformUri(platformId),
+                    newsService.getPlatformName(platformId) + " hot list",
+                    "Current hot list of " + platformId, MIME_TYPE));
+        }
+        return resources;
+    }
+
+    /**
+     * 资源对应的平台，未知资源返回 null
+     */
+    public List<String> platformsOf(String uri) {
+        if (FRONT_PAGE_URI.equals(uri)) {
+            return newsService.getDefaultPlatformIds();
+        }
+        if (uri != null && uri.startsWith(PLATFORM_URI_PREFIX)) {
+            String platformId = uri.substring(PLATFORM_URI_PREFIX.length());
+            if (newsService.getEnabledPlatformIds().contains(platformId)) {
+                return List.of(platformId);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 读取资源内容（JSON 文本），未知资源返回 null
+     */
+    public String read(String uri, ObjectMapper objectMapper) throws JsonProcessingException {
+        List<String> platforms = platformsOf(uri);
+        if (platforms == null) {
+            return null;
+        }
+        boolean frontPage = FRONT_PAGE_URI.equals(uri);
+        // 先取游标再读榜单：读取期间的新快照会大于该游标，客户端用它增量拉取不会漏掉
+        long cursor = newsService.getSnapshotLog().cursor();
+        CrawlResult crawlResult = newsService.getLatestNews(platforms, frontPage ? frontPageLimit : Integer.MAX_VALUE);
+        List<NewsItem> news = crawlResult.getData();
+
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("uri", uri);
+        content.put("platforms", platforms);
+        content.put("cursor", cursor);
+        content.put("count", news.size());
+        if (crawlResult.hasFailures()) {
+            content.put("failures", crawlResult.getFailures());
+        }
+        content.put("timestamp", System.currentTimeMillis());
+        content.put("data", news.stream()
+                .map(NewsItem::toVO)
+                .collect(Collectors.<NewsItemVO>toList()));
+        return objectMapper.writeValueAsString(content);
+    }
+
+    /**
+     * 平台榜单变化时回调受影响的资源 URI：平台资源，以及包含该平台的首页
+     */
+    public void onUpdated(Consumer<String> publisher) {
+        newsService.getSnapshotLog().addChangeListener(platformId -> {
+            publisher.accept(platformUri(platformId));
+            if (newsService.getDefaultPlatformIds().contains(platformId)) {
+                publisher.accept(FRONT_PAGE_URI);
+            }
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.paiad.mcp.resource;
+
+/**
+ * Entry of an MCP {@code resources/list} response.
+ */
+public record ResourceDescriptor(String uri, String name, String description, String mimeType) {
+}
@@ -0,0 +1,83 @@
+package com.paiad.mcp.resource;
+
+import com.paiad.mcp.service.NewsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 资源后台刷新
+ *
+ * 定期爬取被订阅资源涉及的平台。爬取结果经 SnapshotLog 比较后，榜单有变化才会推送更新通知；
+ * 没有订阅时不发起任何爬取。
+ *
+ * @author Paiad
+ */
+public class ResourceRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceRefresher.class);
+
+    private final NewsService newsService;
+    private final NewsResourceProvider resources;
+    private final Supplier<Set<String>> subscribedUris;
+    private final long intervalSeconds;
+    private ScheduledExecutorService scheduler;
+
+    public ResourceRefresher(NewsService newsService, NewsResourceProvider resources,
+            Supplier<Set<String>> subscribedUris, long intervalSeconds) {
+        this.newsService = newsService;
+        this.resources = resources;
+        this.subscribedUris = subscribedUris;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resource-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        logger.info("资源后台刷新已启动，间隔 {} 秒", intervalSeconds);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 爬取一次被订阅的平台
+     */
+    void refresh() {
+        try {
+            Set<String> platformIds = new LinkedHashSet<>();
+            for (String uri : subscribedUris.get()) {
+                List<String> platforms = resources.platformsOf(uri);
+                if (platforms != null) {
+                    platformIds.addAll(platforms);
+                }
+            }
+            if (platformIds.isEmpty()) {
+                return;
+            }
+            logger.debug("后台刷新订阅平台: {}", platformIds);
+            newsService.getHotNews(new ArrayList<>(platformIds), 0);
+        } catch (Exception e) {
+            logger.warn("资源后台刷新失败: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.paiad.mcp.server;
+
+import com.paiad.mcp.metrics.McpMetrics;
+
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limits for the HTTP transport, split into two lanes so a burst of tool calls cannot starve
+ * {@code ping} or {@code tools/list}.
+ *
+ * <p>The cheap lane has a fixed limit. The expensive lane ({@code tools/call}, which may fan out into a crawl of
+ * every default platform) adapts its limit with AIMD on observed latency: each call finishing under the latency
+ * threshold while the lane is at least half full adds {@code 1 / limit}, so the limit grows by about one per
+ * window of calls; a call over the threshold multiplies the limit by the backoff ratio, at most once per average
+ * latency of the lane, since the slow calls finishing right after a decrease were admitted under the old limit and
+ * say nothing about the new one. Requests over the limit are rejected immediately rather than queued, with a retry
+ * hint derived from the recent latency of the lane.
+ */
+public class AdmissionController {
+
+    public static final int DEFAULT_CHEAP_LIMIT = 64;
+    public static final int DEFAULT_INITIAL_LIMIT = 8;
+    public static final int DEFAULT_MIN_LIMIT = 2;
+    public static final int DEFAULT_MAX_LIMIT = 32;
+    public static final long DEFAULT_LATENCY_THRESHOLD_MILLIS = 10_000;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private static final Set<String> EXPENSIVE_METHODS = Set.of("tools/call");
+
+    /**
+     * Weight of the newest sample in the latency average behind Retry-After.
+     */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    public enum Lane {
+        CHEAP, EXPENSIVE;
+
+        String label() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final Limiter cheap;
+    private final Limiter expensive;
+
+    public AdmissionController() {
+        this(DEFAULT_CHEAP_LIMIT, DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT,
+                DEFAULT_LATENCY_THRESHOLD_MILLIS, DEFAULT_BACKOFF_RATIO);
+    }
+
+    public AdmissionController(int cheapLimit, int initialLimit, int minLimit, int maxLimit,
+            long latencyThresholdMillis, double backoffRatio) {
+        this.cheap = new Limiter(Lane.CHEAP, cheapLimit, cheapLimit, cheapLimit, Long.MAX_VALUE, 1.0);
+        this.expensive = new Limiter(Lane.EXPENSIVE, initialLimit, minLimit, maxLimit, latencyThresholdMillis,
+                backoffRatio);
+    }
+
+    /**
+     * Admits everything, for callers that do not want admission control.
+     */
+    public static AdmissionController unlimited() {
+        return new AdmissionController(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+                Long.MAX_VALUE, 1.0);
+    }
+
+    public static Lane laneOf(String method) {
+        return EXPENSIVE_METHODS.contains(method) ? Lane.EXPENSIVE : Lane.CHEAP;
+    }
+
+    /**
+     * @return a permit to close once the request is handled, or null when the lane is full
+     */
+    public Permit tryAcquire(String method) {
+        Limiter limiter = limiter(laneOf(method));
+        if (!limiter.tryAcquire()) {
+            McpMetrics.ADMISSION_REJECTED.labels(limiter.lane.label()).inc();
+            return null;
+        }
+        return new Permit(limiter, System.nanoTime());
+    }
+
+    /**
+     * Seconds a rejected caller should wait: about one average request of the lane, at least one second.
+     */
+    public long retryAfterSeconds(String method) {
+        return Math.max(1, (limiter(laneOf(method)).averageLatencyMillis() + 999) / 1000);
+    }
+
+    public int limit(Lane lane) {
+        return limiter(lane).limit();
+    }
+
+    private Limiter limiter(Lane lane) {
+        return lane == Lane.EXPENSIVE ? expensive : cheap;
+    }
+
+    /**
+     * An admitted request; closing it frees the slot and feeds its latency to the limiter.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Limiter limiter;
+        private final long startNanos;
+        private boolean closed;
+
+        private Permit(Limiter limiter, long startNanos) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                limiter.release((System.nanoTime() - startNanos) / 1_000_000);
+            }
+        }
+    }
+
+    static final class Limiter {
+
+        private final Lane lane;
+        private final int minLimit;
+        private final int maxLimit;
+        private final long latencyThresholdMillis;
+        private final double backoffRatio;
+        private final LongSupplier clock;
+        private double estimate;
+        private int inFlight;
+        private double averageLatencyMillis;
+        private long lastDecreaseMillis = Long.MIN_VALUE;
+
+        Limiter(Lane lane, int initialLimit, int minLimit, int maxLimit, long latencyThresholdMillis,
+                double backoffRatio) {
+            this(lane, initialLimit, minLimit, maxLimit, latencyThresholdMillis, backoffRatio,
+                    System::currentTimeMillis);
+        }
+
+        Limiter(Lane lane, int initialLimit, int minLimit, int maxLimit, long latencyThresholdMillis,
+                double backoffRatio, LongSupplier clock) {
+            this.lane = lane;
+            this.clock = clock;
+            this.minLimit = Math.max(1, minLimit);
+            this.maxLimit = Math.max(this.minLimit, maxLimit);
+            this.latencyThresholdMillis = latencyThresholdMillis;
+            this.backoffRatio = backoffRatio;
+            this.estimate = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+            publishLimit();
+        }
+
+        synchronized boolean tryAcquire() {
+            if (inFlight >= limit()) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        synchronized void release(long latencyMillis) {
+            boolean saturated = inFlight * 2 >= limit();
+            inFlight--;
+            averageLatencyMillis = averageLatencyMillis == 0
+                    ? latencyMillis
+                    : averageLatencyMillis + (latencyMillis - averageLatencyMillis) * LATENCY_SMOOTHING;
+            if (latencyMillis > latencyThresholdMillis) {
+                long now = clock.getAsLong();
+                if (lastDecreaseMillis == Long.MIN_VALUE || now - lastDecreaseMillis >= averageLatencyMillis) {
+                    lastDecreaseMillis = now;
+                    estimate = Math.max(minLimit, estimate * backoffRatio);
+                }
+            } else if (saturated) {
+                // only grow while the limit is actually being used, otherwise idle periods inflate it
+                estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+            }
+            publishLimit();
+        }
+
+        synchronized int limit() {
+            return (int) estimate;
+        }
+
+        synchronized long averageLatencyMillis() {
+            return (long) averageLatencyMillis;
+        }
+
+        private void publishLimit() {
+            McpMetrics.ADMISSION_LIMIT.labels(lane.label()).set((long) estimate);
+        }
+    }
+}
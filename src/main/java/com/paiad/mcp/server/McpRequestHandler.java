@@ -1,24 +1,37 @@
 package com.paiad.mcp.server;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.metrics.McpMetrics;
+import com.paiad.mcp.resource.NewsResourceProvider;
+import com.paiad.mcp.resource.ResourceDescriptor;
 import com.paiad.mcp.tool.McpTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Iterator;
 import java.util.Map;
 
 public class McpRequestHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(McpRequestHandler.class);
+    private static final int RESOURCE_NOT_FOUND = -32002;
+    private static final int SESSION_NOT_FOUND = -32001;
+    private static final int SERVER_OVERLOADED = -32000;
+    private static final int INVALID_PARAMS = -32602;
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final ObjectMapper objectMapper;
     private final Map<String, McpTool> tools;
     private final String serverName;
     private final String serverVersion;
     private final String protocolVersion;
+    private final NewsResourceProvider resources;
+    private final ResourceSubscriptions subscriptions;
+    private final McpSessionStore sessions;
 
     public McpRequestHandler(
             ObjectMapper objectMapper,
@@ -26,15 +39,65 @@ public class McpRequestHandler {
             String serverName,
             String serverVersion,
             String protocolVersion
+    ) {
+        this(objectMapper, tools, null, null, serverName, serverVersion, protocolVersion);
+    }
+
+    /**
+     * Also serves {@code resources/*}; subscriptions are delivered through the sink passed to
+     * {@link #handleRequest(JsonNode, NotificationSink)}.
+     */
+    public McpRequestHandler(
+            ObjectMapper objectMapper,
+            Map<String, McpTool> tools,
+            NewsResourceProvider resources,
+            ResourceSubscriptions subscriptions,
+            String serverName,
+            String serverVersion,
+            String protocolVersion
+    ) {
+        this(objectMapper, tools, resources, subscriptions, new McpSessionStore(), serverName, serverVersion,
+                protocolVersion);
+    }
+
+    /**
+     * Uses the given store for sessions created by transports that track {@code Mcp-Session-Id}.
+     */
+    public McpRequestHandler(
+            ObjectMapper objectMapper,
+            Map<String, McpTool> tools,
+            NewsResourceProvider resources,
+            ResourceSubscriptions subscriptions,
+            McpSessionStore sessions,
+            String serverName,
+            String serverVersion,
+            String protocolVersion
     ) {
         this.objectMapper = objectMapper;
         this.tools = tools;
+        this.resources = resources;
+        this.subscriptions = subscriptions;
+        this.sessions = sessions;
         this.serverName = serverName;
         this.serverVersion = serverVersion;
         this.protocolVersion = protocolVersion;
     }
 
     public ObjectNode handleRequest(JsonNode request) {
+        return handleRequest(request, null);
+    }
+
+    /**
+     * @param sink where resource update notifications for this caller go, null when the transport cannot push
+     */
+    public ObjectNode handleRequest(JsonNode request, NotificationSink sink) {
+        return handleRequest(request, sink, null);
+    }
+
+    /**
+     * @param session the caller's session, which holds the snapshots behind page cursors; null when stateless
+     */
+    public ObjectNode handleRequest(JsonNode request, NotificationSink sink, McpSession session) {
         JsonNode id = request.has("id") ? request.get("id") : null;
         String method = request.has("method") ? request.get("method").asText() : "";
         JsonNode params = request.has("params") ? request.get("params") : objectMapper.createObjectNode();
@@ -45,9 +108,20 @@ public class McpRequestHandler {
             case "initialize" -> handleInitialize(id);
             case "initialized" -> null;
             case "tools/list" -> handleToolsList(id);
-            case "tools/call" -> handleToolsCall(id, params);
+            case "tools/call" -> handleToolsCall(id, params, session);
+            case "resources/list" -> resources != null ? handleResourcesList(id) : methodNotFound(id, method);
+            case "resources/templates/list" -> resources != null
+                    ? handleResourceTemplatesList(id)
+                    : methodNotFound(id, method);
+            case "resources/read" -> resources != null ? handleResourcesRead(id, params) : methodNotFound(id, method);
+            case "resources/subscribe" -> resources != null
+                    ? handleResourcesSubscribe(id, params, sink, true)
+                    : methodNotFound(id, method);
+            case "resources/unsubscribe" -> resources != null
+                    ? handleResourcesSubscribe(id, params, sink, false)
+                    : methodNotFound(id, method);
             case "ping" -> createSuccessResponse(id, objectMapper.createObjectNode());
-            default -> createErrorResponse(id, -32601, "Method not found: " + method);
+            default -> methodNotFound(id, method);
         };
     }
 
@@ -55,6 +129,29 @@ public class McpRequestHandler {
         return createErrorResponse(null, -32700, "Parse error: " + message);
     }
 
+    public ObjectNode createSessionNotFoundResponse(JsonNode id) {
+        return createErrorResponse(id, SESSION_NOT_FOUND, "Session not found or expired");
+    }
+
+    public ObjectNode createOverloadedResponse(JsonNode id, long retryAfterSeconds) {
+        ObjectNode response = createErrorResponse(id, SERVER_OVERLOADED,
+                "Server overloaded, retry after " + retryAfterSeconds + "s");
+        ((ObjectNode) response.get("error")).set("data",
+                objectMapper.createObjectNode().put("retryAfterSeconds", retryAfterSeconds));
+        return response;
+    }
+
+    public McpSessionStore sessions() {
+        return sessions;
+    }
+
+    /**
+     * @return the subscription registry, null when resource subscriptions are not served
+     */
+    public ResourceSubscriptions subscriptions() {
+        return subscriptions;
+    }
+
     private ObjectNode handleInitialize(JsonNode id) {
         ObjectNode result = objectMapper.createObjectNode();
         result.put("protocolVersion", protocolVersion);
@@ -68,6 +165,12 @@ public class McpRequestHandler {
         ObjectNode toolsCap = objectMapper.createObjectNode();
         toolsCap.put("listChanged", false);
         capabilities.set("tools", toolsCap);
+        if (resources != null) {
+            ObjectNode resourcesCap = objectMapper.createObjectNode();
+            resourcesCap.put("subscribe", subscriptions != null);
+            resourcesCap.put("listChanged", false);
+            capabilities.set("resources", resourcesCap);
+        }
         result.set("capabilities", capabilities);
 
         result.put(
@@ -93,7 +196,7 @@ public class McpRequestHandler {
         return createSuccessResponse(id, result);
     }
 
-    private ObjectNode handleToolsCall(JsonNode id, JsonNode params) {
+    private ObjectNode handleToolsCall(JsonNode id, JsonNode params, McpSession session) {
         String toolName = params.has("name") ? params.get("name").asText() : "";
         JsonNode arguments = params.has("arguments") ? params.get("arguments") : objectMapper.createObjectNode();
 
@@ -101,19 +204,119 @@ public class McpRequestHandler {
         boolean isError = false;
         McpTool tool = tools.get(toolName);
 
+        if (tool != null && tool.supportsPagination() && arguments.hasNonNull("page_cursor")) {
+            return handleNextPage(id, toolName, arguments.get("page_cursor").asText(), session);
+        }
+
         if (tool == null) {
             content = "{\"error\": \"Unknown tool: " + toolName + "\"}";
             isError = true;
         } else {
+            long startTime = System.currentTimeMillis();
+            McpMetrics.TOOL_CALLS_IN_FLIGHT.labels().inc();
             try {
                 content = tool.execute(arguments, objectMapper);
             } catch (Exception e) {
                 logger.error("Tool execution failed: {}", toolName, e);
                 content = "{\"error\": \"" + e.getMessage() + "\"}";
                 isError = true;
+            } finally {
+                McpMetrics.TOOL_CALLS_IN_FLIGHT.labels().dec();
+            }
+            McpMetrics.TOOL_CALL_DURATION.labels(toolName, isError ? "error" : "ok")
+                    .observeMillis(System.currentTimeMillis() - startTime);
+            if (!isError && tool.supportsPagination() && arguments.has("page_size")) {
+                content = firstPage(toolName, content, arguments.get("page_size").asInt(MAX_PAGE_SIZE), session);
+            }
+        }
+
+        return createToolResult(id, content, isError);
+    }
+
+    /**
+     * Keeps the ranked result in the session when it spans more than one page, so later pages are sliced
+     * from the same snapshot instead of re-running the tool. Results that are not a JSON object with a
+     * {@code data} array are returned unchanged.
+     */
+    private String firstPage(String toolName, String content, int pageSize, McpSession session) {
+        pageSize = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        try {
+            if (!(objectMapper.readTree(content) instanceof ObjectNode result)
+                    || !(result.get("data") instanceof ArrayNode data)) {
+                return content;
             }
+            String snapshotId = session != null && data.size() > pageSize
+                    ? session.saveSnapshot(toolName, result)
+                    : null;
+            return objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(page(result, data, snapshotId, 0, pageSize));
+        } catch (JsonProcessingException e) {
+            logger.warn("Tool result of {} is not JSON, returning it unpaginated", toolName);
+            return content;
         }
+    }
 
+    private ObjectNode handleNextPage(JsonNode id, String toolName, String cursor, McpSession session) {
+        if (session == null) {
+            return createErrorResponse(id, INVALID_PARAMS, "page_cursor requires an Mcp-Session-Id session");
+        }
+        // cursor format: <snapshotId>:<offset>:<pageSize>
+        String[] parts = cursor.split(":");
+        McpSession.Snapshot snapshot = parts.length == 3 ? session.snapshot(parts[0]) : null;
+        if (snapshot == null || !snapshot.tool().equals(toolName)) {
+            return createErrorResponse(id, INVALID_PARAMS, "Unknown or expired page_cursor: " + cursor);
+        }
+        int offset;
+        int pageSize;
+        try {
+            offset = Integer.parseInt(parts[1]);
+            pageSize = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return createErrorResponse(id, INVALID_PARAMS, "Malformed page_cursor: " + cursor);
+        }
+        ArrayNode data = (ArrayNode) snapshot.result().get("data");
+        if (offset < 0 || offset > data.size() || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return createErrorResponse(id, INVALID_PARAMS, "Malformed page_cursor: " + cursor);
+        }
+        try {
+            String content = objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(page(snapshot.result(), data, parts[0], offset, pageSize));
+            return createToolResult(id, content, false);
+        } catch (JsonProcessingException e) {
+            return createErrorResponse(id, -32603, "Failed to serialize page: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One page of a snapshot: every top-level field except {@code data} is carried over, {@code count}
+     * describes the page and the {@code page} object the position within the whole snapshot.
+     */
+    private ObjectNode page(ObjectNode result, ArrayNode data, String snapshotId, int offset, int pageSize) {
+        ObjectNode page = objectMapper.createObjectNode();
+        ArrayNode slice = objectMapper.createArrayNode();
+        int end = Math.min(data.size(), offset + pageSize);
+        for (int i = offset; i < end; i++) {
+            slice.add(data.get(i));
+        }
+        for (Iterator<Map.Entry<String, JsonNode>> it = result.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            page.set(field.getKey(), field.getKey().equals("data") ? slice : field.getValue());
+        }
+        page.put("count", slice.size());
+
+        ObjectNode pageInfo = objectMapper.createObjectNode();
+        pageInfo.put("offset", offset);
+        pageInfo.put("page_size", pageSize);
+        pageInfo.put("total_count", data.size());
+        pageInfo.put("has_more", end < data.size());
+        if (end < data.size() && snapshotId != null) {
+            pageInfo.put("next_cursor", snapshotId + ":" + end + ":" + pageSize);
+        }
+        page.set("page", pageInfo);
+        return page;
+    }
+
+    private ObjectNode createToolResult(JsonNode id, String content, boolean isError) {
         ObjectNode result = objectMapper.createObjectNode();
         ArrayNode contentArray = objectMapper.createArrayNode();
         ObjectNode textContent = objectMapper.createObjectNode();
@@ -125,6 +328,79 @@ public class McpRequestHandler {
         return createSuccessResponse(id, result);
     }
 
+    private ObjectNode handleResourcesList(JsonNode id) {
+        ArrayNode resourcesArray = objectMapper.createArrayNode();
+        for (ResourceDescriptor descriptor : resources.listResources()) {
+            ObjectNode resourceNode = objectMapper.createObjectNode();
+            resourceNode.put("uri", descriptor.uri());
+            resourceNode.put("name", descriptor.name());
+            resourceNode.put("description", descriptor.description());
+            resourceNode.put("mimeType", descriptor.mimeType());
+            resourcesArray.add(resourceNode);
+        }
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.set("resources", resourcesArray);
+        return createSuccessResponse(id, result);
+    }
+
+    private ObjectNode handleResourceTemplatesList(JsonNode id) {
+        ObjectNode template = objectMapper.createObjectNode();
+        template.put("uriTemplate", NewsResourceProvider.PLATFORM_URI_TEMPLATE);
+        template.put("name", "Platform hot list");
+        template.put("description", "Current hot list of one platform");
+        template.put("mimeType", NewsResourceProvider.MIME_TYPE);
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.set("resourceTemplates", objectMapper.createArrayNode().add(template));
+        return createSuccessResponse(id, result);
+    }
+
+    private ObjectNode handleResourcesRead(JsonNode id, JsonNode params) {
+        String uri = params.has("uri") ? params.get("uri").asText() : "";
+        String text;
+        try {
+            text = resources.read(uri, objectMapper);
+        } catch (Exception e) {
+            logger.error("Resource read failed: {}", uri, e);
+            return createErrorResponse(id, -32603, "Resource read failed: " + e.getMessage());
+        }
+        if (text == null) {
+            return createErrorResponse(id, RESOURCE_NOT_FOUND, "Resource not found: " + uri);
+        }
+
+        ObjectNode content = objectMapper.createObjectNode();
+        content.put("uri", uri);
+        content.put("mimeType", NewsResourceProvider.MIME_TYPE);
+        content.put("text", text);
+
+        ObjectNode result = objectMapper.createObjectNode();
+        result.set("contents", objectMapper.createArrayNode().add(content));
+        return createSuccessResponse(id, result);
+    }
+
+    private ObjectNode handleResourcesSubscribe(JsonNode id, JsonNode params, NotificationSink sink,
+            boolean subscribe) {
+        String uri = params.has("uri") ? params.get("uri").asText() : "";
+        if (subscriptions == null || sink == null) {
+            return createErrorResponse(id, -32601,
+                    "Resource subscriptions require an open notification stream (GET /mcp with Mcp-Session-Id over HTTP)");
+        }
+        if (resources.platformsOf(uri) == null) {
+            return createErrorResponse(id, RESOURCE_NOT_FOUND, "Resource not found: " + uri);
+        }
+        if (subscribe) {
+            subscriptions.subscribe(uri, sink);
+        } else {
+            subscriptions.unsubscribe(uri, sink);
+        }
+        return createSuccessResponse(id, objectMapper.createObjectNode());
+    }
+
+    private ObjectNode methodNotFound(JsonNode id, String method) {
+        return createErrorResponse(id, -32601, "Method not found: " + method);
+    }
+
     private ObjectNode createSuccessResponse(JsonNode id, ObjectNode result) {
         ObjectNode response = objectMapper.createObjectNode();
         response.put("jsonrpc", "2.0");
@@ -0,0 +1,66 @@
+package com.paiad.mcp.server;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-client state kept between requests: the ranked tool results behind pagination cursors.
+ *
+ * <p>Snapshots are bounded per session; the least recently paged one is dropped first, after which its
+ * cursors are reported as expired.
+ */
+public final class McpSession {
+
+    /**
+     * A tool result kept so later pages are served without re-running the tool.
+     */
+    record Snapshot(String tool, ObjectNode result) {
+    }
+
+    private final String id;
+    private final Map<String, Snapshot> snapshots;
+    private long nextSnapshotId;
+    private volatile long lastAccessMillis;
+
+    McpSession(String id, int maxSnapshots, long nowMillis) {
+        this.id = id;
+        this.lastAccessMillis = nowMillis;
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > maxSnapshots;
+            }
+        };
+    }
+
+    public String id() {
+        return id;
+    }
+
+    long lastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+
+    synchronized String saveSnapshot(String tool, ObjectNode result) {
+        String snapshotId = Long.toString(++nextSnapshotId, 36);
+        snapshots.put(snapshotId, new Snapshot(tool, result));
+        return snapshotId;
+    }
+
+    /**
+     * @return the snapshot, or null when it never existed or was evicted
+     */
+    synchronized Snapshot snapshot(String snapshotId) {
+        return snapshots.get(snapshotId);
+    }
+
+    synchronized int snapshotCount() {
+        return snapshots.size();
+    }
+}
@@ -0,0 +1,151 @@
+package com.paiad.mcp.server;
+
+import com.paiad.mcp.metrics.McpMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Sessions created on {@code initialize} and addressed by the {@code Mcp-Session-Id} header.
+ *
+ * <p>Bounded in count and idle time: expired sessions are swept lazily when sessions are created or looked up,
+ * and when the store is full the least recently used session is evicted to admit a new one. A transport holding a
+ * long-lived connection for a session keeps it alive with {@link #keepAlive}, and removal listeners let it release
+ * that connection whenever the store drops the session, however it was dropped.
+ */
+public class McpSessionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpSessionStore.class);
+
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30 * 60_000L;
+    public static final int DEFAULT_MAX_SESSIONS = 1000;
+    public static final int DEFAULT_MAX_SNAPSHOTS_PER_SESSION = 8;
+
+    private final long idleTimeoutMillis;
+    private final int maxSessions;
+    private final int maxSnapshotsPerSession;
+    private final LongSupplier clock;
+    private final Map<String, McpSession> sessions = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> removalListeners = new CopyOnWriteArrayList<>();
+    private volatile long nextSweepMillis;
+
+    public McpSessionStore() {
+        this(DEFAULT_IDLE_TIMEOUT_MILLIS, DEFAULT_MAX_SESSIONS, DEFAULT_MAX_SNAPSHOTS_PER_SESSION);
+    }
+
+    public McpSessionStore(long idleTimeoutMillis, int maxSessions, int maxSnapshotsPerSession) {
+        this(idleTimeoutMillis, maxSessions, maxSnapshotsPerSession, System::currentTimeMillis);
+    }
+
+    McpSessionStore(long idleTimeoutMillis, int maxSessions, int maxSnapshotsPerSession, LongSupplier clock) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxSessions = maxSessions;
+        this.maxSnapshotsPerSession = maxSnapshotsPerSession;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a session that is not registered in the store and never expires, for connection-scoped
+     * transports such as STDIO.
+     */
+    public McpSession detached() {
+        return new McpSession(UUID.randomUUID().toString(), maxSnapshotsPerSession, clock.getAsLong());
+    }
+
+    public synchronized McpSession create() {
+        long now = clock.getAsLong();
+        sweep(now, true);
+        while (sessions.size() >= maxSessions) {
+            evictLeastRecentlyUsed();
+        }
+        McpSession session = new McpSession(UUID.randomUUID().toString(), maxSnapshotsPerSession, now);
+        sessions.put(session.id(), session);
+        McpMetrics.SESSIONS_ACTIVE.labels().inc();
+        return session;
+    }
+
+    /**
+     * @return the live session, refreshed as recently used, or null when unknown, expired or deleted
+     */
+    public McpSession get(String id) {
+        if (id == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        sweep(now, false);
+        McpSession session = sessions.get(id);
+        if (session == null) {
+            return null;
+        }
+        if (now - session.lastAccessMillis() > idleTimeoutMillis) {
+            remove(id);
+            return null;
+        }
+        session.touch(now);
+        return session;
+    }
+
+    /**
+     * Marks the session as used without looking it up, for connections that stay open on its behalf.
+     */
+    public void keepAlive(McpSession session) {
+        session.touch(clock.getAsLong());
+    }
+
+    /**
+     * Called with the id of every session removed from the store, whether deleted, expired or evicted.
+     */
+    public void addRemovalListener(Consumer<String> listener) {
+        removalListeners.add(listener);
+    }
+
+    public boolean remove(String id) {
+        if (id != null && sessions.remove(id) != null) {
+            McpMetrics.SESSIONS_ACTIVE.labels().dec();
+            for (Consumer<String> listener : removalListeners) {
+                listener.accept(id);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Drops idle sessions, at most once per idle timeout unless forced.
+     */
+    private void sweep(long now, boolean force) {
+        if (!force && now < nextSweepMillis) {
+            return;
+        }
+        nextSweepMillis = now + idleTimeoutMillis;
+        for (McpSession session : sessions.values()) {
+            if (now - session.lastAccessMillis() > idleTimeoutMillis) {
+                remove(session.id());
+            }
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        McpSession oldest = null;
+        for (McpSession session : sessions.values()) {
+            if (oldest == null || session.lastAccessMillis() < oldest.lastAccessMillis()) {
+                oldest = session;
+            }
+        }
+        if (oldest != null) {
+            logger.debug("Session store full, evicting least recently used session {}", oldest.id());
+            remove(oldest.id());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.paiad.mcp.server;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Transport-side channel for server-initiated JSON-RPC notifications.
+ */
+@FunctionalInterface
+public interface NotificationSink {
+
+    void send(ObjectNode notification);
+}
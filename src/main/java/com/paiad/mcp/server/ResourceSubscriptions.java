@@ -0,0 +1,71 @@
+package com.paiad.mcp.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which transport sinks subscribed to which resource URIs and fans out
+ * {@code notifications/resources/updated}.
+ */
+public class ResourceSubscriptions {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceSubscriptions.class);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Set<NotificationSink>> subscribers = new ConcurrentHashMap<>();
+
+    public ResourceSubscriptions(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void subscribe(String uri, NotificationSink sink) {
+        subscribers.computeIfAbsent(uri, key -> ConcurrentHashMap.newKeySet()).add(sink);
+    }
+
+    public void unsubscribe(String uri, NotificationSink sink) {
+        subscribers.computeIfPresent(uri, (key, sinks) -> {
+            sinks.remove(sink);
+            return sinks.isEmpty() ? null : sinks;
+        });
+    }
+
+    /**
+     * Drops every subscription of a sink, e.g. when its transport disconnects.
+     */
+    public void remove(NotificationSink sink) {
+        for (String uri : subscribers.keySet()) {
+            unsubscribe(uri, sink);
+        }
+    }
+
+    public Set<String> subscribedUris() {
+        return Set.copyOf(subscribers.keySet());
+    }
+
+    public void publish(String uri) {
+        Set<NotificationSink> sinks = subscribers.get(uri);
+        if (sinks == null || sinks.isEmpty()) {
+            return;
+        }
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("uri", uri);
+        ObjectNode notification = objectMapper.createObjectNode();
+        notification.put("jsonrpc", "2.0");
+        notification.put("method", "notifications/resources/updated");
+        notification.set("params", params);
+
+        for (NotificationSink sink : sinks) {
+            try {
+                sink.send(notification);
+            } catch (Exception e) {
+                logger.warn("Failed to deliver resource update for {}: {}", uri, e.getMessage());
+            }
+        }
+    }
+}
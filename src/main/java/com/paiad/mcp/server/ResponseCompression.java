@@ -0,0 +1,267 @@
+package com.paiad.mcp.server;
+
+import com.paiad.mcp.metrics.McpMetrics;
+import com.paiad.mcp.metrics.MetricsRegistry;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@code Accept-Encoding} negotiation and streaming gzip/deflate for HTTP response bodies.
+ *
+ * <p>A body is buffered until it reaches the size threshold. Smaller bodies are sent as-is with a fixed
+ * {@code Content-Length}, since compressing them costs more than it saves. Once the threshold is crossed the headers
+ * are committed with chunked transfer encoding and the rest of the body is compressed as it is written, so a large
+ * tool result is never held twice in memory.
+ */
+public class ResponseCompression {
+
+    public static final int DEFAULT_MIN_SIZE_BYTES = 1024;
+    public static final int DEFAULT_LEVEL = 6;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final LongAdder INPUT_BYTES = new LongAdder();
+    private static final LongAdder OUTPUT_BYTES = new LongAdder();
+
+    static {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        registry.counterFunction("mcp_http_compression_input_bytes_total",
+                "Uncompressed size of compressed HTTP responses", ResponseCompression::getInputBytes);
+        registry.counterFunction("mcp_http_compression_output_bytes_total",
+                "Size on the wire of compressed HTTP responses", ResponseCompression::getOutputBytes);
+        registry.gaugeFunction("mcp_http_compression_ratio_percent",
+                "Compressed size as a percentage of uncompressed size over all compressed HTTP responses",
+                () -> getInputBytes() == 0 ? 0 : getOutputBytes() * 100 / getInputBytes());
+    }
+
+    private final boolean enabled;
+    private final int minSizeBytes;
+    private final int level;
+
+    public ResponseCompression() {
+        this(true, DEFAULT_MIN_SIZE_BYTES, DEFAULT_LEVEL);
+    }
+
+    public ResponseCompression(boolean enabled, int minSizeBytes, int level) {
+        this.enabled = enabled;
+        this.minSizeBytes = Math.max(1, minSizeBytes);
+        this.level = Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, level));
+    }
+
+    public static ResponseCompression disabled() {
+        return new ResponseCompression(false, DEFAULT_MIN_SIZE_BYTES, DEFAULT_LEVEL);
+    }
+
+    /**
+     * Uncompressed bytes of all compressed responses so far.
+     */
+    public static long getInputBytes() {
+        return INPUT_BYTES.sum();
+    }
+
+    /**
+     * Bytes on the wire of all compressed responses so far.
+     */
+    public static long getOutputBytes() {
+        return OUTPUT_BYTES.sum();
+    }
+
+    /**
+     * Picks the coding with the highest quality value; gzip wins ties, and {@code *} stands for gzip.
+     *
+     * @return "gzip", "deflate", or null to send the body uncompressed
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase();
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = quality;
+                case "deflate" -> deflate = quality;
+                case "*" -> wildcard = quality;
+                default -> {
+                }
+            }
+        }
+        if (gzip < 0) {
+            gzip = wildcard;
+        }
+        if (gzip > 0 && gzip >= deflate) {
+            return "gzip";
+        }
+        return deflate > 0 ? "deflate" : null;
+    }
+
+    /**
+     * Opens the response body. Headers other than the ones set here must be set before the first write that
+     * crosses the threshold, and the stream must be closed to send the response, or aborted if writing fails.
+     */
+    public NegotiatedOutputStream open(HttpExchange exchange, int status) {
+        String encoding = null;
+        if (enabled) {
+            exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+            encoding = negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        }
+        return new NegotiatedOutputStream(exchange, status, encoding);
+    }
+
+    public final class NegotiatedOutputStream extends OutputStream {
+
+        private final HttpExchange exchange;
+        private final int status;
+        private final String encoding;
+        private final ByteArrayOutputStream buffer;
+        private CountingOutputStream wire;
+        private DeflaterOutputStream compressor;
+        private Deflater deflater;
+        private long inputBytes;
+        private boolean closed;
+
+        NegotiatedOutputStream(HttpExchange exchange, int status, String encoding) {
+            this.exchange = exchange;
+            this.status = status;
+            this.encoding = encoding;
+            this.buffer = new ByteArrayOutputStream(encoding == null ? 256 : minSizeBytes);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            inputBytes += len;
+            if (compressor != null) {
+                compressor.write(b, off, len);
+                return;
+            }
+            buffer.write(b, off, len);
+            if (encoding != null && buffer.size() >= minSizeBytes) {
+                startCompressing();
+            }
+        }
+
+        private void startCompressing() throws IOException {
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+            // length 0 selects chunked transfer encoding
+            exchange.sendResponseHeaders(status, 0);
+            wire = new CountingOutputStream(exchange.getResponseBody());
+            if ("gzip".equals(encoding)) {
+                compressor = new GzipStream(wire, level);
+            } else {
+                deflater = new Deflater(level);
+                compressor = new DeflaterOutputStream(wire, deflater, BUFFER_SIZE);
+            }
+            buffer.writeTo(compressor);
+            buffer.reset();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (compressor == null) {
+                exchange.sendResponseHeaders(status, buffer.size() == 0 ? -1 : buffer.size());
+                try (OutputStream body = exchange.getResponseBody()) {
+                    buffer.writeTo(body);
+                }
+                return;
+            }
+            try {
+                compressor.close();
+            } finally {
+                // DeflaterOutputStream only ends deflaters it created itself
+                if (deflater != null) {
+                    deflater.end();
+                }
+            }
+            INPUT_BYTES.add(inputBytes);
+            OUTPUT_BYTES.add(wire.count);
+            McpMetrics.HTTP_RESPONSES_COMPRESSED.labels(encoding).inc();
+        }
+
+        /**
+         * Abandons a partly written response without completing the body. Releases the native compressor state
+         * that only {@link #close()} would otherwise end. Before the threshold nothing has been sent, so the
+         * caller may still send a different response; after it the body is left unterminated.
+         */
+        public void abort() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.reset();
+            if (deflater != null) {
+                deflater.end();
+            } else if (compressor instanceof GzipStream gzip) {
+                gzip.end();
+            }
+        }
+    }
+
+    /**
+     * GZIPOutputStream with a configurable compression level.
+     */
+    private static final class GzipStream extends GZIPOutputStream {
+
+        GzipStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+
+        /**
+         * Ends the deflater without writing the trailer.
+         */
+        void end() {
+            def.end();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -22,6 +22,8 @@ public class StdioMcpServer {
     private final McpRequestHandler requestHandler;
     private final BufferedReader reader;
     private final PrintWriter writer;
+    private final NotificationSink notificationSink = this::sendResponse;
+    private McpSession session;
 
     public StdioMcpServer(ObjectMapper objectMapper, McpRequestHandler requestHandler) {
         this(
@@ -32,7 +34,10 @@ public class StdioMcpServer {
         );
     }
 
-    StdioMcpServer(
+    /**
+     * Serves MCP over the given streams instead of System.in/System.out, e.g. pipes when embedding or load testing.
+     */
+    public StdioMcpServer(
             ObjectMapper objectMapper,
             McpRequestHandler requestHandler,
             BufferedReader reader,
@@ -44,6 +49,16 @@ public class StdioMcpServer {
         this.writer = writer;
     }
 
+    /**
+     * The connection is the session: page snapshots live as long as the process reads this stream.
+     */
+    private McpSession session() {
+        if (session == null) {
+            session = requestHandler.sessions().detached();
+        }
+        return session;
+    }
+
     public void start() {
         logger.info("STDIO MCP server started");
         try {
@@ -55,7 +70,7 @@ public class StdioMcpServer {
 
                 try {
                     JsonNode request = objectMapper.readTree(line);
-                    sendResponse(requestHandler.handleRequest(request));
+                    sendResponse(requestHandler.handleRequest(request, notificationSink, session()));
                 } catch (Exception e) {
                     logger.error("Failed to process STDIO request: {}", e.getMessage(), e);
                     sendResponse(requestHandler.createParseErrorResponse(e.getMessage()));
@@ -63,6 +78,11 @@ public class StdioMcpServer {
             }
         } catch (IOException e) {
             logger.error("Failed to read STDIO input: {}", e.getMessage(), e);
+        } finally {
+            // the client is gone once stdin closes, so its subscriptions must not keep the refresher crawling
+            if (requestHandler.subscriptions() != null) {
+                requestHandler.subscriptions().remove(notificationSink);
+            }
         }
     }
 
@@ -70,7 +90,10 @@ public class StdioMcpServer {
         writer.flush();
     }
 
-    private void sendResponse(ObjectNode response) {
+    /**
+     * Responses and resource notifications (from the refresher thread) share the writer.
+     */
+    private synchronized void sendResponse(ObjectNode response) {
         if (response == null) {
             return;
         }
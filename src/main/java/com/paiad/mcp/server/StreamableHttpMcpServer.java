@@ -1,8 +1,12 @@
 package com.paiad.mcp.server;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.metrics.McpMetrics;
+import com.paiad.mcp.metrics.MetricsRegistry;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
@@ -16,37 +20,67 @@ import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 public class StreamableHttpMcpServer {
 
     private static final Logger logger = LoggerFactory.getLogger(StreamableHttpMcpServer.class);
     private static final String CONTENT_TYPE_JSON = "application/json; charset=utf-8";
-    private static final Set<String> SUPPORTED_METHODS = Set.of("POST");
+    private static final String CONTENT_TYPE_PROMETHEUS = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String CONTENT_TYPE_EVENT_STREAM = "text/event-stream";
+    private static final Set<String> SUPPORTED_METHODS = Set.of("POST", "GET", "DELETE");
+    private static final String ALLOWED_METHODS = "GET, POST, DELETE";
+    private static final String SESSION_HEADER = "Mcp-Session-Id";
+    private static final long KEEPALIVE_SECONDS = 15;
+    private static final int EVENT_STREAM_QUEUE_SIZE = 256;
 
     private final McpRequestHandler requestHandler;
+    private final AdmissionController admission;
+    private final ResponseCompression compression;
     private final ObjectMapper objectMapper;
     private final String host;
     private final int port;
+    private final EventStreams eventStreams = new EventStreams();
     private HttpServer server;
 
     public StreamableHttpMcpServer(McpRequestHandler requestHandler, String host, int port) {
+        this(requestHandler, new AdmissionController(), host, port);
+    }
+
+    public StreamableHttpMcpServer(McpRequestHandler requestHandler, AdmissionController admission, String host,
+            int port) {
+        this(requestHandler, admission, new ResponseCompression(), host, port);
+    }
+
+    public StreamableHttpMcpServer(McpRequestHandler requestHandler, AdmissionController admission,
+            ResponseCompression compression, String host, int port) {
         this.requestHandler = requestHandler;
+        this.admission = admission;
+        this.compression = compression;
         this.objectMapper = new ObjectMapper();
         this.host = host;
         this.port = port;
+        // an expired or evicted session must not leave its stream and subscriptions behind
+        requestHandler.sessions().addRemovalListener(eventStreams::close);
     }
 
     public void start() throws IOException {
         server = HttpServer.create(new InetSocketAddress(host, port), 0);
         server.createContext("/mcp", new McpHttpHandler());
+        server.createContext("/metrics", new MetricsHttpHandler());
         server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
         server.start();
         logger.info("Streamable HTTP MCP server started at {}", endpoint());
     }
 
     public void stop() {
+        eventStreams.closeAll();
         if (server != null) {
             server.stop(0);
             server = null;
@@ -57,9 +91,23 @@ public class StreamableHttpMcpServer {
         return URI.create("http://" + host + ":" + port + "/mcp");
     }
 
+    public URI metricsEndpoint() {
+        return URI.create("http://" + host + ":" + port + "/metrics");
+    }
+
     private final class McpHttpHandler implements HttpHandler {
         @Override
         public void handle(HttpExchange exchange) throws IOException {
+            McpMetrics.HTTP_REQUESTS_IN_FLIGHT.labels().inc();
+            try {
+                handleExchange(exchange);
+            } finally {
+                McpMetrics.HTTP_REQUESTS_IN_FLIGHT.labels().dec();
+                McpMetrics.HTTP_REQUESTS.labels(String.valueOf(exchange.getResponseCode())).inc();
+            }
+        }
+
+        private void handleExchange(HttpExchange exchange) throws IOException {
             try (exchange) {
                 if (!validateOrigin(exchange)) {
                     sendPlain(exchange, 403, "Forbidden origin");
@@ -67,39 +115,124 @@ public class StreamableHttpMcpServer {
                 }
 
                 if (!SUPPORTED_METHODS.contains(exchange.getRequestMethod())) {
-                    exchange.getResponseHeaders().set("Allow", "POST");
+                    exchange.getResponseHeaders().set("Allow", ALLOWED_METHODS);
                     sendPlain(exchange, 405, "Method Not Allowed");
                     return;
                 }
 
+                if ("GET".equals(exchange.getRequestMethod())) {
+                    // GET only opens the server-to-client event stream used for resource update notifications
+                    String accept = exchange.getRequestHeaders().getFirst("Accept");
+                    if (accept == null || !accept.contains(CONTENT_TYPE_EVENT_STREAM)) {
+                        exchange.getResponseHeaders().set("Allow", ALLOWED_METHODS);
+                        sendPlain(exchange, 405, "Method Not Allowed");
+                        return;
+                    }
+                    String sessionId = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+                    if (sessionId == null || sessionId.isBlank()) {
+                        sendPlain(exchange, 400, "Missing " + SESSION_HEADER + " header");
+                        return;
+                    }
+                    McpSession session = requestHandler.sessions().get(sessionId);
+                    if (session == null) {
+                        sendPlain(exchange, 404, "Session not found");
+                        return;
+                    }
+                    eventStreams.serve(exchange, session);
+                    return;
+                }
+
+                if ("DELETE".equals(exchange.getRequestMethod())) {
+                    endSession(exchange);
+                    return;
+                }
+
                 Headers headers = exchange.getResponseHeaders();
                 headers.set("Content-Type", CONTENT_TYPE_JSON);
 
+                JsonNode request;
                 try (InputStream body = exchange.getRequestBody()) {
-                    JsonNode request = objectMapper.readTree(body);
-                    ObjectNode response = requestHandler.handleRequest(request);
+                    request = objectMapper.readTree(body);
+                    if (request == null || request.isMissingNode()) {
+                        throw new IOException("empty request body");
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to process HTTP MCP request: {}", e.getMessage(), e);
+                    sendJson(exchange, 400, requestHandler.createParseErrorResponse(e.getMessage()));
+                    return;
+                }
+
+                String method = request.path("method").asText();
+                AdmissionController.Permit permit = admission.tryAcquire(method);
+                if (permit == null) {
+                    long retryAfter = admission.retryAfterSeconds(method);
+                    headers.set("Retry-After", String.valueOf(retryAfter));
+                    sendJson(exchange, 429, requestHandler.createOverloadedResponse(request.get("id"), retryAfter));
+                    return;
+                }
+
+                try (permit) {
+                    McpSession session;
+                    String sessionId = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+                    if ("initialize".equals(method)) {
+                        session = requestHandler.sessions().create();
+                        headers.set(SESSION_HEADER, session.id());
+                    } else if (sessionId != null) {
+                        session = requestHandler.sessions().get(sessionId);
+                        if (session == null) {
+                            sendJson(exchange, 404, requestHandler.createSessionNotFoundResponse(request.get("id")));
+                            return;
+                        }
+                    } else {
+                        // requests without a session id stay stateless, as before sessions existed
+                        session = null;
+                    }
+
+                    ObjectNode response = requestHandler.handleRequest(request, eventStreams.sinkOf(session), session);
                     if (response == null) {
                         exchange.sendResponseHeaders(202, -1);
                         return;
                     }
-
-                    byte[] bytes = objectMapper.writeValueAsBytes(response);
-                    exchange.sendResponseHeaders(200, bytes.length);
-                    try (OutputStream outputStream = exchange.getResponseBody()) {
-                        outputStream.write(bytes);
-                    }
+                    sendJson(exchange, 200, response);
                 } catch (Exception e) {
                     logger.error("Failed to process HTTP MCP request: {}", e.getMessage(), e);
-                    ObjectNode errorResponse = requestHandler.createParseErrorResponse(e.getMessage());
-                    byte[] bytes = objectMapper.writeValueAsBytes(errorResponse);
-                    exchange.sendResponseHeaders(400, bytes.length);
-                    try (OutputStream outputStream = exchange.getResponseBody()) {
-                        outputStream.write(bytes);
+                    if (exchange.getResponseCode() == -1) {
+                        sendJson(exchange, 400, requestHandler.createParseErrorResponse(e.getMessage()));
                     }
+                    // otherwise a compressed body is already streaming; it is left unterminated and the exchange
+                    // is closed, so the client sees a truncated stream rather than a second response
                 }
             }
         }
 
+        /**
+         * DELETE ends the session named by the Mcp-Session-Id header and drops its page snapshots.
+         */
+        private void endSession(HttpExchange exchange) throws IOException {
+            String sessionId = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+            if (sessionId == null || sessionId.isBlank()) {
+                sendPlain(exchange, 400, "Missing " + SESSION_HEADER + " header");
+            } else if (requestHandler.sessions().remove(sessionId)) {
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                sendPlain(exchange, 404, "Session not found");
+            }
+        }
+
+        private void sendJson(HttpExchange exchange, int status, ObjectNode response) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_JSON);
+            ResponseCompression.NegotiatedOutputStream outputStream = compression.open(exchange, status);
+            // closing completes the body, so only a fully written response is closed
+            try {
+                objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .writeValue(outputStream, response);
+            } catch (IOException | RuntimeException e) {
+                outputStream.abort();
+                throw e;
+            }
+            outputStream.close();
+        }
+
         private boolean validateOrigin(HttpExchange exchange) {
             String origin = exchange.getRequestHeaders().getFirst("Origin");
             if (origin == null || origin.isBlank()) {
@@ -112,12 +245,138 @@ public class StreamableHttpMcpServer {
         }
 
         private void sendPlain(HttpExchange exchange, int status, String body) throws IOException {
-            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
-            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
-            exchange.sendResponseHeaders(status, bytes.length);
+            StreamableHttpMcpServer.sendPlain(exchange, status, body, "text/plain; charset=utf-8");
+        }
+    }
+
+    /**
+     * Open GET /mcp event streams, at most one per session. Each stream is its own notification sink, so
+     * subscriptions belong to the client that made them and are dropped as soon as its stream closes.
+     */
+    private final class EventStreams {
+
+        private final Map<String, EventStream> streams = new ConcurrentHashMap<>();
+
+        /**
+         * @return the sink of the session's open stream, or null when the session has none
+         */
+        NotificationSink sinkOf(McpSession session) {
+            return session == null ? null : streams.get(session.id());
+        }
+
+        void serve(HttpExchange exchange, McpSession session) throws IOException {
+            EventStream stream = new EventStream();
+            if (streams.putIfAbsent(session.id(), stream) != null) {
+                sendPlain(exchange, 409, "An event stream is already open for this session",
+                        "text/plain; charset=utf-8");
+                return;
+            }
+            try {
+                // a client that only listens sends no requests, so the open stream keeps its session alive
+                stream.serve(exchange, () -> requestHandler.sessions().keepAlive(session));
+            } finally {
+                streams.remove(session.id(), stream);
+                dropSubscriptions(stream);
+            }
+        }
+
+        void close(String sessionId) {
+            EventStream stream = streams.get(sessionId);
+            if (stream != null) {
+                stream.close();
+            }
+        }
+
+        void closeAll() {
+            for (EventStream stream : streams.values()) {
+                stream.close();
+                dropSubscriptions(stream);
+            }
+        }
+
+        private void dropSubscriptions(EventStream stream) {
+            ResourceSubscriptions subscriptions = requestHandler.subscriptions();
+            if (subscriptions != null) {
+                subscriptions.remove(stream);
+            }
+        }
+    }
+
+    private final class EventStream implements NotificationSink {
+
+        private static final String CLOSE = "close";
+
+        private final BlockingQueue<String> queue = new LinkedBlockingQueue<>(EVENT_STREAM_QUEUE_SIZE);
+
+        @Override
+        public void send(ObjectNode notification) {
+            String data;
+            try {
+                data = objectMapper.writeValueAsString(notification);
+            } catch (JsonProcessingException e) {
+                logger.error("Failed to serialize notification: {}", e.getMessage(), e);
+                return;
+            }
+            if (!queue.offer(data)) {
+                logger.warn("Dropping notification for a slow event stream client");
+            }
+        }
+
+        void serve(HttpExchange exchange, Runnable onWrite) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_EVENT_STREAM);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
             try (OutputStream outputStream = exchange.getResponseBody()) {
-                outputStream.write(bytes);
+                outputStream.write(": connected\n\n".getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+                while (true) {
+                    String data = queue.poll(KEEPALIVE_SECONDS, TimeUnit.SECONDS);
+                    if (data == CLOSE) {
+                        return;
+                    }
+                    // keepalive comments also detect disconnected clients
+                    String event = data == null ? ": keepalive\n\n" : "event: message\ndata: " + data + "\n\n";
+                    outputStream.write(event.getBytes(StandardCharsets.UTF_8));
+                    outputStream.flush();
+                    onWrite.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.debug("Event stream closed: {}", e.getMessage());
             }
         }
+
+        void close() {
+            queue.clear();
+            queue.offer(CLOSE);
+        }
+    }
+
+    /**
+     * Prometheus 指标导出
+     */
+    private static final class MetricsHttpHandler implements HttpHandler {
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try (exchange) {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    exchange.getResponseHeaders().set("Allow", "GET");
+                    sendPlain(exchange, 405, "Method Not Allowed", "text/plain; charset=utf-8");
+                    return;
+                }
+                sendPlain(exchange, 200, MetricsRegistry.getInstance().scrape(), CONTENT_TYPE_PROMETHEUS);
+            }
+        }
+    }
+
+    private static void sendPlain(HttpExchange exchange, int status, String body, String contentType)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
     }
 }
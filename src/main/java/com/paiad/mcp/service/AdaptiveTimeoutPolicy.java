@@ -0,0 +1,57 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.AdaptiveTimeoutInfo;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.util.RollingLatencyWindow;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按平台的自适应爬取超时
+ *
+ * 基于每个平台最近的爬取延迟（PlatformCrawlOutcome.latencyMs）滚动计算 p99，
+ * 超时 = clamp(p99 * 倍数, 下限, 上限)。健康的快平台出现异常时能快速失败，
+ * 长期偏慢的平台也不会被过早截断。样本不足时使用上限作为超时。
+ *
+ * @author Paiad
+ */
+public class AdaptiveTimeoutPolicy {
+
+    private final AdaptiveTimeoutInfo settings;
+    private final Map<String, RollingLatencyWindow> windows = new ConcurrentHashMap<>();
+
+    public AdaptiveTimeoutPolicy(AdaptiveTimeoutInfo settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * 记录一次爬取结果
+     * 仅成功结果反映真实延迟；超时结果按所用超时记录（截尾样本），使长期偏慢的平台超时逐步放宽。
+     * 空数据结果多为解析失败或被反爬拦截后快速返回的页面，其延迟偏低，与熔断、限流、快速失败的结果一样不计入。
+     */
+    public void record(PlatformCrawlOutcome outcome) {
+        PlatformCrawlStatus status = outcome.status();
+        if (status != PlatformCrawlStatus.SUCCESS && status != PlatformCrawlStatus.TIMEOUT) {
+            return;
+        }
+        windows.computeIfAbsent(outcome.platformId(), id -> new RollingLatencyWindow(settings.getWindowSize()))
+                .record(outcome.latencyMs());
+    }
+
+    /**
+     * 获取平台当前的爬取超时（毫秒）
+     */
+    public long timeoutMillis(String platformId) {
+        if (!settings.isEnabled()) {
+            return settings.getCeilingMs();
+        }
+        RollingLatencyWindow window = windows.get(platformId);
+        if (window == null || window.size() < settings.getMinSamples()) {
+            return settings.getCeilingMs();
+        }
+        long adaptive = (long) (window.percentile(0.99) * settings.getP99Multiplier());
+        return Math.max(settings.getFloorMs(), Math.min(settings.getCeilingMs(), adaptive));
+    }
+}
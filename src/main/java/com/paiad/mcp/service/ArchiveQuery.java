@@ -0,0 +1,182 @@
+package com.paiad.mcp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 历史快照检索条件与打分
+ *
+ * 打分规则与 NewsService.rankByRelevance 一致：标题包含整个关键词 100 分，每包含一个分词 10 分。
+ * 内存块与归档段共用同一套逐行打分，同一条新闻（story key 哈希）只保留最近一次命中的快照。
+ *
+ * @author Paiad
+ */
+final class ArchiveQuery {
+
+    private final byte[] keywordBytes;
+    private final List<byte[]> termBytes;
+
+    /**
+     * 需要在标题中出现的字符串（关键词与分词，去重），命中其一才可能得分，用于倒排表预筛选
+     */
+    private final List<String> needles;
+
+    /**
+     * 平台索引过滤，null 表示不过滤
+     */
+    private final int[] platforms;
+    private final long from;
+    private final long to;
+
+    ArchiveQuery(String keyword, Collection<String> terms, int[] platforms, long from, long to) {
+        this.keywordBytes = keyword.getBytes(StandardCharsets.UTF_8);
+        this.termBytes = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            termBytes.add(term.getBytes(StandardCharsets.UTF_8));
+        }
+        Set<String> distinct = new LinkedHashSet<>();
+        distinct.add(keyword);
+        distinct.addAll(terms);
+        this.needles = List.copyOf(distinct);
+        this.platforms = platforms;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 只按时间范围与平台过滤、不打分的条件，用于顺序扫描
+     */
+    static ArchiveQuery range(int[] platforms, long from, long to) {
+        return new ArchiveQuery("", List.of(), platforms, from, to);
+    }
+
+    List<String> needles() {
+        return needles;
+    }
+
+    long from() {
+        return from;
+    }
+
+    long to() {
+        return to;
+    }
+
+    /**
+     * 块的时间范围与平台位图是否与条件相交；调用前需先读取 rowCount 以看到已发布行的范围
+     */
+    boolean overlaps(ArenaChunk chunk) {
+        if (chunk.rowCount() == 0 || chunk.maxTimestamp() < from || chunk.minTimestamp() > to) {
+            return false;
+        }
+        if (platforms == null) {
+            return true;
+        }
+        for (int platform : platforms) {
+            if (chunk.mayContain(platform)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 行是否落在时间范围内且属于过滤的平台
+     */
+    boolean accepts(ArenaChunk chunk, int row) {
+        long timestamp = chunk.timestamps.get(row);
+        if (timestamp < from || timestamp > to) {
+            return false;
+        }
+        if (platforms == null) {
+            return true;
+        }
+        short platform = chunk.platforms.get(row);
+        for (int candidate : platforms) {
+            if (candidate == platform) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 对块内的行打分并合并到 hits
+     *
+     * @param candidates 倒排表预筛选出的行，null 表示逐行检查
+     */
+    void collect(ArenaChunk chunk, BitSet candidates, Map<Long, Hit> hits) {
+        int rows = chunk.rowCount();
+        if (!overlaps(chunk)) {
+            return;
+        }
+        ArenaRow row = new ArenaRow();
+        int i = candidates != null ? candidates.nextSetBit(0) : 0;
+        while (i >= 0 && i < rows) {
+            if (accepts(chunk, i)) {
+                int score = score(row.moveTo(chunk, i));
+                if (score > 0) {
+                    offer(hits, row.keyHash(), chunk, i, score, row.timestamp());
+                }
+            }
+            i = candidates != null ? candidates.nextSetBit(i + 1) : i + 1;
+        }
+    }
+
+    private int score(ArenaRow row) {
+        int score = row.titleContains(keywordBytes) ? 100 : 0;
+        for (byte[] term : termBytes) {
+            if (row.titleContains(term)) {
+                score += 10;
+            }
+        }
+        return score;
+    }
+
+    private static void offer(Map<Long, Hit> hits, long keyHash, ArenaChunk chunk, int index, int score,
+            long timestamp) {
+        Hit hit = hits.get(keyHash);
+        if (hit == null) {
+            hits.put(keyHash, new Hit(chunk, index, score, timestamp));
+        } else if (timestamp >= hit.timestamp) {
+            hit.moveTo(chunk, index, score, timestamp);
+        }
+    }
+
+    /**
+     * 合并另一组命中，同一条新闻保留时间较新的
+     */
+    static void merge(Map<Long, Hit> target, Map<Long, Hit> source) {
+        for (Map.Entry<Long, Hit> entry : source.entrySet()) {
+            Hit hit = entry.getValue();
+            offer(target, entry.getKey(), hit.chunk, hit.index, hit.score, hit.timestamp);
+        }
+    }
+
+    /**
+     * 一条新闻最近一次命中的位置
+     */
+    static final class Hit {
+        ArenaChunk chunk;
+        int index;
+        int score;
+        long timestamp;
+
+        private Hit(ArenaChunk chunk, int index, int score, long timestamp) {
+            moveTo(chunk, index, score, timestamp);
+        }
+
+        private void moveTo(ArenaChunk chunk, int index, int score, long timestamp) {
+            this.chunk = chunk;
+            this.index = index;
+            this.score = score;
+            this.timestamp = timestamp;
+        }
+    }
+}
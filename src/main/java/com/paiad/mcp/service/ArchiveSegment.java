@@ -0,0 +1,408 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.registry.PlatformRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 不可变归档段文件
+ *
+ * 文件布局（小端）：
+ * <pre>
+ * [头部 48 字节][平台表][对齐到 8][定长列 × rowCount][文本区][对齐到 4][词项][倒排偏移][倒排表]
+ * </pre>
+ * 定长列与文本区与 ArenaChunk 的内存布局一致，打开时整体只读映射后直接包装为 ArenaChunk；平台在段内以序号保存，
+ * 加载时转换为进程内的 PlatformRegistry 索引。
+ *
+ * 词项是标题（ASCII 小写后）的相邻字符二元组，倒排表为升序行号。检索时取关键词与每个分词的全部二元组求交集得到候选行，
+ * 再逐行做子串匹配确认：任何包含该子串的标题必然包含它的全部二元组，预筛选不会漏掉结果，打分与内存扫描完全一致。
+ *
+ * @author Paiad
+ */
+final class ArchiveSegment {
+
+    private static final int MAGIC = 0x4E575341;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+
+    private final Path path;
+    private final ArenaChunk chunk;
+    private final IntBuffer termCodes;
+    private final IntBuffer postingOffsets;
+    private final IntBuffer postings;
+    private final long sizeBytes;
+
+    private ArchiveSegment(Path path, ArenaChunk chunk, IntBuffer termCodes, IntBuffer postingOffsets,
+            IntBuffer postings, long sizeBytes) {
+        this.path = path;
+        this.chunk = chunk;
+        this.termCodes = termCodes;
+        this.postingOffsets = postingOffsets;
+        this.postings = postings;
+        this.sizeBytes = sizeBytes;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    ArenaChunk chunk() {
+        return chunk;
+    }
+
+    long minTimestamp() {
+        return chunk.minTimestamp();
+    }
+
+    long maxTimestamp() {
+        return chunk.maxTimestamp();
+    }
+
+    int rowCount() {
+        return chunk.rowCount();
+    }
+
+    long sizeBytes() {
+        return sizeBytes;
+    }
+
+    int termCount() {
+        return termCodes.limit();
+    }
+
+    /**
+     * 可能包含任一 needle 的候选行
+     *
+     * @return 候选行集合；有长度小于 2 的 needle 无法预筛选时返回 null，表示需要逐行检查
+     */
+    BitSet candidates(List<String> needles) {
+        BitSet union = new BitSet(rowCount());
+        for (String needle : needles) {
+            if (needle.length() < 2) {
+                return null;
+            }
+            int[] rows = matchAllBigrams(needle);
+            for (int row : rows) {
+                union.set(row);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * 同时包含 needle 全部二元组的行（升序）
+     */
+    private int[] matchAllBigrams(String needle) {
+        int[] codes = bigrams(needle);
+        int[][] ranges = new int[codes.length][];
+        for (int i = 0; i < codes.length; i++) {
+            int term = binarySearch(codes[i]);
+            if (term < 0) {
+                return new int[0];
+            }
+            ranges[i] = new int[]{postingOffsets.get(term), postingOffsets.get(term + 1)};
+        }
+        Arrays.sort(ranges, (a, b) -> Integer.compare(a[1] - a[0], b[1] - b[0]));
+
+        int[] result = new int[ranges[0][1] - ranges[0][0]];
+        postings.get(ranges[0][0], result);
+        int size = result.length;
+        for (int r = 1; r < ranges.length && size > 0; r++) {
+            int kept = 0;
+            int cursor = ranges[r][0];
+            int end = ranges[r][1];
+            for (int i = 0; i < size && cursor < end; i++) {
+                int row = result[i];
+                while (cursor < end && postings.get(cursor) < row) {
+                    cursor++;
+                }
+                if (cursor < end && postings.get(cursor) == row) {
+                    result[kept++] = row;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private int binarySearch(int code) {
+        int low = 0;
+        int high = termCodes.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = termCodes.get(mid);
+            if (value < code) {
+                low = mid + 1;
+            } else if (value > code) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 文本的相邻字符二元组编码（高 16 位为前一个字符），大写 ASCII 字母先转为小写，与 ArenaRow 的匹配规则一致
+     */
+    static int[] bigrams(String text) {
+        if (text.length() < 2) {
+            return new int[0];
+        }
+        int[] codes = new int[text.length() - 1];
+        char previous = toLowerAscii(text.charAt(0));
+        for (int i = 1; i < text.length(); i++) {
+            char current = toLowerAscii(text.charAt(i));
+            codes[i - 1] = (previous << 16) | current;
+            previous = current;
+        }
+        return codes;
+    }
+
+    private static char toLowerAscii(char value) {
+        return value >= 'A' && value <= 'Z' ? (char) (value + ('a' - 'A')) : value;
+    }
+
+    /**
+     * 将若干块的全部行按顺序写入新的段文件（先写临时文件再原子替换），文本在段内重新去重
+     */
+    static void write(Path target, List<ArenaChunk> sources) throws IOException {
+        int rows = 0;
+        for (ArenaChunk source : sources) {
+            rows += source.rowCount();
+        }
+        long[] timestamps = new long[rows];
+        long[] keyHashes = new long[rows];
+        long[] hotScores = new long[rows];
+        int[] ranks = new int[rows];
+        int[] titleOffsets = new int[rows];
+        int[] titleLengths = new int[rows];
+        int[] urlOffsets = new int[rows];
+        int[] urlLengths = new int[rows];
+        short[] platforms = new short[rows];
+        Map<String, Integer> platformOrdinals = new LinkedHashMap<>();
+        TextWriter text = new TextWriter();
+        Map<Integer, IntList> postingLists = new HashMap<>();
+
+        int row = 0;
+        ArenaRow reader = new ArenaRow();
+        for (ArenaChunk source : sources) {
+            int count = source.rowCount();
+            for (int i = 0; i < count; i++, row++) {
+                reader.moveTo(source, i);
+                timestamps[row] = reader.timestamp();
+                keyHashes[row] = reader.keyHash();
+                hotScores[row] = reader.hotScore();
+                ranks[row] = reader.rank();
+                String platform = reader.platform();
+                platforms[row] = platformOrdinals.computeIfAbsent(platform, key -> platformOrdinals.size())
+                        .shortValue();
+                String title = reader.title();
+                long titleRef = text.ref(title);
+                titleOffsets[row] = (int) (titleRef >>> 32);
+                titleLengths[row] = (int) titleRef;
+                String url = reader.url();
+                long urlRef = url != null ? text.ref(url) : 0;
+                urlOffsets[row] = (int) (urlRef >>> 32);
+                urlLengths[row] = (int) urlRef;
+                for (int code : bigrams(title)) {
+                    postingLists.computeIfAbsent(code, key -> new IntList()).addOnce(row);
+                }
+            }
+        }
+
+        int[] codes = postingLists.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int postingCount = 0;
+        for (IntList list : postingLists.values()) {
+            postingCount += list.size;
+        }
+        List<byte[]> platformIds = new ArrayList<>();
+        int platformTableBytes = 0;
+        for (String platform : platformOrdinals.keySet()) {
+            byte[] bytes = platform.getBytes(StandardCharsets.UTF_8);
+            platformIds.add(bytes);
+            platformTableBytes += Short.BYTES + bytes.length;
+        }
+        byte[] textBytes = text.toByteArray();
+
+        int columnsStart = align(HEADER_BYTES + platformTableBytes, Long.BYTES);
+        int termsStart = align(columnsStart + rows * ArenaChunk.ROW_BYTES + textBytes.length, Integer.BYTES);
+        long total = termsStart + (long) Integer.BYTES * (codes.length + codes.length + 1 + postingCount);
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("归档段过大: " + total + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) total).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(textBytes.length)
+                .putInt(codes.length).putInt(platformIds.size()).putInt(postingCount);
+        buffer.position(HEADER_BYTES);
+        for (byte[] platform : platformIds) {
+            buffer.putShort((short) platform.length).put(platform);
+        }
+        buffer.position(columnsStart);
+        for (long value : timestamps) {
+            buffer.putLong(value);
+        }
+        for (long value : keyHashes) {
+            buffer.putLong(value);
+        }
+        for (long value : hotScores) {
+            buffer.putLong(value);
+        }
+        for (int[] column : new int[][]{ranks, titleOffsets, titleLengths, urlOffsets, urlLengths}) {
+            for (int value : column) {
+                buffer.putInt(value);
+            }
+        }
+        for (short value : platforms) {
+            buffer.putShort(value);
+        }
+        buffer.put(textBytes);
+        buffer.position(termsStart);
+        for (int code : codes) {
+            buffer.putInt(code);
+        }
+        int offset = 0;
+        for (int code : codes) {
+            buffer.putInt(offset);
+            offset += postingLists.get(code).size;
+        }
+        buffer.putInt(offset);
+        for (int code : codes) {
+            IntList list = postingLists.get(code);
+            for (int i = 0; i < list.size; i++) {
+                buffer.putInt(list.values[i]);
+            }
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 只读映射段文件
+     *
+     * @throws IOException 文件无法读取或格式不符
+     */
+    static ArchiveSegment open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("归档段大小异常: " + size);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("不是归档段文件或版本不支持");
+        }
+        int rows = buffer.getInt(8);
+        int textBytes = buffer.getInt(12);
+        int termCount = buffer.getInt(16);
+        int platformCount = buffer.getInt(20);
+        int postingCount = buffer.getInt(24);
+
+        PlatformRegistry registry = PlatformRegistry.getInstance();
+        short[] runtimeIndexes = new short[platformCount];
+        int position = HEADER_BYTES;
+        for (int i = 0; i < platformCount; i++) {
+            int length = buffer.getShort(position);
+            byte[] bytes = new byte[length];
+            buffer.get(position + Short.BYTES, bytes);
+            runtimeIndexes[i] = (short) registry.indexOf(new String(bytes, StandardCharsets.UTF_8));
+            position += Short.BYTES + length;
+        }
+
+        int columnsStart = align(position, Long.BYTES);
+        int columnsBytes = rows * ArenaChunk.ROW_BYTES + textBytes;
+        int termsStart = align(columnsStart + columnsBytes, Integer.BYTES);
+        long expected = termsStart + (long) Integer.BYTES * (termCount + termCount + 1 + postingCount);
+        if (rows < 0 || textBytes < 0 || expected != size) {
+            throw new IOException("归档段文件损坏");
+        }
+
+        int platformColumn = columnsStart + rows * (ArenaChunk.ROW_BYTES - Short.BYTES);
+        ShortBuffer platforms = ByteBuffer.allocateDirect(Math.max(1, rows) * Short.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+        for (int i = 0; i < rows; i++) {
+            platforms.put(i, runtimeIndexes[buffer.getShort(platformColumn + i * Short.BYTES)]);
+        }
+        ArenaChunk chunk = ArenaChunk.readOnly(buffer.slice(columnsStart, columnsBytes), rows, textBytes, platforms);
+
+        IntBuffer termCodes = buffer.slice(termsStart, termCount * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        IntBuffer postingOffsets = buffer.slice(termsStart + termCount * Integer.BYTES, (termCount + 1) * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        IntBuffer postings = buffer.slice(termsStart + (2 * termCount + 1) * Integer.BYTES, postingCount * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        return new ArchiveSegment(path, chunk, termCodes, postingOffsets, postings, size);
+    }
+
+    private static int align(int value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * 段内文本去重写入
+     */
+    private static final class TextWriter {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final Map<String, Long> refs = new HashMap<>();
+
+        long ref(String value) {
+            Long existing = refs.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            long ref = ((long) bytes.size() << 32) | encoded.length;
+            bytes.write(encoded, 0, encoded.length);
+            refs.put(value, ref);
+            return ref;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * 升序追加的行号列表
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addOnce(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.paiad.mcp.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 堆外列式内存块
+ *
+ * 一次分配一整块 direct 内存并按列切分：时间戳、story key 哈希、热度（long），排名、标题/链接的偏移与长度（int），
+ * 平台索引（short），其后是标题与链接的 UTF-8 文本区。同一块内相同的文本只写一次，连续多次爬取同一条新闻时
+ * 只新增一行定长数据。
+ *
+ * 归档段文件映射后也以同样的列布局通过 readOnly() 包装为只读块，读取路径与内存块一致。
+ *
+ * 单写多读：写入方持有 SnapshotArena 的锁，先写各列再发布 rowCount（volatile），读取方先读 rowCount，
+ * 只访问已发布的行，列缓冲区只用绝对下标读写，不共享 position。
+ *
+ * @author Paiad
+ */
+final class ArenaChunk {
+
+    static final int NO_RANK = Integer.MIN_VALUE;
+    static final long NO_HOT_SCORE = Long.MIN_VALUE;
+
+    /**
+     * 每行定长列的字节数：3 个 long + 5 个 int + 1 个 short
+     */
+    static final int ROW_BYTES = 3 * Long.BYTES + 5 * Integer.BYTES + Short.BYTES;
+
+    private final int capacity;
+    private final int textCapacity;
+
+    final LongBuffer timestamps;
+    final LongBuffer keyHashes;
+    final LongBuffer hotScores;
+    final IntBuffer ranks;
+    final IntBuffer titleOffsets;
+    final IntBuffer titleLengths;
+    final IntBuffer urlOffsets;
+    final IntBuffer urlLengths;
+    final ShortBuffer platforms;
+    final ByteBuffer text;
+
+    private volatile int rowCount;
+    private int textUsed;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    /**
+     * 平台索引小于 64 的平台位图，用于按平台过滤时跳过整块
+     */
+    private long platformMask;
+
+    /**
+     * 写入期间的文本去重表：文本 -> (偏移 << 32 | 长度)，封块后释放；只读视图为 null
+     */
+    private Map<String, Long> textIndex;
+
+    ArenaChunk(int capacity, int textCapacity) {
+        this(ByteBuffer.allocateDirect(capacity * ROW_BYTES + textCapacity), capacity, textCapacity, null);
+        this.textIndex = new HashMap<>();
+    }
+
+    /**
+     * 按列布局切分 memory：[定长列 × capacity][文本区 textCapacity]
+     *
+     * @param platformColumn 替换平台列（归档段中平台以段内序号保存，加载时转换为进程内索引），为 null 时使用 memory 中的列
+     */
+    private ArenaChunk(ByteBuffer memory, int capacity, int textCapacity, ShortBuffer platformColumn) {
+        this.capacity = capacity;
+        this.textCapacity = textCapacity;
+        int offset = 0;
+        this.timestamps = slice(memory, offset, capacity * Long.BYTES).asLongBuffer();
+        offset += capacity * Long.BYTES;
+        this.keyHashes = slice(memory, offset, capacity * Long.BYTES).asLongBuffer();
+        offset += capacity * Long.BYTES;
+        this.hotScores = slice(memory, offset, capacity * Long.BYTES).asLongBuffer();
+        offset += capacity * Long.BYTES;
+        this.ranks = slice(memory, offset, capacity * Integer.BYTES).asIntBuffer();
+        offset += capacity * Integer.BYTES;
+        this.titleOffsets = slice(memory, offset, capacity * Integer.BYTES).asIntBuffer();
+        offset += capacity * Integer.BYTES;
+        this.titleLengths = slice(memory, offset, capacity * Integer.BYTES).asIntBuffer();
+        offset += capacity * Integer.BYTES;
+        this.urlOffsets = slice(memory, offset, capacity * Integer.BYTES).asIntBuffer();
+        offset += capacity * Integer.BYTES;
+        this.urlLengths = slice(memory, offset, capacity * Integer.BYTES).asIntBuffer();
+        offset += capacity * Integer.BYTES;
+        this.platforms = platformColumn != null
+                ? platformColumn
+                : slice(memory, offset, capacity * Short.BYTES).asShortBuffer();
+        offset += capacity * Short.BYTES;
+        this.text = slice(memory, offset, textCapacity);
+    }
+
+    /**
+     * 只读视图：归档段文件映射后的列与文本，行全部已发布
+     */
+    static ArenaChunk readOnly(ByteBuffer memory, int rows, int textBytes, ShortBuffer platformColumn) {
+        ArenaChunk chunk = new ArenaChunk(memory, rows, textBytes, platformColumn);
+        chunk.textUsed = textBytes;
+        for (int i = 0; i < rows; i++) {
+            long timestamp = chunk.timestamps.get(i);
+            chunk.minTimestamp = Math.min(chunk.minTimestamp, timestamp);
+            chunk.maxTimestamp = Math.max(chunk.maxTimestamp, timestamp);
+            short platform = chunk.platforms.get(i);
+            if (platform >= 0 && platform < Long.SIZE) {
+                chunk.platformMask |= 1L << platform;
+            }
+        }
+        chunk.rowCount = rows;
+        return chunk;
+    }
+
+    private static ByteBuffer slice(ByteBuffer memory, int offset, int length) {
+        return memory.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 追加一行，块已满（行数或文本区）或已封块时返回 false，调用方应封块并换新块
+     */
+    boolean append(long timestamp, short platform, long keyHash, int rank, long hotScore, String title, String url) {
+        int row = rowCount;
+        if (row >= capacity || textIndex == null) {
+            return false;
+        }
+        long titleRef = textRef(title);
+        if (titleRef < 0) {
+            return false;
+        }
+        long urlRef = url != null && !url.isEmpty() ? textRef(url) : 0;
+        if (urlRef < 0) {
+            return false;
+        }
+
+        timestamps.put(row, timestamp);
+        keyHashes.put(row, keyHash);
+        hotScores.put(row, hotScore);
+        ranks.put(row, rank);
+        titleOffsets.put(row, (int) (titleRef >>> 32));
+        titleLengths.put(row, (int) titleRef);
+        urlOffsets.put(row, (int) (urlRef >>> 32));
+        urlLengths.put(row, (int) urlRef);
+        platforms.put(row, platform);
+        minTimestamp = Math.min(minTimestamp, timestamp);
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        if (platform >= 0 && platform < Long.SIZE) {
+            platformMask |= 1L << platform;
+        }
+        rowCount = row + 1;
+        return true;
+    }
+
+    /**
+     * 写入文本（块内去重），返回 (偏移 << 32 | 长度)，文本区不足时返回 -1
+     */
+    private long textRef(String value) {
+        Long existing = textIndex.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (textUsed + bytes.length > textCapacity) {
+            return -1;
+        }
+        text.put(textUsed, bytes);
+        long ref = ((long) textUsed << 32) | bytes.length;
+        textUsed += bytes.length;
+        textIndex.put(value, ref);
+        return ref;
+    }
+
+    /**
+     * 封块：不再写入，释放堆上的文本去重表
+     */
+    void seal() {
+        textIndex = null;
+    }
+
+    boolean isSealed() {
+        return textIndex == null;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 读取方需先调用 rowCount() 以看到已发布行的时间范围
+     */
+    long minTimestamp() {
+        return minTimestamp;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * 块内是否可能包含该平台的行；索引不小于 64 的平台无法判断，总是返回 true
+     */
+    boolean mayContain(int platform) {
+        return platform < 0 || platform >= Long.SIZE || (platformMask & (1L << platform)) != 0;
+    }
+
+    int textUsed() {
+        return textUsed;
+    }
+
+    /**
+     * 块占用的堆外内存字节数
+     */
+    long sizeBytes() {
+        return (long) capacity * ROW_BYTES + textCapacity;
+    }
+
+    String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        text.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.registry.PlatformRegistry;
+
+/**
+ * 历史快照行的享元访问器
+ *
+ * 扫描时同一个实例依次指向各行，基本类型字段直接从堆外列读取，标题、链接只在调用 title()/url() 时解码；
+ * 回调结束后不要保留该实例，需要保留时调用 toNewsItem() 物化。
+ *
+ * @author Paiad
+ */
+public final class ArenaRow {
+
+    private ArenaChunk chunk;
+    private int index;
+
+    /**
+     * 当前行标题的小写（ASCII）UTF-8 副本，首次匹配时批量复制，同一行的多次匹配复用
+     */
+    private byte[] titleBytes = new byte[256];
+    private int titleLength = -1;
+
+    ArenaRow() {
+    }
+
+    ArenaRow moveTo(ArenaChunk chunk, int index) {
+        this.chunk = chunk;
+        this.index = index;
+        this.titleLength = -1;
+        return this;
+    }
+
+    ArenaChunk chunk() {
+        return chunk;
+    }
+
+    int index() {
+        return index;
+    }
+
+    /**
+     * 所属快照的爬取时间
+     */
+    public long timestamp() {
+        return chunk.timestamps.get(index);
+    }
+
+    /**
+     * story key（平台 + 链接，无链接时为 id）的 64 位哈希，见 SnapshotArena.keyHash
+     */
+    public long keyHash() {
+        return chunk.keyHashes.get(index);
+    }
+
+    public int platformIndex() {
+        return chunk.platforms.get(index);
+    }
+
+    public String platform() {
+        int platform = platformIndex();
+        return platform >= 0 ? PlatformRegistry.getInstance().idAt(platform) : null;
+    }
+
+    public boolean hasRank() {
+        return rank() != ArenaChunk.NO_RANK;
+    }
+
+    public int rank() {
+        return chunk.ranks.get(index);
+    }
+
+    public boolean hasHotScore() {
+        return hotScore() != ArenaChunk.NO_HOT_SCORE;
+    }
+
+    public long hotScore() {
+        return chunk.hotScores.get(index);
+    }
+
+    public String title() {
+        return chunk.decode(chunk.titleOffsets.get(index), chunk.titleLengths.get(index));
+    }
+
+    /**
+     * 链接，没有链接时返回 null
+     */
+    public String url() {
+        int length = chunk.urlLengths.get(index);
+        return length > 0 ? chunk.decode(chunk.urlOffsets.get(index), length) : null;
+    }
+
+    /**
+     * 标题是否包含 needle（不解码标题），按 ASCII 忽略大小写比较
+     *
+     * @param needle 已转为小写的 UTF-8 字节
+     */
+    public boolean titleContains(byte[] needle) {
+        if (titleLength < 0) {
+            loadTitle();
+        }
+        if (needle.length == 0) {
+            return true;
+        }
+        int last = titleLength - needle.length;
+        byte first = needle[0];
+        outer:
+        for (int start = 0; start <= last; start++) {
+            if (titleBytes[start] != first) {
+                continue;
+            }
+            for (int i = 1; i < needle.length; i++) {
+                if (titleBytes[start + i] != needle[i]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void loadTitle() {
+        int length = chunk.titleLengths.get(index);
+        if (titleBytes.length < length) {
+            titleBytes = new byte[Math.max(length, titleBytes.length * 2)];
+        }
+        chunk.text.get(chunk.titleOffsets.get(index), titleBytes, 0, length);
+        for (int i = 0; i < length; i++) {
+            byte value = titleBytes[i];
+            if (value >= 'A' && value <= 'Z') {
+                titleBytes[i] = (byte) (value + ('a' - 'A'));
+            }
+        }
+        titleLength = length;
+    }
+
+    /**
+     * 物化为 NewsItem；归档不保存 id、热度描述与标签
+     */
+    public NewsItem toNewsItem() {
+        String platform = platform();
+        return NewsItem.builder()
+                .title(title())
+                .url(url())
+                .platform(platform)
+                .platformName(platform != null ? PlatformRegistry.getInstance().getName(platform) : null)
+                .rank(hasRank() ? rank() : null)
+                .hotScore(hasHotScore() ? hotScore() : null)
+                .timestamp(timestamp())
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+
+/**
+ * 爬取结果监听器
+ * NewsService 在每次批量爬取结束后，按平台逐个回调所有已注册的监听器（包括超时、熔断等失败结果）。
+ * 回调在请求线程上同步执行，实现应保持轻量；抛出的异常会被记录并忽略，不影响其他监听器。
+ *
+ * @author Paiad
+ */
+@FunctionalInterface
+public interface CrawlListener {
+
+    void onCrawl(PlatformCrawlOutcome outcome);
+}
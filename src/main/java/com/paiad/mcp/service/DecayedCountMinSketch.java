@@ -0,0 +1,95 @@
+package com.paiad.mcp.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 指数衰减的 Count-Min Sketch
+ *
+ * 采用前向衰减：t 时刻写入的权重为 e^(λ(t - landmark))，读取时统一乘以 e^(-λ(now - landmark))，
+ * 写入和查询都不需要逐个衰减计数器；指数过大时把所有计数器按比例缩小并前移 landmark。
+ * 更新使用保守更新（只抬高低于新估计值的计数器），降低高频冲突带来的高估。
+ * 各行列号由键字节的 64 位哈希拆成两半做双重哈希得到：String.hashCode 相同的键不会在所有行上同时冲突。
+ *
+ * @author Paiad
+ */
+final class DecayedCountMinSketch {
+
+    private final double[][] counters;
+    private final int mask;
+
+    DecayedCountMinSketch(int width, int depth) {
+        this.counters = new double[depth][width];
+        this.mask = width - 1;
+    }
+
+    /**
+     * 写入前向衰减后的权重
+     *
+     * @return 写入后的估计值（同样为前向衰减尺度）
+     */
+    double add(String key, double weight) {
+        long hash = hash(key);
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][index(hash, row)]);
+        }
+        double target = estimate + weight;
+        for (int row = 0; row < counters.length; row++) {
+            int column = index(hash, row);
+            if (counters[row][column] < target) {
+                counters[row][column] = target;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 估计值（前向衰减尺度），只会高估不会低估
+     */
+    double estimate(String key) {
+        long hash = hash(key);
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counters.length; row++) {
+            estimate = Math.min(estimate, counters[row][index(hash, row)]);
+        }
+        return estimate;
+    }
+
+    void scale(double factor) {
+        for (double[] row : counters) {
+            for (int column = 0; column < row.length; column++) {
+                row[column] *= factor;
+            }
+        }
+    }
+
+    long sizeBytes() {
+        return (long) counters.length * counters[0].length * Double.BYTES;
+    }
+
+    /**
+     * 低 32 位为起点，高 32 位（置为奇数，在 2 的幂宽度上遍历所有列）为步长
+     */
+    private int index(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & mask;
+    }
+
+    /**
+     * FNV-1a 后接 murmur3 fmix64 混合
+     */
+    private static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
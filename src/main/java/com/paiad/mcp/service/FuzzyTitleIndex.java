@@ -0,0 +1,290 @@
+package com.paiad.mcp.service;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.dictionary.py.Pinyin;
+import com.paiad.mcp.config.PlatformPriorityConfig.FuzzySearchInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.util.TopK;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 标题模糊检索索引（字符二元组 + 拼音）
+ *
+ * 每次成功爬取后为该平台的标题重建两份倒排表：小写标题的相邻字符二元组，以及标题拼音（汉字转无声调拼音，
+ * 保留 ASCII 字母数字）的二元组，均为排序后的基本类型数组。拼写错误（"chatgtp"）、同音字（"马斯可"）
+ * 与直接输入拼音（"masike"）的查询都能命中。
+ *
+ * 检索时按查询的二元组累加倒排表计数，只有计数达到阈值的标题才做编辑距离验证：一次替换、插入或删除最多破坏
+ * 查询的 2 个二元组，一次相邻交换（"ab" -> "ba"）最多破坏 3 个（xa、ab、by），因此标题中与查询编辑距离不超过 k
+ * 的子串至少保留查询 (n - 1) - 3k 个二元组，计数过滤不会漏掉结果，也不需要逐条扫描全部标题。
+ * 编辑距离为允许相邻字符交换的 Damerau-Levenshtein（OSA）距离，在标题的任意子串上取最小值。
+ *
+ * @author Paiad
+ */
+public class FuzzyTitleIndex implements CrawlListener {
+
+    private final FuzzySearchInfo settings;
+
+    /**
+     * 平台 ID -> 最近一次成功爬取的标题索引，每次整体替换
+     */
+    private final Map<String, PlatformIndex> indexes = new ConcurrentHashMap<>();
+
+    public FuzzyTitleIndex(FuzzySearchInfo settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public void onCrawl(PlatformCrawlOutcome outcome) {
+        if (settings.isEnabled() && outcome.status() == PlatformCrawlStatus.SUCCESS) {
+            indexes.put(outcome.platformId(), PlatformIndex.build(outcome.items()));
+        }
+    }
+
+    /**
+     * 在指定平台最近一次成功爬取的标题中模糊检索，编辑距离小的排在前面，相同时按平台顺序与榜单顺序
+     *
+     * @param keyword   已去除首尾空白并转为小写的关键词
+     * @param platforms 平台 ID（按优先级排序）
+     * @param excluded  需要跳过的 story key（如已精确命中的新闻）
+     * @param limit     返回条数
+     */
+    public List<NewsItem> search(String keyword, Collection<String> platforms, Set<String> excluded, int limit) {
+        if (!settings.isEnabled() || limit <= 0) {
+            return List.of();
+        }
+        Query textQuery = query(keyword);
+        Query pinyinQuery = query(pinyinOf(keyword));
+        if (textQuery == null && pinyinQuery == null) {
+            return List.of();
+        }
+
+        TopK<NewsItem> top = new TopK<>(limit);
+        for (String platformId : platforms) {
+            PlatformIndex index = indexes.get(platformId);
+            if (index == null) {
+                continue;
+            }
+            int[] distances = new int[index.items.length];
+            Arrays.fill(distances, Integer.MAX_VALUE);
+            if (textQuery != null) {
+                index.match(textQuery, index.texts, index.textPostings, distances);
+            }
+            if (pinyinQuery != null) {
+                index.match(pinyinQuery, index.pinyins, index.pinyinPostings, distances);
+            }
+            for (int doc = 0; doc < distances.length; doc++) {
+                NewsItem item = index.items[doc];
+                if (distances[doc] != Integer.MAX_VALUE && !excluded.contains(RankHistoryStore.keyOf(item))) {
+                    top.offer(-distances[doc], item);
+                }
+            }
+        }
+        return top.drain();
+    }
+
+    /**
+     * 查询串长度决定允许的编辑次数：短于 minQueryLength 不做模糊匹配，8 个字符以下最多 1 次，且不超过 maxEdits；
+     * 同时保证计数阈值 (n - 1) - 3k 至少为 1，否则无法用倒排表过滤（因此 4 个字符的查询只做精确子串匹配，
+     * 容许 1 次编辑至少需要 5 个字符，2 次至少需要 8 个字符）
+     */
+    private Query query(String value) {
+        if (value.length() < settings.getMinQueryLength()) {
+            return null;
+        }
+        int edits = Math.min(settings.getMaxEdits(), value.length() < 8 ? 1 : 2);
+        edits = Math.min(edits, (value.length() - 2) / 3);
+        return new Query(value, ArchiveSegment.bigrams(value), edits);
+    }
+
+    /**
+     * 拼音形式：汉字转为无声调拼音，ASCII 字母数字转小写保留，其余字符（空白、标点等）丢弃
+     */
+    static String pinyinOf(String text) {
+        List<Pinyin> pinyins = HanLP.convertToPinyinList(text);
+        StringBuilder builder = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            Pinyin pinyin = i < pinyins.size() ? pinyins.get(i) : Pinyin.none5;
+            if (pinyin != Pinyin.none5) {
+                builder.append(pinyin.getPinyinWithoutTone());
+                continue;
+            }
+            char c = Character.toLowerCase(text.charAt(i));
+            if (c < 0x80 && Character.isLetterOrDigit(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * query 与 text 任意子串之间的最小 OSA 编辑距离，超过 maxEdits 时返回 maxEdits + 1
+     */
+    static int substringDistance(String query, String text, int maxEdits) {
+        int n = query.length();
+        // 列为查询前缀长度，行为标题位置；第 0 列恒为 0 表示子串可从任意位置开始
+        int[] before = new int[n + 1];
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            previous[i] = i;
+        }
+        int best = previous[n];
+        for (int j = 1; j <= text.length(); j++) {
+            char t = text.charAt(j - 1);
+            current[0] = 0;
+            for (int i = 1; i <= n; i++) {
+                char q = query.charAt(i - 1);
+                int cost = q == t ? 0 : 1;
+                int value = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+                if (i > 1 && j > 1 && q == text.charAt(j - 2) && query.charAt(i - 2) == t) {
+                    value = Math.min(value, before[i - 2] + 1);
+                }
+                current[i] = value;
+            }
+            best = Math.min(best, current[n]);
+            if (best == 0) {
+                return 0;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(best, maxEdits + 1);
+    }
+
+    /**
+     * 规范化后的查询串、二元组与允许的编辑次数
+     */
+    private record Query(String value, int[] bigrams, int edits) {
+
+        /**
+         * 候选标题需要包含的查询二元组个数下限：每次编辑（含相邻交换）最多破坏 3 个二元组
+         */
+        int threshold() {
+            return bigrams.length - 3 * edits;
+        }
+    }
+
+    /**
+     * 单个平台一次爬取结果的索引，构建后不可变
+     */
+    private static final class PlatformIndex {
+
+        private final NewsItem[] items;
+        private final String[] texts;
+        private final String[] pinyins;
+        private final Postings textPostings;
+        private final Postings pinyinPostings;
+
+        private PlatformIndex(NewsItem[] items, String[] texts, String[] pinyins) {
+            this.items = items;
+            this.texts = texts;
+            this.pinyins = pinyins;
+            this.textPostings = Postings.build(texts);
+            this.pinyinPostings = Postings.build(pinyins);
+        }
+
+        static PlatformIndex build(List<NewsItem> source) {
+            NewsItem[] items = source.stream().filter(item -> item.getTitle() != null).toArray(NewsItem[]::new);
+            String[] texts = new String[items.length];
+            String[] pinyins = new String[items.length];
+            for (int i = 0; i < items.length; i++) {
+                texts[i] = items[i].getTitle().toLowerCase();
+                pinyins[i] = pinyinOf(items[i].getTitle());
+            }
+            return new PlatformIndex(items, texts, pinyins);
+        }
+
+        /**
+         * 计数过滤后验证编辑距离，distances 中保留每个标题在各形式下的最小距离
+         */
+        void match(Query query, String[] values, Postings postings, int[] distances) {
+            int[] counts = new int[values.length];
+            for (int code : query.bigrams()) {
+                postings.count(code, counts);
+            }
+            for (int doc = 0; doc < values.length; doc++) {
+                if (counts[doc] < query.threshold() || distances[doc] == 0) {
+                    continue;
+                }
+                int distance = substringDistance(query.value(), values[doc], query.edits());
+                if (distance <= query.edits()) {
+                    distances[doc] = Math.min(distances[doc], distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * 二元组倒排表：codes 升序，第 i 个二元组的文档号为 docs[offsets[i], offsets[i + 1])
+     */
+    private static final class Postings {
+
+        private final int[] codes;
+        private final int[] offsets;
+        private final int[] docs;
+
+        private Postings(int[] codes, int[] offsets, int[] docs) {
+            this.codes = codes;
+            this.offsets = offsets;
+            this.docs = docs;
+        }
+
+        static Postings build(String[] values) {
+            int total = 0;
+            for (String value : values) {
+                total += Math.max(0, value.length() - 1);
+            }
+            // (二元组 << 32 | 文档号) 排序后去重，同一标题内重复的二元组只记一次
+            long[] pairs = new long[total];
+            int size = 0;
+            for (int doc = 0; doc < values.length; doc++) {
+                for (int code : ArchiveSegment.bigrams(values[doc])) {
+                    pairs[size++] = ((long) code << 32) | doc;
+                }
+            }
+            Arrays.sort(pairs, 0, size);
+
+            int[] codes = new int[size];
+            int[] offsets = new int[size + 1];
+            int[] docs = new int[size];
+            int terms = 0;
+            int postings = 0;
+            for (int i = 0; i < size; i++) {
+                if (i > 0 && pairs[i] == pairs[i - 1]) {
+                    continue;
+                }
+                int code = (int) (pairs[i] >> 32);
+                if (terms == 0 || codes[terms - 1] != code) {
+                    codes[terms] = code;
+                    offsets[terms] = postings;
+                    terms++;
+                }
+                docs[postings++] = (int) pairs[i];
+            }
+            offsets[terms] = postings;
+            return new Postings(Arrays.copyOf(codes, terms), Arrays.copyOf(offsets, terms + 1),
+                    Arrays.copyOf(docs, postings));
+        }
+
+        void count(int code, int[] counts) {
+            int term = Arrays.binarySearch(codes, code);
+            if (term < 0) {
+                return;
+            }
+            for (int i = offsets[term]; i < offsets[term + 1]; i++) {
+                counts[docs[i]]++;
+            }
+        }
+    }
+}
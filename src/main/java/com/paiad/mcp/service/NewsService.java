@@ -1,7 +1,10 @@
 package com.paiad.mcp.service;
 
 import com.hankcs.hanlp.HanLP;
+import com.paiad.mcp.config.PlatformPriorityConfig;
 import com.paiad.mcp.crawler.AbstractCrawler;
+import com.paiad.mcp.crawler.CrawlContext;
+import com.paiad.mcp.metrics.McpMetrics;
 import com.paiad.mcp.model.pojo.CrawlResult;
 import com.paiad.mcp.model.pojo.NewsItem;
 import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
@@ -9,6 +12,7 @@ import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
 import com.paiad.mcp.registry.CrawlerRegistry;
 import com.paiad.mcp.registry.PlatformRegistry;
 import com.paiad.mcp.util.HttpClientFactory;
+import com.paiad.mcp.util.TopK;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,10 +40,55 @@ public class NewsService {
     private final PlatformRegistry platformRegistry;
     private final CrawlerRegistry crawlerRegistry;
 
+    /**
+     * 按平台观测延迟计算的爬取超时
+     */
+    private final AdaptiveTimeoutPolicy timeoutPolicy;
+
+    /**
+     * 跨爬取保留的新闻排名历史
+     */
+    private final RankHistoryStore rankHistory;
+    private final SnapshotLog snapshotLog;
+    private final SnapshotArena snapshotArena;
+    private final NoveltyFilter noveltyFilter;
+    private final TrendingKeywords trendingKeywords;
+    private final FuzzyTitleIndex fuzzyIndex;
+
+    /**
+     * 每次爬取结束后按注册顺序回调的监听器
+     */
+    private final List<CrawlListener> crawlListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 是否记录历史快照归档，关闭时 searchHistory 始终无结果
+     */
+    private final boolean archiveEnabled;
+
     public NewsService() {
         this.executorService = Executors.newVirtualThreadPerTaskExecutor();
         this.platformRegistry = PlatformRegistry.getInstance();
         this.crawlerRegistry = CrawlerRegistry.getInstance();
+        PlatformPriorityConfig config = PlatformPriorityConfig.getInstance();
+        this.timeoutPolicy = new AdaptiveTimeoutPolicy(config.getAdaptiveTimeoutInfo());
+        this.rankHistory = new RankHistoryStore(config.getRankHistoryInfo());
+        this.snapshotLog = new SnapshotLog(config.getSnapshotLogInfo());
+        this.noveltyFilter = new NoveltyFilter(config.getNoveltyInfo());
+        this.trendingKeywords = new TrendingKeywords(config.getTrendingKeywordsInfo());
+        this.snapshotArena = new SnapshotArena(config.getArchiveInfo());
+        this.fuzzyIndex = new FuzzyTitleIndex(config.getFuzzySearchInfo());
+        addCrawlListener(timeoutPolicy::record);
+        addCrawlListener(this::recordMetrics);
+        // 新颖度需最先判定：热门关键词只统计首次出现的新闻，资源更新通知读取到的新闻已带标记
+        addCrawlListener(noveltyFilter);
+        addCrawlListener(trendingKeywords);
+        addCrawlListener(rankHistory);
+        addCrawlListener(snapshotLog);
+        addCrawlListener(fuzzyIndex);
+        this.archiveEnabled = config.getArchiveInfo().isEnabled();
+        if (archiveEnabled) {
+            addCrawlListener(snapshotArena);
+        }
         logger.info("初始化 {} 个平台爬虫", crawlerRegistry.getSupportedPlatformIds().size());
         validateRegistryConsistency();
     }
@@ -53,6 +102,8 @@ public class NewsService {
      */
     public CrawlResult getHotNews(List<String> platforms, int limit) {
         List<String> sortedPlatforms = resolveTargetPlatforms(platforms, true);
+        // 游标在爬取前读取：并发爬取的变更可能被重复投递，但不会落在返回的游标之前而丢失
+        long cursor = snapshotLog.cursor();
         CrawlResult crawlResult = crawlPlatforms(sortedPlatforms);
         List<NewsItem> result = crawlResult.getData();
 
@@ -61,27 +112,105 @@ public class NewsService {
             result = result.subList(0, effectiveLimit);
         }
 
+        return new CrawlResult(result, crawlResult.getFailures(), crawlResult.getOutcomes(), cursor);
+    }
+
+    /**
+     * 获取各平台最近一次成功爬取的榜单，尚无快照的平台才会发起爬取
+     *
+     * 用于 MCP 资源读取：订阅客户端在收到更新通知后读取，不应每次读取都触发爬取
+     *
+     * @param platforms 平台列表，为空则获取默认平台
+     * @param limit     返回条数限制
+     */
+    public CrawlResult getLatestNews(List<String> platforms, int limit) {
+        List<String> sortedPlatforms = resolveTargetPlatforms(platforms, true);
+        List<String> missing = sortedPlatforms.stream()
+                .filter(platformId -> snapshotLog.snapshot(platformId) == null)
+                .collect(Collectors.toList());
+        CrawlResult crawlResult = missing.isEmpty()
+                ? new CrawlResult(Collections.emptyList(), Collections.emptyMap())
+                : crawlPlatforms(missing);
+
+        Map<String, List<NewsItem>> crawledItems = new HashMap<>();
+        for (PlatformCrawlOutcome outcome : crawlResult.getOutcomes()) {
+            crawledItems.put(outcome.platformId(), outcome.items());
+        }
+
+        int effectiveLimit = limit > 0 ? limit : 50;
+        List<NewsItem> result = new ArrayList<>();
+        for (String platformId : sortedPlatforms) {
+            List<NewsItem> snapshot = snapshotLog.snapshot(platformId);
+            result.addAll(snapshot != null ? snapshot : crawledItems.getOrDefault(platformId, List.of()));
+            if (result.size() >= effectiveLimit) {
+                result = result.subList(0, effectiveLimit);
+                break;
+            }
+        }
+
         return new CrawlResult(result, crawlResult.getFailures(), crawlResult.getOutcomes());
     }
 
     /**
      * 搜索新闻
      *
-     * @param query     搜索关键词
+     * @param matcher   编译好的搜索关键词，调用方可复用它生成高亮
      * @param platforms 平台列表
      * @param limit     返回条数
      * @return 匹配的新闻列表（包装在 CrawlResult 中，包含可能的错误）
      */
-    public CrawlResult searchNews(String query, List<String> platforms, int limit) {
-        if (query == null || query.trim().isEmpty()) {
+    public CrawlResult searchNews(QueryMatcher matcher, List<String> platforms, int limit) {
+        if (matcher.keyword().isEmpty()) {
             return new CrawlResult(Collections.emptyList(), Collections.emptyMap());
         }
-        String keyword = query.trim().toLowerCase();
+        String keyword = matcher.keyword();
 
         List<String> sortedPlatforms = resolveTargetPlatforms(platforms, false);
         CrawlResult crawlResult = crawlPlatforms(sortedPlatforms);
-        List<NewsItem> allNews = crawlResult.getData();
+        List<NewsItem> matched = rankByRelevance(matcher, crawlResult.getData(), limit);
+
+        // 精确匹配不足时用模糊索引补充（拼写错误、同音字、拼音输入）
+        int effectiveLimit = limit > 0 ? limit : 20;
+        if (matched.size() < effectiveLimit) {
+            List<String> crawledPlatforms = crawlResult.getOutcomes().stream()
+                    .filter(outcome -> outcome.status() == PlatformCrawlStatus.SUCCESS)
+                    .map(PlatformCrawlOutcome::platformId)
+                    .collect(Collectors.toList());
+            Set<String> exactKeys = matched.stream().map(RankHistoryStore::keyOf).collect(Collectors.toSet());
+            matched = new ArrayList<>(matched);
+            matched.addAll(fuzzyIndex.search(keyword, crawledPlatforms, exactKeys, effectiveLimit - matched.size()));
+        }
+
+        return new CrawlResult(matched, crawlResult.getFailures(), crawlResult.getOutcomes());
+    }
 
+    /**
+     * 按关键词相关度为新闻打分排序：整词命中 100 分，每个分词命中 10 分，同分时保持原顺序（见 QueryMatcher）
+     *
+     * @param matcher 编译好的搜索关键词
+     * @param allNews 待匹配的新闻
+     * @param limit   返回条数，非正数时默认 20
+     */
+    static List<NewsItem> rankByRelevance(QueryMatcher matcher, List<NewsItem> allNews, int limit) {
+        TopK<NewsItem> topNews = new TopK<>(limit > 0 ? limit : 20);
+        for (NewsItem item : allNews) {
+            String title = item.getTitle();
+            if (title == null) {
+                continue;
+            }
+            int score = matcher.score(title);
+            if (score > 0) {
+                topNews.offer(score, item);
+            }
+        }
+
+        return topNews.drain();
+    }
+
+    /**
+     * 关键词分词：保留长度大于 1 或以字母、数字开头的词，分词为空时使用整个关键词
+     */
+    static List<String> queryTerms(String keyword) {
         List<String> queryTerms = HanLP.segment(keyword).stream()
                 .map(term -> term.word.toLowerCase())
                 .filter(w -> w.length() > 1 || Character.isDigit(w.charAt(0)) || Character.isLetter(w.charAt(0)))
@@ -92,37 +221,56 @@ public class NewsService {
         }
 
         logger.info("搜索关键词分词: {} -> {}", keyword, queryTerms);
+        return queryTerms;
+    }
 
-        List<Map.Entry<NewsItem, Integer>> scoredNews = new ArrayList<>();
-        for (NewsItem item : allNews) {
-            String title = item.getTitle();
-            if (title == null) {
-                continue;
-            }
-            String titleLower = title.toLowerCase();
-
-            int score = 0;
-            if (titleLower.contains(keyword)) {
-                score += 100;
-            }
-            for (String term : queryTerms) {
-                if (titleLower.contains(term)) {
-                    score += 10;
-                }
-            }
-            if (score > 0) {
-                scoredNews.add(new AbstractMap.SimpleEntry<>(item, score));
-            }
+    /**
+     * 在历史快照归档中检索 [from, to] 时间范围内的新闻，不发起爬取
+     *
+     * @param matcher   编译好的搜索关键词，调用方可复用它生成高亮
+     * @param platforms 平台列表，为空表示不过滤；指定的平台均无法识别时返回空结果
+     * @param from      起始时间（毫秒，含）
+     * @param to        结束时间（毫秒，含）
+     * @param limit     返回条数，非正数时默认 20
+     */
+    public List<NewsItem> searchHistory(QueryMatcher matcher, List<String> platforms, long from, long to, int limit) {
+        if (matcher.keyword().isEmpty()) {
+            return Collections.emptyList();
         }
+        Set<String> platformFilter = platforms == null || platforms.isEmpty()
+                ? Set.of()
+                : platforms.stream().map(platformRegistry::resolveId).filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+        if (platformFilter.isEmpty() && platforms != null && !platforms.isEmpty()) {
+            // 空集合表示不过滤，指定的平台一个都无法识别时不能退化为检索全部平台
+            logger.warn("未知或不支持的平台: {}", platforms);
+            return Collections.emptyList();
+        }
+        return snapshotArena.search(matcher.keyword(), matcher.terms(), platformFilter, from, to,
+                limit > 0 ? limit : 20);
+    }
 
-        scoredNews.sort((a, b) -> b.getValue().compareTo(a.getValue()));
+    /**
+     * 获取已启用且有爬虫实现的平台，按优先级排序
+     */
+    public List<String> getEnabledPlatformIds() {
+        return platformRegistry.sortByPriority(crawlerRegistry.getSupportedPlatformIds().stream()
+                .filter(platformRegistry::isEnabled)
+                .collect(Collectors.toList()));
+    }
 
-        List<NewsItem> matched = scoredNews.stream()
-                .map(Map.Entry::getKey)
-                .limit(limit > 0 ? limit : 20)
-                .collect(Collectors.toList());
+    /**
+     * 获取默认平台（未指定平台时爬取的平台），按优先级排序
+     */
+    public List<String> getDefaultPlatformIds() {
+        return platformRegistry.sortByPriority(defaultPlatformIds(crawlerRegistry.getSupportedPlatformIds(), true));
+    }
 
-        return new CrawlResult(matched, crawlResult.getFailures(), crawlResult.getOutcomes());
+    /**
+     * 获取平台显示名称
+     */
+    public String getPlatformName(String platformId) {
+        return platformRegistry.getName(platformId);
     }
 
     /**
@@ -149,10 +297,14 @@ public class NewsService {
         List<PlatformCrawlOutcome> outcomes = new ArrayList<>();
 
         Map<String, Future<PlatformCrawlOutcome>> futures = new LinkedHashMap<>();
+        Map<String, CrawlContext> contexts = new HashMap<>();
         for (String platformId : platformIds) {
             AbstractCrawler crawler = crawlerRegistry.getCrawler(platformId);
             if (crawler != null) {
-                futures.put(platformId, executorService.submit(crawler::crawlWithOutcome));
+                // 上下文持有在途请求，超时时可真正取消底层 Call 而不只是中断线程
+                CrawlContext context = new CrawlContext(platformId, timeoutPolicy.timeoutMillis(platformId));
+                contexts.put(platformId, context);
+                futures.put(platformId, executorService.submit(() -> crawler.crawlWithOutcome(context)));
             }
         }
 
@@ -163,7 +315,8 @@ public class NewsService {
             }
 
             try {
-                PlatformCrawlOutcome outcome = future.get(45, TimeUnit.SECONDS);
+                PlatformCrawlOutcome outcome = future.get(remainingMillis(contexts.get(platformId)),
+                        TimeUnit.MILLISECONDS);
                 if (outcome == null) {
                     outcome = new PlatformCrawlOutcome(platformId, platformRegistry.getName(platformId),
                             PlatformCrawlStatus.FAILED, List.of(), "NULL_OUTCOME", "Crawler returned null outcome", 0);
@@ -173,13 +326,20 @@ public class NewsService {
                 if (outcome.isFailure()) {
                     failures.put(platformId, formatFailure(outcome));
                     logger.error("[{}] 爬取失败: {}", platformId, failures.get(platformId));
+                } else if (outcome.status() == PlatformCrawlStatus.THROTTLED) {
+                    logger.warn("[{}] 触发限流，返回快照 {} 条", platformId, outcome.items().size());
                 } else {
                     logger.info("[{}] 爬取完成，共 {} 条", platformId, outcome.items().size());
                 }
             } catch (TimeoutException e) {
+                contexts.get(platformId).cancel();
                 future.cancel(true);
                 PlatformCrawlOutcome timeoutOutcome = new PlatformCrawlOutcome(platformId, platformRegistry.getName(platformId),
-                        PlatformCrawlStatus.TIMEOUT, List.of(), "TIMEOUT", "Platform crawl timed out", 45_000);
+                        PlatformCrawlStatus.TIMEOUT, List.of(), "TIMEOUT", "Platform crawl timed out",
+                        contexts.get(platformId).getTimeoutMillis())
+                        .withCircuitState(circuitStateOf(platformId))
+                        // 已完成或被取消的调用阶段耗时，可定位卡在 DNS/建连/TLS/首字节哪一步
+                        .withPhaseTimings(contexts.get(platformId).getPhaseTimingsMs());
                 outcomes.add(timeoutOutcome);
                 failures.put(platformId, formatFailure(timeoutOutcome));
                 logger.error("[{}] 爬取超时", platformId);
@@ -199,26 +359,82 @@ public class NewsService {
             }
         }
 
+        for (PlatformCrawlOutcome outcome : outcomes) {
+            notifyCrawlListeners(outcome);
+        }
+
         return new CrawlResult(allNews, failures, outcomes);
     }
 
+    /**
+     * 注册爬取结果监听器
+     */
+    public void addCrawlListener(CrawlListener listener) {
+        crawlListeners.add(listener);
+    }
+
+    /**
+     * 获取新闻排名历史
+     */
+    public RankHistoryStore getRankHistory() {
+        return rankHistory;
+    }
+
+    /**
+     * 获取热门关键词统计
+     */
+    public TrendingKeywords getTrendingKeywords() {
+        return trendingKeywords;
+    }
+
+    /**
+     * 历史快照归档是否开启
+     */
+    public boolean isArchiveEnabled() {
+        return archiveEnabled;
+    }
+
+    /**
+     * 获取历史快照归档
+     */
+    public SnapshotArena getSnapshotArena() {
+        return snapshotArena;
+    }
+
+    /**
+     * 获取快照变更日志
+     */
+    public SnapshotLog getSnapshotLog() {
+        return snapshotLog;
+    }
+
+    private void notifyCrawlListeners(PlatformCrawlOutcome outcome) {
+        for (CrawlListener listener : crawlListeners) {
+            try {
+                listener.onCrawl(outcome);
+            } catch (Exception e) {
+                logger.warn("[{}] 爬取监听器执行失败: {}", outcome.platformId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void recordMetrics(PlatformCrawlOutcome outcome) {
+        McpMetrics.CRAWL_OUTCOMES.labels(outcome.platformId(), outcome.status().name()).inc();
+        // 熔断短路未发起请求，不计入延迟分布
+        if (outcome.status() != PlatformCrawlStatus.CIRCUIT_OPEN) {
+            McpMetrics.CRAWL_DURATION.labels(outcome.platformId()).observeMillis(outcome.latencyMs());
+        }
+        if (outcome.status() == PlatformCrawlStatus.THROTTLED) {
+            McpMetrics.CACHE_REQUESTS.labels("crawl_snapshot", outcome.items().isEmpty() ? "miss" : "hit").inc();
+        }
+    }
+
     private List<String> resolveTargetPlatforms(List<String> platforms, boolean fallbackWhenDefaultEmpty) {
         Set<String> supported = crawlerRegistry.getSupportedPlatformIds();
         Set<String> targetPlatformIds = new LinkedHashSet<>();
 
         if (platforms == null || platforms.isEmpty()) {
-            for (String pid : platformRegistry.getDefaultPlatformIds()) {
-                if (supported.contains(pid) && platformRegistry.isEnabled(pid)) {
-                    targetPlatformIds.add(pid);
-                }
-            }
-            if (fallbackWhenDefaultEmpty && targetPlatformIds.isEmpty()) {
-                for (String pid : platformRegistry.sortByPriority(supported)) {
-                    if (platformRegistry.isEnabled(pid)) {
-                        targetPlatformIds.add(pid);
-                    }
-                }
-            }
+            targetPlatformIds.addAll(defaultPlatformIds(supported, fallbackWhenDefaultEmpty));
             logger.info("未指定平台，使用默认优先级平台: {}", targetPlatformIds);
         } else {
             for (String p : platforms) {
@@ -238,14 +454,45 @@ public class NewsService {
         return platformRegistry.sortByPriority(targetPlatformIds);
     }
 
+    private Set<String> defaultPlatformIds(Set<String> supported, boolean fallbackWhenDefaultEmpty) {
+        Set<String> targetPlatformIds = new LinkedHashSet<>();
+        for (String pid : platformRegistry.getDefaultPlatformIds()) {
+            if (supported.contains(pid) && platformRegistry.isEnabled(pid)) {
+                targetPlatformIds.add(pid);
+            }
+        }
+        if (fallbackWhenDefaultEmpty && targetPlatformIds.isEmpty()) {
+            for (String pid : platformRegistry.sortByPriority(supported)) {
+                if (platformRegistry.isEnabled(pid)) {
+                    targetPlatformIds.add(pid);
+                }
+            }
+        }
+        return targetPlatformIds;
+    }
+
     /**
      * 关闭服务
      */
     public void shutdown() {
         executorService.shutdown();
+        noveltyFilter.close();
+        snapshotArena.close();
         HttpClientFactory.shutdown();
     }
 
+    /**
+     * 各平台并行爬取，按各自截止时间计算剩余等待时长
+     */
+    private long remainingMillis(CrawlContext context) {
+        return Math.max(1, context.getRemainingMillis());
+    }
+
+    private String circuitStateOf(String platformId) {
+        AbstractCrawler crawler = crawlerRegistry.getCrawler(platformId);
+        return crawler != null ? crawler.getCircuitBreaker().getState().name() : null;
+    }
+
     private String formatFailure(PlatformCrawlOutcome outcome) {
         String code = outcome.errorCode() != null ? outcome.errorCode() : "UNKNOWN";
         String message = outcome.errorMessage() != null ? outcome.errorMessage() : "Unknown error";
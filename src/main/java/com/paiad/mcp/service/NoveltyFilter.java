@@ -0,0 +1,115 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.NoveltyInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.Novelty;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.util.TimePartitionedBloomFilter;
+import com.paiad.mcp.util.UrlCanonicalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 新闻新颖度检测
+ *
+ * 每次成功爬取后先查询、再写入分区 Bloom 过滤器，把新闻标记为 NEW / REPOST / SEEN。
+ * 只保存规范化 URL 与标题指纹的位图，不在堆中保留历史新闻；过滤器文件首次使用时才创建。
+ *
+ * @author Paiad
+ */
+public class NoveltyFilter implements CrawlListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NoveltyFilter.class);
+
+    private final NoveltyInfo settings;
+    private final Path file;
+    private TimePartitionedBloomFilter filter;
+    private boolean unavailable;
+
+    public NoveltyFilter(NoveltyInfo settings) {
+        this(settings, settings.getFile() != null ? Path.of(settings.getFile()) : null);
+    }
+
+    /**
+     * @param file 过滤器文件，为 null 时只在内存中检测
+     */
+    NoveltyFilter(NoveltyInfo settings, Path file) {
+        this.settings = settings;
+        this.file = file;
+        this.unavailable = !settings.isEnabled();
+    }
+
+    @Override
+    public void onCrawl(PlatformCrawlOutcome outcome) {
+        if (outcome.status() == PlatformCrawlStatus.SUCCESS) {
+            classify(outcome.items(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 判定并记录一批新闻，结果写入 {@link NewsItem#setNovelty}
+     */
+    public synchronized void classify(List<NewsItem> items, long now) {
+        TimePartitionedBloomFilter bloom = filter();
+        if (bloom == null) {
+            return;
+        }
+        for (NewsItem item : items) {
+            String url = UrlCanonicalizer.canonicalUrl(item.getUrl());
+            String title = UrlCanonicalizer.titleFingerprint(item.getTitle());
+            if (url == null && title == null) {
+                continue;
+            }
+            String urlKey = url != null ? "u|" + url : null;
+            String titleKey = title != null ? "t|" + title : null;
+            boolean urlSeen = urlKey != null && bloom.mightContain(urlKey, now);
+            boolean titleSeen = titleKey != null && bloom.mightContain(titleKey, now);
+
+            if (urlSeen || (urlKey == null && titleSeen)) {
+                item.setNovelty(Novelty.SEEN);
+            } else if (titleSeen) {
+                item.setNovelty(Novelty.REPOST);
+            } else {
+                item.setNovelty(Novelty.NEW);
+            }
+
+            if (urlKey != null) {
+                bloom.put(urlKey, now);
+            }
+            if (titleKey != null) {
+                bloom.put(titleKey, now);
+            }
+        }
+    }
+
+    public synchronized void close() {
+        if (filter != null) {
+            try {
+                filter.close();
+            } catch (IOException e) {
+                logger.warn("关闭 Bloom 过滤器文件失败: {}", e.getMessage());
+            }
+            filter = null;
+        }
+    }
+
+    private TimePartitionedBloomFilter filter() {
+        if (filter == null && !unavailable) {
+            long partitionMillis = TimeUnit.DAYS.toMillis(settings.getWindowDays()) / settings.getPartitions();
+            try {
+                filter = new TimePartitionedBloomFilter(file, settings.getPartitions(), partitionMillis,
+                        settings.getExpectedItemsPerPartition(), settings.getFalsePositiveRate());
+            } catch (IOException | RuntimeException e) {
+                logger.warn("无法打开 Bloom 过滤器文件 {}，新颖度检测已停用: {}", file, e.getMessage());
+                unavailable = true;
+            }
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,113 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.util.AhoCorasick;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索关键词匹配器
+ *
+ * 把关键词与分词结果编译为一个 Aho-Corasick 自动机，每个标题只扫描一次即可得到全部命中：
+ * 打分规则与逐词 contains 相同（整词命中 100 分，每个分词命中 10 分，重复的分词分别计分），
+ * 命中位置用于生成高亮标题。一次搜索只编译一次，打分、归档检索与高亮共用同一个实例。
+ *
+ * @author Paiad
+ */
+public final class QueryMatcher {
+
+    static final int KEYWORD_SCORE = 100;
+    static final int TERM_SCORE = 10;
+
+    private static final String HIGHLIGHT_MARK = "**";
+
+    private final String keyword;
+    private final List<String> terms;
+    private final AhoCorasick automaton;
+
+    /**
+     * 每个模式串命中时的得分
+     */
+    private final int[] weights;
+
+    /**
+     * @param keyword 已去除首尾空白并转为小写的关键词
+     * @param terms   关键词分词结果；去重后超过 AhoCorasick.MAX_PATTERNS 的部分忽略
+     */
+    public QueryMatcher(String keyword, List<String> terms) {
+        this.keyword = keyword;
+        this.terms = List.copyOf(terms);
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        scores.put(keyword, KEYWORD_SCORE);
+        for (String term : terms) {
+            if (scores.size() < AhoCorasick.MAX_PATTERNS || scores.containsKey(term)) {
+                scores.merge(term, TERM_SCORE, Integer::sum);
+            }
+        }
+        this.automaton = new AhoCorasick(new ArrayList<>(scores.keySet()));
+        this.weights = scores.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 按 NewsService.queryTerms 分词后编译
+     */
+    public static QueryMatcher compile(String keyword) {
+        return new QueryMatcher(keyword, NewsService.queryTerms(keyword));
+    }
+
+    public String keyword() {
+        return keyword;
+    }
+
+    /**
+     * 关键词分词结果
+     */
+    public List<String> terms() {
+        return terms;
+    }
+
+    /**
+     * 标题得分，未命中任何词时为 0
+     */
+    public int score(String title) {
+        long matched = automaton.matchMask(title);
+        int score = 0;
+        while (matched != 0) {
+            score += weights[Long.numberOfTrailingZeros(matched)];
+            matched &= matched - 1;
+        }
+        return score;
+    }
+
+    /**
+     * 用 ** 标记标题中命中的片段（重叠或相邻的片段合并），未命中时返回 null
+     */
+    public String highlight(String title) {
+        boolean[] marked = new boolean[title.length()];
+        boolean[] any = new boolean[1];
+        automaton.forEachMatch(title, (pattern, start, end) -> {
+            for (int i = start; i < end; i++) {
+                marked[i] = true;
+            }
+            any[0] = true;
+        });
+        if (!any[0]) {
+            return null;
+        }
+        StringBuilder highlighted = new StringBuilder(title.length() + 8);
+        for (int i = 0; i < title.length(); i++) {
+            boolean startsRun = marked[i] && (i == 0 || !marked[i - 1]);
+            if (startsRun) {
+                highlighted.append(HIGHLIGHT_MARK);
+            }
+            highlighted.append(title.charAt(i));
+            boolean endsRun = marked[i] && (i == title.length() - 1 || !marked[i + 1]);
+            if (endsRun) {
+                highlighted.append(HIGHLIGHT_MARK);
+            }
+        }
+        return highlighted.toString();
+    }
+}
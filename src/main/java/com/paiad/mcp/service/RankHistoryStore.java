@@ -0,0 +1,145 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.RankHistoryInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.model.pojo.RankObservation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 新闻排名历史
+ *
+ * 每次成功爬取后，把快照中每条新闻的 (时间, 排名, 热度) 追加到该新闻的 {@link RankSeries}。
+ * 新闻以「平台 + URL」标识：多数爬虫的 id 由排名生成（如 weibo_0），跨快照不稳定，URL 则对应同一条新闻。
+ *
+ * 内存有界：序列数超过上限时淘汰最久未更新的序列（LinkedHashMap 访问顺序，O(1)），
+ * 每条序列点数固定，超出保留时长的点在追加时惰性丢弃。
+ *
+ * 追加后同步更新 {@link TrendIndex}，上升趋势查询直接读取预计算的排序结果。
+ *
+ * @author Paiad
+ */
+public class RankHistoryStore implements CrawlListener {
+
+    private final int pointsPerSeries;
+    private final long retentionMillis;
+    private final Map<String, RankSeries> series;
+    private final TrendIndex trendIndex;
+
+    /**
+     * 每个平台上一次快照中的新闻，用于把跌出榜单的新闻移出趋势索引
+     */
+    private final Map<String, Set<String>> lastSnapshotKeys = new HashMap<>();
+
+    /**
+     * 解码缓冲区，仅在 record 的同步块内使用
+     */
+    private final long[] scratchTimestamps;
+    private final int[] scratchRanks;
+    private final long[] scratchScores;
+
+    public RankHistoryStore(RankHistoryInfo settings) {
+        this.pointsPerSeries = settings.getPointsPerSeries();
+        this.trendIndex = new TrendIndex(settings.getTrendWindowsMinutes());
+        this.scratchTimestamps = new long[pointsPerSeries];
+        this.scratchRanks = new int[pointsPerSeries];
+        this.scratchScores = new long[pointsPerSeries];
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(settings.getRetentionMinutes());
+        int maxSeries = settings.getMaxSeries();
+        this.series = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RankSeries> eldest) {
+                if (size() > maxSeries) {
+                    trendIndex.remove(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 新闻在历史中的标识
+     */
+    public static String keyOf(NewsItem item) {
+        String url = item.getUrl();
+        return item.getPlatform() + "|" + (url != null && !url.isEmpty() ? url : item.getId());
+    }
+
+    /**
+     * 仅记录真实爬取的成功快照；限流返回的是旧快照，不代表新的观测
+     */
+    @Override
+    public void onCrawl(PlatformCrawlOutcome outcome) {
+        if (outcome.status() == PlatformCrawlStatus.SUCCESS) {
+            record(outcome.items(), System.currentTimeMillis());
+        }
+    }
+
+    public synchronized void record(List<NewsItem> items, long observedAt) {
+        long cutoff = observedAt - retentionMillis;
+        Map<String, Set<String>> snapshotKeys = new HashMap<>();
+        for (NewsItem item : items) {
+            if (item.getTitle() == null) {
+                continue;
+            }
+            String key = keyOf(item);
+            snapshotKeys.computeIfAbsent(item.getPlatform(), platform -> new HashSet<>()).add(key);
+            RankSeries itemSeries = series.computeIfAbsent(key,
+                    k -> new RankSeries(item.getPlatform(), pointsPerSeries));
+            itemSeries.title = item.getTitle();
+            itemSeries.url = item.getUrl();
+            itemSeries.trimBefore(cutoff);
+            itemSeries.append(observedAt, item.getRank() != null ? item.getRank() : 0,
+                    item.getHotScore() != null ? item.getHotScore() : 0L);
+            int count = itemSeries.decode(scratchTimestamps, scratchRanks, scratchScores);
+            trendIndex.update(key, itemSeries.platform, itemSeries.title, itemSeries.url,
+                    scratchTimestamps, scratchRanks, scratchScores, count);
+        }
+        for (Map.Entry<String, Set<String>> entry : snapshotKeys.entrySet()) {
+            Set<String> previous = lastSnapshotKeys.put(entry.getKey(), entry.getValue());
+            if (previous != null) {
+                for (String key : previous) {
+                    if (!entry.getValue().contains(key)) {
+                        trendIndex.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    public TrendIndex getTrendIndex() {
+        return trendIndex;
+    }
+
+    /**
+     * 获取新闻的观测序列（按时间升序），未记录时返回空列表
+     */
+    public synchronized List<RankObservation> history(String key) {
+        RankSeries itemSeries = series.get(key);
+        return itemSeries != null ? itemSeries.observations() : List.of();
+    }
+
+    public synchronized int size() {
+        return series.size();
+    }
+
+    /**
+     * 观测点数组占用的字节数估算（不含标题、URL 字符串）
+     */
+    public synchronized long estimatedArrayBytes() {
+        long bytes = 0;
+        for (RankSeries itemSeries : series.values()) {
+            bytes += itemSeries.arrayBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,153 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.model.pojo.RankObservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单条新闻的排名时间序列
+ *
+ * 定长环形缓冲区，时间与热度按与前一个点的差值存储在 int 数组中，排名存为 short；
+ * 最旧点的绝对值保存在 base 字段，淘汰最旧点时把下一个点的差值并入 base。
+ * 追加为 O(1)；相邻两点的时间差或热度差超出 int 范围时清空序列重新开始，保证解码精确。
+ *
+ * @author Paiad
+ */
+final class RankSeries {
+
+    final String platform;
+    String title;
+    String url;
+
+    private final int[] timeDeltas;
+    private final short[] ranks;
+    private final int[] scoreDeltas;
+    private int head;
+    private int size;
+
+    /**
+     * 最旧点（head）的绝对值
+     */
+    private long baseTimestamp;
+    private long baseScore;
+
+    /**
+     * 最新点的绝对值，用于 O(1) 计算下一个差值
+     */
+    private long lastTimestamp;
+    private long lastScore;
+
+    RankSeries(String platform, int capacity) {
+        this.platform = platform;
+        this.timeDeltas = new int[capacity];
+        this.ranks = new short[capacity];
+        this.scoreDeltas = new int[capacity];
+    }
+
+    void append(long timestamp, int rank, long score) {
+        if (size > 0) {
+            long timeDelta = Math.max(0, timestamp - lastTimestamp);
+            long scoreDelta = score - lastScore;
+            if (timeDelta > Integer.MAX_VALUE || scoreDelta > Integer.MAX_VALUE || scoreDelta < Integer.MIN_VALUE) {
+                clear();
+            } else {
+                if (size == timeDeltas.length) {
+                    evictOldest();
+                }
+                write(timestamp, (int) timeDelta, rank, score, (int) scoreDelta);
+                return;
+            }
+        }
+        baseTimestamp = timestamp;
+        baseScore = score;
+        write(timestamp, 0, rank, score, 0);
+    }
+
+    private void write(long timestamp, int timeDelta, int rank, long score, int scoreDelta) {
+        int index = (head + size) % timeDeltas.length;
+        timeDeltas[index] = timeDelta;
+        ranks[index] = (short) Math.max(0, Math.min(Short.MAX_VALUE, rank));
+        scoreDeltas[index] = scoreDelta;
+        size++;
+        lastTimestamp = timestamp;
+        lastScore = score;
+    }
+
+    /**
+     * 丢弃早于 cutoff 的观测点
+     */
+    void trimBefore(long cutoff) {
+        while (size > 0 && baseTimestamp < cutoff) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        if (size == 1) {
+            clear();
+            return;
+        }
+        int next = (head + 1) % timeDeltas.length;
+        baseTimestamp += timeDeltas[next];
+        baseScore += scoreDeltas[next];
+        head = next;
+        size--;
+    }
+
+    private void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * 解码到调用方提供的数组，避免入库路径上的对象分配
+     *
+     * @return 写入的点数
+     */
+    int decode(long[] timestamps, int[] rankValues, long[] scores) {
+        long timestamp = baseTimestamp;
+        long score = baseScore;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % timeDeltas.length;
+            if (i > 0) {
+                timestamp += timeDeltas[index];
+                score += scoreDeltas[index];
+            }
+            timestamps[i] = timestamp;
+            rankValues[i] = ranks[index];
+            scores[i] = score;
+        }
+        return size;
+    }
+
+    List<RankObservation> observations() {
+        List<RankObservation> observations = new ArrayList<>(size);
+        long timestamp = baseTimestamp;
+        long score = baseScore;
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % timeDeltas.length;
+            if (i > 0) {
+                timestamp += timeDeltas[index];
+                score += scoreDeltas[index];
+            }
+            observations.add(new RankObservation(timestamp, ranks[index], score));
+        }
+        return observations;
+    }
+
+    /**
+     * 数组占用的字节数（不含对象头与字符串）
+     */
+    long arrayBytes() {
+        return timeDeltas.length * (Integer.BYTES + Short.BYTES + Integer.BYTES);
+    }
+}
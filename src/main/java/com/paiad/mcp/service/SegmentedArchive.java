@@ -0,0 +1,280 @@
+package com.paiad.mcp.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 按时间分区的磁盘归档段集合
+ *
+ * SnapshotArena 封块后交给这里写成不可变段文件（每段只覆盖同一天的数据），写入与合并都在单个后台线程执行，
+ * 不阻塞爬取回调：同一天内行数量级相同的段数达到 mergeFactor 时合并为一个段，超过保留时长的段整体删除。
+ *
+ * 检索时按时间范围跳过不相交的段，其余段用倒排表预筛选后在检索线程池中并行打分。
+ * 段目录在首次使用时才扫描加载，无法读取的文件记录告警后跳过。
+ *
+ * @author Paiad
+ */
+final class SegmentedArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentedArchive.class);
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int mergeFactor;
+
+    /**
+     * 按 minTimestamp 升序排列的不可变列表，变更时整体替换，读取方无需加锁
+     */
+    private volatile List<ArchiveSegment> segments = List.of();
+    private volatile boolean loaded;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "archive-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService searchers;
+
+    SegmentedArchive(Path directory, int mergeFactor) {
+        this.directory = directory;
+        this.mergeFactor = mergeFactor;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.searchers = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "archive-search-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 日期分区：按服务器时区计算的自然日
+     */
+    static long dayOf(long timestampMillis) {
+        return Instant.ofEpochMilli(timestampMillis).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * 后台写入封好的块，写入并加载成功后回调 onWritten（失败时不回调，块继续留在内存中直到被淘汰）
+     */
+    CompletableFuture<Void> flush(ArenaChunk chunk, Runnable onWritten) {
+        return CompletableFuture.runAsync(() -> {
+            ensureLoaded();
+            try {
+                ArchiveSegment segment = writeSegment(List.of(chunk));
+                add(segment);
+                onWritten.run();
+                mergeDay(dayOf(segment.minTimestamp()));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("写入归档段失败: {}", e.getMessage());
+            }
+        }, writer);
+    }
+
+    /**
+     * 后台删除最新数据早于 cutoff 的段
+     */
+    void evictOlderThan(long cutoff) {
+        if (!loaded || segments.isEmpty() || segments.get(0).maxTimestamp() >= cutoff) {
+            return;
+        }
+        writer.execute(() -> {
+            List<ArchiveSegment> expired = segments.stream()
+                    .filter(segment -> segment.maxTimestamp() < cutoff)
+                    .collect(Collectors.toList());
+            replace(expired, null);
+            expired.forEach(SegmentedArchive::delete);
+        });
+    }
+
+    /**
+     * 在与时间范围相交的段中并行检索，结果合并到 hits
+     */
+    void collect(ArchiveQuery query, Map<Long, ArchiveQuery.Hit> hits) {
+        ensureLoaded();
+        List<ArchiveSegment> targets = segments.stream()
+                .filter(segment -> query.overlaps(segment.chunk()))
+                .collect(Collectors.toList());
+        if (targets.size() == 1) {
+            collect(targets.get(0), query, hits);
+            return;
+        }
+        List<CompletableFuture<Map<Long, ArchiveQuery.Hit>>> futures = new ArrayList<>(targets.size());
+        for (ArchiveSegment segment : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Map<Long, ArchiveQuery.Hit> segmentHits = new HashMap<>();
+                collect(segment, query, segmentHits);
+                return segmentHits;
+            }, searchers));
+        }
+        for (CompletableFuture<Map<Long, ArchiveQuery.Hit>> future : futures) {
+            ArchiveQuery.merge(hits, future.join());
+        }
+    }
+
+    private static void collect(ArchiveSegment segment, ArchiveQuery query, Map<Long, ArchiveQuery.Hit> hits) {
+        query.collect(segment.chunk(), segment.candidates(query.needles()), hits);
+    }
+
+    /**
+     * 当前所有段（按时间升序），供顺序扫描
+     */
+    List<ArchiveSegment> segments() {
+        ensureLoaded();
+        return segments;
+    }
+
+    int segmentCount() {
+        return segments().size();
+    }
+
+    /**
+     * 等待已提交的写入与合并完成
+     */
+    void awaitIdle() {
+        CompletableFuture.runAsync(() -> {
+        }, writer).join();
+    }
+
+    /**
+     * 等待已提交的写入与合并完成并停止后台线程
+     */
+    void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("归档写入未在 30 秒内完成");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchers.shutdownNow();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            if (Files.isDirectory(directory)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+                    for (Path file : files) {
+                        try {
+                            add(ArchiveSegment.open(file));
+                        } catch (IOException | RuntimeException e) {
+                            logger.warn("跳过无法读取的归档段 {}: {}", file.getFileName(), e.getMessage());
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.warn("读取归档目录 {} 失败: {}", directory, e.getMessage());
+                }
+                logger.info("已加载 {} 个归档段", segments.size());
+            }
+            loaded = true;
+        }
+    }
+
+    private void add(ArchiveSegment segment) {
+        replace(List.of(), segment);
+    }
+
+    /**
+     * 用 added（可为 null）替换 removed 中的段
+     */
+    private synchronized void replace(List<ArchiveSegment> removed, ArchiveSegment added) {
+        List<ArchiveSegment> sorted = new ArrayList<>(segments);
+        sorted.removeAll(removed);
+        if (added != null) {
+            sorted.add(added);
+        }
+        sorted.sort(Comparator.comparingLong(ArchiveSegment::minTimestamp));
+        segments = List.copyOf(sorted);
+    }
+
+    private ArchiveSegment writeSegment(List<ArenaChunk> chunks) throws IOException {
+        Files.createDirectories(directory);
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+        for (ArenaChunk chunk : chunks) {
+            minTimestamp = Math.min(minTimestamp, chunk.minTimestamp());
+            maxTimestamp = Math.max(maxTimestamp, chunk.maxTimestamp());
+        }
+        Path file = directory.resolve(minTimestamp + "-" + maxTimestamp + "-" + System.nanoTime() + SUFFIX);
+        ArchiveSegment.write(file, chunks);
+        return ArchiveSegment.open(file);
+    }
+
+    /**
+     * 同一天的段按行数分层合并：行数以 mergeFactor 为底取对数（向下取整）相同的段属于同一层，
+     * 某层段数达到 mergeFactor 时把其中最早的 mergeFactor 个合并为一个段，合并结果通常进入上一层并可能继续触发合并。
+     * 每行只在逐层上升时被重写，一天内的重写总量为 O(N log N)，而不是每次合并都重写当天全部段
+     */
+    private void mergeDay(long day) throws IOException {
+        while (true) {
+            Map<Integer, List<ArchiveSegment>> tiers = segments.stream()
+                    .filter(segment -> dayOf(segment.minTimestamp()) == day)
+                    .collect(Collectors.groupingBy(this::tierOf, TreeMap::new, Collectors.toList()));
+            List<ArchiveSegment> tier = tiers.values().stream()
+                    .filter(candidates -> candidates.size() >= mergeFactor)
+                    .findFirst()
+                    .orElse(null);
+            if (tier == null) {
+                return;
+            }
+            List<ArchiveSegment> group = List.copyOf(tier.subList(0, mergeFactor));
+            List<ArenaChunk> chunks = group.stream().map(ArchiveSegment::chunk).collect(Collectors.toList());
+            ArchiveSegment merged = writeSegment(chunks);
+            replace(group, merged);
+            for (ArchiveSegment segment : group) {
+                delete(segment);
+            }
+            logger.info("合并 {} 个归档段 -> {}（{} 行）", group.size(), merged.path().getFileName(), merged.rowCount());
+        }
+    }
+
+    /**
+     * 段所在的层：行数以 mergeFactor 为底的对数，向下取整
+     */
+    private int tierOf(ArchiveSegment segment) {
+        int tier = 0;
+        for (long rows = segment.rowCount(); rows >= mergeFactor; rows /= mergeFactor) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * 删除段文件；映射在缓冲区被回收前仍然有效，正在进行的检索不受影响
+     */
+    private static void delete(ArchiveSegment segment) {
+        try {
+            Files.deleteIfExists(segment.path());
+        } catch (IOException e) {
+            logger.warn("删除归档段 {} 失败: {}", segment.path().getFileName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.ArchiveInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.registry.PlatformRegistry;
+import com.paiad.mcp.util.TopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 历史快照归档（堆外列式存储 + 磁盘分段）
+ *
+ * 每次成功爬取的榜单逐行追加到 ArenaChunk：标题、链接以 UTF-8 字节保存在堆外文本区，排名、热度、时间戳等为定长列。
+ * 几天的历史快照不会以 NewsItem 对象驻留在堆上，不增加 GC 扫描与晋升压力。
+ *
+ * 配置了归档目录时，内存块写满、跨越 segmentMinutes 或跨天后封块，由 SegmentedArchive 在后台写成按天分区的不可变段文件，
+ * 写入成功后释放内存块；未配置目录时只保留在内存中。
+ *
+ * 历史检索通过 ArenaRow 享元直接扫描列数据：按时间范围与平台位图跳过整块或整段，
+ * 磁盘段先用倒排表预筛选并行打分，只有最终返回的少量结果才物化为 NewsItem。
+ *
+ * 超过保留时长或内存块总占用超过上限时从最旧的块开始整体淘汰；direct 内存在块不再被引用后由 GC 释放。
+ *
+ * @author Paiad
+ */
+public class SnapshotArena implements CrawlListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotArena.class);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final int TIMESTAMP_BITS = 43;
+    private static final long MAX_RANK_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+
+    private final int chunkRows;
+    private final int chunkTextBytes;
+    private final long retentionMillis;
+    private final long maxBytes;
+    private final long segmentMillis;
+    private final PlatformRegistry platformRegistry = PlatformRegistry.getInstance();
+
+    /**
+     * 磁盘归档，未配置目录时为 null
+     */
+    private final SegmentedArchive archive;
+
+    /**
+     * 尚未写入磁盘的内存块，按写入顺序排列，最后一个为当前写入块
+     */
+    private final List<ArenaChunk> chunks = new CopyOnWriteArrayList<>();
+
+    private boolean closed;
+
+    public SnapshotArena(ArchiveInfo settings) {
+        this.chunkRows = settings.getChunkRows();
+        this.chunkTextBytes = settings.getChunkTextKb() * 1024;
+        this.retentionMillis = TimeUnit.HOURS.toMillis(settings.getRetentionHours());
+        this.maxBytes = settings.getMaxMemoryMb() * 1024L * 1024L;
+        this.segmentMillis = TimeUnit.MINUTES.toMillis(settings.getSegmentMinutes());
+        this.archive = settings.isEnabled() && settings.getDirectory() != null
+                ? new SegmentedArchive(Path.of(settings.getDirectory()), settings.getMergeFactor())
+                : null;
+    }
+
+    @Override
+    public void onCrawl(PlatformCrawlOutcome outcome) {
+        if (outcome.status() == PlatformCrawlStatus.SUCCESS) {
+            append(outcome.platformId(), outcome.items(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 追加一次快照，所有行使用同一个爬取时间
+     */
+    public synchronized void append(String platformId, List<NewsItem> items, long crawledAt) {
+        evict(crawledAt);
+        short platform = (short) platformRegistry.indexOf(platformId);
+        ArenaChunk chunk = activeChunk(crawledAt);
+        for (NewsItem item : items) {
+            if (item.getTitle() == null) {
+                continue;
+            }
+            long keyHash = keyHash(RankHistoryStore.keyOf(item));
+            int rank = item.getRank() != null ? item.getRank() : ArenaChunk.NO_RANK;
+            long hotScore = item.getHotScore() != null ? item.getHotScore() : ArenaChunk.NO_HOT_SCORE;
+            if (chunk.append(crawledAt, platform, keyHash, rank, hotScore, item.getTitle(), item.getUrl())) {
+                continue;
+            }
+            if (chunk.rowCount() == 0) {
+                logger.warn("[{}] 标题与链接超过归档块文本区容量，跳过: {}", platformId, item.getTitle());
+                continue;
+            }
+            seal(chunk);
+            chunk = newChunk();
+            if (!chunk.append(crawledAt, platform, keyHash, rank, hotScore, item.getTitle(), item.getUrl())) {
+                logger.warn("[{}] 标题与链接超过归档块文本区容量，跳过: {}", platformId, item.getTitle());
+            }
+        }
+    }
+
+    /**
+     * 当前写入块；已封块、跨越分段时长或跨天时先封块再换新块，保证每个段只覆盖同一天
+     */
+    private ArenaChunk activeChunk(long now) {
+        if (chunks.isEmpty()) {
+            return newChunk();
+        }
+        ArenaChunk chunk = chunks.get(chunks.size() - 1);
+        if (chunk.isSealed()) {
+            return newChunk();
+        }
+        if (chunk.rowCount() > 0 && (now - chunk.minTimestamp() >= segmentMillis
+                || SegmentedArchive.dayOf(chunk.minTimestamp()) != SegmentedArchive.dayOf(now))) {
+            seal(chunk);
+            return newChunk();
+        }
+        return chunk;
+    }
+
+    private ArenaChunk newChunk() {
+        ArenaChunk chunk = new ArenaChunk(chunkRows, chunkTextBytes);
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    /**
+     * 封块并交给磁盘归档后台写入，写入成功后从内存中释放
+     */
+    private void seal(ArenaChunk chunk) {
+        chunk.seal();
+        if (archive != null && !closed) {
+            archive.flush(chunk, () -> chunks.remove(chunk));
+        }
+    }
+
+    /**
+     * 淘汰超过保留时长的块与段；内存块总占用超过上限时继续淘汰最旧的块，但保留当前写入块
+     */
+    private void evict(long now) {
+        long cutoff = now - retentionMillis;
+        while (!chunks.isEmpty() && chunks.get(0).rowCount() > 0 && chunks.get(0).maxTimestamp() < cutoff) {
+            chunks.remove(0);
+        }
+        while (chunks.size() > 1 && sizeBytes() > maxBytes) {
+            chunks.remove(0);
+        }
+        if (archive != null) {
+            archive.evictOlderThan(cutoff);
+        }
+    }
+
+    /**
+     * 封存当前写入块并等待写入磁盘，之后不再写入新的段
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        if (archive != null) {
+            if (!chunks.isEmpty()) {
+                ArenaChunk last = chunks.get(chunks.size() - 1);
+                if (!last.isSealed() && last.rowCount() > 0) {
+                    seal(last);
+                }
+            }
+            archive.close();
+        }
+        closed = true;
+    }
+
+    private List<ArenaChunk> sources() {
+        List<ArenaChunk> sources = new ArrayList<>();
+        if (archive != null) {
+            for (ArchiveSegment segment : archive.segments()) {
+                sources.add(segment.chunk());
+            }
+        }
+        sources.addAll(chunks);
+        return sources;
+    }
+
+    /**
+     * 在历史快照中检索新闻，打分规则与 NewsService.rankByRelevance 一致：整词命中 100 分，每个分词命中 10 分
+     *
+     * 同一条新闻只保留最近一次命中的快照，按分数降序、时间降序排列，只物化返回的结果。
+     * 标题匹配在 UTF-8 字节上按 ASCII 忽略大小写，中文不受影响。
+     *
+     * @param keyword   已去除首尾空白并转为小写的关键词
+     * @param terms     关键词分词结果（小写）
+     * @param platforms 平台过滤，为空表示不过滤
+     * @param limit     返回条数，需为正数
+     */
+    public List<NewsItem> search(String keyword, Collection<String> terms, Set<String> platforms,
+            long from, long to, int limit) {
+        ArchiveQuery query = new ArchiveQuery(keyword, terms, platformIndexes(platforms), from, to);
+        Map<Long, ArchiveQuery.Hit> hits = new HashMap<>();
+        if (archive != null) {
+            archive.collect(query, hits);
+        }
+        for (ArenaChunk chunk : chunks) {
+            query.collect(chunk, null, hits);
+        }
+
+        TopK<ArchiveQuery.Hit> top = new TopK<>(limit);
+        for (ArchiveQuery.Hit hit : hits.values()) {
+            top.offer(rankKey(hit), hit);
+        }
+        List<NewsItem> result = new ArrayList<>(top.size());
+        ArenaRow row = new ArenaRow();
+        for (ArchiveQuery.Hit hit : top.drain()) {
+            result.add(row.moveTo(hit.chunk, hit.index).toNewsItem());
+        }
+        return result;
+    }
+
+    /**
+     * 排序键：高位为分数，低 43 位为爬取时间（毫秒，可表示到 2248 年）
+     */
+    private static long rankKey(ArchiveQuery.Hit hit) {
+        long timestamp = Math.min(Math.max(hit.timestamp, 0), MAX_RANK_TIMESTAMP);
+        return ((long) hit.score << TIMESTAMP_BITS) | timestamp;
+    }
+
+    /**
+     * 已归档的行数（内存块与磁盘段）
+     */
+    public int rowCount() {
+        int rows = 0;
+        for (ArenaChunk chunk : sources()) {
+            rows += chunk.rowCount();
+        }
+        return rows;
+    }
+
+    /**
+     * 尚未写入磁盘的内存块数
+     */
+    public int chunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * 磁盘段数，未配置归档目录时为 0
+     */
+    public int segmentCount() {
+        return archive != null ? archive.segmentCount() : 0;
+    }
+
+    /**
+     * 内存块占用的堆外内存字节数
+     */
+    public long sizeBytes() {
+        long bytes = 0;
+        for (ArenaChunk chunk : chunks) {
+            bytes += chunk.sizeBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * 等待已提交的段写入与合并完成（测试用）
+     */
+    void awaitArchive() {
+        if (archive != null) {
+            archive.awaitIdle();
+        }
+    }
+
+    /**
+     * story key 的 64 位 FNV-1a 哈希
+     */
+    static long keyHash(String key) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private int[] platformIndexes(Set<String> platforms) {
+        if (platforms == null || platforms.isEmpty()) {
+            return null;
+        }
+        return platforms.stream().mapToInt(platformRegistry::findIndex).filter(index -> index >= 0).toArray();
+    }
+}
@@ -0,0 +1,224 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.SnapshotLogInfo;
+import com.paiad.mcp.model.pojo.CompactNewsItem;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.model.pojo.SnapshotChange;
+import com.paiad.mcp.model.pojo.SnapshotDelta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 快照变更日志
+ *
+ * 每次成功爬取时与该平台上一次快照比较（只在入库时比较一次），把新出现或排名/热度变化的新闻
+ * 以单调递增的版本号追加到定长环形日志；增量查询二分定位游标后顺序读取，无需在请求时比较全量列表。
+ *
+ * 平台榜单发生变化（有新增、变化或跌出的新闻）时回调变更监听器，用于推送资源更新通知。
+ *
+ * 快照与变更条目以 CompactNewsItem 保存，同一新闻的多次变更共享去重后的字符串。
+ *
+ * 版本号从启动时刻的微秒数开始递增，重启前签发的游标必然早于日志起点，查询时按过期处理返回全量快照。
+ *
+ * @author Paiad
+ */
+public class SnapshotLog implements CrawlListener {
+
+    private final SnapshotChange[] entries;
+    private int head;
+    private int size;
+
+    /**
+     * 最近一次分配的版本号，即当前游标
+     */
+    private long version;
+
+    /**
+     * 每个平台最近一次快照：平台内 key -> 新闻
+     */
+    private final Map<String, Map<String, CompactNewsItem>> snapshots = new HashMap<>();
+
+    /**
+     * 平台榜单变化时回调，参数为平台 ID；在锁外执行
+     */
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public SnapshotLog(SnapshotLogInfo settings) {
+        this(settings, System.currentTimeMillis() * 1000);
+    }
+
+    SnapshotLog(SnapshotLogInfo settings, long initialVersion) {
+        this.entries = new SnapshotChange[settings.getMaxEntries()];
+        this.version = initialVersion;
+    }
+
+    /**
+     * 仅记录真实爬取的成功快照；限流返回的是旧快照，不产生变更
+     */
+    @Override
+    public void onCrawl(PlatformCrawlOutcome outcome) {
+        if (outcome.status() == PlatformCrawlStatus.SUCCESS && record(outcome.platformId(), outcome.items())) {
+            for (Consumer<String> listener : changeListeners) {
+                listener.accept(outcome.platformId());
+            }
+        }
+    }
+
+    /**
+     * 注册平台榜单变更监听器
+     */
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * 记录平台快照
+     *
+     * @return 榜单是否变化
+     */
+    public synchronized boolean record(String platformId, List<NewsItem> items) {
+        long versionBefore = version;
+        Map<String, CompactNewsItem> previous = snapshots.getOrDefault(platformId, Map.of());
+        Map<String, CompactNewsItem> current = new LinkedHashMap<>();
+        for (NewsItem newsItem : items) {
+            if (newsItem.getTitle() == null) {
+                continue;
+            }
+            CompactNewsItem item = CompactNewsItem.of(newsItem);
+            String key = item.localKey();
+            if (current.putIfAbsent(key, item) != null) {
+                continue;
+            }
+            CompactNewsItem before = previous.get(key);
+            if (before == null) {
+                append(new SnapshotChange(++version, SnapshotChange.Type.NEW, item, null, null));
+            } else if (!before.sameRanking(item)) {
+                append(new SnapshotChange(++version, SnapshotChange.Type.UPDATED, item,
+                        before.getRank(), before.getHotScore()));
+            }
+        }
+        snapshots.put(platformId, current);
+        return version != versionBefore || !previous.keySet().equals(current.keySet());
+    }
+
+    /**
+     * 平台最近一次成功爬取的榜单，尚未爬取时返回 null；返回的 NewsItem 在读取时展开
+     */
+    public synchronized List<NewsItem> snapshot(String platformId) {
+        Map<String, CompactNewsItem> current = snapshots.get(platformId);
+        if (current == null) {
+            return null;
+        }
+        List<NewsItem> items = new ArrayList<>(current.size());
+        for (CompactNewsItem item : current.values()) {
+            items.add(item.toNewsItem());
+        }
+        return items;
+    }
+
+    /**
+     * 当前游标：之后的增量查询从这里开始
+     */
+    public synchronized long cursor() {
+        return version;
+    }
+
+    /**
+     * 查询游标之后的变更，同一条新闻只返回最新一次变更，按版本升序
+     *
+     * @param since     上次响应返回的游标
+     * @param platforms 平台过滤，为空表示不过滤
+     * @param limit     返回条数，至少为 1；超出时游标停在最后一条返回的变更，hasMore 为 true。
+     *                  游标过期时返回全量快照，不受 limit 限制（重置无法从中途续读）
+     */
+    public synchronized SnapshotDelta since(long since, Set<String> platforms, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1: " + limit);
+        }
+        long oldest = size > 0 ? entryAt(0).version() : version + 1;
+        if (since > version || since < oldest - 1) {
+            return reset(platforms);
+        }
+
+        Map<String, SnapshotChange> latest = new LinkedHashMap<>();
+        for (int i = firstAfter(since); i < size; i++) {
+            SnapshotChange change = entryAt(i);
+            if (matches(platforms, change.item().getPlatform())) {
+                String key = change.item().key();
+                latest.remove(key);
+                latest.put(key, change);
+            }
+        }
+
+        List<SnapshotChange> changes = new ArrayList<>(latest.values());
+        if (changes.size() > limit) {
+            changes = changes.subList(0, limit);
+            return new SnapshotDelta(changes.get(limit - 1).version(), false, true, changes);
+        }
+        return new SnapshotDelta(version, false, false, changes);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 游标不在日志范围内：返回各平台当前完整快照，游标为当前版本
+     */
+    private SnapshotDelta reset(Set<String> platforms) {
+        List<SnapshotChange> changes = new ArrayList<>();
+        for (Map.Entry<String, Map<String, CompactNewsItem>> entry : snapshots.entrySet()) {
+            if (!matches(platforms, entry.getKey())) {
+                continue;
+            }
+            for (CompactNewsItem item : entry.getValue().values()) {
+                changes.add(new SnapshotChange(version, SnapshotChange.Type.NEW, item, null, null));
+            }
+        }
+        return new SnapshotDelta(version, true, false, changes);
+    }
+
+    private static boolean matches(Set<String> platforms, String platformId) {
+        return platforms == null || platforms.isEmpty() || platforms.contains(platformId);
+    }
+
+    private void append(SnapshotChange change) {
+        if (size == entries.length) {
+            entries[head] = null;
+            head = (head + 1) % entries.length;
+            size--;
+        }
+        entries[(head + size) % entries.length] = change;
+        size++;
+    }
+
+    private SnapshotChange entryAt(int index) {
+        return entries[(head + index) % entries.length];
+    }
+
+    /**
+     * 二分查找第一个版本号大于 since 的位置
+     */
+    private int firstAfter(long since) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entryAt(mid).version() <= since) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,98 @@
+package com.paiad.mcp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving 高频项结构（带权版本）
+ *
+ * 最多跟踪 capacity 个候选项。未跟踪的新项在结构已满时替换当前最小项，继承其计数作为误差上界，
+ * 因此任何真实计数超过总量 / capacity 的项都不会被漏掉。按计数排序的 TreeSet 使替换为 O(log k)，
+ * 取前 n 项为 O(n)。
+ *
+ * @author Paiad
+ */
+final class SpaceSaving {
+
+    static final class Counter {
+        final String key;
+        double count;
+        double error;
+        final Set<String> platforms = new LinkedHashSet<>();
+
+        Counter(String key, double count, double error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private static final Comparator<Counter> BY_COUNT = Comparator
+            .comparingDouble((Counter counter) -> counter.count)
+            .thenComparing(counter -> counter.key);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void offer(String key, double weight, String platform) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += weight;
+        } else if (counters.size() < capacity) {
+            counter = new Counter(key, weight, 0);
+            counters.put(key, counter);
+        } else {
+            Counter min = byCount.pollFirst();
+            counters.remove(min.key);
+            counter = new Counter(key, min.count + weight, min.count);
+            counters.put(key, counter);
+        }
+        if (platform != null) {
+            counter.platforms.add(platform);
+        }
+        byCount.add(counter);
+    }
+
+    /**
+     * 计数最高的 limit 项，按计数降序
+     */
+    List<Counter> top(int limit) {
+        List<Counter> result = new ArrayList<>(Math.min(limit, counters.size()));
+        for (Counter counter : byCount.descendingSet()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(counter);
+        }
+        return result;
+    }
+
+    /**
+     * 等比缩放所有计数；缩放后重建排序以免浮点舍入打乱 TreeSet
+     */
+    void scale(double factor) {
+        for (Counter counter : counters.values()) {
+            counter.count *= factor;
+            counter.error *= factor;
+        }
+        TreeSet<Counter> rebuilt = new TreeSet<>(BY_COUNT);
+        rebuilt.addAll(counters.values());
+        byCount = rebuilt;
+    }
+
+    int size() {
+        return counters.size();
+    }
+}
@@ -0,0 +1,214 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.model.pojo.RisingStory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 新闻上升趋势索引
+ *
+ * 每个时间窗口维护两个按导数降序排列的跳表（排名速度、热度加速度）。新快照入库时重新计算该新闻的导数，
+ * 在跳表中先删后插（O(log n)）；查询从表头顺序取前 k 条（O(k + log n)），无需在调用时扫描全部历史。
+ * 写入由 {@link RankHistoryStore} 串行执行，查询无锁。
+ *
+ * @author Paiad
+ */
+public class TrendIndex {
+
+    /**
+     * 排序方式
+     */
+    public enum Order {
+        RANK_VELOCITY,
+        SCORE_ACCELERATION
+    }
+
+    private static final long MIN_ELAPSED_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final double MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static final Comparator<RisingStory> BY_RANK_VELOCITY = Comparator
+            .comparingDouble(RisingStory::rankVelocityPerHour).reversed()
+            .thenComparing(RisingStory::key);
+    private static final Comparator<RisingStory> BY_SCORE_ACCELERATION = Comparator
+            .comparingDouble(RisingStory::scoreAccelerationPerHour2).reversed()
+            .thenComparing(RisingStory::key);
+
+    private final Map<Integer, WindowIndex> windows = new LinkedHashMap<>();
+
+    public TrendIndex(List<Integer> windowsMinutes) {
+        for (int minutes : windowsMinutes) {
+            windows.put(minutes, new WindowIndex(TimeUnit.MINUTES.toMillis(minutes)));
+        }
+    }
+
+    /**
+     * 可查询的窗口（分钟，升序）
+     */
+    public List<Integer> getWindowsMinutes() {
+        return List.copyOf(windows.keySet());
+    }
+
+    /**
+     * 新闻追加观测点后重新计算各窗口导数
+     *
+     * @param count 观测点数，数组按时间升序
+     */
+    void update(String key, String platform, String title, String url,
+            long[] timestamps, int[] ranks, long[] scores, int count) {
+        for (WindowIndex window : windows.values()) {
+            window.update(key, platform, title, url, timestamps, ranks, scores, count);
+        }
+    }
+
+    void remove(String key) {
+        for (WindowIndex window : windows.values()) {
+            window.remove(key);
+        }
+    }
+
+    /**
+     * 获取上升最快的新闻
+     *
+     * @param windowMinutes 时间窗口，必须是 {@link #getWindowsMinutes()} 之一
+     * @param order         排序方式
+     * @param limit         返回条数
+     * @param platforms     平台过滤，为空表示不过滤
+     * @param now           当前时间，窗口内未再出现的新闻会被跳过
+     */
+    public List<RisingStory> top(int windowMinutes, Order order, int limit, Set<String> platforms, long now) {
+        WindowIndex window = windows.get(windowMinutes);
+        if (window == null) {
+            throw new IllegalArgumentException("Unsupported window: " + windowMinutes + " minutes");
+        }
+        ConcurrentSkipListSet<RisingStory> ranking = order == Order.RANK_VELOCITY
+                ? window.byRankVelocity
+                : window.byScoreAcceleration;
+        List<RisingStory> result = new ArrayList<>(Math.min(limit, 64));
+        for (RisingStory story : ranking) {
+            if (result.size() >= limit) {
+                break;
+            }
+            double value = order == Order.RANK_VELOCITY
+                    ? story.rankVelocityPerHour()
+                    : story.scoreAccelerationPerHour2();
+            if (value <= 0) {
+                break;
+            }
+            if (story.lastSeen() < now - window.windowMillis) {
+                continue;
+            }
+            if (platforms == null || platforms.isEmpty() || platforms.contains(story.platform())) {
+                result.add(story);
+            }
+        }
+        return result;
+    }
+
+    public int size(int windowMinutes) {
+        WindowIndex window = windows.get(windowMinutes);
+        return window != null ? window.current.size() : 0;
+    }
+
+    private static final class WindowIndex {
+        private final long windowMillis;
+        private final Map<String, RisingStory> current = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<RisingStory> byRankVelocity = new ConcurrentSkipListSet<>(BY_RANK_VELOCITY);
+        private final ConcurrentSkipListSet<RisingStory> byScoreAcceleration =
+                new ConcurrentSkipListSet<>(BY_SCORE_ACCELERATION);
+
+        WindowIndex(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        void update(String key, String platform, String title, String url,
+                long[] timestamps, int[] ranks, long[] scores, int count) {
+            remove(key);
+            if (count < 2) {
+                return;
+            }
+            int last = count - 1;
+            long now = timestamps[last];
+            int baseline = baselineIndex(timestamps, count, now - windowMillis);
+            if (baseline >= last) {
+                return;
+            }
+
+            long elapsed = now - timestamps[baseline];
+            double hours = Math.max(elapsed, MIN_ELAPSED_MILLIS) / MILLIS_PER_HOUR;
+            boolean ranked = ranks[baseline] > 0 && ranks[last] > 0;
+            int rankChange = ranked ? ranks[baseline] - ranks[last] : 0;
+            double rankVelocity = ranked ? rankChange / hours : Double.NaN;
+
+            double scoreAcceleration = Double.NaN;
+            int mid = midIndex(timestamps, baseline, last);
+            if (mid > baseline && mid < last && scores[last] > 0) {
+                double firstHours = Math.max(timestamps[mid] - timestamps[baseline], MIN_ELAPSED_MILLIS)
+                        / MILLIS_PER_HOUR;
+                double secondHours = Math.max(timestamps[last] - timestamps[mid], MIN_ELAPSED_MILLIS)
+                        / MILLIS_PER_HOUR;
+                double firstVelocity = (scores[mid] - scores[baseline]) / firstHours;
+                double secondVelocity = (scores[last] - scores[mid]) / secondHours;
+                scoreAcceleration = (secondVelocity - firstVelocity) / ((firstHours + secondHours) / 2)
+                        / scores[last];
+            }
+
+            RisingStory story = new RisingStory(key, platform, title, url, ranks[last], scores[last], rankChange,
+                    rankVelocity, scoreAcceleration, TimeUnit.MILLISECONDS.toMinutes(elapsed), now);
+            current.put(key, story);
+            if (!Double.isNaN(rankVelocity)) {
+                byRankVelocity.add(story);
+            }
+            if (!Double.isNaN(scoreAcceleration)) {
+                byScoreAcceleration.add(story);
+            }
+        }
+
+        void remove(String key) {
+            RisingStory previous = current.remove(key);
+            if (previous != null) {
+                byRankVelocity.remove(previous);
+                byScoreAcceleration.remove(previous);
+            }
+        }
+
+        /**
+         * 窗口起点之前（含）的最后一个点；历史不足一个窗口时取最早的点
+         */
+        private static int baselineIndex(long[] timestamps, int count, long windowStart) {
+            int baseline = 0;
+            for (int i = 0; i < count; i++) {
+                if (timestamps[i] <= windowStart) {
+                    baseline = i;
+                } else {
+                    break;
+                }
+            }
+            return baseline;
+        }
+
+        /**
+         * 最接近基线与最新点时间中点的内部点
+         */
+        private static int midIndex(long[] timestamps, int baseline, int last) {
+            long midpoint = timestamps[baseline] + (timestamps[last] - timestamps[baseline]) / 2;
+            int best = -1;
+            long bestDistance = Long.MAX_VALUE;
+            for (int i = baseline + 1; i < last; i++) {
+                long distance = Math.abs(timestamps[i] - midpoint);
+                if (distance < bestDistance) {
+                    best = i;
+                    bestDistance = distance;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.paiad.mcp.service;
+
+import com.hankcs.hanlp.HanLP;
+import com.hankcs.hanlp.seg.common.Term;
+import com.paiad.mcp.config.PlatformPriorityConfig.TrendingKeywordsInfo;
+import com.paiad.mcp.model.pojo.KeywordTrend;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.Novelty;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跨平台热门关键词
+ *
+ * 新闻首次出现时（新颖度为 SEEN 的不重复计数）对标题分词一次，每个名词类关键词以前向衰减权重写入
+ * {@link DecayedCountMinSketch} 与 {@link SpaceSaving}：前者回答任意词的频次估计，后者维护高频词候选。
+ * 两者大小固定，与出现过多少不同的词无关；查询前 n 个关键词或单个词频次都不需要扫描历史。
+ *
+ * @author Paiad
+ */
+public class TrendingKeywords implements CrawlListener {
+
+    /**
+     * 前向衰减指数超过该值时整体缩放，避免 double 溢出
+     */
+    private static final double MAX_EXPONENT = 30;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "are", "was", "were", "has", "have", "had", "its", "his", "her", "their", "this",
+            "that", "with", "from", "into", "onto", "over", "after", "before", "amid", "about", "than", "more",
+            "what", "how", "why", "who", "when", "where", "will", "would", "could", "should", "may", "might", "can",
+            "not", "but", "says", "said", "say", "new", "news", "live", "update", "updates", "video", "watch",
+            "report", "one", "two", "three", "first", "last", "year", "years", "week", "day", "days", "you", "your",
+            "our", "they", "them", "she", "him", "out", "off", "all", "just", "now", "get", "gets", "make", "makes",
+            "hn", "ask", "show");
+
+    private final double lambda;
+    private final int halfLifeMinutes;
+    private final DecayedCountMinSketch sketch;
+    private final SpaceSaving topK;
+    private long landmark;
+    private boolean started;
+
+    public TrendingKeywords(TrendingKeywordsInfo settings) {
+        this.halfLifeMinutes = settings.getHalfLifeMinutes();
+        this.lambda = Math.log(2) / TimeUnit.MINUTES.toMillis(halfLifeMinutes);
+        this.sketch = new DecayedCountMinSketch(settings.getSketchWidth(), settings.getSketchDepth());
+        this.topK = new SpaceSaving(settings.getTopKCapacity());
+    }
+
+    public int getHalfLifeMinutes() {
+        return halfLifeMinutes;
+    }
+
+    @Override
+    public void onCrawl(PlatformCrawlOutcome outcome) {
+        if (outcome.status() == PlatformCrawlStatus.SUCCESS) {
+            record(outcome.items(), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 记录一批新闻的关键词；已见过的新闻（新颖度 SEEN）跳过，未启用新颖度检测时全部计数
+     */
+    public void record(List<NewsItem> items, long observedAt) {
+        // 分词在锁外完成
+        List<String> platforms = new ArrayList<>();
+        List<Set<String>> keywordsPerItem = new ArrayList<>();
+        for (NewsItem item : items) {
+            if (item.getTitle() == null || item.getNovelty() == Novelty.SEEN) {
+                continue;
+            }
+            Set<String> keywords = extractKeywords(item.getTitle());
+            if (!keywords.isEmpty()) {
+                platforms.add(item.getPlatform());
+                keywordsPerItem.add(keywords);
+            }
+        }
+        if (keywordsPerItem.isEmpty()) {
+            return;
+        }
+
+        synchronized (this) {
+            double weight = forwardWeight(observedAt);
+            for (int i = 0; i < keywordsPerItem.size(); i++) {
+                for (String keyword : keywordsPerItem.get(i)) {
+                    sketch.add(keyword, weight);
+                    topK.offer(keyword, weight, platforms.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前衰减后频次最高的关键词
+     */
+    public synchronized List<KeywordTrend> top(int limit, long now) {
+        double decay = Math.exp(-lambda * (now - landmark));
+        List<KeywordTrend> result = new ArrayList<>();
+        for (SpaceSaving.Counter counter : topK.top(limit)) {
+            result.add(new KeywordTrend(counter.key, counter.count * decay, counter.error * decay,
+                    List.copyOf(counter.platforms)));
+        }
+        return result;
+    }
+
+    /**
+     * 任意关键词当前衰减后频次的估计（只会高估）
+     */
+    public synchronized double estimate(String keyword, long now) {
+        String normalized = normalize(keyword);
+        if (normalized == null) {
+            return 0;
+        }
+        return sketch.estimate(normalized) * Math.exp(-lambda * (now - landmark));
+    }
+
+    public synchronized int trackedKeywords() {
+        return topK.size();
+    }
+
+    /**
+     * 名词类关键词：中文取名词、机构名、人名、地名等，英文按停用词过滤且至少 3 个字母
+     */
+    static Set<String> extractKeywords(String title) {
+        Set<String> keywords = new LinkedHashSet<>();
+        for (Term term : HanLP.segment(title)) {
+            String nature = term.nature != null ? term.nature.toString() : "";
+            if (!nature.startsWith("n") && !"vn".equals(nature) && !"j".equals(nature)) {
+                continue;
+            }
+            String keyword = normalize(term.word);
+            if (keyword != null) {
+                keywords.add(keyword);
+            }
+        }
+        return keywords;
+    }
+
+    private static String normalize(String word) {
+        if (word == null) {
+            return null;
+        }
+        String keyword = word.trim().toLowerCase(Locale.ROOT);
+        if (keyword.codePointCount(0, keyword.length()) < 2 || keyword.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        boolean latin = keyword.chars().allMatch(c -> c < 0x80);
+        if (latin && (keyword.length() < 3 || STOP_WORDS.contains(keyword))) {
+            return null;
+        }
+        return keyword;
+    }
+
+    private double forwardWeight(long observedAt) {
+        if (!started) {
+            landmark = observedAt;
+            started = true;
+        }
+        double exponent = lambda * (observedAt - landmark);
+        if (exponent > MAX_EXPONENT) {
+            double factor = Math.exp(-exponent);
+            sketch.scale(factor);
+            topK.scale(factor);
+            landmark = observedAt;
+            exponent = 0;
+        }
+        return Math.exp(exponent);
+    }
+}
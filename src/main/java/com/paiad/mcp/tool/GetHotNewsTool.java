@@ -7,18 +7,24 @@ import com.paiad.mcp.config.PlatformPriorityConfig;
 import com.paiad.mcp.model.pojo.CrawlResult;
 import com.paiad.mcp.model.pojo.NewsItem;
 import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.SnapshotChange;
+import com.paiad.mcp.model.pojo.SnapshotDelta;
 import com.paiad.mcp.model.vo.NewsItemVO;
 import com.paiad.mcp.service.NewsService;
+import com.paiad.mcp.util.TopK;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * 获取热点新闻工具
- * 支持多平台新闻获取和去重聚合
+ * 支持多平台新闻获取和去重聚合，以及基于游标的增量查询
  */
 public class GetHotNewsTool implements McpTool {
 
+    private static final int HOT_SCORE_BITS = 47;
+    private static final long MAX_CLUSTER_HOT_SCORE = (1L << HOT_SCORE_BITS) - 1;
+
     private final NewsService newsService;
 
     public GetHotNewsTool(NewsService newsService) {
@@ -37,7 +43,8 @@ public class GetHotNewsTool implements McpTool {
         return "Get current top trending news from multiple platforms. "
                 + "IMPORTANT: Do NOT specify 'platforms' parameter - the system will automatically use the top "
                 + defaultPlatforms.size() + " platforms by priority: " + String.join(", ", defaultPlatforms) + ". "
-                + "Supports deduplication and cross-platform aggregation.";
+                + "Supports deduplication and cross-platform aggregation. "
+                + "When polling, pass the 'cursor' from the previous response as 'since' to get only new or changed items.";
     }
 
     @Override
@@ -77,12 +84,35 @@ public class GetHotNewsTool implements McpTool {
         dedupeProp.put("default", false);
         properties.set("dedupe", dedupeProp);
 
+        ObjectNode sinceProp = objectMapper.createObjectNode();
+        sinceProp.put("type", "integer");
+        sinceProp.put("description",
+                "Optional. The 'cursor' value from a previous response. Returns only items that are new or whose rank or hot score changed since then (dedupe is ignored). If the cursor has expired, 'reset' is true and the full current snapshot is returned regardless of 'limit'.");
+        properties.set("since", sinceProp);
+
+        ObjectNode pageSizeProp = objectMapper.createObjectNode();
+        pageSizeProp.put("type", "integer");
+        pageSizeProp.put("description", "Optional. Split the result into pages of this size (max 100). "
+                + "With an Mcp-Session-Id session the response carries page.next_cursor for the following page");
+        properties.set("page_size", pageSizeProp);
+
+        ObjectNode pageCursorProp = objectMapper.createObjectNode();
+        pageCursorProp.put("type", "string");
+        pageCursorProp.put("description", "Optional. The page.next_cursor value from a previous response in the same session. "
+                + "Returns the next page of that same ranked result without crawling again; other arguments are ignored");
+        properties.set("page_cursor", pageCursorProp);
+
         schema.set("properties", properties);
         schema.set("required", objectMapper.createArrayNode());
 
         return schema;
     }
 
+    @Override
+    public boolean supportsPagination() {
+        return true;
+    }
+
     @Override
     public String execute(JsonNode arguments, ObjectMapper objectMapper) throws Exception {
         List<String> platforms = null;
@@ -94,10 +124,15 @@ public class GetHotNewsTool implements McpTool {
         }
 
         int limit = arguments.has("limit") ? arguments.get("limit").asInt(50) : 50;
-        limit = Math.min(limit, 200);
+        // 与 getHotNews 一致，非正数按默认值处理
+        limit = limit > 0 ? Math.min(limit, 200) : 50;
 
         boolean dedupe = arguments.has("dedupe") && arguments.get("dedupe").asBoolean(false);
 
+        Long since = arguments.has("since") && arguments.get("since").canConvertToLong()
+                ? arguments.get("since").asLong()
+                : null;
+
         CrawlResult crawlResult = newsService.getHotNews(platforms, dedupe ? 200 : limit);
         List<NewsItem> news = crawlResult.getData();
 
@@ -105,25 +140,27 @@ public class GetHotNewsTool implements McpTool {
         result.put("success", true);
         result.put("partial_success", crawlResult.isPartialSuccess());
 
-        if (dedupe) {
+        if (since != null) {
+            // 增量模式 - 从快照变更日志读取游标之后的变更
+            Set<String> crawledPlatforms = crawlResult.getOutcomes().stream()
+                    .map(PlatformCrawlOutcome::platformId)
+                    .collect(Collectors.toSet());
+            SnapshotDelta delta = newsService.getSnapshotLog().since(since, crawledPlatforms, limit);
+            result.put("cursor", delta.cursor());
+            result.put("reset", delta.reset());
+            result.put("has_more", delta.hasMore());
+            result.put("count", delta.changes().size());
+            result.put("data", delta.changes().stream()
+                    .map(this::toChangeItem)
+                    .collect(Collectors.toList()));
+        } else if (dedupe) {
             // 去重聚合模式
             List<NewsCluster> clusters = clusterNews(news);
 
-            // 按跨平台覆盖度和热度排序
-            clusters.sort((a, b) -> {
-                int cmp = Integer.compare(b.platformCount, a.platformCount);
-                if (cmp != 0)
-                    return cmp;
-                return Long.compare(b.totalHotScore, a.totalHotScore);
-            });
-
-            // 取 Top N
+            // 按跨平台覆盖度和热度取 Top N
             List<Map<String, Object>> summaryItems = new ArrayList<>();
             int count = 0;
-            for (NewsCluster cluster : clusters) {
-                if (count >= limit)
-                    break;
-
+            for (NewsCluster cluster : topClusters(clusters, limit)) {
                 Map<String, Object> item = new LinkedHashMap<>();
                 item.put("rank", count + 1);
                 item.put("title", cluster.representativeTitle);
@@ -154,38 +191,43 @@ public class GetHotNewsTool implements McpTool {
             result.put("data", formattedNews);
         }
 
-        if (crawlResult.hasFailures()) {
-            result.put("failures", crawlResult.getFailures());
-            result.put("failure_count", crawlResult.getFailures().size());
-            result.put("failure_details", buildFailureDetails(crawlResult.getOutcomes()));
+        if (since == null) {
+            result.put("cursor", crawlResult.getCursor());
         }
 
+        ToolResponses.putFailures(result, crawlResult);
+
         result.put("timestamp", System.currentTimeMillis());
 
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
     }
 
-    private List<Map<String, Object>> buildFailureDetails(List<PlatformCrawlOutcome> outcomes) {
-        List<Map<String, Object>> details = new ArrayList<>();
-        for (PlatformCrawlOutcome outcome : outcomes) {
-            if (!outcome.isFailure()) {
-                continue;
-            }
-            Map<String, Object> detail = new LinkedHashMap<>();
-            detail.put("platform", outcome.platformId());
-            detail.put("status", outcome.status().name());
-            detail.put("error_code", outcome.errorCode());
-            detail.put("error_message", outcome.errorMessage());
-            detail.put("latency_ms", outcome.latencyMs());
-            details.add(detail);
+    private Map<String, Object> toChangeItem(SnapshotChange change) {
+        NewsItemVO vo = change.item().toVO();
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("change", change.type().name().toLowerCase());
+        item.put("title", vo.getTitle());
+        item.put("platform", vo.getPlatform());
+        if (vo.getHot() != null) {
+            item.put("hot", vo.getHot());
+        }
+        item.put("url", vo.getUrl());
+        if (change.item().getRank() != null) {
+            item.put("rank", change.item().getRank());
+        }
+        if (change.previousRank() != null) {
+            item.put("previous_rank", change.previousRank());
+        }
+        if (change.previousHotScore() != null) {
+            item.put("previous_hot_score", change.previousHotScore());
         }
-        return details;
+        return item;
     }
 
     /**
      * 将新闻按相似标题聚类
      */
-    private List<NewsCluster> clusterNews(List<NewsItem> news) {
+    List<NewsCluster> clusterNews(List<NewsItem> news) {
         List<NewsCluster> clusters = new ArrayList<>();
 
         for (NewsItem item : news) {
@@ -248,10 +290,32 @@ public class GetHotNewsTool implements McpTool {
         return similarity > 0.6;
     }
 
+    /**
+     * 按跨平台覆盖度降序、总热度降序选出前 limit 个聚类，同序时保持聚类顺序
+     */
+    static List<NewsCluster> topClusters(List<NewsCluster> clusters, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        TopK<NewsCluster> top = new TopK<>(limit);
+        for (NewsCluster cluster : clusters) {
+            top.offer(clusterKey(cluster), cluster);
+        }
+        return top.drain();
+    }
+
+    /**
+     * 排序键：高位为平台数，低 47 位为总热度（超出时截断，约 1.4 × 10^14）
+     */
+    static long clusterKey(NewsCluster cluster) {
+        long hotScore = Math.min(Math.max(cluster.totalHotScore, 0), MAX_CLUSTER_HOT_SCORE);
+        return ((long) cluster.platformCount << HOT_SCORE_BITS) | hotScore;
+    }
+
     /**
      * 新闻聚类
      */
-    private static class NewsCluster {
+    static class NewsCluster {
         String representativeTitle;
         String representativeUrl;
         Set<String> platforms = new LinkedHashSet<>();
@@ -0,0 +1,211 @@
+package com.paiad.mcp.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.config.PlatformPriorityConfig;
+import com.paiad.mcp.model.pojo.CrawlResult;
+import com.paiad.mcp.model.pojo.RisingStory;
+import com.paiad.mcp.registry.PlatformRegistry;
+import com.paiad.mcp.service.NewsService;
+import com.paiad.mcp.service.TrendIndex;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 上升新闻工具
+ *
+ * 按排名上升速度或热度加速度返回上升最快的新闻，数据来自入库时预计算的 {@link TrendIndex}。
+ */
+public class GetRisingNewsTool implements McpTool {
+
+    private static final String SORT_RANK_VELOCITY = "rank_velocity";
+    private static final String SORT_SCORE_ACCELERATION = "score_acceleration";
+
+    private final NewsService newsService;
+
+    public GetRisingNewsTool(NewsService newsService) {
+        this.newsService = newsService;
+    }
+
+    @Override
+    public String getName() {
+        return "get_rising_news";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Get the fastest rising stories over a recent time window, ranked by how quickly they climb the hot lists (rank_velocity) or how fast their hot score is accelerating (score_acceleration). Use this when the user asks what is taking off, breaking or gaining momentum right now.";
+    }
+
+    @Override
+    public JsonNode getInputSchema(ObjectMapper objectMapper) {
+        ObjectNode schema = objectMapper.createObjectNode();
+        schema.put("type", "object");
+
+        ObjectNode properties = objectMapper.createObjectNode();
+        List<Integer> windows = newsService.getRankHistory().getTrendIndex().getWindowsMinutes();
+
+        ObjectNode windowProp = objectMapper.createObjectNode();
+        windowProp.put("type", "integer");
+        ArrayNode windowEnum = objectMapper.createArrayNode();
+        windows.forEach(windowEnum::add);
+        windowProp.set("enum", windowEnum);
+        windowProp.put("description", "Trend window in minutes. Available: " + windows);
+        if (!windows.isEmpty()) {
+            windowProp.put("default", defaultWindow(windows));
+        }
+        properties.set("window_minutes", windowProp);
+
+        ObjectNode sortProp = objectMapper.createObjectNode();
+        sortProp.put("type", "string");
+        ArrayNode sortEnum = objectMapper.createArrayNode();
+        sortEnum.add(SORT_RANK_VELOCITY);
+        sortEnum.add(SORT_SCORE_ACCELERATION);
+        sortProp.set("enum", sortEnum);
+        sortProp.put("description",
+                "rank_velocity: positions gained per hour; score_acceleration: change of hot-score growth rate, relative to the current score. Default rank_velocity");
+        sortProp.put("default", SORT_RANK_VELOCITY);
+        properties.set("sort_by", sortProp);
+
+        ObjectNode platformsProp = objectMapper.createObjectNode();
+        platformsProp.put("type", "array");
+        ObjectNode items = objectMapper.createObjectNode();
+        items.put("type", "string");
+        platformsProp.set("items", items);
+        String enabledPlatforms = PlatformPriorityConfig.getInstance()
+                .getEnabledPlatformIdsSorted().stream()
+                .collect(Collectors.joining(", "));
+        platformsProp.put("description",
+                "Limit to platforms. Available: " + enabledPlatforms);
+        properties.set("platforms", platformsProp);
+
+        ObjectNode limitProp = objectMapper.createObjectNode();
+        limitProp.put("type", "integer");
+        limitProp.put("description", "Result limit, default 20");
+        limitProp.put("default", 20);
+        properties.set("limit", limitProp);
+
+        ObjectNode refreshProp = objectMapper.createObjectNode();
+        refreshProp.put("type", "boolean");
+        refreshProp.put("description", "Crawl a fresh snapshot before ranking, default false (rank the snapshots already recorded by earlier crawls)");
+        refreshProp.put("default", false);
+        properties.set("refresh", refreshProp);
+
+        schema.set("properties", properties);
+        return schema;
+    }
+
+    @Override
+    public String execute(JsonNode arguments, ObjectMapper objectMapper) throws Exception {
+        TrendIndex trendIndex = newsService.getRankHistory().getTrendIndex();
+        List<Integer> windows = trendIndex.getWindowsMinutes();
+        if (windows.isEmpty()) {
+            return ToolResponses.error(objectMapper, "No trend windows configured");
+        }
+
+        int windowMinutes = arguments.has("window_minutes")
+                ? arguments.get("window_minutes").asInt(defaultWindow(windows))
+                : defaultWindow(windows);
+        if (!windows.contains(windowMinutes)) {
+            return ToolResponses.error(objectMapper,
+                    "Unsupported window_minutes: " + windowMinutes + ", available: " + windows);
+        }
+
+        String sortBy = arguments.has("sort_by") ? arguments.get("sort_by").asText() : SORT_RANK_VELOCITY;
+        TrendIndex.Order order;
+        if (SORT_RANK_VELOCITY.equals(sortBy)) {
+            order = TrendIndex.Order.RANK_VELOCITY;
+        } else if (SORT_SCORE_ACCELERATION.equals(sortBy)) {
+            order = TrendIndex.Order.SCORE_ACCELERATION;
+        } else {
+            return ToolResponses.error(objectMapper, "Unsupported sort_by: " + sortBy);
+        }
+
+        // 平台参数可以是别名（如 zh、Zhihu），趋势索引只按平台 ID 过滤
+        List<String> platforms = null;
+        if (arguments.has("platforms") && arguments.get("platforms").isArray()
+                && !arguments.get("platforms").isEmpty()) {
+            Set<String> resolved = new LinkedHashSet<>();
+            List<String> unknown = new ArrayList<>();
+            for (JsonNode p : arguments.get("platforms")) {
+                String platformId = PlatformRegistry.getInstance().resolveId(p.asText());
+                if (platformId != null) {
+                    resolved.add(platformId);
+                } else {
+                    unknown.add(p.asText());
+                }
+            }
+            if (resolved.isEmpty()) {
+                return ToolResponses.error(objectMapper, "Unknown platforms: " + unknown);
+            }
+            platforms = new ArrayList<>(resolved);
+        }
+
+        int limit = arguments.has("limit") ? arguments.get("limit").asInt(20) : 20;
+        limit = Math.max(1, Math.min(limit, 100));
+
+        boolean refresh = arguments.has("refresh") && arguments.get("refresh").asBoolean(false);
+        CrawlResult crawlResult = refresh ? newsService.getHotNews(platforms, 100) : null;
+
+        Set<String> platformFilter = platforms != null ? new HashSet<>(platforms) : Set.of();
+        List<RisingStory> stories = trendIndex.top(windowMinutes, order, limit, platformFilter,
+                System.currentTimeMillis());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", true);
+        result.put("window_minutes", windowMinutes);
+        result.put("sort_by", sortBy);
+        result.put("count", stories.size());
+        if (stories.isEmpty()) {
+            result.put("note", "Not enough history yet: rising stories need at least two snapshots"
+                    + (order == TrendIndex.Order.SCORE_ACCELERATION ? " (three for score_acceleration)" : "")
+                    + " within the window");
+        }
+
+        ToolResponses.putFailures(result, crawlResult);
+
+        result.put("timestamp", System.currentTimeMillis());
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (RisingStory story : stories) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("title", story.title());
+            item.put("url", story.url());
+            item.put("platform", story.platform());
+            item.put("rank", story.rank());
+            item.put("hot_score", story.hotScore());
+            item.put("rank_change", story.rankChange());
+            if (!Double.isNaN(story.rankVelocityPerHour())) {
+                item.put("rank_velocity_per_hour", round(story.rankVelocityPerHour()));
+            }
+            if (!Double.isNaN(story.scoreAccelerationPerHour2())) {
+                item.put("score_acceleration", round(story.scoreAccelerationPerHour2()));
+            }
+            item.put("observed_minutes", story.observedMinutes());
+            data.add(item);
+        }
+        result.put("data", data);
+
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * 默认使用 60 分钟窗口，未配置时取最小窗口
+     */
+    private static int defaultWindow(List<Integer> windows) {
+        return windows.contains(60) ? 60 : windows.get(0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.paiad.mcp.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.model.pojo.CrawlResult;
+import com.paiad.mcp.model.pojo.KeywordTrend;
+import com.paiad.mcp.service.NewsService;
+import com.paiad.mcp.service.TrendingKeywords;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热门关键词工具
+ *
+ * 返回最近一段时间内跨平台出现最多的关键词，数据来自入库时维护的 {@link TrendingKeywords}。
+ */
+public class GetTrendingKeywordsTool implements McpTool {
+
+    private final NewsService newsService;
+
+    public GetTrendingKeywordsTool(NewsService newsService) {
+        this.newsService = newsService;
+    }
+
+    @Override
+    public String getName() {
+        return "get_trending_keywords";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Get the keywords (people, organizations, places, topics) mentioned most across all platforms' news titles recently. Mentions decay with a half-life of "
+                + newsService.getTrendingKeywords().getHalfLifeMinutes()
+                + " minutes, so the ranking reflects roughly the last hour. Use this when the user asks what topics are hot or trending overall.";
+    }
+
+    @Override
+    public JsonNode getInputSchema(ObjectMapper objectMapper) {
+        ObjectNode schema = objectMapper.createObjectNode();
+        schema.put("type", "object");
+
+        ObjectNode properties = objectMapper.createObjectNode();
+
+        ObjectNode limitProp = objectMapper.createObjectNode();
+        limitProp.put("type", "integer");
+        limitProp.put("description", "Result limit, default 20, max 100");
+        limitProp.put("default", 20);
+        properties.set("limit", limitProp);
+
+        ObjectNode keywordsProp = objectMapper.createObjectNode();
+        keywordsProp.put("type", "array");
+        ObjectNode keywordItems = objectMapper.createObjectNode();
+        keywordItems.put("type", "string");
+        keywordsProp.set("items", keywordItems);
+        keywordsProp.put("description", "Optional. Also return the current decayed mention count of these keywords");
+        properties.set("keywords", keywordsProp);
+
+        ObjectNode refreshProp = objectMapper.createObjectNode();
+        refreshProp.put("type", "boolean");
+        refreshProp.put("description", "Crawl the default platforms before ranking, default false (rank the mentions already recorded by earlier crawls)");
+        refreshProp.put("default", false);
+        properties.set("refresh", refreshProp);
+
+        schema.set("properties", properties);
+        return schema;
+    }
+
+    @Override
+    public String execute(JsonNode arguments, ObjectMapper objectMapper) throws Exception {
+        int limit = arguments.has("limit") ? arguments.get("limit").asInt(20) : 20;
+        limit = Math.max(1, Math.min(limit, 100));
+
+        // 关键词计数是跨平台汇总的，无法按平台拆分，因此不提供平台过滤
+        boolean refresh = arguments.has("refresh") && arguments.get("refresh").asBoolean(false);
+        CrawlResult crawlResult = refresh ? newsService.getHotNews(null, 0) : null;
+
+        TrendingKeywords trendingKeywords = newsService.getTrendingKeywords();
+        long now = System.currentTimeMillis();
+        List<KeywordTrend> trends = trendingKeywords.top(limit, now);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", true);
+        result.put("half_life_minutes", trendingKeywords.getHalfLifeMinutes());
+        result.put("count", trends.size());
+        if (trends.isEmpty()) {
+            result.put("note", "No keywords recorded yet");
+        }
+
+        if (arguments.has("keywords") && arguments.get("keywords").isArray()) {
+            Map<String, Double> estimates = new LinkedHashMap<>();
+            for (JsonNode keyword : arguments.get("keywords")) {
+                estimates.put(keyword.asText(), round(trendingKeywords.estimate(keyword.asText(), now)));
+            }
+            result.put("keyword_scores", estimates);
+        }
+
+        ToolResponses.putFailures(result, crawlResult);
+
+        result.put("timestamp", now);
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (KeywordTrend trend : trends) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("keyword", trend.keyword());
+            item.put("score", round(trend.score()));
+            item.put("min_score", round(Math.max(0, trend.score() - trend.errorBound())));
+            item.put("platform_count", trend.platforms().size());
+            item.put("platforms", trend.platforms());
+            data.add(item);
+        }
+        result.put("data", data);
+
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -33,4 +33,12 @@ public interface McpTool {
      * @throws Exception 执行异常
      */
     String execute(JsonNode arguments, ObjectMapper objectMapper) throws Exception;
+
+    /**
+     * 结果是否可分页：返回 true 的工具，其结果需为带 data 数组的 JSON 对象，
+     * 调用方传入 page_size 时由 McpRequestHandler 按页切分，后续页通过 page_cursor 从会话快照中读取
+     */
+    default boolean supportsPagination() {
+        return false;
+    }
 }
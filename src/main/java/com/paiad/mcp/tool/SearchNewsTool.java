@@ -7,10 +7,16 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.paiad.mcp.config.PlatformPriorityConfig;
 import com.paiad.mcp.model.pojo.CrawlResult;
 import com.paiad.mcp.model.pojo.NewsItem;
-import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
 import com.paiad.mcp.model.vo.NewsItemVO;
 import com.paiad.mcp.service.NewsService;
-
+import com.paiad.mcp.service.QueryMatcher;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -35,7 +41,7 @@ public class SearchNewsTool implements McpTool {
 
     @Override
     public String getDescription() {
-        return "Search for specific topics or keywords in news across platforms. Supports fuzzy matching with Chinese word segmentation. Use this when the user asks about specific topics, events, or keywords (e.g., 'AI news', 'Trump', 'Bitcoin').";
+        return "Search for specific topics or keywords in news across platforms. Supports fuzzy matching with Chinese word segmentation, typos and pinyin input (e.g. 'masike'). Use this when the user asks about specific topics, events, or keywords (e.g., 'AI news', 'Trump', 'Bitcoin'). Results include a 'highlight' title with matched parts wrapped in **. Pass from/to to search archived snapshots of past hot lists instead of crawling now.";
     }
 
     @Override
@@ -69,6 +75,30 @@ public class SearchNewsTool implements McpTool {
         limitProp.put("default", 20);
         properties.set("limit", limitProp);
 
+        ObjectNode fromProp = objectMapper.createObjectNode();
+        fromProp.put("type", "string");
+        fromProp.put("description", "Search archived snapshots crawled at or after this time "
+                + "(ISO-8601 date or date-time, or epoch milliseconds). Defaults to the start of the archive when only 'to' is given");
+        properties.set("from", fromProp);
+
+        ObjectNode toProp = objectMapper.createObjectNode();
+        toProp.put("type", "string");
+        toProp.put("description", "Search archived snapshots crawled at or before this time "
+                + "(ISO-8601 date or date-time, or epoch milliseconds; a date covers the whole day). Defaults to now when only 'from' is given");
+        properties.set("to", toProp);
+
+        ObjectNode pageSizeProp = objectMapper.createObjectNode();
+        pageSizeProp.put("type", "integer");
+        pageSizeProp.put("description", "Optional. Split the result into pages of this size (max 100). "
+                + "With an Mcp-Session-Id session the response carries page.next_cursor for the following page");
+        properties.set("page_size", pageSizeProp);
+
+        ObjectNode pageCursorProp = objectMapper.createObjectNode();
+        pageCursorProp.put("type", "string");
+        pageCursorProp.put("description", "Optional. The page.next_cursor value from a previous response in the same session. "
+                + "Returns the next page of that same ranked result without searching again; other arguments are ignored");
+        properties.set("page_cursor", pageCursorProp);
+
         schema.set("properties", properties);
         ArrayNode required = objectMapper.createArrayNode();
         required.add("query");
@@ -77,10 +107,15 @@ public class SearchNewsTool implements McpTool {
         return schema;
     }
 
+    @Override
+    public boolean supportsPagination() {
+        return true;
+    }
+
     @Override
     public String execute(JsonNode arguments, ObjectMapper objectMapper) throws Exception {
         String query = arguments.has("query") ? arguments.get("query").asText() : "";
-        if (query.isEmpty()) {
+        if (query.isBlank()) {
             return "{\"success\": false, \"error\": \"Query keyword cannot be empty\"}";
         }
 
@@ -95,7 +130,14 @@ public class SearchNewsTool implements McpTool {
         int limit = arguments.has("limit") ? arguments.get("limit").asInt(20) : 20;
         limit = Math.min(limit, 100);
 
-        CrawlResult crawlResult = newsService.searchNews(query, platforms, limit);
+        // 打分与高亮共用同一个匹配器，每次搜索只分词、编译一次
+        QueryMatcher matcher = QueryMatcher.compile(query.trim().toLowerCase());
+
+        if (arguments.hasNonNull("from") || arguments.hasNonNull("to")) {
+            return searchHistory(query, matcher, platforms, limit, arguments, objectMapper);
+        }
+
+        CrawlResult crawlResult = newsService.searchNews(matcher, platforms, limit);
         List<NewsItem> news = crawlResult.getData();
 
         Map<String, Object> result = new LinkedHashMap<>();
@@ -104,37 +146,95 @@ public class SearchNewsTool implements McpTool {
         result.put("query", query);
         result.put("count", news.size());
 
-        if (crawlResult.hasFailures()) {
-            result.put("failures", crawlResult.getFailures());
-            result.put("failure_count", crawlResult.getFailures().size());
-            result.put("failure_details", buildFailureDetails(crawlResult.getOutcomes()));
-        }
+        ToolResponses.putFailures(result, crawlResult);
 
         result.put("timestamp", System.currentTimeMillis());
 
-        // 转换为简化的 VO 格式
-        List<NewsItemVO> formattedNews = news.stream()
-                .map(NewsItem::toVO)
-                .collect(Collectors.toList());
+        // 转换为简化的 VO 格式，并标记命中片段
+        List<NewsItemVO> formattedNews = new ArrayList<>(news.size());
+        for (NewsItem item : news) {
+            NewsItemVO vo = item.toVO();
+            if (vo.getTitle() != null) {
+                vo.setHighlight(matcher.highlight(vo.getTitle()));
+            }
+            formattedNews.add(vo);
+        }
         result.put("data", formattedNews);
 
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
     }
 
-    private List<Map<String, Object>> buildFailureDetails(List<PlatformCrawlOutcome> outcomes) {
-        List<Map<String, Object>> details = new ArrayList<>();
-        for (PlatformCrawlOutcome outcome : outcomes) {
-            if (!outcome.isFailure()) {
-                continue;
-            }
-            Map<String, Object> detail = new LinkedHashMap<>();
-            detail.put("platform", outcome.platformId());
-            detail.put("status", outcome.status().name());
-            detail.put("error_code", outcome.errorCode());
-            detail.put("error_message", outcome.errorMessage());
-            detail.put("latency_ms", outcome.latencyMs());
-            details.add(detail);
+    /**
+     * 在历史快照归档中检索，不发起爬取
+     */
+    private String searchHistory(String query, QueryMatcher matcher, List<String> platforms, int limit,
+            JsonNode arguments, ObjectMapper objectMapper) throws Exception {
+        if (!newsService.isArchiveEnabled()) {
+            return "{\"success\": false, \"error\": \"History search is unavailable: the snapshot archive is disabled on this server (archive.enabled=false). Omit from/to to search current hot lists\"}";
+        }
+        long from;
+        long to;
+        try {
+            from = arguments.hasNonNull("from") ? parseTime(arguments.get("from"), false) : 0L;
+            to = arguments.hasNonNull("to") ? parseTime(arguments.get("to"), true) : System.currentTimeMillis();
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return "{\"success\": false, \"error\": \"Invalid from/to, expected ISO-8601 date, date-time or epoch milliseconds\"}";
+        }
+        if (from > to) {
+            return "{\"success\": false, \"error\": \"'from' must not be later than 'to'\"}";
+        }
+
+        List<NewsItem> news = newsService.searchHistory(matcher, platforms, from, to, limit);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", true);
+        result.put("source", "archive");
+        result.put("query", query);
+        result.put("from", Instant.ofEpochMilli(from).toString());
+        result.put("to", Instant.ofEpochMilli(to).toString());
+        result.put("count", news.size());
+        result.put("timestamp", System.currentTimeMillis());
+
+        List<Map<String, Object>> data = new ArrayList<>(news.size());
+        for (NewsItem item : news) {
+            NewsItemVO vo = item.toVO();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("title", vo.getTitle());
+            entry.put("highlight", matcher.highlight(vo.getTitle()));
+            entry.put("platform", vo.getPlatform());
+            entry.put("hot", vo.getHot());
+            entry.put("url", vo.getUrl());
+            entry.put("rank", item.getRank());
+            entry.put("seen_at", Instant.ofEpochMilli(item.getTimestamp()).toString());
+            data.add(entry);
+        }
+        result.put("data", data);
+
+        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+    }
+
+    /**
+     * 解析时间参数：毫秒时间戳、带时区的时间、本地时间（服务器时区）或日期（from 取当天开始，to 取当天结束）
+     */
+    static long parseTime(JsonNode node, boolean endOfRange) {
+        if (node.isIntegralNumber()) {
+            return node.asLong();
+        }
+        String value = node.asText().trim();
+        if (value.chars().allMatch(Character::isDigit) && !value.isEmpty()) {
+            return Long.parseLong(value);
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        if (value.length() == 10) {
+            LocalDate date = LocalDate.parse(value);
+            return endOfRange
+                    ? date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1
+                    : date.atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(value).atZone(zone).toInstant().toEpochMilli();
         }
-        return details;
     }
 }
@@ -0,0 +1,64 @@
+package com.paiad.mcp.tool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paiad.mcp.model.pojo.CrawlResult;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 各工具共用的响应字段构造
+ */
+final class ToolResponses {
+
+    private ToolResponses() {
+    }
+
+    /**
+     * 构造失败响应；错误信息可能包含调用方传入的参数，由 ObjectMapper 转义
+     */
+    static String error(ObjectMapper objectMapper, String message) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("success", false);
+        result.put("error", message);
+        return objectMapper.writeValueAsString(result);
+    }
+
+    /**
+     * 爬取存在失败平台时写入 failures、failure_count 与 failure_details
+     */
+    static void putFailures(Map<String, Object> result, CrawlResult crawlResult) {
+        if (crawlResult == null || !crawlResult.hasFailures()) {
+            return;
+        }
+        result.put("failures", crawlResult.getFailures());
+        result.put("failure_count", crawlResult.getFailures().size());
+        result.put("failure_details", failureDetails(crawlResult.getOutcomes()));
+    }
+
+    static List<Map<String, Object>> failureDetails(List<PlatformCrawlOutcome> outcomes) {
+        List<Map<String, Object>> details = new ArrayList<>();
+        for (PlatformCrawlOutcome outcome : outcomes) {
+            if (!outcome.isFailure()) {
+                continue;
+            }
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("platform", outcome.platformId());
+            detail.put("status", outcome.status().name());
+            detail.put("error_code", outcome.errorCode());
+            detail.put("error_message", outcome.errorMessage());
+            detail.put("latency_ms", outcome.latencyMs());
+            if (outcome.circuitState() != null) {
+                detail.put("circuit_state", outcome.circuitState());
+            }
+            if (!outcome.phaseTimingsMs().isEmpty()) {
+                detail.put("phase_timings_ms", outcome.phaseTimingsMs());
+            }
+            details.add(detail);
+        }
+        return details;
+    }
+}
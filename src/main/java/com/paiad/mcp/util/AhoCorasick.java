@@ -0,0 +1,194 @@
+package com.paiad.mcp.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick 多模式匹配自动机 - 一次扫描文本找出全部模式串的出现位置
+ *
+ * 按 char 构建 trie 与失配链接，转移表是以 (状态 << 16 | 字符) 为键的开放寻址哈希表，不为每个节点分配 Map；
+ * 每个状态的输出以位图保存（已合并失配链上的输出），因此最多支持 64 个模式串。
+ * 匹配时文本与模式串都按 Character.toLowerCase(char) 逐字符转小写，位置与原文一一对应，无需先复制出小写字符串。
+ *
+ * 构建后不可变，可在多个线程间共享。
+ *
+ * @author Paiad
+ */
+public final class AhoCorasick {
+
+    public static final int MAX_PATTERNS = Long.SIZE;
+
+    private static final long EMPTY = -1L;
+
+    private final int[] patternLengths;
+    private final long allPatterns;
+
+    /**
+     * 每个状态的失配链接与输出位图，状态 0 为根
+     */
+    private final int[] fail;
+    private final long[] output;
+
+    private final long[] edgeKeys;
+    private final int[] edgeTargets;
+    private final int edgeShift;
+
+    /**
+     * 匹配回调
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+
+        /**
+         * @param pattern 模式串序号
+         * @param start   起始位置（含）
+         * @param end     结束位置（不含）
+         */
+        void accept(int pattern, int start, int end);
+    }
+
+    public AhoCorasick(List<String> patterns) {
+        if (patterns.isEmpty() || patterns.size() > MAX_PATTERNS) {
+            throw new IllegalArgumentException("pattern count must be in [1, " + MAX_PATTERNS + "]: " + patterns.size());
+        }
+        int maxStates = 1;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("patterns must not be empty");
+            }
+            maxStates += pattern.length();
+        }
+
+        int tableSize = Integer.highestOneBit(Math.max(2, maxStates * 2 - 1)) << 1;
+        this.edgeKeys = new long[tableSize];
+        this.edgeTargets = new int[tableSize];
+        this.edgeShift = Long.SIZE - Integer.numberOfTrailingZeros(tableSize);
+        Arrays.fill(edgeKeys, EMPTY);
+
+        // 构建 trie，记录每个状态的父状态、入边字符与深度
+        int[] parents = new int[maxStates];
+        char[] labels = new char[maxStates];
+        int[] depths = new int[maxStates];
+        long[] outputs = new long[maxStates];
+        this.patternLengths = new int[patterns.size()];
+        int states = 1;
+        for (int index = 0; index < patterns.size(); index++) {
+            String pattern = patterns.get(index);
+            patternLengths[index] = pattern.length();
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = Character.toLowerCase(pattern.charAt(i));
+                int target = transition(state, c);
+                if (target < 0) {
+                    target = states++;
+                    parents[target] = state;
+                    labels[target] = c;
+                    depths[target] = depths[state] + 1;
+                    putTransition(state, c, target);
+                }
+                state = target;
+            }
+            outputs[state] |= 1L << index;
+        }
+        this.allPatterns = patterns.size() == Long.SIZE ? -1L : (1L << patterns.size()) - 1;
+
+        // 按深度顺序计算失配链接：父状态与失配目标的深度都更小，已计算完成
+        Integer[] order = new Integer[states];
+        for (int i = 0; i < states; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(depths[a], depths[b]));
+        this.fail = new int[states];
+        this.output = Arrays.copyOf(outputs, states);
+        for (int state : order) {
+            if (depths[state] <= 1) {
+                continue;
+            }
+            int target = next(fail[parents[state]], labels[state]);
+            fail[state] = target;
+            output[state] |= output[target];
+        }
+    }
+
+    public int patternCount() {
+        return patternLengths.length;
+    }
+
+    /**
+     * 文本中出现过的模式串位图（第 i 位对应第 i 个模式串），全部出现后提前结束扫描
+     */
+    public long matchMask(CharSequence text) {
+        long mask = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, Character.toLowerCase(text.charAt(i)));
+            mask |= output[state];
+            if (mask == allPatterns) {
+                break;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 按结束位置顺序回调每一次出现（包括重叠的出现），结束位置相同时按模式串序号
+     */
+    public void forEachMatch(CharSequence text, MatchConsumer consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, Character.toLowerCase(text.charAt(i)));
+            long matched = output[state];
+            while (matched != 0) {
+                int pattern = Long.numberOfTrailingZeros(matched);
+                matched &= matched - 1;
+                consumer.accept(pattern, i + 1 - patternLengths[pattern], i + 1);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int target = transition(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+
+    private int transition(int state, char c) {
+        long key = edgeKey(state, c);
+        int mask = edgeKeys.length - 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long existing = edgeKeys[slot];
+            if (existing == key) {
+                return edgeTargets[slot];
+            }
+            if (existing == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private void putTransition(int state, char c, int target) {
+        long key = edgeKey(state, c);
+        int mask = edgeKeys.length - 1;
+        int slot = slot(key);
+        while (edgeKeys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        edgeKeys[slot] = key;
+        edgeTargets[slot] = target;
+    }
+
+    private static long edgeKey(int state, char c) {
+        return ((long) state << Character.SIZE) | c;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> edgeShift);
+    }
+}
@@ -1,5 +1,6 @@
 package com.paiad.mcp.util;
 
+import com.paiad.mcp.config.PlatformPriorityConfig;
 import okhttp3.ConnectionPool;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -12,8 +13,11 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -24,6 +28,12 @@ import java.util.concurrent.TimeUnit;
  * - 环境变量: HTTP_PROXY 或 HTTPS_PROXY
  * - .env 文件: HTTP_PROXY=http://127.0.0.1:7890
  *
+ * 支持录制/回放（用于离线基准测试与压测），环境变量或同名系统属性：
+ * - CRAWLER_HTTP_MODE: live（默认）/ record / replay
+ * - CRAWLER_FIXTURES_DIR: fixtures 目录，默认 ./fixtures
+ * - CRAWLER_REPLAY_LATENCY_MS: 回放注入的固定延迟，默认使用录制耗时
+ * - CRAWLER_REPLAY_ERROR_RATE: 回放返回 503 的概率，默认 0
+ *
  * @author Paiad
  */
 public final class HttpClientFactory {
@@ -35,9 +45,25 @@ public final class HttpClientFactory {
     private static final int DOMESTIC_TIMEOUT_SECONDS = 20;
     private static final int INTERNATIONAL_TIMEOUT_SECONDS = 35;
 
+    /**
+     * 按平台限流，直连/代理两个客户端共享同一组令牌桶
+     */
+    private static final RateLimitInterceptor RATE_LIMIT_INTERCEPTOR = new RateLimitInterceptor(
+            platformId -> PlatformPriorityConfig.getInstance().getRateLimit(platformId));
+
+    private static final HttpMode HTTP_MODE = HttpMode.fromEnv(setting("CRAWLER_HTTP_MODE"));
+    private static volatile ReplayServer replayServer;
+
     private HttpClientFactory() {
     }
 
+    /**
+     * 当前 HTTP 模式
+     */
+    public static HttpMode getMode() {
+        return HTTP_MODE;
+    }
+
     /**
      * 获取共享的 OkHttpClient 实例（直连，用于国内平台）
      */
@@ -60,7 +86,10 @@ public final class HttpClientFactory {
     public static OkHttpClient getProxyInstance() {
         if (proxyInstance == null) {
             synchronized (HttpClientFactory.class) {
-                if (proxyInstance == null) {
+                if (proxyInstance == null && HTTP_MODE == HttpMode.REPLAY) {
+                    // 回放只访问本地服务器，不经过代理
+                    proxyInstance = getInstance();
+                } else if (proxyInstance == null) {
                     Proxy proxy = getConfiguredProxy();
                     if (proxy != null) {
                         proxyInstance = createClient(proxy, INTERNATIONAL_TIMEOUT_SECONDS);
@@ -76,6 +105,46 @@ public final class HttpClientFactory {
         return proxyInstance;
     }
 
+    /**
+     * 读取配置：系统属性优先（便于基准测试通过 -D 传入），其次环境变量
+     */
+    private static String setting(String name) {
+        String value = System.getProperty(name);
+        return value != null ? value : System.getenv(name);
+    }
+
+    private static Path fixturesDirectory() {
+        String dir = setting("CRAWLER_FIXTURES_DIR");
+        return Path.of(dir != null && !dir.isBlank() ? dir : "fixtures");
+    }
+
+    /**
+     * 懒加载回放服务器，直连/代理客户端共享
+     */
+    private static ReplayServer replayServer() {
+        if (replayServer == null) {
+            synchronized (HttpClientFactory.class) {
+                if (replayServer == null) {
+                    HttpFixtureStore store = new HttpFixtureStore(fixturesDirectory());
+                    String latency = setting("CRAWLER_REPLAY_LATENCY_MS");
+                    String errorRate = setting("CRAWLER_REPLAY_ERROR_RATE");
+                    try {
+                        List<HttpFixtureStore.Fixture> fixtures = store.loadAll();
+                        if (fixtures.isEmpty()) {
+                            logger.warn("HttpClientFactory: 回放目录 {} 中没有 fixtures", store.getDirectory());
+                        }
+                        replayServer = new ReplayServer(fixtures,
+                                latency != null && !latency.isBlank() ? Long.parseLong(latency.trim()) : -1,
+                                errorRate != null && !errorRate.isBlank() ? Double.parseDouble(errorRate.trim()) : 0);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("启动回放服务器失败: " + store.getDirectory(), e);
+                    }
+                }
+            }
+        }
+        return replayServer;
+    }
+
     /**
      * 从环境变量或 .env 文件读取代理配置
      * 
@@ -172,8 +241,28 @@ public final class HttpClientFactory {
                 // 连接池: 最多20个空闲连接，存活5分钟
                 .connectionPool(new ConnectionPool(20, 5, TimeUnit.MINUTES))
                 .followRedirects(true)
-                // 添加重试拦截器
-                .addInterceptor(new RetryInterceptor(3));
+                // 按平台记录 DNS/建连/TLS/首字节/响应体各阶段耗时
+                .eventListenerFactory(PhaseTimingEventListener.FACTORY);
+
+        // 限流拦截器必须在重试拦截器之前，限流异常不参与重试；回放时没有需要保护的上游，不限流
+        if (HTTP_MODE != HttpMode.REPLAY) {
+            builder.addInterceptor(RATE_LIMIT_INTERCEPTOR);
+        }
+        // 添加重试拦截器
+        builder.addInterceptor(new RetryInterceptor(3));
+
+        switch (HTTP_MODE) {
+            case RECORD -> {
+                builder.addInterceptor(new RecordingInterceptor(new HttpFixtureStore(fixturesDirectory())));
+                logger.info("HttpClientFactory: 录制模式，响应写入 {}", fixturesDirectory().toAbsolutePath());
+            }
+            case REPLAY -> {
+                builder.addInterceptor(new ReplayInterceptor(replayServer().getPort()));
+                logger.info("HttpClientFactory: 回放模式，请求改写到本地回放服务器");
+            }
+            default -> {
+            }
+        }
 
         if (proxy != null) {
             builder.proxy(proxy);
@@ -238,5 +327,8 @@ public final class HttpClientFactory {
             instance.connectionPool().evictAll();
             logger.info("HttpClientFactory: 已关闭共享 OkHttpClient");
         }
+        if (replayServer != null) {
+            replayServer.close();
+        }
     }
 }
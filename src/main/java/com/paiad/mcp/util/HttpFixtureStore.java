@@ -0,0 +1,118 @@
+package com.paiad.mcp.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import okhttp3.HttpUrl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * HTTP 响应 fixtures 的读写
+ *
+ * 目录结构：{@code <fixturesDir>/<platformId>/<host>_<hash>.json}，每个文件保存一次请求的原始响应（状态码、响应头、
+ * 响应体与耗时）。文本响应体以 {@code body} 明文保存便于手工编辑，压缩或二进制响应体以 {@code bodyBase64} 保存。
+ *
+ * @author Paiad
+ */
+public final class HttpFixtureStore {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path directory;
+
+    public HttpFixtureStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 单次请求的录制结果
+     *
+     * @param key        回放匹配键，见 {@link #keyOf(String, HttpUrl)}
+     * @param platformId 发起请求的平台，未知时为 unknown
+     * @param latencyMs  录制时从发出请求到收到响应头的耗时
+     */
+    public record Fixture(
+            String key,
+            String platformId,
+            String method,
+            String url,
+            int status,
+            Map<String, List<String>> headers,
+            String body,
+            String bodyBase64,
+            long latencyMs,
+            long recordedAt) {
+
+        public byte[] bodyBytes() {
+            if (bodyBase64 != null) {
+                return Base64.getDecoder().decode(bodyBase64);
+            }
+            return body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        }
+    }
+
+    /**
+     * 回放匹配键：方法 + 主机 + 路径 + 查询串，不区分 http/https
+     */
+    public static String keyOf(String method, HttpUrl url) {
+        String query = url.encodedQuery();
+        return method.toUpperCase(Locale.ROOT) + " " + url.host() + url.encodedPath()
+                + (query != null ? "?" + query : "");
+    }
+
+    /**
+     * 忽略查询串的匹配键，用于带时间戳等动态参数的请求
+     */
+    public static String pathKeyOf(String key) {
+        int queryStart = key.indexOf('?');
+        return queryStart >= 0 ? key.substring(0, queryStart) : key;
+    }
+
+    public Path save(Fixture fixture) throws IOException {
+        String host = HttpUrl.get(fixture.url()).host().replaceAll("[^a-zA-Z0-9.-]", "_");
+        Path file = directory.resolve(fixture.platformId()).resolve(host + "_" + hash(fixture.key()) + ".json");
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        MAPPER.writeValue(tmp.toFile(), fixture);
+        return Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public List<Fixture> loadAll() throws IOException {
+        List<Fixture> fixtures = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return fixtures;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".json")).sorted().toList()) {
+                fixtures.add(MAPPER.readValue(file.toFile(), Fixture.class));
+            }
+        }
+        return fixtures;
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
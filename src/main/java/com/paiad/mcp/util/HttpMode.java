@@ -0,0 +1,29 @@
+package com.paiad.mcp.util;
+
+import java.util.Locale;
+
+/**
+ * 爬虫 HTTP 模式
+ * - LIVE: 直接访问真实平台（默认）
+ * - RECORD: 访问真实平台，同时把原始响应写入 fixtures 目录
+ * - REPLAY: 不访问外网，由本地 {@link ReplayServer} 回放 fixtures
+ *
+ * @author Paiad
+ */
+public enum HttpMode {
+    LIVE,
+    RECORD,
+    REPLAY;
+
+    public static HttpMode fromEnv(String value) {
+        if (value == null || value.isBlank()) {
+            return LIVE;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "live" -> LIVE;
+            case "record" -> RECORD;
+            case "replay" -> REPLAY;
+            default -> throw new IllegalArgumentException("Unsupported crawler HTTP mode: " + value);
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package com.paiad.mcp.util;
+
+import com.paiad.mcp.crawler.CrawlContext;
+import com.paiad.mcp.metrics.McpMetrics;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按平台记录 HTTP 调用各阶段耗时的 OkHttp 事件监听器
+ *
+ * 阶段：dns、connect（TCP 建连 + 代理 CONNECT 隧道，不含 TLS）、tls、ttfb（请求发出到响应头）、body（响应体下载）。
+ * 同一 Call 内的重试会累加到对应阶段。调用结束时写入指标直方图，并累加到请求 tag 中的 {@link CrawlContext}。
+ * 调用失败时，尚未结束的阶段按失败时刻截止，便于定位卡在哪个阶段。
+ *
+ * @author Paiad
+ */
+public final class PhaseTimingEventListener extends EventListener {
+
+    /**
+     * 每个 Call 创建一个监听器实例
+     */
+    public static final EventListener.Factory FACTORY = call -> new PhaseTimingEventListener(
+            call.request().tag(CrawlContext.class));
+
+    /**
+     * 阶段名称，顺序与 {@link CrawlContext#getPhaseTimingsMs()} 输出一致
+     */
+    public static final List<String> PHASES = List.of("dns", "connect", "tls", "ttfb", "body");
+
+    private static final int DNS = 0;
+    private static final int CONNECT = 1;
+    private static final int TLS = 2;
+    private static final int TTFB = 3;
+    private static final int BODY = 4;
+
+    private final CrawlContext context;
+    private final String platform;
+    private final long[] startNanos = new long[PHASES.size()];
+    private final long[] totalNanos = new long[PHASES.size()];
+    private boolean connectSinceLastAcquire;
+    private boolean finished;
+
+    private PhaseTimingEventListener(CrawlContext context) {
+        this.context = context;
+        this.platform = context != null ? context.getPlatformId() : "unknown";
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        start(DNS);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        end(DNS);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectSinceLastAcquire = true;
+        start(CONNECT);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        start(TLS);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        end(TLS);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        end(CONNECT);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+            IOException ioe) {
+        end(TLS);
+        end(CONNECT);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        McpMetrics.HTTP_CONNECTIONS.labels(platform, connectSinceLastAcquire ? "false" : "true").inc();
+        connectSinceLastAcquire = false;
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        start(TTFB);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        end(TTFB);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        start(BODY);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        end(BODY);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        finish();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        for (int i = 0; i < startNanos.length; i++) {
+            end(i);
+        }
+        finish();
+        if (context != null) {
+            context.onCallFailed(call);
+        }
+    }
+
+    private void start(int phase) {
+        startNanos[phase] = System.nanoTime();
+    }
+
+    private void end(int phase) {
+        if (startNanos[phase] != 0) {
+            totalNanos[phase] += System.nanoTime() - startNanos[phase];
+            startNanos[phase] = 0;
+        }
+    }
+
+    private void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        // connect 事件包含 TLS 握手，拆分为纯建连耗时
+        totalNanos[CONNECT] = Math.max(0, totalNanos[CONNECT] - totalNanos[TLS]);
+
+        long[] millis = new long[totalNanos.length];
+        for (int i = 0; i < totalNanos.length; i++) {
+            millis[i] = TimeUnit.NANOSECONDS.toMillis(totalNanos[i]);
+            if (totalNanos[i] > 0) {
+                McpMetrics.HTTP_PHASE_DURATION.labels(platform, PHASES.get(i)).observeMillis(millis[i]);
+            }
+        }
+        if (context != null) {
+            context.addPhaseTimings(millis);
+        }
+    }
+}
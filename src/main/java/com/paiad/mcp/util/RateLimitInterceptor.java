@@ -0,0 +1,100 @@
+package com.paiad.mcp.util;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.RateLimitInfo;
+import com.paiad.mcp.crawler.CrawlContext;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 按平台的令牌桶限流拦截器
+ *
+ * 令牌桶以平台为粒度，与 platforms.yml 中按平台声明的 rate_limit 配置一一对应
+ * （平台通过 Request tag 中的 {@link CrawlContext} 识别），平台访问的所有主机共享同一预算。
+ * 若按主机分桶，共用主机的平台会沿用先到平台的速率，配置不再可预期。预算耗尽时不等待，
+ * 直接抛出 {@link RateLimitedException}，由爬虫回退到上次快照。
+ *
+ * 注意：该拦截器需位于 RetryInterceptor 之前（外层），避免限流异常被当作网络错误重试。
+ *
+ * @author Paiad
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private final Function<String, RateLimitInfo> rateLimitLookup;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(Function<String, RateLimitInfo> rateLimitLookup) {
+        this(rateLimitLookup, System::nanoTime);
+    }
+
+    RateLimitInterceptor(Function<String, RateLimitInfo> rateLimitLookup, LongSupplier nanoClock) {
+        this.rateLimitLookup = rateLimitLookup;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        CrawlContext context = request.tag(CrawlContext.class);
+        if (context == null) {
+            return chain.proceed(request);
+        }
+
+        RateLimitInfo rateLimit = rateLimitLookup.apply(context.getPlatformId());
+        if (rateLimit == null) {
+            return chain.proceed(request);
+        }
+
+        String host = request.url().host();
+        TokenBucket bucket = buckets.computeIfAbsent(context.getPlatformId(),
+                id -> new TokenBucket(rateLimit.getBurst(), rateLimit.getPermitsPerMinute(), nanoClock));
+        if (!bucket.tryAcquire()) {
+            context.markThrottled();
+            logger.warn("[{}] 主机 {} 触发本地限流 ({}/min, burst {})", context.getPlatformId(), host,
+                    rateLimit.getPermitsPerMinute(), rateLimit.getBurst());
+            throw new RateLimitedException(host);
+        }
+        return chain.proceed(request);
+    }
+
+    /**
+     * 令牌桶：容量为 burst，按 permitsPerMinute 匀速补充
+     */
+    static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private final LongSupplier nanoClock;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(int capacity, int permitsPerMinute, LongSupplier nanoClock) {
+            this.capacity = capacity;
+            this.refillPerNano = permitsPerMinute / 60_000_000_000.0;
+            this.nanoClock = nanoClock;
+            this.tokens = capacity;
+            this.lastRefillNanos = nanoClock.getAsLong();
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return true;
+            }
+            return false;
+        }
+    }
+}
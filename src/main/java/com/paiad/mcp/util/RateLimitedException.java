@@ -0,0 +1,22 @@
+package com.paiad.mcp.util;
+
+import java.io.IOException;
+
+/**
+ * 本地限流异常 - 平台令牌桶耗尽时抛出，请求不会发往网络
+ *
+ * @author Paiad
+ */
+public class RateLimitedException extends IOException {
+
+    private final String host;
+
+    public RateLimitedException(String host) {
+        super("本地限流: " + host + " 请求预算已耗尽");
+        this.host = host;
+    }
+
+    public String getHost() {
+        return host;
+    }
+}
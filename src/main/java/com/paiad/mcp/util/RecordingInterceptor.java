@@ -0,0 +1,84 @@
+package com.paiad.mcp.util;
+
+import com.paiad.mcp.crawler.CrawlContext;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 录制拦截器 - 把真实平台的原始响应写入 fixtures，供 {@link ReplayServer} 离线回放
+ *
+ * 位于重试拦截器之后，每次实际发出的请求都会被录制；同一请求重复录制时以最新响应为准。
+ * 录制失败只记录日志，不影响爬取本身。
+ *
+ * @author Paiad
+ */
+public final class RecordingInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingInterceptor.class);
+
+    private final HttpFixtureStore store;
+
+    public RecordingInterceptor(HttpFixtureStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        try {
+            record(request, response);
+        } catch (Exception e) {
+            logger.warn("录制响应失败: {} - {}", request.url(), e.getMessage());
+        }
+        return response;
+    }
+
+    private void record(Request request, Response response) throws IOException {
+        CrawlContext context = request.tag(CrawlContext.class);
+        String platformId = context != null ? context.getPlatformId() : "unknown";
+        // peekBody 读取副本，原响应体仍可被爬虫消费
+        ResponseBody peeked = response.peekBody(Long.MAX_VALUE);
+        byte[] bytes = peeked.bytes();
+
+        String text = response.header("Content-Encoding") == null ? decodeUtf8(bytes) : null;
+        HttpFixtureStore.Fixture fixture = new HttpFixtureStore.Fixture(
+                HttpFixtureStore.keyOf(request.method(), request.url()),
+                platformId,
+                request.method(),
+                request.url().toString(),
+                response.code(),
+                response.headers().toMultimap(),
+                text,
+                text == null ? Base64.getEncoder().encodeToString(bytes) : null,
+                response.receivedResponseAtMillis() - response.sentRequestAtMillis(),
+                System.currentTimeMillis());
+        logger.debug("[{}] 已录制 {} -> {}", platformId, fixture.key(), store.save(fixture));
+    }
+
+    /**
+     * 仅当响应体是合法 UTF-8 时返回明文，否则返回 null 以 Base64 保存
+     */
+    private static String decodeUtf8(byte[] bytes) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.paiad.mcp.util;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * 回放拦截器 - 把发往真实平台的请求改写到本地 {@link ReplayServer}
+ *
+ * 原始主机通过 {@link ReplayServer#ORIGIN_HOST_HEADER} 传递，路径与查询串保持不变，
+ * 因此爬虫代码与解析逻辑无需任何修改。
+ *
+ * @author Paiad
+ */
+public final class ReplayInterceptor implements Interceptor {
+
+    private final int port;
+
+    public ReplayInterceptor(int port) {
+        this.port = port;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        HttpUrl original = request.url();
+        HttpUrl rewritten = original.newBuilder()
+                .scheme("http")
+                .host("127.0.0.1")
+                .port(port)
+                .build();
+        return chain.proceed(request.newBuilder()
+                .url(rewritten)
+                .header(ReplayServer.ORIGIN_HOST_HEADER, original.host())
+                .build());
+    }
+}
@@ -0,0 +1,142 @@
+package com.paiad.mcp.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 本地回放服务器 - 基于 JDK HttpServer 回放录制的 fixtures
+ *
+ * 匹配规则：先按方法 + 主机 + 路径 + 查询串精确匹配，未命中时忽略查询串（兼容带时间戳参数的请求）。
+ * 支持注入延迟（默认使用录制时的耗时）与错误率（按比例返回 503），用于离线压测与基准测试。
+ *
+ * @author Paiad
+ */
+public final class ReplayServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayServer.class);
+
+    /**
+     * 携带原始请求主机的请求头，由 {@link ReplayInterceptor} 写入
+     */
+    public static final String ORIGIN_HOST_HEADER = "X-Replay-Origin-Host";
+
+    /**
+     * 由 HttpServer 自行管理或会与回放内容冲突的响应头
+     */
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "transfer-encoding", "connection",
+            "keep-alive", "date");
+
+    private final Map<String, HttpFixtureStore.Fixture> exactMatches = new HashMap<>();
+    private final Map<String, HttpFixtureStore.Fixture> pathMatches = new HashMap<>();
+    private final long latencyOverrideMs;
+    private final double errorRate;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param fixtures          回放的响应
+     * @param latencyOverrideMs 固定注入延迟，小于 0 时使用录制耗时
+     * @param errorRate         返回 503 的概率，取值 [0, 1]
+     */
+    public ReplayServer(List<HttpFixtureStore.Fixture> fixtures, long latencyOverrideMs, double errorRate)
+            throws IOException {
+        for (HttpFixtureStore.Fixture fixture : fixtures) {
+            exactMatches.put(fixture.key(), fixture);
+            pathMatches.put(HttpFixtureStore.pathKeyOf(fixture.key()), fixture);
+        }
+        this.latencyOverrideMs = latencyOverrideMs;
+        this.errorRate = Math.max(0, Math.min(1, errorRate));
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("ReplayServer: 监听 127.0.0.1:{}，共 {} 个 fixtures（延迟: {}，错误率: {}）", getPort(),
+                fixtures.size(), latencyOverrideMs < 0 ? "录制值" : latencyOverrideMs + "ms", this.errorRate);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public int getFixtureCount() {
+        return exactMatches.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String host = exchange.getRequestHeaders().getFirst(ORIGIN_HOST_HEADER);
+            String key = exchange.getRequestMethod().toUpperCase(Locale.ROOT) + " " + host
+                    + exchange.getRequestURI().getRawPath()
+                    + (exchange.getRequestURI().getRawQuery() != null ? "?" + exchange.getRequestURI().getRawQuery() : "");
+            HttpFixtureStore.Fixture fixture = exactMatches.get(key);
+            if (fixture == null) {
+                fixture = pathMatches.get(HttpFixtureStore.pathKeyOf(key));
+            }
+            if (fixture == null) {
+                logger.warn("ReplayServer: 未找到 fixture: {}", key);
+                sendText(exchange, 404, "No fixture for " + key);
+                return;
+            }
+
+            sleep(latencyOverrideMs >= 0 ? latencyOverrideMs : fixture.latencyMs());
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                sendText(exchange, 503, "Injected replay error");
+                return;
+            }
+
+            fixture.headers().forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    exchange.getResponseHeaders().put(name, values);
+                }
+            });
+            byte[] body = fixture.bodyBytes();
+            exchange.sendResponseHeaders(fixture.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+        }
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
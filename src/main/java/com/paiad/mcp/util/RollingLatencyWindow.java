@@ -0,0 +1,55 @@
+package com.paiad.mcp.util;
+
+import java.util.Arrays;
+
+/**
+ * 滚动延迟窗口 - 保留最近 N 个延迟样本，用于估算分位数
+ *
+ * 样本量固定且较小（通常几十到几百），分位数查询时复制排序即可，无需维护完整直方图。
+ *
+ * @author Paiad
+ */
+public class RollingLatencyWindow {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    public RollingLatencyWindow(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 计算分位数（nearest-rank）
+     *
+     * @param quantile 分位点，取值 (0, 1]
+     * @return 分位数延迟，无样本时返回 -1
+     */
+    public long percentile(double quantile) {
+        long[] copy;
+        synchronized (this) {
+            if (size == 0) {
+                return -1;
+            }
+            copy = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(copy);
+        int index = (int) Math.ceil(quantile * copy.length) - 1;
+        return copy[Math.max(0, Math.min(copy.length - 1, index))];
+    }
+}
@@ -0,0 +1,224 @@
+package com.paiad.mcp.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 按时间分区轮转的 Bloom 过滤器，持久化在内存映射文件中
+ *
+ * 窗口被切分为 partitions 个等长分区，第 n 个时间段写入 n % partitions 号分区；进入新时间段时清空该分区复用，
+ * 因此最旧的一段会整体过期，查询回答「最近 partitions × partitionMillis 内是否出现过」。
+ * 查询对所有仍在窗口内的分区求或，写入只落在当前分区。
+ *
+ * 位数组与分区起始时间都在映射文件中，进程重启后直接复用；文件头参数与配置不一致时重建。
+ * 非线程安全，由调用方加锁。
+ *
+ * 文件布局：64 字节文件头 | partitions 个 long 分区起始时间 | partitions 个定长位数组
+ *
+ * @author Paiad
+ */
+public final class TimePartitionedBloomFilter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimePartitionedBloomFilter.class);
+
+    private static final int MAGIC = 0x4E424C4D;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final int partitions;
+    private final long partitionMillis;
+    private final long bitsPerPartition;
+    private final int hashCount;
+    private final long bitsOffset;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    /**
+     * @param file                      映射文件，为 null 时使用堆内缓冲区（不持久化）
+     * @param expectedItemsPerPartition 每个分区预期写入的元素数
+     * @param falsePositiveRate         单个分区的目标误判率
+     */
+    public TimePartitionedBloomFilter(Path file, int partitions, long partitionMillis,
+            long expectedItemsPerPartition, double falsePositiveRate) throws IOException {
+        this.partitions = Math.max(1, partitions);
+        this.partitionMillis = Math.max(1, partitionMillis);
+        long n = Math.max(1, expectedItemsPerPartition);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        long bits = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        // 位数组按 64 位对齐
+        this.bitsPerPartition = ((bits + 63) / 64) * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitsPerPartition / n * Math.log(2)));
+        this.bitsOffset = HEADER_BYTES + 8L * this.partitions;
+
+        long size = bitsOffset + this.partitions * (bitsPerPartition / 8);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large to map: " + size + " bytes");
+        }
+
+        if (file == null) {
+            this.channel = null;
+            this.buffer = ByteBuffer.allocate((int) size);
+            writeHeader();
+            return;
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean reuse = channel.size() == size;
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        this.buffer = mapped;
+        if (!reuse || !headerMatches()) {
+            logger.info("创建 Bloom 过滤器文件: {} ({} 字节, {} 个分区, k={})", file, size, this.partitions, hashCount);
+            for (int i = 0; i < size; i += 8) {
+                buffer.putLong(i, 0L);
+            }
+            writeHeader();
+        }
+    }
+
+    /**
+     * 最近一个窗口内是否可能出现过（存在误判，不会漏判）
+     */
+    public boolean mightContain(String key, long now) {
+        long h1 = hash(key, SEED_1);
+        long h2 = hash(key, SEED_2) | 1;
+        long windowStart = now - partitions * partitionMillis;
+        for (int partition = 0; partition < partitions; partition++) {
+            long start = partitionStart(partition);
+            if (start <= windowStart || start > now) {
+                continue;
+            }
+            if (containsIn(partition, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String key, long now) {
+        int partition = currentPartition(now);
+        long h1 = hash(key, SEED_1);
+        long h2 = hash(key, SEED_2) | 1;
+        long base = partitionBase(partition);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerPartition);
+            int index = (int) (base + (bit >>> 3));
+            buffer.put(index, (byte) (buffer.get(index) | (1 << (bit & 7))));
+        }
+    }
+
+    /**
+     * 把映射区域刷到磁盘
+     */
+    public void flush() {
+        if (buffer instanceof MappedByteBuffer mapped) {
+            mapped.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getBitsPerPartition() {
+        return bitsPerPartition;
+    }
+
+    /**
+     * 当前时间段对应的分区；分区属于更早的时间段时先清空再复用
+     */
+    private int currentPartition(long now) {
+        long period = Math.floorDiv(now, partitionMillis);
+        int partition = (int) Math.floorMod(period, (long) partitions);
+        long start = period * partitionMillis;
+        if (partitionStart(partition) != start) {
+            long base = partitionBase(partition);
+            for (long i = 0; i < bitsPerPartition / 8; i += 8) {
+                buffer.putLong((int) (base + i), 0L);
+            }
+            buffer.putLong(HEADER_BYTES + 8 * partition, start);
+        }
+        return partition;
+    }
+
+    private boolean containsIn(int partition, long h1, long h2) {
+        long base = partitionBase(partition);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerPartition);
+            if ((buffer.get((int) (base + (bit >>> 3))) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long partitionStart(int partition) {
+        return buffer.getLong(HEADER_BYTES + 8 * partition);
+    }
+
+    private long partitionBase(int partition) {
+        return bitsOffset + partition * (bitsPerPartition / 8);
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putInt(8, partitions);
+        buffer.putInt(12, hashCount);
+        buffer.putLong(16, bitsPerPartition);
+        buffer.putLong(24, partitionMillis);
+        // 未使用的分区起始时间为 Long.MIN_VALUE，查询时视为已过期
+        for (int partition = 0; partition < partitions; partition++) {
+            buffer.putLong(HEADER_BYTES + 8 * partition, Long.MIN_VALUE);
+        }
+    }
+
+    private boolean headerMatches() {
+        return buffer.getInt(0) == MAGIC
+                && buffer.getInt(4) == FORMAT_VERSION
+                && buffer.getInt(8) == partitions
+                && buffer.getInt(12) == hashCount
+                && buffer.getLong(16) == bitsPerPartition
+                && buffer.getLong(24) == partitionMillis;
+    }
+
+    /**
+     * FNV-1a 后接 murmur3 fmix64 混合，两个种子得到两个独立哈希用于双重哈希
+     */
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,145 @@
+package com.paiad.mcp.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 有界 Top-K 选择器 - 在候选集中保留 key 最大的 k 个元素
+ *
+ * 以 long key 的最小堆实现：堆顶是当前保留元素中最差的一个，新元素只有优于堆顶时才替换并下沉，
+ * n 个候选的选择为 O(n log k)，不需要对全部候选排序，也不为每个候选分配包装对象。
+ * key 相同时先加入的元素排在前面，与对候选列表做稳定排序的结果一致。
+ *
+ * 非线程安全，适合在单次查询内使用。
+ *
+ * @author Paiad
+ */
+public final class TopK<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private long[] keys;
+    private long[] sequences;
+    private Object[] values;
+    private int size;
+    private long nextSequence;
+
+    public TopK(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        int capacity = Math.min(k, INITIAL_CAPACITY);
+        this.keys = new long[capacity];
+        this.sequences = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * 加入候选元素
+     *
+     * @param key   排序键，越大越靠前
+     * @param value 元素
+     * @return 元素是否进入当前的 Top-K
+     */
+    public boolean offer(long key, T value) {
+        long sequence = nextSequence++;
+        if (size < k) {
+            if (size == keys.length) {
+                grow();
+            }
+            set(size, key, sequence, value);
+            siftUp(size++);
+            return true;
+        }
+        if (!worse(keys[0], sequences[0], key, sequence)) {
+            return false;
+        }
+        set(0, key, sequence, value);
+        siftDown(0);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 按 key 降序取出全部保留元素，之后选择器为空
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> drain() {
+        Object[] sorted = new Object[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = values[0];
+            size--;
+            if (size > 0) {
+                set(0, keys[size], sequences[size], values[size]);
+                siftDown(0);
+            }
+            values[size] = null;
+        }
+        List<T> result = new ArrayList<>(sorted.length);
+        for (Object value : sorted) {
+            result.add((T) value);
+        }
+        return result;
+    }
+
+    /**
+     * (keyA, seqA) 是否排在 (keyB, seqB) 之后
+     */
+    private static boolean worse(long keyA, long seqA, long keyB, long seqB) {
+        return keyA < keyB || (keyA == keyB && seqA > seqB);
+    }
+
+    private void siftUp(int index) {
+        long key = keys[index];
+        long sequence = sequences[index];
+        Object value = values[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(key, sequence, keys[parent], sequences[parent])) {
+                break;
+            }
+            set(index, keys[parent], sequences[parent], values[parent]);
+            index = parent;
+        }
+        set(index, key, sequence, value);
+    }
+
+    private void siftDown(int index) {
+        long key = keys[index];
+        long sequence = sequences[index];
+        Object value = values[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && worse(keys[right], sequences[right], keys[child], sequences[child])) {
+                child = right;
+            }
+            if (!worse(keys[child], sequences[child], key, sequence)) {
+                break;
+            }
+            set(index, keys[child], sequences[child], values[child]);
+            index = child;
+        }
+        set(index, key, sequence, value);
+    }
+
+    private void set(int index, long key, long sequence, Object value) {
+        keys[index] = key;
+        sequences[index] = sequence;
+        values[index] = value;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(k, keys.length * 2L);
+        keys = Arrays.copyOf(keys, capacity);
+        sequences = Arrays.copyOf(sequences, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+}
@@ -0,0 +1,96 @@
+package com.paiad.mcp.util;
+
+import java.net.URI;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * URL 与标题规范化，用于判断是否为同一条新闻
+ *
+ * URL：忽略协议、默认端口、www 前缀、片段、末尾斜杠和常见跟踪参数，其余查询参数排序；
+ * 标题：NFKC 归一化、转小写，只保留字母和数字。
+ *
+ * @author Paiad
+ */
+public final class UrlCanonicalizer {
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "spm", "from", "ref", "ref_src", "ref_url", "share_source", "share_medium", "share_plat",
+            "share_from", "share_tag", "share_token", "fbclid", "gclid", "igshid", "mc_cid", "mc_eid",
+            "cmpid", "ocid", "s_r", "wfr", "tt_from", "unique_k");
+
+    private UrlCanonicalizer() {
+    }
+
+    /**
+     * 规范化 URL，无法解析时返回去除首尾空白后的小写原文，空值返回 null
+     */
+    public static String canonicalUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String trimmed = url.trim();
+        URI uri;
+        try {
+            uri = URI.create(trimmed);
+        } catch (IllegalArgumentException e) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        if (uri.getRawAuthority() == null) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : uri.getRawAuthority();
+        if (host.startsWith("www.")) {
+            host = host.substring(4);
+        }
+        StringBuilder canonical = new StringBuilder(host);
+        int port = uri.getPort();
+        if (port != -1 && port != 80 && port != 443) {
+            canonical.append(':').append(port);
+        }
+
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        canonical.append(path);
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            for (String param : query.split("&")) {
+                if (param.isEmpty()) {
+                    continue;
+                }
+                String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                if (!name.startsWith("utm_") && !TRACKING_PARAMS.contains(name)) {
+                    params.add(param);
+                }
+            }
+            if (!params.isEmpty()) {
+                params.sort(null);
+                canonical.append('?').append(String.join("&", params));
+            }
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * 标题指纹：只保留字母和数字的小写形式，空标题返回 null
+     */
+    public static String titleFingerprint(String title) {
+        if (title == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(title, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder fingerprint = new StringBuilder(normalized.length());
+        normalized.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(fingerprint::appendCodePoint);
+        return fingerprint.isEmpty() ? null : fingerprint.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.paiad.mcp.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 弱引用字符串去重池
+ *
+ * 每次爬取都会为同一条新闻重新解析出新的标题、链接字符串；长期保留多个快照时这些内容相同的副本
+ * 会重复占用堆。入池后相同内容只保留一个实例，池本身只持有弱引用，不再被引用的字符串照常回收，
+ * 不需要像 String.intern() 那样进入常量池，也不需要设置容量上限。
+ *
+ * @author Paiad
+ */
+public final class WeakInterner {
+
+    private final Map<String, WeakReference<String>> pool = new WeakHashMap<>();
+
+    /**
+     * 返回与 value 内容相同的规范实例，value 为 null 时返回 null
+     */
+    public synchronized String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        WeakReference<String> reference = pool.get(value);
+        String canonical = reference != null ? reference.get() : null;
+        if (canonical != null) {
+            return canonical;
+        }
+        pool.put(value, new WeakReference<>(value));
+        return value;
+    }
+
+    /**
+     * 池中条目数（包含尚未清理的已回收条目）
+     */
+    public synchronized int size() {
+        return pool.size();
+    }
+}
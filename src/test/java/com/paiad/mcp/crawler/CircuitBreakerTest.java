@@ -0,0 +1,70 @@
+package com.paiad.mcp.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 1_000, 5_000, clock::get);
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1_000, breaker.getRemainingOpenMillis());
+    }
+
+    @Test
+    void shouldAllowSingleProbeAndCloseOnSuccess() {
+        tripOpen();
+        clock.addAndGet(1_000);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(), "only one probe may be in flight");
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbesShouldBackOffExponentiallyUpToCeiling() {
+        tripOpen();
+        long[] expectedWindows = {2_000, 4_000, 5_000, 5_000};
+        for (long expected : expectedWindows) {
+            clock.addAndGet(breaker.getRemainingOpenMillis());
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+            assertEquals(expected, breaker.getRemainingOpenMillis());
+        }
+    }
+
+    @Test
+    void ignoredProbeShouldReleaseProbeSlot() {
+        tripOpen();
+        clock.addAndGet(1_000);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onIgnored();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.paiad.mcp.crawler;
+
+import com.paiad.mcp.metrics.MetricsRegistry;
+import com.paiad.mcp.util.PhaseTimingEventListener;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlContextTest {
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .readTimeout(30, TimeUnit.SECONDS)
+            .build();
+    private final CountDownLatch requestArrived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/hang", exchange -> {
+            requestArrived.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            try (OutputStream ignored = exchange.getResponseBody()) {
+                // empty body
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void cancelShouldAbortInFlightCallAndCountRelease() throws Exception {
+        CrawlContext context = new CrawlContext("demo");
+        Call call = client.newCall(hangRequest());
+        context.register(call);
+        long releasedBefore = CrawlContext.getReleasedCallCount();
+
+        Thread canceller = Thread.ofVirtual().start(() -> {
+            try {
+                requestArrived.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            context.cancel();
+        });
+
+        long start = System.currentTimeMillis();
+        assertThrows(IOException.class, call::execute);
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+        assertTrue(call.isCanceled());
+        canceller.join(5_000);
+        assertEquals(releasedBefore + 1, CrawlContext.getReleasedCallCount());
+        assertTrue(MetricsRegistry.getInstance().scrape()
+                .contains("mcp_crawl_calls_released_total " + CrawlContext.getReleasedCallCount() + "\n"));
+    }
+
+    @Test
+    void expiredDeadlineShouldCancelCall() {
+        CrawlContext context = new CrawlContext("demo", 300);
+        Call call = client.newCall(hangRequest());
+        context.register(call);
+
+        long start = System.currentTimeMillis();
+        assertThrows(IOException.class, call::execute);
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+    }
+
+    @Test
+    void callReleasedByDeadlineShouldBeCountedOnce() {
+        OkHttpClient listened = client.newBuilder()
+                .eventListenerFactory(PhaseTimingEventListener.FACTORY)
+                .build();
+        CrawlContext context = new CrawlContext("demo", 300);
+        Call call = listened.newCall(hangRequest().newBuilder().tag(CrawlContext.class, context).build());
+        context.register(call);
+        long releasedBefore = CrawlContext.getReleasedCallCount();
+
+        assertThrows(IOException.class, call::execute);
+        assertEquals(releasedBefore + 1, CrawlContext.getReleasedCallCount());
+
+        // 之后的 cancel（NewsService 等待超时）不再重复计数
+        assertEquals(0, context.cancel());
+        assertEquals(releasedBefore + 1, CrawlContext.getReleasedCallCount());
+    }
+
+    @Test
+    void callsRegisteredAfterCancelShouldBeCancelledImmediately() {
+        CrawlContext context = new CrawlContext("demo");
+        context.cancel();
+
+        Call call = client.newCall(hangRequest());
+        context.register(call);
+
+        assertTrue(call.isCanceled());
+        assertThrows(IOException.class, call::execute);
+    }
+
+    private Request hangRequest() {
+        return new Request.Builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/hang")
+                .build();
+    }
+}
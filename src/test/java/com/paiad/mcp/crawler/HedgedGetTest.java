@@ -0,0 +1,117 @@
+package com.paiad.mcp.crawler;
+
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedGetTest {
+
+    private HttpServer server;
+    private final CountDownLatch releaseSlow = new CountDownLatch(1);
+    private final AtomicInteger backupHits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/slow", exchange -> {
+            try {
+                releaseSlow.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "slow");
+        });
+        server.createContext("/fast", exchange -> {
+            backupHits.incrementAndGet();
+            respond(exchange, 200, "fast");
+        });
+        server.createContext("/broken", exchange -> respond(exchange, 500, "broken"));
+        server.createContext("/empty", exchange -> respond(exchange, 200, ""));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlow.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void failedPrimaryShouldFallBackToBackupImmediately() throws IOException {
+        TestCrawler crawler = new TestCrawler();
+        long start = System.currentTimeMillis();
+
+        String result = crawler.fetch(List.of(url("/broken"), url("/fast")));
+
+        assertEquals("fast", result);
+        assertTrue(System.currentTimeMillis() - start < 2_000, "fallback should not wait for the hedge delay");
+    }
+
+    @Test
+    void slowPrimaryShouldBeHedgedAndBackupShouldWin() throws IOException {
+        TestCrawler crawler = new TestCrawler();
+
+        String result = crawler.fetch(List.of(url("/slow"), url("/fast")));
+
+        assertEquals("fast", result);
+        assertEquals(1, backupHits.get());
+        // the cancelled primary still contributes the time it was awaited as a lower bound
+        assertEquals(1, crawler.primarySourceLatency().size());
+        assertTrue(crawler.primarySourceLatency().percentile(1.0) >= 2_900);
+    }
+
+    @Test
+    void emptyParseResultShouldCountAsSourceFailure() {
+        TestCrawler crawler = new TestCrawler();
+
+        assertThrows(IOException.class, () -> crawler.fetch(List.of(url("/empty"), url("/broken"))));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static class TestCrawler extends AbstractCrawler {
+        TestCrawler() {
+            super("hedge_test", "Hedge Test");
+        }
+
+        @Override
+        public List<NewsItem> crawl() {
+            return List.of();
+        }
+
+        @Override
+        public List<NewsItem> parse(String body) {
+            return List.of();
+        }
+
+        String fetch(List<String> urls) throws IOException {
+            return hedgedGet(urls, null, body -> body.isEmpty() ? null : body);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.paiad.mcp.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    void counterShouldRenderWithLabelsInPrometheusFormat() {
+        MetricFamily<Counter> outcomes = registry.counter("crawl_outcomes_total", "Crawl outcomes", "platform", "status");
+        outcomes.labels("zhihu", "SUCCESS").inc();
+        outcomes.labels("zhihu", "SUCCESS").inc();
+        outcomes.labels("weibo", "THROTTLED").inc();
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("# HELP crawl_outcomes_total Crawl outcomes\n"));
+        assertTrue(text.contains("# TYPE crawl_outcomes_total counter\n"));
+        assertTrue(text.contains("crawl_outcomes_total{platform=\"zhihu\",status=\"SUCCESS\"} 2\n"));
+        assertTrue(text.contains("crawl_outcomes_total{platform=\"weibo\",status=\"THROTTLED\"} 1\n"));
+    }
+
+    @Test
+    void histogramShouldRenderCumulativeBucketsInSeconds() {
+        MetricFamily<Histogram> latency = registry.histogram("latency_seconds", "Latency", new long[]{100, 1_000},
+                "platform");
+        latency.labels("bbc").observeMillis(50);
+        latency.labels("bbc").observeMillis(500);
+        latency.labels("bbc").observeMillis(5_000);
+
+        String text = registry.scrape();
+
+        assertTrue(text.contains("latency_seconds_bucket{platform=\"bbc\",le=\"0.1\"} 1\n"));
+        assertTrue(text.contains("latency_seconds_bucket{platform=\"bbc\",le=\"1\"} 2\n"));
+        assertTrue(text.contains("latency_seconds_bucket{platform=\"bbc\",le=\"+Inf\"} 3\n"));
+        assertTrue(text.contains("latency_seconds_sum{platform=\"bbc\"} 5.55\n"));
+        assertTrue(text.contains("latency_seconds_count{platform=\"bbc\"} 3\n"));
+    }
+
+    @Test
+    void registeringSameNameShouldReturnSameFamily() {
+        MetricFamily<Gauge> first = registry.gauge("in_flight", "In flight");
+        MetricFamily<Gauge> second = registry.gauge("in_flight", "In flight");
+        assertSame(first, second);
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("in_flight", "In flight"));
+    }
+
+    @Test
+    void concurrentGaugeSetsShouldLeaveOneWrittenValue() throws Exception {
+        Gauge gauge = registry.gauge("limit", "Limit").labels();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        gauge.set(7);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(7, gauge.get());
+    }
+
+    @Test
+    void concurrentRecordingShouldNotLoseUpdates() throws Exception {
+        MetricFamily<Counter> counter = registry.counter("hits_total", "Hits", "cache");
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        counter.labels("snapshot").inc();
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(80_000, counter.labels("snapshot").get());
+    }
+}
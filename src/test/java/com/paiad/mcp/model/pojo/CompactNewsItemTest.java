@@ -0,0 +1,75 @@
+package com.paiad.mcp.model.pojo;
+
+import com.paiad.mcp.registry.PlatformRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactNewsItemTest {
+
+    @Test
+    void shouldRoundTripAllFields() {
+        NewsItem item = NewsItem.builder()
+                .id("zhihu_1")
+                .title("story")
+                .url("https://www.zhihu.com/question/1")
+                .platform("zhihu")
+                .platformName("知乎")
+                .rank(3)
+                .hotScore(12_000_000L)
+                .hotDesc("1200万热度")
+                .tag("热")
+                .timestamp(1_700_000_000_000L)
+                .novelty(Novelty.REPOST)
+                .build();
+
+        NewsItem expanded = CompactNewsItem.of(item).toNewsItem();
+
+        assertNull(expanded.getId(), "rank-derived id is dropped when the url identifies the story");
+        expanded.setId(item.getId());
+        assertEquals(item, expanded);
+        assertEquals(item.toVO(), CompactNewsItem.of(item).toVO());
+    }
+
+    @Test
+    void missingValuesShouldStayNull() {
+        NewsItem item = NewsItem.builder().id("weibo_0").title("story").platform("weibo").build();
+        CompactNewsItem compact = CompactNewsItem.of(item);
+
+        assertNull(compact.getRank());
+        assertNull(compact.getHotScore());
+        assertNull(compact.getTimestamp());
+        assertNull(compact.getNovelty());
+        assertEquals("weibo_0", compact.localKey(), "id is kept when there is no url");
+        assertEquals("weibo|weibo_0", compact.key());
+    }
+
+    @Test
+    void repeatedCrawlsShouldShareStrings() {
+        CompactNewsItem first = CompactNewsItem.of(crawled(1));
+        CompactNewsItem second = CompactNewsItem.of(crawled(2));
+
+        assertSame(first.getTitle(), second.getTitle());
+        assertSame(first.getUrl(), second.getUrl());
+        assertFalse(first.sameRanking(second));
+        assertTrue(first.sameRanking(CompactNewsItem.of(crawled(1))));
+    }
+
+    @Test
+    void platformShouldBeIndexedByRegistry() {
+        PlatformRegistry registry = PlatformRegistry.getInstance();
+        assertEquals("zhihu", registry.idAt(registry.indexOf("zhihu")));
+        assertEquals("custom_source", CompactNewsItem.of(NewsItem.builder().title("x").url("https://x")
+                .platform("custom_source").build()).getPlatform());
+    }
+
+    private static NewsItem crawled(int rank) {
+        // new String(...) mimics a fresh parse of the same story on each crawl
+        return NewsItem.builder()
+                .title(new String("repeated story"))
+                .url(new String("https://example.com/story"))
+                .platform("zhihu")
+                .rank(rank)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.paiad.mcp.server;
+
+import com.paiad.mcp.server.AdmissionController.Lane;
+import com.paiad.mcp.server.AdmissionController.Limiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControllerTest {
+
+    @Test
+    void fullLaneShouldRejectWithoutAffectingTheOtherLane() {
+        AdmissionController admission = new AdmissionController(1, 1, 1, 1, 1_000, 0.5);
+
+        AdmissionController.Permit call = admission.tryAcquire("tools/call");
+        assertNotNull(call);
+        assertNull(admission.tryAcquire("tools/call"));
+
+        AdmissionController.Permit ping = admission.tryAcquire("ping");
+        assertNotNull(ping);
+        assertNull(admission.tryAcquire("tools/list"));
+
+        call.close();
+        call.close();
+        assertNotNull(admission.tryAcquire("tools/call"));
+        assertNull(admission.tryAcquire("tools/call"));
+    }
+
+    @Test
+    void fastSaturatedCallsShouldGrowTheLimitAdditively() {
+        Limiter limiter = new Limiter(Lane.EXPENSIVE, 2, 1, 4, 1_000, 0.5);
+
+        // two permits in flight on a limit of two: each fast completion adds 1 / limit
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            limiter.release(10);
+            limiter.release(10);
+        }
+
+        assertEquals(3, limiter.limit());
+    }
+
+    @Test
+    void idleLaneShouldNotGrow() {
+        Limiter limiter = new Limiter(Lane.EXPENSIVE, 4, 1, 16, 1_000, 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(10);
+        }
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void slowCallsShouldBackOffMultiplicativelyDownToTheMinimum() {
+        AtomicLong clock = new AtomicLong();
+        Limiter limiter = new Limiter(Lane.EXPENSIVE, 8, 2, 16, 1_000, 0.5, clock::get);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(5_000);
+        assertEquals(4, limiter.limit());
+
+        for (int i = 0; i < 5; i++) {
+            clock.addAndGet(5_000);
+            assertTrue(limiter.tryAcquire());
+            limiter.release(5_000);
+        }
+        assertEquals(2, limiter.limit());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void burstOfSlowCallsShouldBackOffOncePerLatencyWindow() {
+        AtomicLong clock = new AtomicLong();
+        Limiter limiter = new Limiter(Lane.EXPENSIVE, 16, 1, 16, 1_000, 0.5, clock::get);
+
+        // eight calls admitted together and all slow: one congestion event, not eight
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 8; i++) {
+            clock.addAndGet(100);
+            limiter.release(5_000);
+        }
+        assertEquals(8, limiter.limit());
+
+        clock.addAndGet(5_000);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(5_000);
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void retryAfterShouldFollowRecentLatency() {
+        AdmissionController admission = new AdmissionController(4, 4, 1, 4, 60_000, 0.5);
+        assertEquals(1, admission.retryAfterSeconds("tools/call"));
+
+        Limiter limiter = new Limiter(Lane.EXPENSIVE, 4, 1, 4, 60_000, 0.5);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(3_500);
+        assertEquals(3_500, limiter.averageLatencyMillis());
+    }
+}
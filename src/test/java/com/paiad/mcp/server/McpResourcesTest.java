@@ -0,0 +1,121 @@
+package com.paiad.mcp.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.resource.NewsResourceProvider;
+import com.paiad.mcp.service.NewsService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpResourcesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NewsService newsService = new NewsService();
+    private final NewsResourceProvider resources = new NewsResourceProvider(newsService, 50);
+    private final ResourceSubscriptions subscriptions = new ResourceSubscriptions(objectMapper);
+    private final McpRequestHandler handler = new McpRequestHandler(objectMapper, Map.of(), resources,
+            subscriptions, "mcp-java-news-crawler", "3.1.0", "2024-11-05");
+
+    McpResourcesTest() {
+        resources.onUpdated(subscriptions::publish);
+    }
+
+    @Test
+    void initializeShouldAdvertiseResourceSubscriptions() {
+        JsonNode capabilities = handler.handleRequest(request("initialize", objectMapper.createObjectNode()))
+                .get("result").get("capabilities");
+        assertTrue(capabilities.get("resources").get("subscribe").asBoolean());
+    }
+
+    @Test
+    void listShouldExposeFrontPageAndPlatformResources() {
+        JsonNode list = handler.handleRequest(request("resources/list", objectMapper.createObjectNode()))
+                .get("result").get("resources");
+        List<String> uris = new ArrayList<>();
+        list.forEach(resource -> uris.add(resource.get("uri").asText()));
+
+        assertEquals(NewsResourceProvider.FRONT_PAGE_URI, uris.get(0));
+        assertTrue(uris.contains("news://platform/zhihu"));
+    }
+
+    @Test
+    void readShouldServeLatestSnapshot() throws Exception {
+        newsService.getSnapshotLog().onCrawl(success("zhihu", news("a", 1), news("b", 2)));
+
+        ObjectNode params = objectMapper.createObjectNode().put("uri", "news://platform/zhihu");
+        JsonNode contents = handler.handleRequest(request("resources/read", params)).get("result").get("contents");
+
+        assertEquals("application/json", contents.get(0).get("mimeType").asText());
+        JsonNode body = objectMapper.readTree(contents.get(0).get("text").asText());
+        assertEquals(2, body.get("count").asInt());
+        assertEquals("story a", body.get("data").get(0).get("title").asText());
+    }
+
+    @Test
+    void unknownResourceShouldReturnNotFound() {
+        ObjectNode params = objectMapper.createObjectNode().put("uri", "news://platform/unknown");
+        ObjectNode response = handler.handleRequest(request("resources/read", params));
+        assertEquals(-32002, response.get("error").get("code").asInt());
+    }
+
+    @Test
+    void subscribersShouldBeNotifiedOnlyWhenListChanges() {
+        List<ObjectNode> received = new ArrayList<>();
+        NotificationSink sink = received::add;
+        ObjectNode params = objectMapper.createObjectNode().put("uri", "news://platform/zhihu");
+        ObjectNode response = handler.handleRequest(request("resources/subscribe", params), sink);
+        assertTrue(response.has("result"));
+        assertEquals(List.of("news://platform/zhihu"), List.copyOf(subscriptions.subscribedUris()));
+
+        newsService.getSnapshotLog().onCrawl(success("zhihu", news("a", 1)));
+        newsService.getSnapshotLog().onCrawl(success("zhihu", news("a", 1)));
+        newsService.getSnapshotLog().onCrawl(success("zhihu", news("b", 1)));
+
+        assertEquals(2, received.size());
+        assertEquals("notifications/resources/updated", received.get(0).get("method").asText());
+        assertEquals("news://platform/zhihu", received.get(0).get("params").get("uri").asText());
+
+        handler.handleRequest(request("resources/unsubscribe", params), sink);
+        newsService.getSnapshotLog().onCrawl(success("zhihu", news("c", 1)));
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void subscribeWithoutNotificationChannelShouldFail() {
+        ObjectNode params = objectMapper.createObjectNode().put("uri", "news://platform/zhihu");
+        ObjectNode response = handler.handleRequest(request("resources/subscribe", params));
+        assertTrue(response.has("error"));
+    }
+
+    private ObjectNode request(String method, ObjectNode params) {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("jsonrpc", "2.0");
+        request.put("id", 1);
+        request.put("method", method);
+        request.set("params", params);
+        return request;
+    }
+
+    private static PlatformCrawlOutcome success(String platformId, NewsItem... items) {
+        return new PlatformCrawlOutcome(platformId, platformId, PlatformCrawlStatus.SUCCESS, List.of(items), null,
+                null, 10);
+    }
+
+    private static NewsItem news(String slug, int rank) {
+        return NewsItem.builder()
+                .title("story " + slug)
+                .platform("zhihu")
+                .url("https://www.zhihu.com/question/" + slug)
+                .rank(rank)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.paiad.mcp.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McpSessionStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void idleSessionShouldExpire() {
+        McpSessionStore store = new McpSessionStore(60_000, 10, 4, now::get);
+        McpSession session = store.create();
+
+        now.addAndGet(59_000);
+        assertSame(session, store.get(session.id()));
+
+        now.addAndGet(59_000);
+        assertSame(session, store.get(session.id()), "access should refresh the idle timer");
+
+        now.addAndGet(61_000);
+        assertNull(store.get(session.id()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void fullStoreShouldEvictLeastRecentlyUsedSession() {
+        McpSessionStore store = new McpSessionStore(60_000, 2, 4, now::get);
+        McpSession first = store.create();
+        now.incrementAndGet();
+        McpSession second = store.create();
+        now.incrementAndGet();
+        store.get(first.id());
+        now.incrementAndGet();
+
+        McpSession third = store.create();
+
+        assertEquals(2, store.size());
+        assertNotNull(store.get(first.id()));
+        assertNull(store.get(second.id()));
+        assertNotNull(store.get(third.id()));
+    }
+
+    @Test
+    void keepAliveShouldHoldOffExpiry() {
+        McpSessionStore store = new McpSessionStore(60_000, 10, 4, now::get);
+        McpSession session = store.create();
+
+        for (int i = 0; i < 5; i++) {
+            now.addAndGet(30_000);
+            store.keepAlive(session);
+        }
+        assertSame(session, store.get(session.id()));
+    }
+
+    @Test
+    void removalListenersShouldHearOfExpiredEvictedAndDeletedSessions() {
+        McpSessionStore store = new McpSessionStore(60_000, 2, 4, now::get);
+        List<String> removed = new ArrayList<>();
+        store.addRemovalListener(removed::add);
+
+        McpSession expired = store.create();
+        now.addAndGet(61_000);
+        McpSession evicted = store.create();
+        now.incrementAndGet();
+        McpSession deleted = store.create();
+        now.incrementAndGet();
+        store.create();
+        store.remove(deleted.id());
+
+        assertEquals(List.of(expired.id(), evicted.id(), deleted.id()), removed);
+    }
+
+    @Test
+    void removedSessionShouldBeGone() {
+        McpSessionStore store = new McpSessionStore(60_000, 10, 4, now::get);
+        McpSession session = store.create();
+
+        assertTrue(store.remove(session.id()));
+        assertNull(store.get(session.id()));
+        assertFalse(store.remove(session.id()));
+    }
+
+    @Test
+    void sessionShouldKeepOnlyRecentSnapshots() {
+        McpSession session = new McpSessionStore(60_000, 10, 2, now::get).detached();
+        String first = session.saveSnapshot("tool", null);
+        String second = session.saveSnapshot("tool", null);
+        session.snapshot(first);
+
+        String third = session.saveSnapshot("tool", null);
+
+        assertEquals(2, session.snapshotCount());
+        assertNotNull(session.snapshot(first));
+        assertNull(session.snapshot(second));
+        assertNotNull(session.snapshot(third));
+    }
+}
@@ -0,0 +1,163 @@
+package com.paiad.mcp.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCompressionTest {
+
+    @Test
+    void shouldPreferGzipUnlessDeflateHasHigherQuality() {
+        assertEquals("gzip", ResponseCompression.negotiate("gzip, deflate, br"));
+        assertEquals("gzip", ResponseCompression.negotiate("deflate, gzip"));
+        assertEquals("deflate", ResponseCompression.negotiate("gzip;q=0.5, deflate"));
+        assertEquals("deflate", ResponseCompression.negotiate("deflate"));
+    }
+
+    @Test
+    void wildcardShouldMeanGzipAndZeroQualityShouldExclude() {
+        assertEquals("gzip", ResponseCompression.negotiate("*"));
+        assertEquals("deflate", ResponseCompression.negotiate("gzip;q=0, deflate;q=0.1"));
+        assertEquals("deflate", ResponseCompression.negotiate("*;q=0, deflate"));
+        assertNull(ResponseCompression.negotiate("gzip;q=0"));
+    }
+
+    @Test
+    void unsupportedOrMissingCodingsShouldSendIdentity() {
+        assertNull(ResponseCompression.negotiate(null));
+        assertNull(ResponseCompression.negotiate(""));
+        assertNull(ResponseCompression.negotiate("br, identity"));
+    }
+
+    @Test
+    void abortBeforeThresholdShouldLeaveTheExchangeUnsent() throws Exception {
+        StubExchange exchange = new StubExchange("gzip");
+        ResponseCompression.NegotiatedOutputStream body = new ResponseCompression(true, 1024, 6).open(exchange, 200);
+        body.write(new byte[100]);
+        body.abort();
+        body.close();
+
+        assertEquals(-1, exchange.getResponseCode());
+        assertEquals(0, exchange.body.size());
+    }
+
+    @Test
+    void abortAfterCompressionStartedShouldNotTerminateTheBody() throws Exception {
+        StubExchange exchange = new StubExchange("deflate");
+        ResponseCompression.NegotiatedOutputStream body = new ResponseCompression(true, 16, 6).open(exchange, 200);
+        body.write(new byte[64]);
+        body.abort();
+        int sent = exchange.body.size();
+        body.close();
+
+        assertEquals(200, exchange.getResponseCode());
+        assertEquals("deflate", exchange.getResponseHeaders().getFirst("Content-Encoding"));
+        assertEquals(sent, exchange.body.size());
+    }
+
+    private static final class StubExchange extends HttpExchange {
+
+        private final Headers requestHeaders = new Headers();
+        private final Headers responseHeaders = new Headers();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private int responseCode = -1;
+
+        StubExchange(String acceptEncoding) {
+            requestHeaders.set("Accept-Encoding", acceptEncoding);
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return requestHeaders;
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        @Override
+        public URI getRequestURI() {
+            return URI.create("/mcp");
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return "POST";
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public OutputStream getResponseBody() {
+            return body;
+        }
+
+        @Override
+        public void sendResponseHeaders(int rCode, long responseLength) {
+            responseCode = rCode;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public int getResponseCode() {
+            return responseCode;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public String getProtocol() {
+            return "HTTP/1.1";
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+        }
+
+        @Override
+        public void setStreams(InputStream i, OutputStream o) {
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return null;
+        }
+    }
+}
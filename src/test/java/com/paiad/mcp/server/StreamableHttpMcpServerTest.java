@@ -1,11 +1,16 @@
 package com.paiad.mcp.server;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paiad.mcp.resource.NewsResourceProvider;
+import com.paiad.mcp.service.NewsService;
 import com.paiad.mcp.tool.McpTool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.URI;
@@ -13,9 +18,20 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StreamableHttpMcpServerTest {
@@ -86,6 +102,386 @@ class StreamableHttpMcpServerTest {
         assertEquals(405, response.statusCode());
     }
 
+    @Test
+    void metricsEndpointShouldExposePrometheusText() throws Exception {
+        server = startServer(Map.of("demo_tool", new DemoTool()));
+        HttpClient client = HttpClient.newHttpClient();
+
+        ObjectNode requestJson = objectMapper.createObjectNode();
+        requestJson.put("jsonrpc", "2.0");
+        requestJson.put("id", 1);
+        requestJson.put("method", "tools/call");
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("name", "demo_tool");
+        params.set("arguments", objectMapper.createObjectNode());
+        requestJson.set("params", params);
+        client.send(
+                HttpRequest.newBuilder(server.endpoint())
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(requestJson.toString(), StandardCharsets.UTF_8))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(server.metricsEndpoint()).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+        assertTrue(response.body().contains("mcp_tool_call_duration_seconds_count{tool=\"demo_tool\",result=\"ok\"}"));
+        assertTrue(response.body().contains("# TYPE mcp_http_requests_total counter"));
+    }
+
+    @Test
+    void getWithEventStreamShouldDeliverResourceUpdates() throws Exception {
+        ResourceSubscriptions subscriptions = new ResourceSubscriptions(objectMapper);
+        server = startResourceServer(subscriptions);
+        HttpClient client = HttpClient.newHttpClient();
+        String sessionId = initialize(client);
+
+        Iterator<String> lines = openEventStream(client, sessionId);
+
+        HttpResponse<String> response = post(client,
+                request("resources/subscribe", objectMapper.createObjectNode().put("uri", "news://platform/zhihu")),
+                sessionId);
+        assertTrue(response.body().contains("\"result\""));
+
+        subscriptions.publish("news://platform/zhihu");
+        String event = lines.next();
+        while (event.isEmpty()) {
+            event = lines.next();
+        }
+        assertEquals("event: message", event);
+        String data = lines.next();
+        assertTrue(data.startsWith("data: "));
+        assertEquals("news://platform/zhihu",
+                objectMapper.readTree(data.substring("data: ".length())).get("params").get("uri").asText());
+    }
+
+    @Test
+    void subscriptionsShouldBelongToOneStreamAndEndWithIt() throws Exception {
+        ResourceSubscriptions subscriptions = new ResourceSubscriptions(objectMapper);
+        server = startResourceServer(subscriptions);
+        HttpClient client = HttpClient.newHttpClient();
+        String first = initialize(client);
+        String second = initialize(client);
+        openEventStream(client, first);
+        openEventStream(client, second);
+        ObjectNode zhihu = objectMapper.createObjectNode().put("uri", "news://platform/zhihu");
+        ObjectNode weibo = objectMapper.createObjectNode().put("uri", "news://platform/weibo");
+
+        post(client, request("resources/subscribe", zhihu), first);
+        post(client, request("resources/subscribe", zhihu), second);
+        post(client, request("resources/subscribe", weibo), second);
+        post(client, request("resources/unsubscribe", zhihu), first);
+        assertEquals(Set.of("news://platform/zhihu", "news://platform/weibo"), subscriptions.subscribedUris());
+
+        client.send(HttpRequest.newBuilder(server.endpoint()).header("Mcp-Session-Id", second).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!subscriptions.subscribedUris().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Set.of(), subscriptions.subscribedUris());
+    }
+
+    @Test
+    void subscribeWithoutEventStreamShouldBeRejected() throws Exception {
+        server = startResourceServer(new ResourceSubscriptions(objectMapper));
+        HttpClient client = HttpClient.newHttpClient();
+        String sessionId = initialize(client);
+
+        HttpResponse<String> response = post(client,
+                request("resources/subscribe", objectMapper.createObjectNode().put("uri", "news://platform/zhihu")),
+                sessionId);
+
+        assertTrue(response.body().contains("\"error\""));
+        assertEquals(400, client.send(
+                HttpRequest.newBuilder(server.endpoint()).header("Accept", "text/event-stream").GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        ).statusCode());
+    }
+
+    @Test
+    void initializeShouldAssignSessionAndDeleteShouldEndIt() throws Exception {
+        server = startServer(Map.of("demo_tool", new DemoTool()));
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> initialized = post(client, request("initialize", objectMapper.createObjectNode()), null);
+        String sessionId = initialized.headers().firstValue("Mcp-Session-Id").orElseThrow();
+
+        assertEquals(200, post(client, request("ping", objectMapper.createObjectNode()), sessionId).statusCode());
+
+        HttpResponse<String> deleted = client.send(
+                HttpRequest.newBuilder(server.endpoint()).header("Mcp-Session-Id", sessionId).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertEquals(204, deleted.statusCode());
+
+        HttpResponse<String> afterDelete = post(client, request("ping", objectMapper.createObjectNode()), sessionId);
+        assertEquals(404, afterDelete.statusCode());
+        assertTrue(afterDelete.body().contains("\"error\""));
+        assertEquals(404, client.send(
+                HttpRequest.newBuilder(server.endpoint()).header("Mcp-Session-Id", sessionId).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString()
+        ).statusCode());
+    }
+
+    @Test
+    void pageCursorShouldServeNextPageFromSessionSnapshot() throws Exception {
+        RankedTool tool = new RankedTool(5);
+        server = startServer(Map.of("ranked_tool", tool));
+        HttpClient client = HttpClient.newHttpClient();
+        String sessionId = post(client, request("initialize", objectMapper.createObjectNode()), null)
+                .headers().firstValue("Mcp-Session-Id").orElseThrow();
+
+        ObjectNode firstArgs = objectMapper.createObjectNode().put("page_size", 2);
+        JsonNode first = toolResult(post(client, toolCall("ranked_tool", firstArgs), sessionId));
+        assertEquals(2, first.get("count").asInt());
+        assertEquals("item-0", first.get("data").get(0).get("title").asText());
+        assertEquals(5, first.get("page").get("total_count").asInt());
+        assertTrue(first.get("page").get("has_more").asBoolean());
+
+        String cursor = first.get("page").get("next_cursor").asText();
+        JsonNode second = toolResult(post(client,
+                toolCall("ranked_tool", objectMapper.createObjectNode().put("page_cursor", cursor)), sessionId));
+        assertEquals("item-2", second.get("data").get(0).get("title").asText());
+        assertEquals(2, second.get("page").get("offset").asInt());
+
+        JsonNode last = toolResult(post(client, toolCall("ranked_tool",
+                objectMapper.createObjectNode().put("page_cursor", second.get("page").get("next_cursor").asText())),
+                sessionId));
+        assertEquals(1, last.get("count").asInt());
+        assertFalse(last.get("page").get("has_more").asBoolean());
+        assertFalse(last.get("page").has("next_cursor"));
+        assertEquals(1, tool.executions.get());
+    }
+
+    @Test
+    void pageCursorWithoutSessionShouldBeRejected() throws Exception {
+        server = startServer(Map.of("ranked_tool", new RankedTool(5)));
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> stateless = post(client,
+                toolCall("ranked_tool", objectMapper.createObjectNode().put("page_size", 2)), null);
+        assertFalse(toolResult(stateless).get("page").has("next_cursor"));
+
+        HttpResponse<String> response = post(client,
+                toolCall("ranked_tool", objectMapper.createObjectNode().put("page_cursor", "1:2:2")), null);
+        assertEquals(-32602, objectMapper.readTree(response.body()).get("error").get("code").asInt());
+    }
+
+    @Test
+    void toolCallsOverTheLimitShouldGetTooManyRequests() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        McpTool blocking = new DemoTool() {
+            @Override
+            public String execute(JsonNode arguments, ObjectMapper objectMapper) throws Exception {
+                started.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return "{\"ok\":true}";
+            }
+        };
+        McpRequestHandler handler = new McpRequestHandler(objectMapper, Map.of("demo_tool", blocking),
+                "mcp-java-news-crawler", "3.1.0", "2024-11-05");
+        server = new StreamableHttpMcpServer(handler, new AdmissionController(4, 1, 1, 1, 60_000, 0.9),
+                "127.0.0.1", findFreePort());
+        server.start();
+        HttpClient client = HttpClient.newHttpClient();
+
+        CompletableFuture<HttpResponse<String>> first = client.sendAsync(
+                HttpRequest.newBuilder(server.endpoint())
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                toolCall("demo_tool", objectMapper.createObjectNode()).toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        HttpResponse<String> rejected = post(client, toolCall("demo_tool", objectMapper.createObjectNode()), null);
+        assertEquals(429, rejected.statusCode());
+        assertTrue(rejected.headers().firstValue("Retry-After").isPresent());
+        assertEquals(-32000, objectMapper.readTree(rejected.body()).get("error").get("code").asInt());
+
+        assertEquals(200, post(client, request("ping", objectMapper.createObjectNode()), null).statusCode());
+
+        release.countDown();
+        assertEquals(200, first.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(200, post(client, toolCall("demo_tool", objectMapper.createObjectNode()), null).statusCode());
+    }
+
+    @Test
+    void largeResponsesShouldBeCompressedWhenAccepted() throws Exception {
+        server = startServer(Map.of("ranked_tool", new RankedTool(200)));
+        HttpClient client = HttpClient.newHttpClient();
+        String body = toolCall("ranked_tool", objectMapper.createObjectNode()).toString();
+
+        HttpResponse<byte[]> gzip = client.send(
+                HttpRequest.newBuilder(server.endpoint())
+                        .header("Content-Type", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray()
+        );
+        assertEquals(200, gzip.statusCode());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(""));
+        assertFalse(gzip.headers().firstValue("Content-Length").isPresent());
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(gzip.body())).readAllBytes();
+        assertTrue(gzip.body().length < json.length);
+
+        HttpResponse<byte[]> deflate = client.send(
+                HttpRequest.newBuilder(server.endpoint())
+                        .header("Content-Type", "application/json")
+                        .header("Accept-Encoding", "deflate")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray()
+        );
+        assertEquals("deflate", deflate.headers().firstValue("Content-Encoding").orElse(""));
+        assertEquals(objectMapper.readTree(json),
+                objectMapper.readTree(new InflaterInputStream(new ByteArrayInputStream(deflate.body()))));
+
+        HttpResponse<String> identity = post(client, toolCall("ranked_tool", objectMapper.createObjectNode()), null);
+        assertFalse(identity.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals(objectMapper.readTree(json), objectMapper.readTree(identity.body()));
+
+        HttpResponse<String> metrics = client.send(
+                HttpRequest.newBuilder(server.metricsEndpoint()).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        assertTrue(metrics.body().contains("mcp_http_responses_compressed_total{encoding=\"gzip\"}"));
+        assertTrue(metrics.body().contains("# TYPE mcp_http_compression_ratio_percent gauge"));
+    }
+
+    @Test
+    void failureAfterCompressedHeadersShouldNotSendASecondResponse() throws Exception {
+        McpRequestHandler handler = new McpRequestHandler(objectMapper, Map.of(),
+                "mcp-java-news-crawler", "3.1.0", "2024-11-05") {
+            @Override
+            public ObjectNode handleRequest(JsonNode request, NotificationSink sink, McpSession session) {
+                ObjectNode response = objectMapper.createObjectNode();
+                response.put("padding", "x".repeat(4096));
+                response.putPOJO("broken", new Object() {
+                    public String getValue() {
+                        throw new IllegalStateException("serialization failed");
+                    }
+                });
+                return response;
+            }
+        };
+        server = new StreamableHttpMcpServer(handler, new AdmissionController(), new ResponseCompression(),
+                "127.0.0.1", findFreePort());
+        server.start();
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(server.endpoint())
+                        .header("Content-Type", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .POST(HttpRequest.BodyPublishers.ofString(request("ping", objectMapper.createObjectNode()).toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray()
+        );
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(""));
+        // the gzip trailer is never written, so the truncation is visible to the client
+        assertThrows(EOFException.class,
+                () -> new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes());
+    }
+
+    @Test
+    void smallResponsesShouldNotBeCompressed() throws Exception {
+        server = startServer(Map.of("demo_tool", new DemoTool()));
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(server.endpoint())
+                        .header("Content-Type", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .POST(HttpRequest.BodyPublishers.ofString(request("ping", objectMapper.createObjectNode()).toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+
+        assertEquals(200, response.statusCode());
+        assertFalse(response.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals("Accept-Encoding", response.headers().firstValue("Vary").orElse(""));
+        assertTrue(response.body().contains("\"result\""));
+    }
+
+    private StreamableHttpMcpServer startResourceServer(ResourceSubscriptions subscriptions) throws IOException {
+        McpRequestHandler handler = new McpRequestHandler(
+                objectMapper,
+                Map.of(),
+                new NewsResourceProvider(new NewsService(), 50),
+                subscriptions,
+                "mcp-java-news-crawler",
+                "3.1.0",
+                "2024-11-05"
+        );
+        StreamableHttpMcpServer httpServer = new StreamableHttpMcpServer(handler, "127.0.0.1", findFreePort());
+        httpServer.start();
+        return httpServer;
+    }
+
+    private String initialize(HttpClient client) throws Exception {
+        return post(client, request("initialize", objectMapper.createObjectNode()), null)
+                .headers().firstValue("Mcp-Session-Id").orElseThrow();
+    }
+
+    private Iterator<String> openEventStream(HttpClient client, String sessionId) throws Exception {
+        HttpResponse<Stream<String>> stream = client.send(
+                HttpRequest.newBuilder(server.endpoint())
+                        .header("Accept", "text/event-stream")
+                        .header("Mcp-Session-Id", sessionId)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofLines()
+        );
+        assertEquals(200, stream.statusCode());
+        Iterator<String> lines = stream.body().iterator();
+        assertEquals(": connected", lines.next());
+        return lines;
+    }
+
+    private ObjectNode request(String method, ObjectNode params) {
+        ObjectNode requestJson = objectMapper.createObjectNode();
+        requestJson.put("jsonrpc", "2.0");
+        requestJson.put("id", 1);
+        requestJson.put("method", method);
+        requestJson.set("params", params);
+        return requestJson;
+    }
+
+    private ObjectNode toolCall(String name, ObjectNode arguments) {
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("name", name);
+        params.set("arguments", arguments);
+        return request("tools/call", params);
+    }
+
+    private HttpResponse<String> post(HttpClient client, ObjectNode requestJson, String sessionId) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(server.endpoint())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestJson.toString(), StandardCharsets.UTF_8));
+        if (sessionId != null) {
+            builder.header("Mcp-Session-Id", sessionId);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private JsonNode toolResult(HttpResponse<String> response) throws IOException {
+        assertEquals(200, response.statusCode());
+        JsonNode result = objectMapper.readTree(response.body()).get("result");
+        assertFalse(result.get("isError").asBoolean());
+        return objectMapper.readTree(result.get("content").get(0).get("text").asText());
+    }
+
     private StreamableHttpMcpServer startServer(Map<String, McpTool> tools) throws IOException {
         int port = findFreePort();
         McpRequestHandler handler = new McpRequestHandler(
@@ -129,8 +525,43 @@ class StreamableHttpMcpServerTest {
         }
 
         @Override
-        public String execute(com.fasterxml.jackson.databind.JsonNode arguments, ObjectMapper objectMapper) {
+        public String execute(com.fasterxml.jackson.databind.JsonNode arguments, ObjectMapper objectMapper)
+                throws Exception {
             return "{\"ok\":true}";
         }
     }
+
+    /**
+     * Returns a ranked data array and counts how often it actually runs.
+     */
+    private static class RankedTool extends DemoTool {
+        private final int size;
+        private final AtomicInteger executions = new AtomicInteger();
+
+        RankedTool(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public String getName() {
+            return "ranked_tool";
+        }
+
+        @Override
+        public boolean supportsPagination() {
+            return true;
+        }
+
+        @Override
+        public String execute(JsonNode arguments, ObjectMapper objectMapper) {
+            executions.incrementAndGet();
+            ObjectNode result = objectMapper.createObjectNode();
+            result.put("success", true);
+            result.put("count", size);
+            for (int i = 0; i < size; i++) {
+                result.withArray("data").addObject().put("title", "item-" + i);
+            }
+            return result.toString();
+        }
+    }
 }
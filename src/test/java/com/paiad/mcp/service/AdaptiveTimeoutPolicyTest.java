@@ -0,0 +1,67 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.AdaptiveTimeoutInfo;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutPolicyTest {
+
+    private final AdaptiveTimeoutPolicy policy = new AdaptiveTimeoutPolicy(
+            new AdaptiveTimeoutInfo(true, 3.0, 2_000, 30_000, 5, 20));
+
+    @Test
+    void shouldUseCeilingUntilEnoughSamples() {
+        record("zhihu", PlatformCrawlStatus.SUCCESS, 100, 4);
+        assertEquals(30_000, policy.timeoutMillis("zhihu"));
+        assertEquals(30_000, policy.timeoutMillis("unknown"));
+    }
+
+    @Test
+    void fastPlatformShouldBeClampedToFloor() {
+        record("zhihu", PlatformCrawlStatus.SUCCESS, 300, 10);
+        assertEquals(2_000, policy.timeoutMillis("zhihu"));
+    }
+
+    @Test
+    void slowPlatformShouldScaleWithP99UpToCeiling() {
+        record("reuters", PlatformCrawlStatus.SUCCESS, 4_000, 10);
+        assertEquals(12_000, policy.timeoutMillis("reuters"));
+
+        record("reuters", PlatformCrawlStatus.TIMEOUT, 12_000, 1);
+        assertEquals(30_000, policy.timeoutMillis("reuters"));
+    }
+
+    @Test
+    void shortCircuitedOutcomesShouldNotCountAsSamples() {
+        record("douyin", PlatformCrawlStatus.CIRCUIT_OPEN, 0, 10);
+        record("douyin", PlatformCrawlStatus.THROTTLED, 1, 10);
+        record("douyin", PlatformCrawlStatus.FAILED, 50, 10);
+        record("douyin", PlatformCrawlStatus.EMPTY, 80, 10);
+        assertEquals(30_000, policy.timeoutMillis("douyin"));
+    }
+
+    @Test
+    void disabledPolicyShouldAlwaysUseCeiling() {
+        AdaptiveTimeoutPolicy disabled = new AdaptiveTimeoutPolicy(
+                new AdaptiveTimeoutInfo(false, 3.0, 2_000, 30_000, 5, 20));
+        for (int i = 0; i < 10; i++) {
+            disabled.record(outcome("zhihu", PlatformCrawlStatus.SUCCESS, 100));
+        }
+        assertEquals(30_000, disabled.timeoutMillis("zhihu"));
+    }
+
+    private void record(String platformId, PlatformCrawlStatus status, long latencyMs, int times) {
+        for (int i = 0; i < times; i++) {
+            policy.record(outcome(platformId, status, latencyMs));
+        }
+    }
+
+    private PlatformCrawlOutcome outcome(String platformId, PlatformCrawlStatus status, long latencyMs) {
+        return new PlatformCrawlOutcome(platformId, platformId, status, List.of(), null, null, latencyMs);
+    }
+}
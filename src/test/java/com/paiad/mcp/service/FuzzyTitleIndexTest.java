@@ -0,0 +1,93 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.FuzzySearchInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyTitleIndexTest {
+
+    private final FuzzyTitleIndex index = new FuzzyTitleIndex(FuzzySearchInfo.DEFAULT);
+
+    FuzzyTitleIndexTest() {
+        index.onCrawl(outcome("zhihu", List.of(
+                item("zhihu", "a", "马斯克宣布星舰再次发射"),
+                item("zhihu", "b", "ChatGPT 推出新功能"),
+                item("zhihu", "c", "台风登陆浙江"))));
+        index.onCrawl(outcome("weibo", List.of(item("weibo", "d", "马斯克回应网友提问"))));
+    }
+
+    @Test
+    void shouldToleratePinyinHomophonesAndTypos() {
+        assertEquals(List.of("马斯克宣布星舰再次发射", "马斯克回应网友提问"), titles("masike", Set.of()));
+        assertEquals(List.of("马斯克宣布星舰再次发射", "马斯克回应网友提问"), titles("马斯可", Set.of()));
+        assertEquals(List.of("ChatGPT 推出新功能"), titles("chatgtp", Set.of()));
+        assertEquals(List.of("台风登陆浙江"), titles("taifeng", Set.of()));
+        assertTrue(titles("bitcoin", Set.of()).isEmpty());
+    }
+
+    @Test
+    void midWordTranspositionsShouldPassTheCountFilter() {
+        FuzzyTitleIndex english = new FuzzyTitleIndex(FuzzySearchInfo.DEFAULT);
+        english.onCrawl(outcome("hacker_news", List.of(item("hacker_news", "a", "chatgpt release notes"))));
+
+        for (String query : List.of("cahtgpt", "chatpgt", "chtagpt", "chatgtp")) {
+            assertEquals(1, FuzzyTitleIndex.substringDistance(query, "chatgpt release notes", 2), query);
+            assertEquals(List.of("chatgpt release notes"),
+                    english.search(query, List.of("hacker_news"), Set.of(), 10).stream()
+                            .map(NewsItem::getTitle)
+                            .toList(),
+                    query);
+        }
+        // 两处相邻交换，8 个字符以上允许 2 次编辑
+        assertEquals(1, english.search("cahtgpt relaese", List.of("hacker_news"), Set.of(), 10).size());
+    }
+
+    @Test
+    void shouldSkipExcludedStoriesAndUnknownPlatforms() {
+        assertEquals(List.of("马斯克回应网友提问"), titles("masike", Set.of("zhihu|https://example.com/zhihu/a")));
+        assertTrue(index.search("masike", List.of("baidu"), Set.of(), 10).isEmpty());
+        assertTrue(index.search("mas", List.of("zhihu"), Set.of(), 10).isEmpty(), "short queries are not fuzzy-matched");
+    }
+
+    @Test
+    void disabledIndexShouldNotMatch() {
+        FuzzyTitleIndex disabled = new FuzzyTitleIndex(new FuzzySearchInfo(false, 4, 2));
+        disabled.onCrawl(outcome("zhihu", List.of(item("zhihu", "a", "马斯克宣布星舰再次发射"))));
+        assertTrue(disabled.search("masike", List.of("zhihu"), Set.of(), 10).isEmpty());
+    }
+
+    @Test
+    void substringDistanceShouldCountTranspositionsOnce() {
+        assertEquals(0, FuzzyTitleIndex.substringDistance("gpt", "chatgpt rocks", 2));
+        assertEquals(1, FuzzyTitleIndex.substringDistance("chatgtp", "new chatgpt app", 2));
+        assertEquals(1, FuzzyTitleIndex.substringDistance("masike", "masuke", 2));
+        assertEquals(3, FuzzyTitleIndex.substringDistance("bitcoin", "taifeng", 2));
+        assertEquals("masikexuanbu", FuzzyTitleIndex.pinyinOf("马斯克 宣布！"));
+    }
+
+    private List<String> titles(String keyword, Set<String> excluded) {
+        return index.search(keyword, List.of("zhihu", "weibo"), excluded, 10).stream()
+                .map(NewsItem::getTitle)
+                .toList();
+    }
+
+    private static PlatformCrawlOutcome outcome(String platform, List<NewsItem> items) {
+        return new PlatformCrawlOutcome(platform, platform, PlatformCrawlStatus.SUCCESS, items, null, null, 10);
+    }
+
+    private static NewsItem item(String platform, String id, String title) {
+        return NewsItem.builder()
+                .id(id)
+                .platform(platform)
+                .title(title)
+                .url("https://example.com/" + platform + "/" + id)
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.NoveltyInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.Novelty;
+import com.paiad.mcp.util.UrlCanonicalizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoveltyFilterTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private final NoveltyFilter filter = new NoveltyFilter(new NoveltyInfo(true, null, 7, 7, 1000, 0.01), null);
+
+    @Test
+    void shouldMarkNewSeenAndRepost() {
+        NewsItem first = item("OpenAI 发布新模型", "https://www.example.com/a?utm_source=x");
+        filter.classify(List.of(first), T0);
+        assertEquals(Novelty.NEW, first.getNovelty());
+
+        NewsItem again = item("OpenAI 发布新模型", "http://example.com/a/");
+        NewsItem repost = item("OpenAI 发布新模型！", "https://other.com/story/1");
+        filter.classify(List.of(again, repost), T0 + 60_000);
+        assertEquals(Novelty.SEEN, again.getNovelty());
+        assertEquals(Novelty.REPOST, repost.getNovelty());
+    }
+
+    @Test
+    void disabledFilterShouldLeaveItemsUnmarked() {
+        NoveltyFilter disabled = new NoveltyFilter(new NoveltyInfo(false, null, 7, 7, 1000, 0.01), null);
+        NewsItem item = item("title", "https://example.com/a");
+        disabled.classify(List.of(item), T0);
+        assertNull(item.getNovelty());
+    }
+
+    @Test
+    void canonicalUrlShouldIgnoreTrackingAndOrdering() {
+        assertEquals("example.com/path?a=1&b=2",
+                UrlCanonicalizer.canonicalUrl("https://WWW.Example.com/path/?b=2&utm_medium=x&a=1&spm=abc#top"));
+        assertEquals("example.com:8443/x", UrlCanonicalizer.canonicalUrl("https://example.com:8443/x"));
+        assertEquals("openai发布新模型", UrlCanonicalizer.titleFingerprint(" OpenAI 发布新模型！"));
+    }
+
+    private static NewsItem item(String title, String url) {
+        return NewsItem.builder().title(title).url(url).platform("zhihu").build();
+    }
+}
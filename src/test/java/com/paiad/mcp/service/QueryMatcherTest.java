@@ -0,0 +1,36 @@
+package com.paiad.mcp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMatcherTest {
+
+    @Test
+    void scoreShouldMatchPerTermContainsRules() {
+        QueryMatcher matcher = new QueryMatcher("人工智能", List.of("人工", "智能", "智能"));
+
+        assertEquals(100 + 10 + 20, matcher.score("人工智能大会开幕"));
+        assertEquals(20, matcher.score("智能手机"), "duplicate terms are scored separately");
+        assertEquals(0, matcher.score("台风登陆"));
+    }
+
+    @Test
+    void highlightShouldMergeOverlappingMatches() {
+        QueryMatcher matcher = new QueryMatcher("新模型", List.of("新", "模型"));
+
+        assertEquals("OpenAI 发布**新模型**", matcher.highlight("OpenAI 发布新模型"));
+        assertEquals("**模型**评测**新**", matcher.highlight("模型评测新"));
+        assertNull(matcher.highlight("台风登陆"));
+    }
+
+    @Test
+    void highlightShouldIgnoreCase() {
+        QueryMatcher matcher = QueryMatcher.compile("openai");
+
+        assertEquals("**OpenAI** 发布新模型", matcher.highlight("OpenAI 发布新模型"));
+        assertEquals(matcher.score("openai 新模型"), matcher.score("OPENAI 新模型"));
+    }
+}
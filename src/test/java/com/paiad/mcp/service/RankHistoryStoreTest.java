@@ -0,0 +1,107 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.RankHistoryInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
+import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
+import com.paiad.mcp.model.pojo.RankObservation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankHistoryStoreTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void shouldDecodeDeltaEncodedObservations() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 8, 60));
+        long t0 = 1_700_000_000_000L;
+        store.record(List.of(item("a", 5, 1_000_000L)), t0);
+        store.record(List.of(item("a", 3, 1_500_000L)), t0 + MINUTE);
+        store.record(List.of(item("a", 1, 900_000L)), t0 + 2 * MINUTE);
+
+        assertEquals(List.of(
+                new RankObservation(t0, 5, 1_000_000L),
+                new RankObservation(t0 + MINUTE, 3, 1_500_000L),
+                new RankObservation(t0 + 2 * MINUTE, 1, 900_000L)), store.history(key("a")));
+    }
+
+    @Test
+    void ringBufferShouldKeepNewestPointsWhenFull() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 3, 600));
+        long t0 = 1_700_000_000_000L;
+        for (int i = 0; i < 5; i++) {
+            store.record(List.of(item("a", 10 - i, 100L * i)), t0 + i * MINUTE);
+        }
+
+        List<RankObservation> history = store.history(key("a"));
+        assertEquals(3, history.size());
+        assertEquals(new RankObservation(t0 + 2 * MINUTE, 8, 200L), history.get(0));
+        assertEquals(new RankObservation(t0 + 4 * MINUTE, 6, 400L), history.get(2));
+    }
+
+    @Test
+    void shouldDropObservationsOutsideRetentionWindow() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 16, 10));
+        long t0 = 1_700_000_000_000L;
+        store.record(List.of(item("a", 2, 10L)), t0);
+        store.record(List.of(item("a", 1, 20L)), t0 + 5 * MINUTE);
+        store.record(List.of(item("a", 1, 30L)), t0 + 12 * MINUTE);
+
+        assertEquals(List.of(
+                new RankObservation(t0 + 5 * MINUTE, 1, 20L),
+                new RankObservation(t0 + 12 * MINUTE, 1, 30L)), store.history(key("a")));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUpdatedSeries() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(2, 4, 60));
+        long t0 = 1_700_000_000_000L;
+        store.record(List.of(item("a", 1, 1L), item("b", 2, 1L)), t0);
+        store.record(List.of(item("a", 1, 2L)), t0 + MINUTE);
+        store.record(List.of(item("c", 1, 1L)), t0 + 2 * MINUTE);
+
+        assertEquals(2, store.size());
+        assertTrue(store.history(key("b")).isEmpty());
+        assertEquals(2, store.history(key("a")).size());
+    }
+
+    @Test
+    void scoreJumpBeyondIntRangeShouldRestartSeries() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 8, 60));
+        long t0 = 1_700_000_000_000L;
+        store.record(List.of(item("a", 3, 10L)), t0);
+        store.record(List.of(item("a", 1, 5_000_000_000L)), t0 + MINUTE);
+
+        assertEquals(List.of(new RankObservation(t0 + MINUTE, 1, 5_000_000_000L)), store.history(key("a")));
+    }
+
+    @Test
+    void onlySuccessfulCrawlsShouldBeRecorded() {
+        RankHistoryStore store = new RankHistoryStore(RankHistoryInfo.DEFAULT);
+        List<NewsItem> items = List.of(item("a", 1, 1L));
+        store.onCrawl(new PlatformCrawlOutcome("zhihu", "知乎", PlatformCrawlStatus.THROTTLED, items, null, null, 0));
+        assertEquals(0, store.size());
+
+        store.onCrawl(new PlatformCrawlOutcome("zhihu", "知乎", PlatformCrawlStatus.SUCCESS, items, null, null, 0));
+        assertEquals(1, store.history(key("a")).size());
+    }
+
+    private static NewsItem item(String slug, int rank, long hotScore) {
+        return NewsItem.builder()
+                .id("zhihu_" + rank)
+                .title("title " + slug)
+                .url("https://www.zhihu.com/question/" + slug)
+                .platform("zhihu")
+                .rank(rank)
+                .hotScore(hotScore)
+                .build();
+    }
+
+    private static String key(String slug) {
+        return "zhihu|https://www.zhihu.com/question/" + slug;
+    }
+}
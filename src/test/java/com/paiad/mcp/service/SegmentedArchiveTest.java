@@ -0,0 +1,133 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.ArchiveInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedArchiveTest {
+
+    private static final long DAY_START = LocalDate.of(2024, 3, 1)
+            .atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sealedChunksShouldBeWrittenToSegmentsAndStaySearchable() {
+        SnapshotArena arena = new SnapshotArena(settings(4));
+        arena.append("zhihu", List.of(item("zhihu", "a", "OpenAI 发布新模型", 3)), DAY_START + HOUR);
+        arena.append("zhihu", List.of(item("zhihu", "b", "新模型评测", 1)), DAY_START + 3 * HOUR);
+        arena.awaitArchive();
+
+        assertEquals(1, arena.segmentCount());
+        assertEquals(1, arena.chunkCount(), "the flushed chunk is released from memory");
+        assertEquals(2, arena.rowCount());
+
+        List<NewsItem> result = arena.search("新模型", List.of("新", "模型"), Set.of(), 0, Long.MAX_VALUE, 10);
+        assertEquals(List.of("新模型评测", "OpenAI 发布新模型"), result.stream().map(NewsItem::getTitle).toList());
+        assertEquals(3, result.get(1).getRank());
+        assertTrue(arena.search("新模型", List.of(), Set.of(), DAY_START + 2 * HOUR, Long.MAX_VALUE, 10).stream()
+                .noneMatch(item -> item.getTitle().startsWith("OpenAI")), "segments outside the range are pruned");
+    }
+
+    @Test
+    void closedArchiveShouldBeReloadedFromDisk() {
+        SnapshotArena arena = new SnapshotArena(settings(4));
+        for (int i = 0; i < 3; i++) {
+            arena.append("zhihu", List.of(item("zhihu", "a", "台风登陆", 3 - i)), DAY_START + i * 2 * HOUR);
+        }
+        arena.close();
+
+        SnapshotArena reopened = new SnapshotArena(settings(4));
+        assertEquals(3, reopened.segmentCount());
+        assertEquals(0, reopened.chunkCount());
+        assertEquals(3, reopened.rowCount());
+        List<NewsItem> result = reopened.search("台风", List.of("台风"), Set.of("zhihu"), 0, Long.MAX_VALUE, 10);
+        assertEquals(1, result.size(), "one story across all snapshots");
+        assertEquals(1, result.get(0).getRank(), "the latest snapshot wins");
+        reopened.close();
+    }
+
+    @Test
+    void segmentsOfTheSameDayShouldBeMergedBySizeTier() {
+        SnapshotArena arena = new SnapshotArena(settings(2));
+        arena.append("zhihu", List.of(item("zhihu", "a", "新闻一", 1)), DAY_START + HOUR);
+        arena.append("weibo", List.of(item("weibo", "b", "新闻二", 1)), DAY_START + 3 * HOUR);
+        arena.append("zhihu", List.of(item("zhihu", "c", "新闻三", 1)), DAY_START + 5 * HOUR);
+        arena.append("weibo", List.of(item("weibo", "d", "新闻四", 1)), DAY_START + 7 * HOUR);
+        arena.awaitArchive();
+
+        // three flushed chunks: the first two merge into a 2-row segment, a tier above the third one
+        assertEquals(2, arena.segmentCount());
+
+        arena.append("zhihu", List.of(item("zhihu", "e", "新闻五", 1)), DAY_START + 9 * HOUR);
+        arena.awaitArchive();
+
+        // the fourth flush pairs with the third (1 + 1 -> 2), which then pairs with the first merge (2 + 2 -> 4)
+        assertEquals(1, arena.segmentCount());
+        assertEquals(5, arena.rowCount());
+        assertEquals(3, arena.search("新闻", List.of("新闻"), Set.of("zhihu"), 0, Long.MAX_VALUE, 10).size());
+        arena.close();
+    }
+
+    @Test
+    void chunksShouldNotSpanTwoDays() {
+        SnapshotArena arena = new SnapshotArena(settings(4));
+        arena.append("zhihu", List.of(item("zhihu", "a", "新闻一", 1)), DAY_START + 24 * HOUR - 60_000);
+        arena.append("zhihu", List.of(item("zhihu", "b", "新闻二", 1)), DAY_START + 24 * HOUR + 60_000);
+        arena.awaitArchive();
+
+        assertEquals(1, arena.segmentCount());
+        assertEquals(1, arena.chunkCount());
+        arena.close();
+    }
+
+    @Test
+    void segmentCandidatesShouldCoverEverySubstringMatch() throws Exception {
+        ArenaChunk chunk = new ArenaChunk(16, 1024);
+        String[] titles = {"OpenAI 发布新模型", "新模型评测", "台风登陆", "模型"};
+        for (int i = 0; i < titles.length; i++) {
+            chunk.append(DAY_START, (short) 0, i, i + 1, ArenaChunk.NO_HOT_SCORE, titles[i], null);
+        }
+        chunk.seal();
+        Path file = directory.resolve("test.seg");
+        ArchiveSegment.write(file, List.of(chunk));
+
+        ArchiveSegment segment = ArchiveSegment.open(file);
+        assertEquals(titles.length, segment.rowCount());
+        BitSet candidates = segment.candidates(List.of("新模型", "openai"));
+        assertEquals(BitSet.valueOf(new long[]{0b011}), candidates);
+        assertNull(segment.candidates(List.of("新")), "single characters cannot be pre-filtered");
+
+        ArenaRow row = new ArenaRow().moveTo(segment.chunk(), 2);
+        assertEquals("台风登陆", row.title());
+        assertEquals(3, row.rank());
+        assertNull(row.url());
+    }
+
+    private ArchiveInfo settings(int mergeFactor) {
+        return new ArchiveInfo(true, directory.toString(), 24 * 365 * 10, 64, 1024, 256, 60, mergeFactor);
+    }
+
+    private static NewsItem item(String platform, String id, String title, int rank) {
+        return NewsItem.builder()
+                .id(id)
+                .platform(platform)
+                .title(title)
+                .url("https://example.com/" + platform + "/" + id)
+                .rank(rank)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.ArchiveInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotArenaTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final ArchiveInfo MEMORY_ONLY = new ArchiveInfo(true, null, 168, 16_384, 2_048, 256, 60, 4);
+
+    @Test
+    void searchShouldScoreLikeLiveSearchAndKeepLatestSnapshotPerStory() {
+        SnapshotArena arena = new SnapshotArena(MEMORY_ONLY);
+        arena.append("zhihu", List.of(item("zhihu", "a", "OpenAI 发布新模型", 5), item("zhihu", "b", "台风登陆", 1)), T0);
+        arena.append("zhihu", List.of(item("zhihu", "a", "OpenAI 发布新模型", 2)), T0 + MINUTE);
+        arena.append("weibo", List.of(item("weibo", "c", "openai 新模型引发热议", 1)), T0 + 2 * MINUTE);
+
+        List<NewsItem> result = arena.search("openai", List.of("openai"), Set.of(), T0, T0 + 10 * MINUTE, 10);
+
+        assertEquals(2, result.size());
+        assertEquals("weibo", result.get(0).getPlatform(), "ties are broken by the most recent snapshot");
+        NewsItem zhihu = result.get(1);
+        assertEquals("OpenAI 发布新模型", zhihu.getTitle());
+        assertEquals(2, zhihu.getRank());
+        assertEquals(T0 + MINUTE, zhihu.getTimestamp());
+        assertEquals("https://example.com/zhihu/a", zhihu.getUrl());
+    }
+
+    @Test
+    void searchShouldHonourTimeRangeAndPlatforms() {
+        SnapshotArena arena = new SnapshotArena(MEMORY_ONLY);
+        arena.append("zhihu", List.of(item("zhihu", "a", "新闻一", 1)), T0);
+        arena.append("weibo", List.of(item("weibo", "b", "新闻二", 1)), T0 + MINUTE);
+        arena.append("zhihu", List.of(item("zhihu", "c", "新闻三", 1)), T0 + 2 * MINUTE);
+
+        List<NewsItem> result = arena.search("新闻", List.of("新闻"), Set.of("zhihu"), T0 + MINUTE, T0 + 2 * MINUTE, 10);
+        assertEquals(List.of("新闻三"), result.stream().map(NewsItem::getTitle).toList());
+
+        assertTrue(arena.search("新闻", List.of("新闻"), Set.of("unknown"), T0, T0 + 10 * MINUTE, 10).isEmpty());
+    }
+
+    @Test
+    void shouldRollChunksAndEvictExpiredOnes() {
+        SnapshotArena arena = new SnapshotArena(new ArchiveInfo(true, null, 1, 64, 64, 256, 60, 4));
+        for (int i = 0; i < 100; i++) {
+            arena.append("zhihu", List.of(item("zhihu", "s" + i, "标题 " + i, 1)), T0 + i * MINUTE);
+        }
+        assertEquals(100, arena.rowCount());
+        assertEquals(2, arena.chunkCount());
+
+        arena.append("zhihu", List.of(item("zhihu", "late", "late", 1)), T0 + 200 * MINUTE);
+        assertEquals(1, arena.chunkCount(), "chunks older than the retention window are dropped");
+        assertEquals(1, arena.rowCount());
+    }
+
+    @Test
+    void repeatedTitlesShouldBeStoredOncePerChunk() {
+        ArenaChunk chunk = new ArenaChunk(64, 1024);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(chunk.append(T0 + i, (short) 0, 1L, i, ArenaChunk.NO_HOT_SCORE, "same title", "https://x/1"));
+        }
+        assertEquals("same title".length() + "https://x/1".length(), chunk.textUsed());
+    }
+
+    private static NewsItem item(String platform, String slug, String title, int rank) {
+        return NewsItem.builder()
+                .title(title)
+                .platform(platform)
+                .url("https://example.com/" + platform + "/" + slug)
+                .rank(rank)
+                .build();
+    }
+}
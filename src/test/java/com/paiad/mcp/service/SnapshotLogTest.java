@@ -0,0 +1,125 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.SnapshotLogInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.SnapshotChange;
+import com.paiad.mcp.model.pojo.SnapshotDelta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotLogTest {
+
+    @Test
+    void shouldReturnOnlyNewAndChangedItemsSinceCursor() {
+        SnapshotLog log = new SnapshotLog(new SnapshotLogInfo(100), 1000);
+        log.record("zhihu", List.of(item("a", 1, 100L), item("b", 2, 50L)));
+        long cursor = log.cursor();
+
+        log.record("zhihu", List.of(item("b", 1, 80L), item("a", 2, 100L), item("c", 3, 10L)));
+        log.record("zhihu", List.of(item("b", 1, 80L), item("a", 2, 100L), item("c", 3, 10L)));
+
+        SnapshotDelta delta = log.since(cursor, Set.of(), 50);
+        assertFalse(delta.reset());
+        assertFalse(delta.hasMore());
+        assertEquals(log.cursor(), delta.cursor());
+        assertEquals(List.of("b", "a", "c"), slugs(delta));
+        SnapshotChange b = delta.changes().get(0);
+        assertEquals(SnapshotChange.Type.UPDATED, b.type());
+        assertEquals(2, b.previousRank());
+        assertEquals(50L, b.previousHotScore());
+        assertEquals(SnapshotChange.Type.NEW, delta.changes().get(2).type());
+
+        assertTrue(log.since(delta.cursor(), Set.of(), 50).changes().isEmpty());
+    }
+
+    @Test
+    void shouldKeepOnlyLatestChangePerItem() {
+        SnapshotLog log = new SnapshotLog(new SnapshotLogInfo(100), 0);
+        log.record("zhihu", List.of(item("a", 3, 1L), item("b", 4, 1L)));
+        log.record("zhihu", List.of(item("a", 2, 1L), item("b", 4, 1L)));
+        log.record("zhihu", List.of(item("a", 1, 1L), item("b", 4, 1L)));
+
+        SnapshotDelta delta = log.since(0, Set.of(), 50);
+        assertEquals(List.of("b", "a"), slugs(delta));
+        assertEquals(1, delta.changes().get(1).item().getRank());
+    }
+
+    @Test
+    void shouldPageWithCursorWhenLimitExceeded() {
+        SnapshotLog log = new SnapshotLog(new SnapshotLogInfo(100), 0);
+        log.record("zhihu", List.of(item("a", 1, 1L), item("b", 2, 1L), item("c", 3, 1L)));
+
+        SnapshotDelta first = log.since(0, Set.of(), 2);
+        assertTrue(first.hasMore());
+        assertEquals(List.of("a", "b"), slugs(first));
+
+        SnapshotDelta second = log.since(first.cursor(), Set.of(), 2);
+        assertFalse(second.hasMore());
+        assertEquals(List.of("c"), slugs(second));
+    }
+
+    @Test
+    void shouldRejectNonPositiveLimit() {
+        SnapshotLog log = new SnapshotLog(new SnapshotLogInfo(100), 0);
+        log.record("zhihu", List.of(item("a", 1, 1L)));
+
+        assertThrows(IllegalArgumentException.class, () -> log.since(0, Set.of(), 0));
+        assertThrows(IllegalArgumentException.class, () -> log.since(0, Set.of(), -1));
+    }
+
+    @Test
+    void shouldResetWhenCursorIsOutsideLog() {
+        SnapshotLog log = new SnapshotLog(new SnapshotLogInfo(2), 0);
+        log.record("zhihu", List.of(item("a", 1, 1L), item("b", 2, 1L), item("c", 3, 1L)));
+
+        SnapshotDelta expired = log.since(0, Set.of(), 50);
+        assertTrue(expired.reset());
+        assertEquals(List.of("a", "b", "c"), slugs(expired));
+
+        assertTrue(log.since(log.cursor() + 10, Set.of(), 50).reset());
+        assertFalse(log.since(1, Set.of(), 50).reset());
+    }
+
+    @Test
+    void resetShouldReturnTheWholeSnapshotRegardlessOfLimit() {
+        SnapshotLog log = new SnapshotLog(new SnapshotLogInfo(2), 0);
+        log.record("zhihu", List.of(item("a", 1, 1L), item("b", 2, 1L), item("c", 3, 1L)));
+
+        SnapshotDelta expired = log.since(0, Set.of(), 1);
+        assertTrue(expired.reset());
+        assertFalse(expired.hasMore());
+        assertEquals(log.cursor(), expired.cursor());
+        assertEquals(List.of("a", "b", "c"), slugs(expired));
+    }
+
+    @Test
+    void shouldFilterByPlatform() {
+        SnapshotLog log = new SnapshotLog(new SnapshotLogInfo(100), 0);
+        log.record("zhihu", List.of(item("a", 1, 1L)));
+        log.record("weibo", List.of(NewsItem.builder().title("w").url("https://weibo.com/w").platform("weibo")
+                .rank(1).build()));
+
+        assertEquals(List.of("a"), slugs(log.since(0, Set.of("zhihu"), 50)));
+    }
+
+    private static List<String> slugs(SnapshotDelta delta) {
+        return delta.changes().stream()
+                .map(change -> change.item().getTitle().substring("title ".length()))
+                .toList();
+    }
+
+    private static NewsItem item(String slug, int rank, long hotScore) {
+        return NewsItem.builder()
+                .id("zhihu_" + rank)
+                .title("title " + slug)
+                .url("https://www.zhihu.com/question/" + slug)
+                .platform("zhihu")
+                .rank(rank)
+                .hotScore(hotScore)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.RankHistoryInfo;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.RisingStory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendIndexTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void shouldRankByVelocityOverWindowBaseline() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 16, 240, List.of(15, 60)));
+        store.record(List.of(item("a", 20, 100L), item("b", 10, 100L)), T0);
+        store.record(List.of(item("a", 2, 100L), item("b", 8, 100L)), T0 + 30 * MINUTE);
+
+        List<RisingStory> top = store.getTrendIndex().top(60, TrendIndex.Order.RANK_VELOCITY, 10, Set.of(),
+                T0 + 30 * MINUTE);
+        assertEquals(List.of(key("a"), key("b")), top.stream().map(RisingStory::key).toList());
+        assertEquals(18, top.get(0).rankChange());
+        assertEquals(36.0, top.get(0).rankVelocityPerHour(), 1e-9);
+        assertEquals(30, top.get(0).observedMinutes());
+    }
+
+    @Test
+    void shouldRequireTwoObservationsAndExcludeFallingStories() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 16, 240, List.of(60)));
+        store.record(List.of(item("a", 5, 100L)), T0);
+        TrendIndex index = store.getTrendIndex();
+        assertTrue(index.top(60, TrendIndex.Order.RANK_VELOCITY, 10, Set.of(), T0).isEmpty());
+
+        store.record(List.of(item("a", 9, 100L)), T0 + 10 * MINUTE);
+        assertEquals(1, index.size(60));
+        assertTrue(index.top(60, TrendIndex.Order.RANK_VELOCITY, 10, Set.of(), T0 + 10 * MINUTE).isEmpty());
+    }
+
+    @Test
+    void shouldComputeRelativeScoreAcceleration() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 16, 240, List.of(60)));
+        store.record(List.of(item("steady", 1, 1000L), item("burst", 2, 1000L)), T0);
+        store.record(List.of(item("steady", 1, 2000L), item("burst", 2, 1000L)), T0 + 30 * MINUTE);
+        store.record(List.of(item("steady", 1, 3000L), item("burst", 2, 5000L)), T0 + 60 * MINUTE);
+
+        List<RisingStory> top = store.getTrendIndex().top(60, TrendIndex.Order.SCORE_ACCELERATION, 10, Set.of(),
+                T0 + 60 * MINUTE);
+        assertEquals(List.of(key("burst")), top.stream().map(RisingStory::key).toList());
+        // 速度 0 -> 8000/h，跨 0.5h，相对当前热度 5000
+        assertEquals(16000.0 / 5000, top.get(0).scoreAccelerationPerHour2(), 1e-9);
+    }
+
+    @Test
+    void shouldDropStoriesThatLeaveTheSnapshot() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(100, 16, 240, List.of(60)));
+        store.record(List.of(item("a", 10, 1L), item("b", 10, 1L)), T0);
+        store.record(List.of(item("a", 1, 1L), item("b", 2, 1L)), T0 + 10 * MINUTE);
+        store.record(List.of(item("b", 1, 1L)), T0 + 20 * MINUTE);
+
+        List<RisingStory> top = store.getTrendIndex().top(60, TrendIndex.Order.RANK_VELOCITY, 10, Set.of(),
+                T0 + 20 * MINUTE);
+        assertEquals(List.of(key("b")), top.stream().map(RisingStory::key).toList());
+    }
+
+    @Test
+    void shouldRemoveEvictedSeriesFromIndex() {
+        RankHistoryStore store = new RankHistoryStore(new RankHistoryInfo(1, 16, 240, List.of(60)));
+        store.record(List.of(item("a", 10, 1L)), T0);
+        store.record(List.of(item("a", 1, 1L)), T0 + MINUTE);
+        assertEquals(1, store.getTrendIndex().size(60));
+
+        store.record(List.of(item("b", 10, 1L)), T0 + 2 * MINUTE);
+        assertEquals(0, store.getTrendIndex().size(60));
+    }
+
+    @Test
+    void shouldIgnoreWindowsLongerThanRetention() {
+        RankHistoryInfo settings = new RankHistoryInfo(100, 16, 60, List.of(240, 15, 60, 15));
+        assertEquals(List.of(15, 60), settings.getTrendWindowsMinutes());
+        TrendIndex index = new TrendIndex(settings.getTrendWindowsMinutes());
+        assertThrows(IllegalArgumentException.class,
+                () -> index.top(240, TrendIndex.Order.RANK_VELOCITY, 10, Set.of(), T0));
+    }
+
+    private static NewsItem item(String slug, int rank, long hotScore) {
+        return NewsItem.builder()
+                .id("zhihu_" + rank)
+                .title("title " + slug)
+                .url("https://www.zhihu.com/question/" + slug)
+                .platform("zhihu")
+                .rank(rank)
+                .hotScore(hotScore)
+                .build();
+    }
+
+    private static String key(String slug) {
+        return "zhihu|https://www.zhihu.com/question/" + slug;
+    }
+}
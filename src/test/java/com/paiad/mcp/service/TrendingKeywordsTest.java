@@ -0,0 +1,99 @@
+package com.paiad.mcp.service;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.TrendingKeywordsInfo;
+import com.paiad.mcp.model.pojo.KeywordTrend;
+import com.paiad.mcp.model.pojo.NewsItem;
+import com.paiad.mcp.model.pojo.Novelty;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingKeywordsTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void shouldRankKeywordsMentionedAcrossPlatforms() {
+        TrendingKeywords keywords = new TrendingKeywords(new TrendingKeywordsInfo(30, 1024, 4, 50));
+        keywords.record(List.of(
+                item("zhihu", "OpenAI 发布新模型"),
+                item("weibo", "OpenAI 新模型引发热议"),
+                item("hacker_news", "OpenAI releases a new model"),
+                item("bbc", "Bitcoin price falls")), T0);
+
+        List<KeywordTrend> top = keywords.top(3, T0);
+        assertEquals("openai", top.get(0).keyword());
+        assertEquals(3.0, top.get(0).score(), 1e-9);
+        assertEquals(List.of("zhihu", "weibo", "hacker_news"), top.get(0).platforms());
+        assertEquals(3.0, keywords.estimate("OpenAI", T0), 1e-9);
+    }
+
+    @Test
+    void mentionsShouldDecayWithHalfLife() {
+        TrendingKeywords keywords = new TrendingKeywords(new TrendingKeywordsInfo(30, 1024, 4, 50));
+        keywords.record(List.of(item("zhihu", "Bitcoin rally")), T0);
+        keywords.record(List.of(item("weibo", "Tesla earnings")), T0 + 30 * MINUTE);
+
+        assertEquals(0.5, keywords.estimate("bitcoin", T0 + 30 * MINUTE), 1e-9);
+        assertEquals("tesla", keywords.top(1, T0 + 30 * MINUTE).get(0).keyword());
+        // 跨越缩放阈值后相对大小不变
+        keywords.record(List.of(item("bbc", "Tesla recall")), T0 + 30 * 24 * 60 * MINUTE);
+        assertEquals(1.0, keywords.estimate("recall", T0 + 30 * 24 * 60 * MINUTE), 1e-9);
+    }
+
+    @Test
+    void shouldSkipStoriesAlreadySeen() {
+        TrendingKeywords keywords = new TrendingKeywords(new TrendingKeywordsInfo(30, 1024, 4, 50));
+        NewsItem seen = item("zhihu", "Bitcoin rally");
+        seen.setNovelty(Novelty.SEEN);
+        keywords.record(List.of(seen), T0);
+        assertEquals(0, keywords.trackedKeywords());
+    }
+
+    @Test
+    void spaceSavingShouldKeepHeavyHittersWithinCapacity() {
+        SpaceSaving topK = new SpaceSaving(10);
+        for (int i = 0; i < 10_000; i++) {
+            topK.offer("rare-" + i, 1, null);
+            if (i % 5 == 0) {
+                topK.offer("heavy", 1, null);
+            }
+        }
+        assertEquals(10, topK.size());
+        SpaceSaving.Counter first = topK.top(1).get(0);
+        assertEquals("heavy", first.key);
+        assertTrue(first.count - first.error <= 2000 && first.count >= 2000);
+    }
+
+    @Test
+    void countMinSketchShouldNeverUnderestimate() {
+        DecayedCountMinSketch sketch = new DecayedCountMinSketch(64, 4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("key-" + (i % 100), 1);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sketch.estimate("key-" + i) >= 10);
+        }
+    }
+
+    @Test
+    void countMinSketchShouldSeparateKeysWithEqualStringHashCodes() {
+        // "Aa" 与 "BB" 的 String.hashCode 相同
+        assertEquals("AaAa".hashCode(), "BBBB".hashCode());
+        DecayedCountMinSketch sketch = new DecayedCountMinSketch(64, 4);
+        for (int i = 0; i < 100; i++) {
+            sketch.add("AaAa", 1);
+        }
+        assertEquals(100, sketch.estimate("AaAa"));
+        assertEquals(0, sketch.estimate("BBBB"));
+        assertEquals(0, sketch.estimate("AaBB"));
+    }
+
+    private static NewsItem item(String platform, String title) {
+        return NewsItem.builder().title(title).platform(platform).url("https://example.com/" + title.hashCode())
+                .build();
+    }
+}
@@ -2,13 +2,16 @@ package com.paiad.mcp.tool;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.paiad.mcp.model.pojo.CrawlResult;
 import com.paiad.mcp.model.pojo.NewsItem;
 import com.paiad.mcp.model.pojo.PlatformCrawlOutcome;
 import com.paiad.mcp.model.pojo.PlatformCrawlStatus;
 import com.paiad.mcp.service.NewsService;
+import com.paiad.mcp.service.QueryMatcher;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -64,7 +67,7 @@ class ToolResponseContractTest {
 
         NewsService fakeService = new NewsService() {
             @Override
-            public CrawlResult searchNews(String query, List<String> platforms, int limit) {
+            public CrawlResult searchNews(QueryMatcher matcher, List<String> platforms, int limit) {
                 return crawlResult;
             }
         };
@@ -78,4 +81,136 @@ class ToolResponseContractTest {
         assertEquals(1, node.get("failure_count").asInt());
         assertEquals("bbc", node.get("failure_details").get(0).get("platform").asText());
     }
+
+    @Test
+    void failureDetailsShouldExposeCircuitState() throws Exception {
+        PlatformCrawlOutcome openOutcome = new PlatformCrawlOutcome(
+                "reuters", "Reuters", PlatformCrawlStatus.CIRCUIT_OPEN, List.of(), "CIRCUIT_OPEN",
+                "Circuit open, next probe in 30000ms", 0).withCircuitState("OPEN");
+        CrawlResult crawlResult = new CrawlResult(List.of(), Map.of("reuters", "CIRCUIT_OPEN: Circuit open"),
+                List.of(openOutcome));
+
+        NewsService fakeService = new NewsService() {
+            @Override
+            public CrawlResult getHotNews(List<String> platforms, int limit) {
+                return crawlResult;
+            }
+        };
+
+        GetHotNewsTool tool = new GetHotNewsTool(fakeService);
+        JsonNode node = objectMapper.readTree(tool.execute(objectMapper.createObjectNode(), objectMapper));
+
+        JsonNode detail = node.get("failure_details").get(0);
+        assertEquals("CIRCUIT_OPEN", detail.get("status").asText());
+        assertEquals("OPEN", detail.get("circuit_state").asText());
+    }
+
+    @Test
+    void getHotNewsWithSinceShouldReturnOnlyChangedItems() throws Exception {
+        NewsService fakeService = new NewsService() {
+            private int calls;
+
+            @Override
+            public CrawlResult getHotNews(List<String> platforms, int limit) {
+                List<NewsItem> items = calls++ == 0
+                        ? List.of(news("a", 1), news("b", 2))
+                        : List.of(news("b", 1), news("a", 2));
+                long cursor = getSnapshotLog().cursor();
+                getSnapshotLog().record("zhihu", items);
+                PlatformCrawlOutcome outcome = new PlatformCrawlOutcome(
+                        "zhihu", "知乎", PlatformCrawlStatus.SUCCESS, items, null, null, 10);
+                return new CrawlResult(items, Map.of(), List.of(outcome), cursor);
+            }
+        };
+
+        GetHotNewsTool tool = new GetHotNewsTool(fakeService);
+        JsonNode first = objectMapper.readTree(tool.execute(objectMapper.createObjectNode(), objectMapper));
+        long cursor = first.get("cursor").asLong();
+
+        // limit 非正数时按默认值处理，不能因此出错
+        JsonNode args = objectMapper.createObjectNode().put("since", cursor).put("limit", 0);
+        JsonNode node = objectMapper.readTree(tool.execute(args, objectMapper));
+
+        assertFalse(node.get("reset").asBoolean());
+        assertTrue(node.get("cursor").asLong() > cursor);
+        assertEquals(2, node.get("count").asInt());
+        JsonNode change = node.get("data").get(0);
+        assertEquals("updated", change.get("change").asText());
+        assertEquals(1, change.get("rank").asInt());
+        assertEquals(2, change.get("previous_rank").asInt());
+    }
+
+    @Test
+    void searchNewsWithTimeRangeShouldQueryTheArchive() throws Exception {
+        NewsService service = new NewsService();
+        long crawledAt = Instant.parse("2024-03-01T08:00:00Z").toEpochMilli();
+        service.getSnapshotArena().append("zhihu", List.of(news("archived-xq7", 3)), crawledAt);
+        service.getSnapshotArena().append("zhihu", List.of(news("later-xq7", 1)), crawledAt + 1_800_000L);
+
+        SearchNewsTool tool = new SearchNewsTool(service);
+        JsonNode args = objectMapper.createObjectNode()
+                .put("query", "xq7")
+                .put("from", "2024-03-01T07:00:00Z")
+                .put("to", "2024-03-01T08:15:00Z");
+        JsonNode node = objectMapper.readTree(tool.execute(args, objectMapper));
+
+        assertTrue(node.get("success").asBoolean());
+        assertEquals("archive", node.get("source").asText());
+        assertEquals(1, node.get("count").asInt());
+        JsonNode item = node.get("data").get(0);
+        assertEquals("story archived-xq7", item.get("title").asText());
+        assertEquals("story archived-**xq7**", item.get("highlight").asText());
+        assertEquals(3, item.get("rank").asInt());
+        assertEquals("2024-03-01T08:00:00Z", item.get("seen_at").asText());
+
+        JsonNode invalid = objectMapper.readTree(tool.execute(
+                objectMapper.createObjectNode().put("query", "xq7").put("from", "yesterday"), objectMapper));
+        assertFalse(invalid.get("success").asBoolean());
+
+        ObjectNode unknownPlatform = objectMapper.createObjectNode()
+                .put("query", "xq7")
+                .put("from", "2024-03-01T07:00:00Z");
+        unknownPlatform.putArray("platforms").add("nowhere");
+        assertEquals(0, objectMapper.readTree(tool.execute(unknownPlatform, objectMapper)).get("count").asInt());
+    }
+
+    @Test
+    void getRisingNewsShouldServeRecordedHistoryAndResolveAliases() throws Exception {
+        NewsService service = new NewsService() {
+            @Override
+            public CrawlResult getHotNews(List<String> platforms, int limit) {
+                throw new AssertionError("get_rising_news must not crawl unless refresh is requested");
+            }
+        };
+        long now = System.currentTimeMillis();
+        service.getRankHistory().record(List.of(news("a", 10)), now - 20 * 60_000L);
+        service.getRankHistory().record(List.of(news("a", 2)), now - 60_000L);
+
+        GetRisingNewsTool tool = new GetRisingNewsTool(service);
+        ObjectNode args = objectMapper.createObjectNode();
+        args.putArray("platforms").add("Zhihu");
+        JsonNode node = objectMapper.readTree(tool.execute(args, objectMapper));
+
+        assertTrue(node.get("success").asBoolean());
+        assertEquals(1, node.get("count").asInt());
+        assertEquals("story a", node.get("data").get(0).get("title").asText());
+
+        ObjectNode unknown = objectMapper.createObjectNode();
+        unknown.putArray("platforms").add("nowhere");
+        assertFalse(objectMapper.readTree(tool.execute(unknown, objectMapper)).get("success").asBoolean());
+
+        JsonNode invalid = objectMapper.readTree(tool.execute(
+                objectMapper.createObjectNode().put("sort_by", "\"quoted\""), objectMapper));
+        assertFalse(invalid.get("success").asBoolean());
+        assertEquals("Unsupported sort_by: \"quoted\"", invalid.get("error").asText());
+    }
+
+    private static NewsItem news(String slug, int rank) {
+        return NewsItem.builder()
+                .title("story " + slug)
+                .platform("zhihu")
+                .url("https://example.com/" + slug)
+                .rank(rank)
+                .build();
+    }
 }
@@ -0,0 +1,74 @@
+package com.paiad.mcp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTest {
+
+    @Test
+    void shouldReportOverlappingMatchesWithPositions() {
+        AhoCorasick automaton = new AhoCorasick(List.of("he", "she", "his", "hers"));
+        List<String> matches = new ArrayList<>();
+        automaton.forEachMatch("ushers", (pattern, start, end) -> matches.add(pattern + "@" + start + "-" + end));
+
+        assertEquals(List.of("0@2-4", "1@1-4", "3@2-6"), matches);
+        assertEquals(0b1011, automaton.matchMask("ushers"));
+    }
+
+    @Test
+    void shouldMatchCaseInsensitivelyAndKeepOriginalPositions() {
+        AhoCorasick automaton = new AhoCorasick(List.of("openai", "新模型"));
+        List<int[]> matches = new ArrayList<>();
+        String title = "OpenAI 发布新模型";
+        automaton.forEachMatch(title, (pattern, start, end) -> matches.add(new int[]{pattern, start, end}));
+
+        assertEquals(2, matches.size());
+        assertEquals("OpenAI", title.substring(matches.get(0)[1], matches.get(0)[2]));
+        assertEquals("新模型", title.substring(matches.get(1)[1], matches.get(1)[2]));
+    }
+
+    @Test
+    void matchMaskShouldAgreeWithContains() {
+        Random random = new Random(7);
+        String alphabet = "abc新闻";
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(6); i++) {
+                patterns.add(randomString(random, alphabet, 1 + random.nextInt(3)));
+            }
+            String text = randomString(random, alphabet, random.nextInt(20));
+
+            long expected = 0;
+            for (int i = 0; i < patterns.size(); i++) {
+                if (text.contains(patterns.get(i))) {
+                    expected |= 1L << i;
+                }
+            }
+            assertEquals(expected, new AhoCorasick(patterns).matchMask(text), patterns + " in " + text);
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyOrTooManyPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasick(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasick(List.of("a", "")));
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i <= AhoCorasick.MAX_PATTERNS; i++) {
+            tooMany.add("p" + i);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new AhoCorasick(tooMany));
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.paiad.mcp.util;
+
+import com.paiad.mcp.crawler.CrawlContext;
+import com.paiad.mcp.metrics.McpMetrics;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseTimingEventListenerTest {
+
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .eventListenerFactory(PhaseTimingEventListener.FACTORY)
+            .build();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldAccumulatePhasesOnContextAndCountReusedConnections() throws IOException {
+        CrawlContext context = new CrawlContext("phase-demo");
+        long reusedBefore = McpMetrics.HTTP_CONNECTIONS.labels("phase-demo", "true").get();
+        long freshBefore = McpMetrics.HTTP_CONNECTIONS.labels("phase-demo", "false").get();
+
+        execute(context);
+        execute(context);
+
+        Map<String, Long> timings = context.getPhaseTimingsMs();
+        assertEquals(PhaseTimingEventListener.PHASES, timings.keySet().stream().toList());
+        assertTrue(timings.get("ttfb") >= 150, "ttfb should cover the server delay of both calls: " + timings);
+        assertEquals(0L, timings.get("tls"));
+        assertEquals(1, McpMetrics.HTTP_CONNECTIONS.labels("phase-demo", "false").get() - freshBefore);
+        assertEquals(1, McpMetrics.HTTP_CONNECTIONS.labels("phase-demo", "true").get() - reusedBefore);
+        assertTrue(McpMetrics.HTTP_PHASE_DURATION.labels("phase-demo", "ttfb").getCount() >= 2);
+    }
+
+    @Test
+    void contextWithoutCallsShouldReportNoPhases() {
+        assertTrue(new CrawlContext("idle").getPhaseTimingsMs().isEmpty());
+    }
+
+    private void execute(CrawlContext context) throws IOException {
+        Request request = new Request.Builder()
+                .url("http://127.0.0.1:" + server.getAddress().getPort() + "/slow")
+                .tag(CrawlContext.class, context)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals("ok", response.body().string());
+        }
+    }
+}
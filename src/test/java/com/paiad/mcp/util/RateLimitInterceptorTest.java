@@ -0,0 +1,95 @@
+package com.paiad.mcp.util;
+
+import com.paiad.mcp.config.PlatformPriorityConfig.RateLimitInfo;
+import com.paiad.mcp.crawler.CrawlContext;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private HttpServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void tokenBucketShouldRefillAtConfiguredRate() {
+        AtomicLong clock = new AtomicLong();
+        RateLimitInterceptor.TokenBucket bucket = new RateLimitInterceptor.TokenBucket(2, 60, clock::get);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void exhaustedBudgetShouldFailFastAndMarkContext() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        AtomicLong clock = new AtomicLong();
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new RateLimitInterceptor(
+                        platformId -> switch (platformId) {
+                            case "weibo" -> new RateLimitInfo(1, 1);
+                            case "reddit" -> new RateLimitInfo(6, 2);
+                            default -> null;
+                        }, clock::get))
+                .build();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+
+        CrawlContext first = new CrawlContext("weibo");
+        try (Response response = client.newCall(request(url, first)).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertFalse(first.isThrottled());
+
+        CrawlContext second = new CrawlContext("weibo");
+        assertThrows(RateLimitedException.class, () -> client.newCall(request(url, second)).execute());
+        assertTrue(second.isThrottled());
+
+        // 同一主机上的其他平台按自己的配置计算预算
+        CrawlContext other = new CrawlContext("reddit");
+        try (Response response = client.newCall(request(url, other)).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertFalse(other.isThrottled());
+
+        // 未配置限流的平台不受影响
+        CrawlContext unlimited = new CrawlContext("zhihu");
+        try (Response response = client.newCall(request(url, unlimited)).execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+
+    private Request request(String url, CrawlContext context) {
+        return new Request.Builder().url(url).tag(CrawlContext.class, context).build();
+    }
+}
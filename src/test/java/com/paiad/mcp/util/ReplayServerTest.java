@@ -0,0 +1,101 @@
+package com.paiad.mcp.util;
+
+import com.paiad.mcp.crawler.CrawlContext;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayServerTest {
+
+    @TempDir
+    Path fixturesDir;
+
+    private HttpServer origin;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        origin = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        origin.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        origin.createContext("/hot", exchange -> {
+            byte[] body = "{\"title\":\"热搜\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("X-Upstream", "origin");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        origin.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        origin.stop(0);
+    }
+
+    @Test
+    void recordedResponseShouldReplayWithoutOrigin() throws IOException {
+        HttpFixtureStore store = new HttpFixtureStore(fixturesDir);
+        OkHttpClient recorder = new OkHttpClient.Builder()
+                .addInterceptor(new RecordingInterceptor(store))
+                .build();
+        String url = "http://127.0.0.1:" + origin.getAddress().getPort() + "/hot?t=1";
+        Request request = new Request.Builder().url(url).tag(CrawlContext.class, new CrawlContext("demo")).build();
+        try (Response response = recorder.newCall(request).execute()) {
+            assertEquals("{\"title\":\"热搜\"}", response.body().string());
+        }
+        assertTrue(Files.isDirectory(fixturesDir.resolve("demo")));
+        origin.stop(0);
+
+        List<HttpFixtureStore.Fixture> fixtures = store.loadAll();
+        assertEquals(1, fixtures.size());
+        try (ReplayServer replay = new ReplayServer(fixtures, 0, 0)) {
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .addInterceptor(new ReplayInterceptor(replay.getPort()))
+                    .build();
+            // 查询串不同（如时间戳参数）时按路径回放
+            String replayUrl = "https://127.0.0.1:" + origin.getAddress().getPort() + "/hot?t=2";
+            try (Response response = client.newCall(new Request.Builder().url(replayUrl).build()).execute()) {
+                assertEquals(200, response.code());
+                assertEquals("origin", response.header("X-Upstream"));
+                assertEquals("{\"title\":\"热搜\"}", response.body().string());
+            }
+            try (Response response = client.newCall(new Request.Builder().url("https://example.com/missing").build())
+                    .execute()) {
+                assertEquals(404, response.code());
+            }
+        }
+    }
+
+    @Test
+    void injectedErrorRateShouldReturnServiceUnavailable() throws IOException {
+        HttpFixtureStore.Fixture fixture = new HttpFixtureStore.Fixture("GET example.com/hot", "demo", "GET",
+                "https://example.com/hot", 200, Map.of(), "ok", null, 0, 0);
+        try (ReplayServer replay = new ReplayServer(List.of(fixture), 0, 1.0)) {
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .addInterceptor(new ReplayInterceptor(replay.getPort()))
+                    .build();
+            try (Response response = client.newCall(new Request.Builder().url("https://example.com/hot").build())
+                    .execute()) {
+                assertEquals(503, response.code());
+            }
+        }
+    }
+}
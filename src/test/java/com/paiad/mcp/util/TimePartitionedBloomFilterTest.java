@@ -0,0 +1,73 @@
+package com.paiad.mcp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimePartitionedBloomFilterTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldPersistAcrossReopen() throws Exception {
+        Path file = tempDir.resolve("seen.bloom");
+        try (TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(file, 7, DAY, 1000, 0.01)) {
+            filter.put("u|example.com/a", T0);
+            assertTrue(filter.mightContain("u|example.com/a", T0));
+        }
+        try (TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(file, 7, DAY, 1000, 0.01)) {
+            assertTrue(filter.mightContain("u|example.com/a", T0 + DAY));
+            assertFalse(filter.mightContain("u|example.com/b", T0 + DAY));
+        }
+    }
+
+    @Test
+    void shouldRecreateFileWhenParametersChange() throws Exception {
+        Path file = tempDir.resolve("seen.bloom");
+        try (TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(file, 7, DAY, 1000, 0.01)) {
+            filter.put("key", T0);
+        }
+        try (TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(file, 3, DAY, 1000, 0.01)) {
+            assertFalse(filter.mightContain("key", T0));
+        }
+    }
+
+    @Test
+    void oldestPartitionShouldExpire() throws Exception {
+        try (TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(null, 3, DAY, 1000, 0.01)) {
+            filter.put("old", T0);
+            filter.put("recent", T0 + 2 * DAY);
+            assertTrue(filter.mightContain("old", T0 + 2 * DAY));
+
+            // 第 3 天之后第一个分区离开窗口；复用该分区写入时会被清空
+            assertFalse(filter.mightContain("old", T0 + 3 * DAY));
+            filter.put("new", T0 + 3 * DAY);
+            assertFalse(filter.mightContain("old", T0 + 3 * DAY));
+            assertTrue(filter.mightContain("recent", T0 + 3 * DAY));
+            assertTrue(filter.mightContain("new", T0 + 3 * DAY));
+        }
+    }
+
+    @Test
+    void falsePositiveRateShouldStayNearTarget() throws Exception {
+        try (TimePartitionedBloomFilter filter = new TimePartitionedBloomFilter(null, 1, DAY, 10_000, 0.01)) {
+            for (int i = 0; i < 10_000; i++) {
+                filter.put("member-" + i, T0);
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < 10_000; i++) {
+                if (filter.mightContain("other-" + i, T0)) {
+                    falsePositives++;
+                }
+            }
+            assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+        }
+    }
+}
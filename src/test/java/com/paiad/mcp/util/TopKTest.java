@@ -0,0 +1,51 @@
+package com.paiad.mcp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void shouldMatchStableSortOfAllCandidates() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int k = 1 + random.nextInt(30);
+            List<long[]> candidates = new ArrayList<>();
+            TopK<long[]> top = new TopK<>(k);
+            for (int i = 0; i < random.nextInt(200); i++) {
+                long[] candidate = {random.nextInt(10), i};
+                candidates.add(candidate);
+                top.offer(candidate[0], candidate);
+            }
+
+            List<long[]> expected = candidates.stream()
+                    .sorted(Comparator.comparingLong((long[] candidate) -> candidate[0]).reversed())
+                    .limit(k)
+                    .collect(Collectors.toList());
+            assertEquals(expected, top.drain(), "round " + round);
+            assertEquals(0, top.size());
+        }
+    }
+
+    @Test
+    void offerShouldReportWhetherTheElementWasKept() {
+        TopK<String> top = new TopK<>(2);
+        assertTrue(top.offer(5, "a"));
+        assertTrue(top.offer(3, "b"));
+        assertFalse(top.offer(3, "c"), "ties keep the earlier element");
+        assertTrue(top.offer(4, "d"));
+        assertEquals(List.of("a", "d"), top.drain());
+    }
+
+    @Test
+    void shouldRejectNonPositiveK() {
+        assertThrows(IllegalArgumentException.class, () -> new TopK<>(0));
+    }
+}